@@ -0,0 +1,57 @@
+package com.xuno.payment.analytics.controller;
+
+import com.xuno.payment.analytics.model.dto.PaymentRollupResponse;
+import com.xuno.payment.analytics.service.PaymentRollupService;
+import com.xuno.payment.common.annotation.ApiDefaultErrors;
+import com.xuno.payment.common.dto.GlobalApiResponse;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@Tag(name = "Analytics", description = "API for aggregated payment volume and fee totals")
+@ApiDefaultErrors
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final PaymentRollupService rollupService;
+
+    @GetMapping("/rollups")
+    @Operation(summary = "Get payment rollups",
+               description = "Retrieve payment counts, amount sums and fee sums per corridor, status and day")
+    @ApiResponse(responseCode = "200", description = "Rollups retrieved successfully")
+    public ResponseEntity<GlobalApiResponse<List<PaymentRollupResponse>>> findRollups(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(required = false) String corridor,
+            @RequestParam(required = false) PaymentStatus status) {
+
+        List<PaymentRollupResponse> responses = rollupService.findRollups(dateFrom, dateTo, corridor, status);
+
+        return ResponseEntity.ok(GlobalApiResponse.success(responses));
+    }
+
+    @PostMapping("/rollups/rebuild")
+    @Operation(summary = "Rebuild payment rollups",
+               description = "Recompute all rollups from the payments collection")
+    @ApiResponse(responseCode = "204", description = "Rollups rebuilt successfully")
+    public ResponseEntity<Void> rebuild() {
+
+        rollupService.rebuild();
+
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.xuno.payment.analytics.job;
+
+import com.xuno.payment.analytics.service.PaymentRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes payment rollups from scratch to repair drift from missed increments.
+ * Disabled unless {@code app.analytics.rollup-rebuild-cron} is set.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentRollupRebuildJob {
+
+    private final PaymentRollupService rollupService;
+
+    @Scheduled(cron = "${app.analytics.rollup-rebuild-cron:-}")
+    public void rebuild() {
+        try {
+            rollupService.rebuild();
+        } catch (Exception ex) {
+            log.error("Scheduled payment rollup rebuild failed", ex);
+        }
+    }
+}
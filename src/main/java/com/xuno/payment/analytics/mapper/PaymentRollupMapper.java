@@ -0,0 +1,12 @@
+package com.xuno.payment.analytics.mapper;
+
+import com.xuno.payment.analytics.model.dto.PaymentRollupResponse;
+import com.xuno.payment.analytics.model.entity.PaymentRollup;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface PaymentRollupMapper {
+
+    PaymentRollupResponse toResponse(PaymentRollup entity);
+}
@@ -0,0 +1,41 @@
+package com.xuno.payment.analytics.model.dto;
+
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Aggregated payment totals for a corridor, status and day", name = "PaymentRollupResponse")
+public class PaymentRollupResponse {
+
+    @Schema(description = "Payment corridor", example = "US-EU")
+    private String corridor;
+
+    @Schema(description = "Payment status", example = "APPROVED")
+    private PaymentStatus status;
+
+    @Schema(description = "Creation day of the payments (yyyy-MM-dd)", example = "2025-01-21")
+    private String day;
+
+    @Schema(description = "Number of payments", example = "42")
+    private long count;
+
+    @Schema(description = "Sum of source amounts", example = "42000.00")
+    private BigDecimal sourceAmountSum;
+
+    @Schema(description = "Sum of target amounts", example = "37800.00")
+    private BigDecimal targetAmountSum;
+
+    @Schema(description = "Sum of total fees", example = "2100.00")
+    private BigDecimal totalFeeSum;
+}
@@ -0,0 +1,55 @@
+package com.xuno.payment.analytics.model.entity;
+
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+
+/**
+ * Pre-aggregated payment totals for one (corridor, status, day) bucket.
+ * Maintained incrementally with {@code $inc} and rebuilt from the payments collection on demand.
+ */
+@Document(collection = "payment_rollups")
+@CompoundIndex(name = "day_corridor_idx", def = "{'day': 1, 'corridor': 1}")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentRollup {
+
+    public static final String UNASSIGNED_CORRIDOR = "UNASSIGNED";
+
+    @Id
+    private String id;
+
+    private String corridor;
+    private PaymentStatus status;
+
+    /** Creation day of the payments in this bucket, ISO-8601 ({@code yyyy-MM-dd}). */
+    private String day;
+
+    private long count;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal sourceAmountSum;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal targetAmountSum;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal totalFeeSum;
+
+    public static String bucketId(String corridor, PaymentStatus status, String day) {
+        return corridor + "|" + status + "|" + day;
+    }
+}
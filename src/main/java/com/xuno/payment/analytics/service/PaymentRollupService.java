@@ -0,0 +1,19 @@
+package com.xuno.payment.analytics.service;
+
+import com.xuno.payment.analytics.model.dto.PaymentRollupResponse;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PaymentRollupService {
+
+    void recordCreated(Payment payment);
+
+    void recordStatusChange(Payment payment, PaymentStatus previousStatus);
+
+    List<PaymentRollupResponse> findRollups(LocalDate dateFrom, LocalDate dateTo, String corridor, PaymentStatus status);
+
+    void rebuild();
+}
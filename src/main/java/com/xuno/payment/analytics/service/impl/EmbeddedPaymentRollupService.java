@@ -0,0 +1,190 @@
+package com.xuno.payment.analytics.service.impl;
+
+import com.xuno.payment.analytics.mapper.PaymentRollupMapper;
+import com.xuno.payment.analytics.model.dto.PaymentRollupResponse;
+import com.xuno.payment.analytics.model.entity.PaymentRollup;
+import com.xuno.payment.analytics.service.PaymentRollupService;
+import com.xuno.payment.common.storage.BsonEntityCodec;
+import com.xuno.payment.common.storage.EmbeddedStorage;
+import com.xuno.payment.common.storage.LogStructuredStore;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.store.EmbeddedPaymentStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link PaymentRollupService} for {@code app.storage.type=embedded}. Buckets are held in memory,
+ * written through to a {@link LogStructuredStore} and reloaded from it on startup; there are only a
+ * few per corridor and day, so queries filter them in memory. A rebuild recomputes every bucket from
+ * the {@link EmbeddedPaymentStore}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "embedded")
+@Slf4j
+public class EmbeddedPaymentRollupService implements PaymentRollupService {
+
+    static final String STORE_NAME = "payment_rollups";
+
+    private static final Comparator<PaymentRollup> BUCKET_ORDER = Comparator
+            .comparing(PaymentRollup::getDay)
+            .thenComparing(PaymentRollup::getCorridor)
+            .thenComparing(rollup -> rollup.getStatus().name());
+
+    private final LogStructuredStore records;
+    private final BsonEntityCodec<PaymentRollup> codec;
+    private final EmbeddedPaymentStore paymentStore;
+    private final PaymentRollupMapper mapper;
+    private final Map<String, PaymentRollup> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public EmbeddedPaymentRollupService(EmbeddedStorage storage, MongoConverter converter,
+                                        EmbeddedPaymentStore paymentStore, PaymentRollupMapper mapper) {
+        this.records = storage.open(STORE_NAME);
+        this.codec = new BsonEntityCodec<>(converter, PaymentRollup.class);
+        this.paymentStore = paymentStore;
+        this.mapper = mapper;
+
+        records.forEach((id, bytes) -> buckets.put(id, codec.decode(bytes)));
+    }
+
+    @Override
+    public void recordCreated(Payment payment) {
+        try {
+            writeLock.lock();
+            try {
+                write(add(buckets, payment, payment.getStatus(), 1));
+            } finally {
+                writeLock.unlock();
+            }
+        } catch (Exception ex) {
+            log.error("Error updating rollup for created payment: {}", payment.getId(), ex);
+        }
+    }
+
+    @Override
+    public void recordStatusChange(Payment payment, PaymentStatus previousStatus) {
+        if (previousStatus == null || previousStatus == payment.getStatus()) {
+            return;
+        }
+        try {
+            writeLock.lock();
+            try {
+                write(add(buckets, payment, previousStatus, -1));
+                write(add(buckets, payment, payment.getStatus(), 1));
+            } finally {
+                writeLock.unlock();
+            }
+        } catch (Exception ex) {
+            log.error("Error updating rollup for payment status change: {}", payment.getId(), ex);
+        }
+    }
+
+    @Override
+    public List<PaymentRollupResponse> findRollups(LocalDate dateFrom, LocalDate dateTo,
+                                                   String corridor, PaymentStatus status) {
+        String from = dateFrom != null ? dateFrom.toString() : null;
+        String to = dateTo != null ? dateTo.toString() : null;
+
+        return buckets.values().stream()
+                .filter(rollup -> from == null || rollup.getDay().compareTo(from) >= 0)
+                .filter(rollup -> to == null || rollup.getDay().compareTo(to) <= 0)
+                .filter(rollup -> corridor == null || corridor.equals(rollup.getCorridor()))
+                .filter(rollup -> status == null || status == rollup.getStatus())
+                .sorted(BUCKET_ORDER)
+                .map(mapper::toResponse)
+                .toList();
+    }
+
+    /**
+     * Recomputes every bucket from the embedded payment store. Buckets no longer backed by any
+     * payment are kept with zero totals, since the store has no deletes. Increments applied while
+     * the payments are read may be lost, as with the Mongo rebuild.
+     */
+    @Override
+    public void rebuild() {
+        log.info("Rebuilding payment rollups from the embedded payment store");
+
+        Map<String, PaymentRollup> rebuilt = new HashMap<>();
+        paymentStore.forEach(payment -> add(rebuilt, payment, payment.getStatus(), 1));
+
+        writeLock.lock();
+        try {
+            for (PaymentRollup stale : buckets.values()) {
+                rebuilt.computeIfAbsent(stale.getId(), id -> emptyBucket(id, stale.getCorridor(), stale.getStatus(),
+                        stale.getDay()));
+            }
+            rebuilt.values().forEach(this::write);
+        } finally {
+            writeLock.unlock();
+        }
+
+        log.info("Payment rollups rebuilt: {} buckets", rebuilt.size());
+    }
+
+    private void write(PaymentRollup rollup) {
+        records.put(rollup.getId(), codec.encode(rollup));
+        buckets.put(rollup.getId(), rollup);
+    }
+
+    /**
+     * Adds the payment to a copy of its bucket in {@code target} and returns the copy, so readers
+     * of {@link #buckets} never see a bucket half updated.
+     */
+    private static PaymentRollup add(Map<String, PaymentRollup> target, Payment payment, PaymentStatus status,
+                                     int sign) {
+        String corridor = payment.getCorridor() != null ? payment.getCorridor() : PaymentRollup.UNASSIGNED_CORRIDOR;
+        String day = (payment.getCreatedAt() != null ? payment.getCreatedAt().toLocalDate() : LocalDate.now())
+                .toString();
+        String id = PaymentRollup.bucketId(corridor, status, day);
+        BigDecimal totalFee = payment.getFeeCalculation() != null ? payment.getFeeCalculation().getTotalFee() : null;
+
+        PaymentRollup current = target.get(id);
+        if (current == null) {
+            current = emptyBucket(id, corridor, status, day);
+        }
+        PaymentRollup updated = PaymentRollup.builder()
+                .id(id)
+                .corridor(corridor)
+                .status(status)
+                .day(day)
+                .count(current.getCount() + sign)
+                .sourceAmountSum(plus(current.getSourceAmountSum(), payment.getSourceAmount(), sign))
+                .targetAmountSum(plus(current.getTargetAmountSum(), payment.getTargetAmount(), sign))
+                .totalFeeSum(plus(current.getTotalFeeSum(), totalFee, sign))
+                .build();
+        target.put(id, updated);
+        return updated;
+    }
+
+    private static PaymentRollup emptyBucket(String id, String corridor, PaymentStatus status, String day) {
+        return PaymentRollup.builder()
+                .id(id)
+                .corridor(corridor)
+                .status(status)
+                .day(day)
+                .sourceAmountSum(BigDecimal.ZERO)
+                .targetAmountSum(BigDecimal.ZERO)
+                .totalFeeSum(BigDecimal.ZERO)
+                .build();
+    }
+
+    private static BigDecimal plus(BigDecimal sum, BigDecimal value, int sign) {
+        BigDecimal base = sum != null ? sum : BigDecimal.ZERO;
+        if (value == null) {
+            return base;
+        }
+        return sign < 0 ? base.subtract(value) : base.add(value);
+    }
+}
@@ -0,0 +1,234 @@
+package com.xuno.payment.analytics.service.impl;
+
+import com.xuno.payment.analytics.mapper.PaymentRollupMapper;
+import com.xuno.payment.analytics.model.dto.PaymentRollupResponse;
+import com.xuno.payment.analytics.model.entity.PaymentRollup;
+import com.xuno.payment.analytics.service.PaymentRollupService;
+import com.xuno.payment.common.migration.LegacySchemaQueries;
+import com.xuno.payment.payment.archive.PaymentArchive;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.repository.PaymentPartitionRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "mongo", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentRollupServiceImpl implements PaymentRollupService {
+
+    private static final String ROLLUPS_COLLECTION = "payment_rollups";
+    /** Marks the buckets written by one rebuild, so the ones it did not write can be told apart. */
+    private static final String REBUILD_ID_FIELD = "rebuildId";
+    private static final List<String> REBUILD_FIELDS = List.of("del", "ca", "cor", "st", "sa", "ta", "fee.tot");
+
+    private final MongoTemplate mongoTemplate;
+    private final PaymentRollupMapper mapper;
+    private final PaymentPartitionRouter partitionRouter;
+    private final LegacySchemaQueries legacySchemaQueries;
+    private final PaymentArchive paymentArchive;
+
+    @Override
+    public void recordCreated(Payment payment) {
+        try {
+            mongoTemplate.upsert(bucketQuery(payment, payment.getStatus()),
+                    increment(payment, payment.getStatus(), 1), PaymentRollup.class);
+        } catch (Exception ex) {
+            log.error("Error updating rollup for created payment: {}", payment.getId(), ex);
+        }
+    }
+
+    @Override
+    public void recordStatusChange(Payment payment, PaymentStatus previousStatus) {
+        if (previousStatus == null || previousStatus == payment.getStatus()) {
+            return;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PaymentRollup.class)
+                    .upsert(bucketQuery(payment, previousStatus), increment(payment, previousStatus, -1))
+                    .upsert(bucketQuery(payment, payment.getStatus()), increment(payment, payment.getStatus(), 1))
+                    .execute();
+        } catch (Exception ex) {
+            log.error("Error updating rollup for payment status change: {}", payment.getId(), ex);
+        }
+    }
+
+    @Override
+    public List<PaymentRollupResponse> findRollups(LocalDate dateFrom, LocalDate dateTo,
+                                                   String corridor, PaymentStatus status) {
+        Criteria criteria = new Criteria();
+
+        if (dateFrom != null && dateTo != null) {
+            criteria = criteria.and("day").gte(dateFrom.toString()).lte(dateTo.toString());
+        } else if (dateFrom != null) {
+            criteria = criteria.and("day").gte(dateFrom.toString());
+        } else if (dateTo != null) {
+            criteria = criteria.and("day").lte(dateTo.toString());
+        }
+
+        if (corridor != null) {
+            criteria = criteria.and("corridor").is(corridor);
+        }
+
+        if (status != null) {
+            criteria = criteria.and("status").is(status);
+        }
+
+        Query query = new Query(criteria).with(Sort.by("day", "corridor", "status"));
+
+        return mongoTemplate.find(query, PaymentRollup.class).stream()
+                .map(mapper::toResponse)
+                .toList();
+    }
+
+    /**
+     * Recomputes the buckets of every day after the newest archived payment from the payments
+     * collections and merges them into the rollup collection through {@code $merge}; buckets of those
+     * days that no payment backs any more are then removed. Days up to the newest archived payment
+     * are left as they are, since part of their payments is no longer in Mongo. Increments applied
+     * while the pipeline runs may be lost, so this is meant for off-peak repair rather than routine
+     * use. Payments not yet moved to the compact schema are read through their v1 keys. With no
+     * payments collection at all, such as on a fresh deployment with partitioning on and no legacy
+     * fallback, there is nothing to aggregate and every bucket of those days is stale.
+     */
+    @Override
+    public void rebuild() {
+        List<String> collections = partitionRouter.allCollections();
+        LocalDate firstDay = paymentArchive.newestCreatedAt()
+                .map(newestArchived -> newestArchived.toLocalDate().plusDays(1))
+                .orElse(null);
+        log.info("Rebuilding payment rollups from {}{}", collections,
+                firstDay != null ? " for days from " + firstDay + " on" : "");
+
+        ZoneId zone = ZoneId.systemDefault();
+        String rebuildId = new ObjectId().toHexString();
+        if (collections.isEmpty()) {
+            log.info("No payments collections to rebuild from, {} stale buckets removed", removeStale(rebuildId, firstDay));
+            return;
+        }
+        Document createdAt = firstDay != null
+                ? new Document("$gte", Date.from(firstDay.atStartOfDay(zone).toInstant()))
+                : new Document("$ne", null);
+
+        List<Document> pipeline = new ArrayList<>();
+        collections.stream()
+                .skip(1)
+                .forEach(collection -> pipeline.add(new Document("$unionWith", collection)));
+        Document coalesce = legacySchemaQueries.coalesceStage(Payment.class, REBUILD_FIELDS);
+        if (coalesce != null) {
+            pipeline.add(coalesce);
+        }
+        pipeline.addAll(List.of(
+                new Document("$match", new Document("del", false)
+                        .append("ca", createdAt)),
+                new Document("$group", new Document("_id", new Document()
+                        .append("corridor", new Document("$ifNull", List.of("$cor", PaymentRollup.UNASSIGNED_CORRIDOR)))
+                        .append("status", statusName("$st"))
+                        .append("day", new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                                .append("date", "$ca")
+                                .append("timezone", zone.getId()))))
+                        .append("count", new Document("$sum", 1L))
+                        .append("sourceAmountSum", decimalSum("$sa"))
+                        .append("targetAmountSum", decimalSum("$ta"))
+                        .append("totalFeeSum", decimalSum("$fee.tot"))),
+                new Document("$project", new Document()
+                        .append("_id", new Document("$concat", List.of("$_id.corridor", "|", "$_id.status", "|", "$_id.day")))
+                        .append("corridor", "$_id.corridor")
+                        .append("status", "$_id.status")
+                        .append("day", "$_id.day")
+                        .append("count", 1)
+                        .append("sourceAmountSum", 1)
+                        .append("targetAmountSum", 1)
+                        .append("totalFeeSum", 1)
+                        .append(REBUILD_ID_FIELD, rebuildId)),
+                new Document("$merge", new Document("into", ROLLUPS_COLLECTION)
+                        .append("whenMatched", "replace")
+                        .append("whenNotMatched", "insert"))
+        ));
+
+        mongoTemplate.getCollection(collections.getFirst())
+                .aggregate(pipeline)
+                .allowDiskUse(true)
+                .toCollection();
+
+        log.info("Payment rollups rebuilt, {} stale buckets removed", removeStale(rebuildId, firstDay));
+    }
+
+    /**
+     * Removes the buckets from {@code firstDay} on, or of every day, that rebuild {@code rebuildId}
+     * did not write.
+     */
+    private long removeStale(String rebuildId, LocalDate firstDay) {
+        Criteria stale = Criteria.where(REBUILD_ID_FIELD).ne(rebuildId);
+        if (firstDay != null) {
+            stale = stale.and("day").gte(firstDay.toString());
+        }
+        return mongoTemplate.remove(new Query(stale), PaymentRollup.class).getDeletedCount();
+    }
+
+    private Query bucketQuery(Payment payment, PaymentStatus status) {
+        return new Query(Criteria.where("_id").is(PaymentRollup.bucketId(corridorOf(payment), status, dayOf(payment))));
+    }
+
+    private Update increment(Payment payment, PaymentStatus status, int sign) {
+        BigDecimal totalFee = payment.getFeeCalculation() != null ? payment.getFeeCalculation().getTotalFee() : null;
+
+        return new Update()
+                .setOnInsert("corridor", corridorOf(payment))
+                .setOnInsert("status", status)
+                .setOnInsert("day", dayOf(payment))
+                .inc("count", (long) sign)
+                .inc("sourceAmountSum", signed(payment.getSourceAmount(), sign))
+                .inc("targetAmountSum", signed(payment.getTargetAmount(), sign))
+                .inc("totalFeeSum", signed(totalFee, sign));
+    }
+
+    /**
+     * Payments store the status as its code, while rollup ids and documents use the name.
+     */
+    private static Document statusName(String field) {
+        List<Document> branches = Arrays.stream(PaymentStatus.values())
+                .map(status -> new Document("case", new Document("$eq", List.of(field, status.getCode())))
+                        .append("then", status.name()))
+                .toList();
+        return new Document("$switch", new Document("branches", branches).append("default", field));
+    }
+
+    private static Document decimalSum(String field) {
+        return new Document("$sum", new Document("$toDecimal", field));
+    }
+
+    private static Decimal128 signed(BigDecimal value, int sign) {
+        BigDecimal amount = value != null ? value : BigDecimal.ZERO;
+        return new Decimal128(sign < 0 ? amount.negate() : amount);
+    }
+
+    private static String corridorOf(Payment payment) {
+        return payment.getCorridor() != null ? payment.getCorridor() : PaymentRollup.UNASSIGNED_CORRIDOR;
+    }
+
+    private static String dayOf(Payment payment) {
+        LocalDate day = payment.getCreatedAt() != null ? payment.getCreatedAt().toLocalDate() : LocalDate.now();
+        return day.toString();
+    }
+}
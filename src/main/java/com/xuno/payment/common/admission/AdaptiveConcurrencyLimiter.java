@@ -0,0 +1,115 @@
+package com.xuno.payment.common.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive limit on the number of API requests in flight. A request slower than the latency
+ * threshold cuts the limit by the backoff ratio; a fast request grows it by the growth ratio (at
+ * least one) while at least half of it is in use, so recovery after a cut takes a number of windows
+ * that does not depend on how large the limit is. Either happens at most once per window, and growth
+ * waits a window after a cut, so a burst of slow requests that were all admitted together counts as
+ * one congestion signal rather than collapsing the limit to its minimum. When Mongo slows down, the
+ * limit shrinks and excess requests are turned away at once instead of queueing on Tomcat threads.
+ * Requests expected to be slow, such as admin operations, are released with
+ * {@link #releaseUnmeasured()} so their latency is not taken as congestion.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final double growthRatio;
+    private final long windowNanos;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDecreaseNanos;
+    private final AtomicLong lastChangeNanos;
+
+    public AdaptiveConcurrencyLimiter(@Value("${app.admission.concurrency.initial-limit:100}") int initialLimit,
+                                      @Value("${app.admission.concurrency.min-limit:10}") int minLimit,
+                                      @Value("${app.admission.concurrency.max-limit:500}") int maxLimit,
+                                      @Value("${app.admission.concurrency.latency-threshold-ms:1000}") long latencyThresholdMs,
+                                      @Value("${app.admission.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                      @Value("${app.admission.concurrency.growth-ratio:0.1}") double growthRatio,
+                                      @Value("${app.admission.concurrency.window-ms:1000}") long windowMs,
+                                      MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.backoffRatio = backoffRatio;
+        this.growthRatio = growthRatio;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.limit = new AtomicInteger(Math.clamp(initialLimit, minLimit, maxLimit));
+        long windowAgo = System.nanoTime() - windowNanos;
+        this.lastDecreaseNanos = new AtomicLong(windowAgo);
+        this.lastChangeNanos = new AtomicLong(windowAgo);
+
+        Gauge.builder("admission.concurrency.limit", limit, AtomicInteger::get)
+                .description("Current adaptive limit on in-flight API requests")
+                .register(meterRegistry);
+        Gauge.builder("admission.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("API requests currently in flight")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        release(latencyNanos, System.nanoTime());
+    }
+
+    /**
+     * Releases a request without using its latency to adjust the limit.
+     */
+    public void releaseUnmeasured() {
+        inFlight.decrementAndGet();
+    }
+
+    void release(long latencyNanos, long nowNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos) {
+            if (claimWindow(lastDecreaseNanos, nowNanos)) {
+                lastChangeNanos.set(nowNanos);
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+            }
+        } else if (inFlightBefore * 2 >= limit.get() && claimWindow(lastChangeNanos, nowNanos)) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + Math.max(1, (int) (current * growthRatio))));
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Takes the one adjustment allowed per window if {@code last} is at least a window old.
+     */
+    private boolean claimWindow(AtomicLong last, long nowNanos) {
+        long previous = last.get();
+        return nowNanos - previous >= windowNanos && last.compareAndSet(previous, nowNanos);
+    }
+}
@@ -0,0 +1,68 @@
+package com.xuno.payment.common.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-caller token bucket, kept as a single theoretical-arrival-time per key (GCRA) so that taking
+ * a token is one compare-and-set with no locking. Buckets live in a bounded Caffeine map and are
+ * dropped after a period without requests, by which time they would be full again anyway.
+ */
+@Component
+public class AdminRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    public AdminRateLimiter(@Value("${app.admission.rate-limit.requests-per-second:50}") double requestsPerSecond,
+                            @Value("${app.admission.rate-limit.burst:100}") int burst,
+                            @Value("${app.admission.rate-limit.max-callers:100000}") long maxCallers) {
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(burst, 1) - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxCallers)
+                .expireAfterAccess(Duration.ofNanos(emissionIntervalNanos * Math.max(burst, 1)).plusMinutes(1))
+                .build();
+    }
+
+    /**
+     * Takes a token for {@code key}. Returns zero when the request may proceed, otherwise how long
+     * the caller has to wait before a token is available.
+     */
+    public Duration tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire(String)} for a request that was then turned away
+     * for another reason, so the rejection does not count against the caller.
+     */
+    public void refund(String key) {
+        AtomicLong arrival = buckets.getIfPresent(key);
+        if (arrival != null) {
+            arrival.addAndGet(-emissionIntervalNanos);
+        }
+    }
+
+    Duration tryAcquire(String key, long nowNanos) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(nowNanos));
+        while (true) {
+            long current = arrival.get();
+            long start = Math.max(current, nowNanos);
+            long wait = start - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            if (arrival.compareAndSet(current, start + emissionIntervalNanos)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.xuno.payment.common.admission;
+
+import com.xuno.payment.common.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Admission control for the API: the caller's rate limit is checked first, then the adaptive
+ * concurrency limit, and a request the concurrency limit turns away gets its rate-limit token back.
+ * Callers are limited per client address, which is the forwarded client behind a proxy when
+ * {@code server.forward-headers-strategy} is set. {@code X-Admin-Id} is not used for this: it is not
+ * authenticated, so a caller could pick a fresh bucket for every request. Requests to
+ * {@code latency-excluded-paths}, admin operations and long-running rebuilds, count towards the
+ * concurrency limit but their latency does not adjust it. Rejections are thrown as
+ * {@link AdmissionRejectedException} so that {@code GlobalExceptionHandler} renders them with the
+ * usual envelope and a {@code Retry-After} header. Runs as an interceptor rather than a servlet
+ * filter for that reason.
+ */
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".start";
+    private static final Duration OVERLOAD_RETRY_AFTER = Duration.ofSeconds(1);
+    private static final Object UNMEASURED = new Object();
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final AdminRateLimiter rateLimiter;
+    private final boolean enabled;
+    private final List<PathPattern> latencyExcludedPaths;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    public AdmissionControlInterceptor(AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                       AdminRateLimiter rateLimiter,
+                                       @Value("${app.admission.enabled:true}") boolean enabled,
+                                       @Value("${app.admission.concurrency.latency-excluded-paths:/api/v1/admin/**,/api/v1/analytics/rollups/rebuild}")
+                                       String[] latencyExcludedPaths,
+                                       MeterRegistry meterRegistry) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.rateLimiter = rateLimiter;
+        this.enabled = enabled;
+        this.latencyExcludedPaths = Arrays.stream(latencyExcludedPaths)
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.rateLimited = rejectionCounter(meterRegistry, "rate_limit");
+        this.overloaded = rejectionCounter(meterRegistry, "concurrency_limit");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled) {
+            return true;
+        }
+
+        String caller = "ip:" + request.getRemoteAddr();
+        Duration wait = rateLimiter.tryAcquire(caller);
+        if (!wait.isZero()) {
+            rateLimited.increment();
+            throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded, please retry later", wait);
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            rateLimiter.refund(caller);
+            overloaded.increment();
+            throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, "Service is busy, please retry later", OVERLOAD_RETRY_AFTER);
+        }
+
+        request.setAttribute(START_ATTRIBUTE, isLatencyExcluded(request) ? UNMEASURED : System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        if (start instanceof Long startNanos) {
+            concurrencyLimiter.release(System.nanoTime() - startNanos);
+        } else {
+            concurrencyLimiter.releaseUnmeasured();
+        }
+    }
+
+    private boolean isLatencyExcluded(HttpServletRequest request) {
+        if (latencyExcludedPaths.isEmpty()) {
+            return false;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return latencyExcludedPaths.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("admission.rejected")
+                .tag("reason", reason)
+                .description("API requests rejected by admission control")
+                .register(meterRegistry);
+    }
+}
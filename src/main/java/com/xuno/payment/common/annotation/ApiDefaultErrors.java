@@ -38,7 +38,7 @@ import java.lang.annotation.Target;
                         schema = @Schema(implementation = GlobalApiResponse.class),
                         examples = @ExampleObject(
                                 name = "Not Found",
-                                value = "{\"success\": false, \"message\": \"Resource not found\", \"status\": 404, \"data\": null, \"timestamp\": \"2025-05-22T18:22:44.571Z\"}"
+                                value = "{\"success\": false, \"message\": \"Resource not found\", \"code\": \"RESOURCE_NOT_FOUND\", \"status\": 404, \"data\": null, \"timestamp\": \"2025-05-22T18:22:44.571Z\"}"
                         )
                 )
         ),
@@ -0,0 +1,10 @@
+package com.xuno.payment.common.convert;
+
+/**
+ * An enum with a stable numeric code used as its stored representation. Codes must never be
+ * reused or changed once written, unlike names and ordinals which may be refactored.
+ */
+public interface CodedEnum {
+
+    int getCode();
+}
@@ -0,0 +1,49 @@
+package com.xuno.payment.common.convert;
+
+import org.springframework.data.mongodb.core.convert.MongoConversionContext;
+import org.springframework.data.mongodb.core.convert.MongoValueConverter;
+
+/**
+ * Stores a {@link CodedEnum} property as its numeric code. Enable it per property with
+ * {@code @ValueConverter(EnumCodeConverter.class)}; query values on such properties are converted too.
+ * Names stored by older versions are still read.
+ */
+public class EnumCodeConverter implements MongoValueConverter<Object, Object> {
+
+    @Override
+    public Object read(Object value, MongoConversionContext context) {
+        Class<?> type = context.getProperty().getActualType();
+        for (Object constant : type.getEnumConstants()) {
+            if (value instanceof Number code && ((CodedEnum) constant).getCode() == code.intValue()) {
+                return constant;
+            }
+            if (value instanceof String name && ((Enum<?>) constant).name().equals(name)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " value: " + value);
+    }
+
+    @Override
+    public Object write(Object value, MongoConversionContext context) {
+        return value instanceof CodedEnum codedEnum ? codedEnum.getCode() : value;
+    }
+
+    public static int codeOf(Class<?> type, String name) {
+        for (Object constant : type.getEnumConstants()) {
+            if (((Enum<?>) constant).name().equals(name)) {
+                return ((CodedEnum) constant).getCode();
+            }
+        }
+        throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " value: " + name);
+    }
+
+    public static String nameOf(Class<?> type, int code) {
+        for (Object constant : type.getEnumConstants()) {
+            if (((CodedEnum) constant).getCode() == code) {
+                return ((Enum<?>) constant).name();
+            }
+        }
+        throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " code: " + code);
+    }
+}
@@ -2,6 +2,7 @@ package com.xuno.payment.common.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
 /**
  * Global API response wrapper for standardizing response structure.
  * Provides a consistent format for all API responses.
+ * Serialized by {@link GlobalApiResponseSerializer}.
  *
  * @param <T> The type of data being returned
  */
@@ -24,6 +26,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonSerialize(using = GlobalApiResponseSerializer.class)
 @Schema(description = "Standard API response wrapper")
 public class GlobalApiResponse<T> {
 
@@ -36,6 +39,9 @@ public class GlobalApiResponse<T> {
     @Schema(description = "Response message", example = "Retrieved successfully")
     private String message;
 
+    @Schema(description = "Stable error code, present on business errors", example = "PAYMENT_NOT_FOUND")
+    private String code;
+
     @Schema(description = "HTTP status code", example = "200")
     private int status;
 
@@ -71,6 +77,12 @@ public class GlobalApiResponse<T> {
         return response;
     }
 
+    public static <T> GlobalApiResponse<T> error(T data, HttpStatus status, String code, String message) {
+        GlobalApiResponse<T> response = error(data, status, message);
+        response.setCode(code);
+        return response;
+    }
+
     public static <T> GlobalApiResponse<T> error(HttpStatus status, String message) {
         return error(null, status, message);
     }
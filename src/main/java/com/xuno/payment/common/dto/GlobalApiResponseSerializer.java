@@ -0,0 +1,62 @@
+package com.xuno.payment.common.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes the response envelope straight to the generator with pre-encoded field names, instead of
+ * going through bean introspection for every response. Field order and null handling match what
+ * the bean serializer produced; {@code data} and {@code timestamp} are delegated to the mapper so
+ * their serializers (and date settings) are the cached ones.
+ */
+public class GlobalApiResponseSerializer extends StdSerializer<GlobalApiResponse<?>> {
+
+    private static final SerializedString SUCCESS = new SerializedString("success");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString CODE = new SerializedString("code");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+
+    @SuppressWarnings("unchecked")
+    public GlobalApiResponseSerializer() {
+        super((Class<GlobalApiResponse<?>>) (Class<?>) GlobalApiResponse.class);
+    }
+
+    @Override
+    public void serialize(GlobalApiResponse<?> response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(response);
+
+        gen.writeFieldName(SUCCESS);
+        gen.writeBoolean(response.isSuccess());
+
+        if (response.getMessage() != null) {
+            gen.writeFieldName(MESSAGE);
+            gen.writeString(response.getMessage());
+        }
+
+        if (response.getCode() != null) {
+            gen.writeFieldName(CODE);
+            gen.writeString(response.getCode());
+        }
+
+        gen.writeFieldName(STATUS);
+        gen.writeNumber(response.getStatus());
+
+        if (response.getData() != null) {
+            gen.writeFieldName(DATA);
+            provider.defaultSerializeValue(response.getData(), gen);
+        }
+
+        if (response.getTimestamp() != null) {
+            gen.writeFieldName(TIMESTAMP);
+            provider.defaultSerializeValue(response.getTimestamp(), gen);
+        }
+
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,51 @@
+package com.xuno.payment.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Latency of one Mongo command shape since startup", name = "MongoQueryShapeResponse")
+public class MongoQueryShapeResponse {
+
+    @Schema(description = "Collection the command ran against", example = "payments")
+    private String collection;
+
+    @Schema(description = "Mongo command name", example = "find")
+    private String command;
+
+    @Schema(description = "Filter, sort or pipeline shape with literal values replaced by ?",
+            example = "{st: ?, del: ?} sort {ca: -1}")
+    private String shape;
+
+    @Schema(description = "Number of executions", example = "1250")
+    private long count;
+
+    @Schema(description = "Number of failed executions", example = "0")
+    private long failures;
+
+    @Schema(description = "Mean latency in milliseconds", example = "4.2")
+    private double meanMs;
+
+    @Schema(description = "Maximum latency in milliseconds", example = "310.5")
+    private double maxMs;
+
+    @Schema(description = "Number of executions over the slow threshold", example = "3")
+    private long slowCount;
+
+    @Schema(description = "Last time an execution was over the slow threshold")
+    private LocalDateTime lastSlowAt;
+
+    @Schema(description = "Winning plan from an explain of a sampled slow execution",
+            example = "FETCH > IXSCAN(status_created_idx)")
+    private String planSummary;
+}
@@ -0,0 +1,30 @@
+package com.xuno.payment.common.exception;
+
+import lombok.Getter;
+
+/**
+ * Base class for expected business outcomes such as a missing payment or a rejected transition.
+ * These are part of normal traffic, and clients retry them, so no stack trace is captured; the
+ * {@link ErrorCode} identifies where they come from.
+ */
+@Getter
+public abstract class DomainException extends RuntimeException {
+
+    private final ErrorCode code;
+
+    protected DomainException(ErrorCode code, String message) {
+        this(code, message, null);
+    }
+
+    protected DomainException(ErrorCode code, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.code = code;
+    }
+
+    /**
+     * Optional payload returned as {@code data} in the error response.
+     */
+    public Object getData() {
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.xuno.payment.common.exception;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Stable, client-facing codes for expected business errors. The name is returned as
+ * {@code GlobalApiResponse.code}; never rename or reuse one.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ErrorCode {
+
+    RESOURCE_NOT_FOUND(HttpStatus.NOT_FOUND),
+    PAYMENT_NOT_FOUND(HttpStatus.NOT_FOUND),
+    EXCHANGE_CONFIG_NOT_FOUND(HttpStatus.NOT_FOUND),
+    NO_MATCHING_EXCHANGE_CONFIG(HttpStatus.NOT_FOUND),
+    INVALID_EXCHANGE_CONFIG(HttpStatus.BAD_REQUEST),
+    PAYMENT_NOT_VERIFIED(HttpStatus.BAD_REQUEST),
+    INVALID_STATUS_TRANSITION(HttpStatus.BAD_REQUEST),
+    IDEMPOTENCY_CONFLICT(HttpStatus.CONFLICT);
+
+    private final HttpStatus status;
+}
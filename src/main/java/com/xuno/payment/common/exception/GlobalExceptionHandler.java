@@ -2,7 +2,9 @@ package com.xuno.payment.common.exception;
 
 
 import com.xuno.payment.common.dto.GlobalApiResponse;
+import com.xuno.payment.common.logging.LogThrottle;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +23,12 @@ import java.util.Map;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    /**
+     * Business errors and bad arguments are expected traffic and arrive in bursts when clients
+     * retry, so each kind is logged at most once per interval with a count of the ones skipped.
+     */
+    private final LogThrottle logThrottle = new LogThrottle(Duration.ofSeconds(10));
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<GlobalApiResponse<List<Map<String, String>>>> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
@@ -50,7 +59,10 @@ public class GlobalExceptionHandler {
     public ResponseEntity<GlobalApiResponse<Void>> handleIllegalArgumentException(
             IllegalArgumentException ex) {
         
-        log.warn("Illegal argument error occurred: {}", ex.getMessage());
+        long suppressed = logThrottle.tryAcquire(IllegalArgumentException.class.getSimpleName());
+        if (suppressed != LogThrottle.SUPPRESSED) {
+            log.warn("Illegal argument error occurred: {} ({} similar suppressed)", ex.getMessage(), suppressed);
+        }
         
         GlobalApiResponse<Void> response = GlobalApiResponse.error(
                 HttpStatus.BAD_REQUEST, 
@@ -60,18 +72,40 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
-    @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<GlobalApiResponse<Void>> handleResourceNotFoundException(
-            ResourceNotFoundException ex) {
-        
-        log.warn("Resource not found: {}", ex.getMessage());
-        
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<GlobalApiResponse<Object>> handleDomainException(DomainException ex) {
+
+        ErrorCode code = ex.getCode();
+        long suppressed = logThrottle.tryAcquire(code.name());
+        if (suppressed != LogThrottle.SUPPRESSED) {
+            log.warn("Business error {}: {} ({} similar suppressed)", code, ex.getMessage(), suppressed);
+        }
+
+        GlobalApiResponse<Object> response = GlobalApiResponse.error(
+                ex.getData(),
+                code.getStatus(),
+                code.name(),
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(code.getStatus()).body(response);
+    }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<GlobalApiResponse<Void>> handleAdmissionRejectedException(
+            AdmissionRejectedException ex) {
+
+        log.debug("Request rejected by admission control: {}", ex.getMessage());
+
         GlobalApiResponse<Void> response = GlobalApiResponse.error(
-                HttpStatus.NOT_FOUND, 
+                ex.getStatus(),
                 ex.getMessage()
         );
-        
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
@@ -1,12 +1,16 @@
 package com.xuno.payment.common.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends DomainException {
 
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(ErrorCode.RESOURCE_NOT_FOUND, message);
     }
 
     public ResourceNotFoundException(String message, Throwable cause) {
-        super(message, cause);
+        super(ErrorCode.RESOURCE_NOT_FOUND, message, cause);
+    }
+
+    protected ResourceNotFoundException(ErrorCode code, String message) {
+        super(code, message);
     }
 }
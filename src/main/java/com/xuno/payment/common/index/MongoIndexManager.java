@@ -0,0 +1,163 @@
+package com.xuno.payment.common.index;
+
+import com.mongodb.MongoException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and verifies the indexes declared on {@link Document} entities through {@code @CompoundIndex}.
+ * Spring Boot leaves Mongo auto-index-creation off, so without this the declared indexes may never exist.
+ * Runs off the startup thread once the application is ready, so it never delays serving traffic.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "mongo", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexManager {
+
+    private static final int INDEX_OPTIONS_CONFLICT = 85;
+    private static final int INDEX_KEY_SPECS_CONFLICT = 86;
+
+    public enum State {
+        PENDING,
+        BUILDING,
+        READY,
+        FAILED,
+        DISABLED
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @Value("${app.mongo.index-management.enabled:true}")
+    private boolean enabled;
+
+    private volatile State state = State.PENDING;
+    private volatile List<String> missingIndexes = List.of();
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("Mongo index management is disabled");
+            state = State.DISABLED;
+            return;
+        }
+        ensureIndexes();
+    }
+
+    public void ensureIndexes() {
+        state = State.BUILDING;
+        log.info("Ensuring Mongo indexes");
+
+        try {
+            List<String> missing = new ArrayList<>();
+
+            for (MongoPersistentEntity<?> entity : documentEntities()) {
+                List<String> expected = ensureIndexes(entity.getType(), entity.getCollection());
+                missing.addAll(verify(mongoTemplate.indexOps(entity.getCollection(), entity.getType()),
+                        entity.getCollection(), expected));
+            }
+
+            missingIndexes = List.copyOf(missing);
+            state = missing.isEmpty() ? State.READY : State.FAILED;
+
+            if (missing.isEmpty()) {
+                log.info("Mongo indexes verified");
+            } else {
+                log.error("Mongo indexes missing after build: {}", missing);
+            }
+        } catch (Exception ex) {
+            state = State.FAILED;
+            log.error("Error ensuring Mongo indexes", ex);
+        }
+    }
+
+    /**
+     * Creates the indexes declared on {@code type} in {@code collection}, which may differ from the
+     * entity's default collection (for example a time partition). Returns the names of the indexes.
+     */
+    public List<String> ensureIndexes(Class<?> type, String collection) {
+        IndexOperations indexOps = mongoTemplate.indexOps(collection, type);
+        List<String> names = new ArrayList<>();
+
+        for (IndexDefinition definition : IndexResolver.create(mappingContext).resolveIndexFor(type)) {
+            String name = definition.getIndexOptions().getString("name");
+            names.add(name);
+            ensureIndex(indexOps, definition, collection, name);
+        }
+        return names;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public List<String> getMissingIndexes() {
+        return missingIndexes;
+    }
+
+    private List<MongoPersistentEntity<?>> documentEntities() {
+        List<MongoPersistentEntity<?>> entities = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (entity.isAnnotationPresent(Document.class)) {
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
+
+    private void ensureIndex(IndexOperations indexOps, IndexDefinition definition, String collection, String name) {
+        try {
+            indexOps.createIndex(definition);
+        } catch (DataAccessException ex) {
+            if (!isDefinitionConflict(ex)) {
+                throw ex;
+            }
+            log.warn("Index {}.{} exists with a different definition, recreating it", collection, name);
+            indexOps.dropIndex(name);
+            indexOps.createIndex(definition);
+        }
+    }
+
+    private List<String> verify(IndexOperations indexOps, String collection, List<String> expected) {
+        Set<String> existing = indexOps.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet());
+
+        return expected.stream()
+                .filter(name -> !existing.contains(name))
+                .map(name -> collection + "." + name)
+                .toList();
+    }
+
+    private boolean isDefinitionConflict(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException) {
+                int code = mongoException.getCode();
+                return code == INDEX_OPTIONS_CONFLICT || code == INDEX_KEY_SPECS_CONFLICT;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,73 @@
+package com.xuno.payment.common.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tags each API request's logs with its endpoint ({@code GET /api/v1/payments/{id}}) in the MDC
+ * and decides once per request whether its INFO and DEBUG lines are kept, using the rate configured
+ * for the endpoint in {@code app.logging.sampling.rates}. A request is either logged completely or
+ * only at WARN and above, which {@link LogSamplingTurboFilter} enforces. Endpoints without a rate
+ * are always logged.
+ */
+@Component
+@Slf4j
+public class LogSamplingInterceptor implements HandlerInterceptor {
+
+    public static final String ENDPOINT_KEY = "endpoint";
+    static final String SAMPLED_KEY = "log.sampled";
+    static final String NOT_SAMPLED = "false";
+
+    private final Map<String, Double> rates;
+
+    public LogSamplingInterceptor(@Value("${app.logging.sampling.rates:}") String[] rates) {
+        this.rates = parseRates(rates);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        MDC.put(ENDPOINT_KEY, endpoint);
+
+        Double rate = rates.get(endpoint);
+        if (rate != null && ThreadLocalRandom.current().nextDouble() >= rate) {
+            MDC.put(SAMPLED_KEY, NOT_SAMPLED);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        MDC.remove(ENDPOINT_KEY);
+        MDC.remove(SAMPLED_KEY);
+    }
+
+    /**
+     * Parses entries of the form {@code METHOD /path/pattern=rate}.
+     */
+    static Map<String, Double> parseRates(String[] entries) {
+        Map<String, Double> rates = new HashMap<>();
+        for (String entry : entries) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                if (!entry.isBlank()) {
+                    log.warn("Ignoring log sampling rate without '=': {}", entry);
+                }
+                continue;
+            }
+            rates.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim()));
+        }
+        return Map.copyOf(rates);
+    }
+}
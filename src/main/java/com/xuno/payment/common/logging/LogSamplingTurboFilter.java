@@ -0,0 +1,38 @@
+package com.xuno.payment.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Denies events below WARN on threads whose request was not sampled for logging, see
+ * {@link LogSamplingInterceptor}. Runs before logback creates the event, so a skipped log call costs
+ * an MDC lookup and no formatting. WARN and ERROR always pass.
+ */
+public class LogSamplingTurboFilter extends TurboFilter {
+
+    private static final LongAdder SAMPLED_OUT = new LongAdder();
+
+    /**
+     * Events skipped because their request was not sampled, since startup.
+     */
+    public static long sampledOutCount() {
+        return SAMPLED_OUT.sum();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || !LogSamplingInterceptor.NOT_SAMPLED.equals(MDC.get(LogSamplingInterceptor.SAMPLED_KEY))) {
+            return FilterReply.NEUTRAL;
+        }
+        if (format != null) {
+            SAMPLED_OUT.increment();
+        }
+        return FilterReply.DENY;
+    }
+}
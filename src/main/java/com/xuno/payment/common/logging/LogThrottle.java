@@ -0,0 +1,52 @@
+package com.xuno.payment.common.logging;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets one log line per key through per interval and counts the rest, so a burst of identical
+ * errors costs a counter increment each instead of a formatted log line. Keys should come from a
+ * small, fixed set such as error codes.
+ */
+public class LogThrottle {
+
+    public static final long SUPPRESSED = -1;
+
+    private final long intervalNanos;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public LogThrottle(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * Returns {@link #SUPPRESSED} if {@code key} was already logged within the interval, otherwise
+     * the number of events suppressed since it was last logged.
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(String key, long nowNanos) {
+        Window window = windows.computeIfAbsent(key, k -> new Window(nowNanos));
+        long next = window.nextAllowed.get();
+        if (nowNanos - next >= 0 && window.nextAllowed.compareAndSet(next, nowNanos + intervalNanos)) {
+            return window.suppressed.sumThenReset();
+        }
+        window.suppressed.increment();
+        return SUPPRESSED;
+    }
+
+    private static final class Window {
+
+        private final AtomicLong nextAllowed;
+        private final LongAdder suppressed = new LongAdder();
+
+        private Window(long nowNanos) {
+            this.nextAllowed = new AtomicLong(nowNanos);
+        }
+    }
+}
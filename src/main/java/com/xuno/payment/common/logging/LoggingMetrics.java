@@ -0,0 +1,27 @@
+package com.xuno.payment.common.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the log events that were never written as {@code logging.events.dropped}: tagged
+ * {@code buffer_full} for events dropped by {@link RingBufferAppender} and {@code sampled} for events
+ * skipped by {@link LogSamplingTurboFilter}.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.events.dropped", RingBufferAppender.class, c -> RingBufferAppender.droppedCount())
+                .tag("reason", "buffer_full")
+                .description("Log events dropped because the asynchronous log buffer was full")
+                .register(registry);
+        FunctionCounter.builder("logging.events.dropped", LogSamplingTurboFilter.class, c -> LogSamplingTurboFilter.sampledOutCount())
+                .tag("reason", "sampled")
+                .description("Log events skipped because their request was not sampled")
+                .register(registry);
+    }
+}
@@ -0,0 +1,177 @@
+package com.xuno.payment.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import com.xuno.payment.common.concurrent.MpscRingBuffer;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands log events to the attached appenders on a background thread through an
+ * {@link MpscRingBuffer}, so request threads never wait for encoding or console I/O. When the buffer
+ * is full, events below WARN are dropped and counted; WARN and ERROR events are written synchronously
+ * instead, so they are never lost. The number of dropped events is logged from the background thread
+ * at most every {@code dropReportIntervalSeconds} and exposed through {@link #droppedCount()}.
+ *
+ * <pre>{@code
+ * <appender name="ASYNC" class="com.xuno.payment.common.logging.RingBufferAppender">
+ *     <capacity>8192</capacity>
+ *     <appender-ref ref="CONSOLE"/>
+ * </appender>
+ * }</pre>
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    private static final LongAdder DROPPED = new LongAdder();
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 2000;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private int capacity = 8192;
+    private int dropReportIntervalSeconds = 30;
+    private MpscRingBuffer<ILoggingEvent> buffer;
+    private Thread worker;
+    private volatile boolean running;
+
+    /**
+     * Events dropped because a buffer was full, across all instances since startup.
+     */
+    public static long droppedCount() {
+        return DROPPED.sum();
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setDropReportIntervalSeconds(int dropReportIntervalSeconds) {
+        this.dropReportIntervalSeconds = dropReportIntervalSeconds;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to RingBufferAppender [" + name + "]");
+            return;
+        }
+        buffer = new MpscRingBuffer<>(capacity);
+        running = true;
+        worker = Thread.ofPlatform().name("log-writer-" + name).daemon().unstarted(this::drainLoop);
+        worker.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (buffer.offer(event)) {
+            return;
+        }
+        if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            appenders.appendLoopOnAppenders(event);
+        } else {
+            DROPPED.increment();
+        }
+    }
+
+    private void drainLoop() {
+        long reportIntervalNanos = TimeUnit.SECONDS.toNanos(dropReportIntervalSeconds);
+        long nextReport = System.nanoTime() + reportIntervalNanos;
+        long reportedDrops = DROPPED.sum();
+
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            if (System.nanoTime() - nextReport >= 0) {
+                long dropped = DROPPED.sum();
+                if (dropped > reportedDrops) {
+                    reportDrops(dropped - reportedDrops);
+                    reportedDrops = dropped;
+                }
+                nextReport = System.nanoTime() + reportIntervalNanos;
+            }
+        }
+        drain();
+    }
+
+    private boolean drain() {
+        boolean drained = false;
+        ILoggingEvent event;
+        while ((event = buffer.poll()) != null) {
+            appenders.appendLoopOnAppenders(event);
+            drained = true;
+        }
+        return drained;
+    }
+
+    private void reportDrops(long dropped) {
+        Logger logger = ((LoggerContext) getContext()).getLogger(RingBufferAppender.class);
+        appenders.appendLoopOnAppenders(new LoggingEvent(RingBufferAppender.class.getName(), logger, Level.WARN,
+                "Dropped " + dropped + " log events below WARN because the log buffer was full", null, null));
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
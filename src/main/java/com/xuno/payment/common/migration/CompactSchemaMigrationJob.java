@@ -0,0 +1,141 @@
+package com.xuno.payment.common.migration;
+
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.entity.PaymentStatusHistoryBucket;
+import com.xuno.payment.payment.repository.PaymentPartitionRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Rewrites v1 payment documents and status history buckets into the compact v2 schema in batches.
+ * Until it finishes, {@link SchemaUpcastListener} upcasts v1 documents on read,
+ * {@link LegacySchemaQueries} widens queries so they match v1 documents too, and any payment that is
+ * saved is written as v2. Each collection is read once in {@code _id} order, so a batch is an index
+ * range scan rather than a search for unmigrated documents. Completion is recorded in
+ * {@code schema_migrations}, so later starts neither rescan nor widen queries. Safe to re-run.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "mongo", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class CompactSchemaMigrationJob {
+
+    static final String MIGRATIONS_COLLECTION = "schema_migrations";
+    static final String MIGRATION_ID = "compact-schema-v" + SchemaUpcaster.CURRENT_VERSION;
+
+    private static final String STATUS_HISTORY_COLLECTION = "payment_status_history";
+
+    private final MongoTemplate mongoTemplate;
+    private final PaymentPartitionRouter partitionRouter;
+    private final SchemaUpcaster upcaster;
+    private final LegacySchemaQueries legacySchemaQueries;
+
+    @Value("${app.mongo.compact-schema-migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mongo.compact-schema-migration.batch-size:500}")
+    private int batchSize;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (isRecorded()) {
+                legacySchemaQueries.markMigrated();
+                log.info("Compact schema migration already complete");
+                return;
+            }
+            if (!enabled) {
+                log.info("Compact schema migration is disabled, queries keep matching v1 documents");
+                return;
+            }
+            migrate(batchSize);
+        } catch (Exception ex) {
+            log.error("Error migrating documents to the compact schema", ex);
+        }
+    }
+
+    /**
+     * Migrates every collection, then records the migration as complete and stops widening queries.
+     */
+    public long migrate(int batchSize) {
+        long migrated = 0;
+        Document pendingPayments = new Document(SchemaUpcaster.VERSION_FIELD,
+                new Document("$ne", SchemaUpcaster.CURRENT_VERSION));
+        for (String collection : partitionRouter.allCollections()) {
+            migrated += migrateCollection(collection, Payment.class, pendingPayments, batchSize);
+        }
+
+        Document pendingBuckets = new Document("events.status", new Document("$exists", true));
+        migrated += migrateCollection(STATUS_HISTORY_COLLECTION, PaymentStatusHistoryBucket.class, pendingBuckets, batchSize);
+
+        mongoTemplate.getCollection(MIGRATIONS_COLLECTION).replaceOne(new Document("_id", MIGRATION_ID),
+                new Document("_id", MIGRATION_ID).append("completedAt", new Date()), new ReplaceOptions().upsert(true));
+        legacySchemaQueries.markMigrated();
+        log.info("Compact schema migration complete, {} documents rewritten", migrated);
+        return migrated;
+    }
+
+    private boolean isRecorded() {
+        return mongoTemplate.getCollection(MIGRATIONS_COLLECTION).find(new Document("_id", MIGRATION_ID)).first() != null;
+    }
+
+    /**
+     * Walks {@code collection} in {@code _id} order and replaces the documents the upcaster changed.
+     * The replacement only applies while the document still matches {@code pending}, so a payment
+     * saved as v2 in the meantime is not overwritten.
+     */
+    private long migrateCollection(String collection, Class<?> type, Document pending, int batchSize) {
+        long migrated = 0;
+        Object lastId = null;
+        while (true) {
+            Document range = lastId == null ? new Document() : new Document("_id", new Document("$gt", lastId));
+            List<Document> documents = mongoTemplate.getCollection(collection)
+                    .find(range)
+                    .sort(new Document("_id", 1))
+                    .limit(batchSize)
+                    .into(new ArrayList<>());
+
+            if (documents.isEmpty()) {
+                break;
+            }
+            lastId = documents.getLast().get("_id");
+
+            List<ReplaceOneModel<Document>> replacements = new ArrayList<>();
+            for (Document document : documents) {
+                Document filter = new Document(pending).append("_id", document.get("_id"));
+                if (upcaster.upcast(type, document)) {
+                    replacements.add(new ReplaceOneModel<>(filter, document));
+                }
+            }
+            if (!replacements.isEmpty()) {
+                mongoTemplate.getCollection(collection).bulkWrite(replacements, new BulkWriteOptions().ordered(false));
+                migrated += replacements.size();
+            }
+
+            if (documents.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (migrated > 0) {
+            log.info("Migrated {} {} documents to the compact schema", migrated, collection);
+        }
+        return migrated;
+    }
+}
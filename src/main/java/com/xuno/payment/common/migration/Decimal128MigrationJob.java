@@ -0,0 +1,109 @@
+package com.xuno.payment.common.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rewrites monetary fields that older versions persisted as strings into Decimal128, in batches of
+ * documents, so that range queries on amounts compare numerically. Safe to re-run: only fields that
+ * are still strings are touched. Payment fields are listed under both their v1 and compact v2 keys,
+ * since documents may be renamed by {@link CompactSchemaMigrationJob} while this runs.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "mongo", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class Decimal128MigrationJob {
+
+    static final Map<String, List<String>> MONETARY_FIELDS = Map.of(
+            "exchange_configs", List.of(
+                    "minAmount", "maxAmount", "fxRate", "feeFlat", "feePercent"),
+            "payments", List.of(
+                    "sourceAmount", "targetAmount",
+                    "exchangeRateCalculation.exchangeRate",
+                    "feeCalculation.feeFlat", "feeCalculation.feePercent", "feeCalculation.flatFeeAmount",
+                    "feeCalculation.percentFeeAmount", "feeCalculation.totalFee",
+                    "sa", "ta", "erc.rate", "fee.ff", "fee.fp", "fee.ffa", "fee.pfa", "fee.tot")
+    );
+
+    private static final Document STRING_TYPE = new Document("$type", "string");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.mongo.decimal128-migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mongo.decimal128-migration.batch-size:500}")
+    private int batchSize;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("Decimal128 migration is disabled");
+            return;
+        }
+        try {
+            migrate(batchSize);
+        } catch (Exception ex) {
+            log.error("Error migrating monetary fields to Decimal128", ex);
+        }
+    }
+
+    public long migrate(int batchSize) {
+        long migrated = 0;
+        for (Map.Entry<String, List<String>> entry : MONETARY_FIELDS.entrySet()) {
+            migrated += migrateCollection(entry.getKey(), entry.getValue(), batchSize);
+        }
+        return migrated;
+    }
+
+    private long migrateCollection(String collection, List<String> fields, int batchSize) {
+        Document pending = new Document("$or", fields.stream()
+                .map(field -> new Document(field, STRING_TYPE))
+                .toList());
+
+        long migrated = 0;
+        while (true) {
+            List<Object> ids = mongoTemplate.getCollection(collection)
+                    .find(pending)
+                    .projection(new Document("_id", 1))
+                    .limit(batchSize)
+                    .map(document -> document.get("_id"))
+                    .into(new ArrayList<>());
+
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            for (String field : fields) {
+                Document filter = new Document("_id", new Document("$in", ids)).append(field, STRING_TYPE);
+                List<Document> update = List.of(new Document("$set",
+                        new Document(field, new Document("$toDecimal", "$" + field))));
+                mongoTemplate.getCollection(collection).updateMany(filter, update);
+            }
+
+            migrated += ids.size();
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (migrated > 0) {
+            log.info("Migrated {} {} documents to Decimal128 amounts", migrated, collection);
+        }
+        return migrated;
+    }
+}
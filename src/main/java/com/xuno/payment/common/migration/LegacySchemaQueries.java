@@ -0,0 +1,114 @@
+package com.xuno.payment.common.migration;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Widens queries on compact-schema documents so they also match v1 documents until
+ * {@link CompactSchemaMigrationJob} has rewritten them all. A filter on v2 keys becomes an
+ * {@code $or} of itself and its v1 form from {@link SchemaUpcaster#legacyFilter}. Widened queries are
+ * already mapped, so they must run without an entity type, and the documents they return are upcast
+ * before they are read. Once the migration is complete queries pass through unchanged.
+ *
+ * <p>The indexes are declared on the v2 keys, so the v1 branch of a widened filter is unindexed. The
+ * migration starts as soon as the application is ready to keep that window short.
+ */
+@Component
+public class LegacySchemaQueries {
+
+    private final SchemaUpcaster upcaster;
+    private final MongoConverter converter;
+    private volatile boolean migrated;
+
+    public LegacySchemaQueries(SchemaUpcaster upcaster, MongoConverter converter) {
+        this.upcaster = upcaster;
+        this.converter = converter;
+    }
+
+    /**
+     * Whether every stored document is known to be in the v2 schema, so queries need no widening.
+     */
+    public boolean isMigrated() {
+        return migrated;
+    }
+
+    /**
+     * Stops widening queries. Called by {@link CompactSchemaMigrationJob} once no v1 document is left.
+     */
+    public void markMigrated() {
+        migrated = true;
+    }
+
+    /**
+     * Maps {@code query} for {@code type} and widens its filter and sort. The result holds stored
+     * keys and values, so run it against {@link Document} and read the results with {@link #read}.
+     */
+    public Query widen(Class<?> type, Query query) {
+        MongoPersistentEntity<?> entity = converter.getMappingContext().getRequiredPersistentEntity(type);
+        QueryMapper mapper = new QueryMapper(converter);
+
+        BasicQuery widened = new BasicQuery(widen(type, mapper.getMappedObject(query.getQueryObject(), entity)),
+                mapper.getMappedFields(query.getFieldsObject(), entity));
+        widened.setSortObject(widenSort(type, mapper.getMappedSort(query.getSortObject(), entity)));
+        widened.skip(query.getSkip()).limit(query.getLimit());
+        return widened;
+    }
+
+    /**
+     * Widens a raw filter written against the v2 keys of {@code type}.
+     */
+    public Document widen(Class<?> type, Document filter) {
+        if (migrated) {
+            return filter;
+        }
+        Document legacy = upcaster.legacyFilter(type, filter);
+        return legacy.equals(filter) ? filter : new Document("$or", List.of(filter, legacy));
+    }
+
+    /**
+     * Adds the v1 key after each v2 key of a sort. v1 documents have no value for the v2 key, so they
+     * sort together after (or, ascending, before) the v2 documents and in order among themselves.
+     */
+    public Document widenSort(Class<?> type, Document sort) {
+        if (migrated) {
+            return sort;
+        }
+        Document widened = new Document();
+        sort.forEach((key, direction) -> {
+            widened.put(key, direction);
+            widened.putIfAbsent(upcaster.legacyPath(type, key), direction);
+        });
+        return widened;
+    }
+
+    /**
+     * Returns an aggregation stage that fills each of the given v2 paths from its v1 path where the
+     * document has no v2 value, so later stages can refer to the v2 paths only, or {@code null} once
+     * the migration is complete.
+     */
+    public Document coalesceStage(Class<?> type, List<String> paths) {
+        if (migrated) {
+            return null;
+        }
+        Document fields = new Document();
+        for (String path : paths) {
+            fields.put(path, new Document("$ifNull", List.of("$" + path, "$" + upcaster.legacyPath(type, path))));
+        }
+        return new Document("$set", fields);
+    }
+
+    /**
+     * Upcasts a document returned by a widened query and reads it as {@code type}.
+     */
+    public <T> T read(Class<T> type, Document document) {
+        upcaster.upcast(type, document);
+        return converter.read(type, document);
+    }
+}
@@ -0,0 +1,30 @@
+package com.xuno.payment.common.migration;
+
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.entity.PaymentStatusHistoryBucket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Upcasts v1 documents as they are loaded, before they are mapped to entities, so reads work while
+ * {@link CompactSchemaMigrationJob} is still rewriting the stored documents.
+ */
+@Component
+@RequiredArgsConstructor
+public class SchemaUpcastListener extends AbstractMongoEventListener<Object> {
+
+    static final Set<Class<?>> COMPACT_TYPES = Set.of(Payment.class, PaymentStatusHistoryBucket.class);
+
+    private final SchemaUpcaster upcaster;
+
+    @Override
+    public void onAfterLoad(AfterLoadEvent<Object> event) {
+        if (COMPACT_TYPES.contains(event.getType()) && event.getDocument() != null) {
+            upcaster.upcast(event.getType(), event.getDocument());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.xuno.payment.common.migration;
+
+import com.xuno.payment.common.convert.CodedEnum;
+import com.xuno.payment.common.convert.EnumCodeConverter;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rewrites documents stored with the v1 schema, which used Java property names as keys and enum
+ * names as values, into the compact v2 schema declared through {@code @Field} aliases and
+ * {@link EnumCodeConverter}. The mapping is derived from the entity metadata, so the annotations
+ * are the only place the short names are defined.
+ */
+@Component
+@RequiredArgsConstructor
+public class SchemaUpcaster {
+
+    public static final String VERSION_FIELD = "_v";
+    public static final int CURRENT_VERSION = 2;
+
+    private final MongoMappingContext mappingContext;
+
+    /**
+     * Upcasts {@code document} in place and returns whether anything changed. Documents already in
+     * the v2 shape are left untouched.
+     */
+    public boolean upcast(Class<?> type, Document document) {
+        MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(type);
+        boolean changed = upcast(entity, document);
+
+        MongoPersistentProperty version = entity.getPersistentProperty("schemaVersion");
+        if (version != null && !Integer.valueOf(CURRENT_VERSION).equals(document.get(VERSION_FIELD))) {
+            document.put(VERSION_FIELD, CURRENT_VERSION);
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the v1 form of {@code filter}, a filter on the v2 keys of {@code type}: keys are renamed
+     * back to property names and enum codes back to names, following {@code $or}-style operators and
+     * operator values such as {@code $in}. Keys that are not mapped properties are kept as they are.
+     */
+    public Document legacyFilter(Class<?> type, Document filter) {
+        return legacyFilter(mappingContext.getRequiredPersistentEntity(type), filter);
+    }
+
+    /**
+     * Returns the v1 form of a dotted path of v2 keys, such as {@code snd.ref} for
+     * {@code sender.referenceNumber}.
+     */
+    public String legacyPath(Class<?> type, String path) {
+        List<String> segments = new ArrayList<>();
+        MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(type);
+        for (String segment : path.split("\\.")) {
+            MongoPersistentProperty property = entity != null ? propertyForField(entity, segment) : null;
+            segments.add(property != null ? property.getName() : segment);
+            entity = property != null && property.isEntity()
+                    ? mappingContext.getPersistentEntity(property.getActualType()) : null;
+        }
+        return String.join(".", segments);
+    }
+
+    private Document legacyFilter(MongoPersistentEntity<?> entity, Document filter) {
+        Document legacy = new Document();
+        filter.forEach((key, value) -> {
+            if (key.startsWith("$") && value instanceof List<?> clauses) {
+                legacy.put(key, clauses.stream()
+                        .map(clause -> clause instanceof Document nested ? legacyFilter(entity, nested) : clause)
+                        .toList());
+                return;
+            }
+            MongoPersistentProperty property = propertyForPath(entity, key);
+            Object legacyValue = property != null && CodedEnum.class.isAssignableFrom(property.getActualType())
+                    ? legacyEnumValue(property.getActualType(), value) : value;
+            legacy.put(legacyPath(entity.getType(), key), legacyValue);
+        });
+        return legacy;
+    }
+
+    private MongoPersistentProperty propertyForPath(MongoPersistentEntity<?> entity, String path) {
+        MongoPersistentProperty property = null;
+        for (String segment : path.split("\\.")) {
+            if (entity == null || (property = propertyForField(entity, segment)) == null) {
+                return null;
+            }
+            entity = property.isEntity() ? mappingContext.getPersistentEntity(property.getActualType()) : null;
+        }
+        return property;
+    }
+
+    private static MongoPersistentProperty propertyForField(MongoPersistentEntity<?> entity, String fieldName) {
+        for (MongoPersistentProperty property : entity) {
+            if (!property.isIdProperty() && property.getFieldName().equals(fieldName)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces enum codes with names in a filter value: a code, a list of codes, or a document of
+     * operators such as {@code {$in: [...]}}.
+     */
+    private static Object legacyEnumValue(Class<?> type, Object value) {
+        if (value instanceof Number code) {
+            return EnumCodeConverter.nameOf(type, code.intValue());
+        }
+        if (value instanceof List<?> values) {
+            return values.stream().map(element -> legacyEnumValue(type, element)).toList();
+        }
+        if (value instanceof Document operators) {
+            Document legacy = new Document();
+            operators.forEach((operator, operand) -> legacy.put(operator, legacyEnumValue(type, operand)));
+            return legacy;
+        }
+        return value;
+    }
+
+    private boolean upcast(MongoPersistentEntity<?> entity, Document document) {
+        boolean changed = false;
+
+        for (MongoPersistentProperty property : entity) {
+            if (property.isIdProperty()) {
+                continue;
+            }
+
+            String fieldName = property.getFieldName();
+            String legacyName = property.getName();
+            if (!legacyName.equals(fieldName) && document.containsKey(legacyName) && !document.containsKey(fieldName)) {
+                document.put(fieldName, document.remove(legacyName));
+                changed = true;
+            }
+
+            Object value = document.get(fieldName);
+            if (value instanceof String name && CodedEnum.class.isAssignableFrom(property.getActualType())) {
+                document.put(fieldName, EnumCodeConverter.codeOf(property.getActualType(), name));
+                changed = true;
+            } else if (value instanceof List<?> elements && property.isEntity()) {
+                MongoPersistentEntity<?> elementEntity = mappingContext.getRequiredPersistentEntity(property.getActualType());
+                for (Object element : elements) {
+                    if (element instanceof Document nested) {
+                        changed |= upcast(elementEntity, nested);
+                    }
+                }
+            } else if (value instanceof Document nested && property.isEntity()) {
+                changed |= upcast(mappingContext.getRequiredPersistentEntity(property.getActualType()), nested);
+            }
+        }
+        return changed;
+    }
+}
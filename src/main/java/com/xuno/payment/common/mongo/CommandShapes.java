@@ -0,0 +1,250 @@
+package com.xuno.payment.common.mongo;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reduces Mongo commands to their shape: command, collection and the field names and operators of
+ * filters, sorts and pipelines, with every literal replaced by {@code ?}. Two queries that differ
+ * only in their values have the same shape, so shapes make bounded metric tags and never carry
+ * payment data.
+ */
+final class CommandShapes {
+
+    static final Set<String> TRACKED_COMMANDS = Set.of(
+            "find", "getMore", "aggregate", "count", "distinct",
+            "insert", "update", "delete", "findAndModify");
+
+    static final Set<String> EXPLAINABLE_COMMANDS = Set.of("find", "aggregate", "count", "distinct");
+
+    static final int MAX_SHAPE_LENGTH = 300;
+
+    private static final String NO_COLLECTION = "-";
+
+    private CommandShapes() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue value = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : NO_COLLECTION;
+    }
+
+    /**
+     * Returns the filter shape of {@code command}, e.g. {@code {st: ?, ca: {$gte: ?}} sort {ca: -1}},
+     * or an empty string for commands without one.
+     */
+    static String shapeOf(String commandName, BsonDocument command) {
+        StringBuilder builder = new StringBuilder();
+        switch (commandName) {
+            case "find" -> {
+                appendFilter(builder, command.get("filter"));
+                appendSort(builder, command.get("sort"));
+            }
+            case "count" -> appendFilter(builder, command.get("query"));
+            case "distinct" -> {
+                BsonValue key = command.get("key");
+                builder.append("key ").append(key != null && key.isString() ? key.asString().getValue() : "?");
+                appendFilter(builder, command.get("query"));
+            }
+            case "findAndModify" -> {
+                appendFilter(builder, command.get("query"));
+                appendSort(builder, command.get("sort"));
+            }
+            case "update" -> appendFilter(builder, firstStatementField(command.get("updates"), "q"));
+            case "delete" -> appendFilter(builder, firstStatementField(command.get("deletes"), "q"));
+            case "aggregate" -> appendPipeline(builder, command.get("pipeline"));
+            default -> {
+            }
+        }
+        if (builder.length() > MAX_SHAPE_LENGTH) {
+            builder.setLength(MAX_SHAPE_LENGTH - 3);
+            builder.append("...");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Condenses an explain result into its winning plan, e.g. {@code FETCH > IXSCAN(status_created_idx)}.
+     */
+    static String summarizePlan(Document explain) {
+        Document winningPlan = findWinningPlan(explain);
+        if (winningPlan == null) {
+            return null;
+        }
+        if (winningPlan.get("queryPlan") instanceof Document queryPlan) {
+            winningPlan = queryPlan;
+        }
+        StringBuilder builder = new StringBuilder();
+        appendPlanStage(builder, winningPlan);
+        return builder.toString();
+    }
+
+    private static void appendFilter(StringBuilder builder, BsonValue filter) {
+        if (filter != null && filter.isDocument() && !filter.asDocument().isEmpty()) {
+            separate(builder);
+            appendShape(builder, filter);
+        }
+    }
+
+    private static void appendSort(StringBuilder builder, BsonValue sort) {
+        if (sort != null && sort.isDocument() && !sort.asDocument().isEmpty()) {
+            separate(builder);
+            builder.append("sort ");
+            appendSortKeys(builder, sort.asDocument());
+        }
+    }
+
+    private static void appendPipeline(StringBuilder builder, BsonValue pipeline) {
+        if (pipeline == null || !pipeline.isArray()) {
+            return;
+        }
+        builder.append('[');
+        boolean first = true;
+        for (BsonValue stage : pipeline.asArray()) {
+            if (!stage.isDocument() || stage.asDocument().isEmpty()) {
+                continue;
+            }
+            if (!first) {
+                builder.append(", ");
+            }
+            first = false;
+            String operator = stage.asDocument().getFirstKey();
+            builder.append(operator);
+            BsonValue argument = stage.asDocument().get(operator);
+            if ("$match".equals(operator)) {
+                builder.append(' ');
+                appendShape(builder, argument);
+            } else if ("$sort".equals(operator) && argument.isDocument()) {
+                builder.append(' ');
+                appendSortKeys(builder, argument.asDocument());
+            }
+        }
+        builder.append(']');
+    }
+
+    private static void appendShape(StringBuilder builder, BsonValue value) {
+        if (value.isDocument()) {
+            builder.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (!first) {
+                    builder.append(", ");
+                }
+                first = false;
+                builder.append(entry.getKey()).append(": ");
+                appendShape(builder, entry.getValue());
+            }
+            builder.append('}');
+        } else if (value.isArray() && containsDocument(value.asArray())) {
+            builder.append('[');
+            boolean first = true;
+            for (BsonValue element : value.asArray()) {
+                if (!first) {
+                    builder.append(", ");
+                }
+                first = false;
+                appendShape(builder, element);
+            }
+            builder.append(']');
+        } else if (value.isArray()) {
+            builder.append("[?]");
+        } else {
+            builder.append('?');
+        }
+    }
+
+    private static void appendSortKeys(StringBuilder builder, BsonDocument sort) {
+        builder.append('{');
+        boolean first = true;
+        for (Map.Entry<String, BsonValue> entry : sort.entrySet()) {
+            if (!first) {
+                builder.append(", ");
+            }
+            first = false;
+            builder.append(entry.getKey()).append(": ");
+            BsonValue direction = entry.getValue();
+            if (direction.isNumber()) {
+                builder.append(direction.asNumber().intValue());
+            } else {
+                appendShape(builder, direction);
+            }
+        }
+        builder.append('}');
+    }
+
+    private static BsonValue firstStatementField(BsonValue statements, String field) {
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) {
+            return null;
+        }
+        BsonValue first = statements.asArray().get(0);
+        return first.isDocument() ? first.asDocument().get(field) : null;
+    }
+
+    private static boolean containsDocument(BsonArray array) {
+        for (BsonValue element : array) {
+            if (element.isDocument()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void separate(StringBuilder builder) {
+        if (!builder.isEmpty()) {
+            builder.append(' ');
+        }
+    }
+
+    private static Document findWinningPlan(Object node) {
+        if (node instanceof Document document) {
+            if (document.get("winningPlan") instanceof Document winningPlan) {
+                return winningPlan;
+            }
+            for (Object value : document.values()) {
+                Document found = findWinningPlan(value);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object value : list) {
+                Document found = findWinningPlan(value);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void appendPlanStage(StringBuilder builder, Document stage) {
+        builder.append(stage.get("stage"));
+        if (stage.get("indexName") instanceof String indexName) {
+            builder.append('(').append(indexName).append(')');
+        }
+        if (stage.get("inputStage") instanceof Document input) {
+            builder.append(" > ");
+            appendPlanStage(builder, input);
+        } else if (stage.get("inputStages") instanceof List<?> inputs && !inputs.isEmpty()) {
+            builder.append(" > [");
+            boolean first = true;
+            for (Object input : inputs) {
+                if (input instanceof Document inputStage) {
+                    if (!first) {
+                        builder.append(" | ");
+                    }
+                    first = false;
+                    appendPlanStage(builder, inputStage);
+                }
+            }
+            builder.append(']');
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.xuno.payment.common.mongo;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.xuno.payment.common.dto.MongoQueryShapeResponse;
+import com.xuno.payment.common.logging.LogThrottle;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Driver-level listener that times every collection command sent through the Mongo client
+ * (repositories and {@code MongoTemplate} alike) per command shape, see {@link CommandShapes}. Each
+ * shape gets a {@value #METRIC} timer tagged with collection, command, shape and outcome, and running
+ * totals for the admin slow-query endpoint.
+ *
+ * <p>Commands over {@code app.mongo.command-tracing.slow-threshold-ms} are counted per shape. A
+ * {@code sample-rate} fraction of them is also logged, throttled per shape. Once a read shape has been
+ * slow, its next sampled slow execution is explained on a background thread to capture the winning
+ * plan. Only those sampled reads copy their command document, so the usual cost on the driver thread
+ * is one walk of the command to build its shape.
+ */
+@Component
+@Slf4j
+public class MongoCommandTracer implements CommandListener {
+
+    public static final String METRIC = "mongo.command";
+
+    static final String OTHER = "other";
+
+    private static final String UNKNOWN_PLAN = "unknown";
+    private static final Set<String> SESSION_FIELDS = Set.of(
+            "lsid", "txnNumber", "autocommit", "startTransaction", "readConcern", "writeConcern",
+            "apiVersion", "apiStrict", "apiDeprecationErrors");
+
+    public enum Order {
+        MAX,
+        MEAN,
+        TOTAL
+    }
+
+    private record Pending(ShapeStats stats, String databaseName, boolean sampled, BsonDocument command) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<MongoDatabaseFactory> databaseFactory;
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int maxShapes;
+    private final ConcurrentMap<Integer, Pending> pending = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final LogThrottle slowLogThrottle = new LogThrottle(Duration.ofSeconds(10));
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), Thread.ofPlatform().name("mongo-explain").daemon().factory(),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public MongoCommandTracer(MeterRegistry meterRegistry,
+                              ObjectProvider<MongoDatabaseFactory> databaseFactory,
+                              @Value("${app.mongo.command-tracing.enabled:true}") boolean enabled,
+                              @Value("${app.mongo.command-tracing.slow-threshold-ms:100}") long slowThresholdMs,
+                              @Value("${app.mongo.command-tracing.sample-rate:0.1}") double sampleRate,
+                              @Value("${app.mongo.command-tracing.max-shapes:200}") int maxShapes) {
+        this.meterRegistry = meterRegistry;
+        this.databaseFactory = databaseFactory;
+        this.enabled = enabled;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.sampleRate = sampleRate;
+        this.maxShapes = maxShapes;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        if (!enabled || !CommandShapes.TRACKED_COMMANDS.contains(commandName)) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        ShapeStats stats = statsFor(CommandShapes.collectionOf(commandName, command), commandName,
+                CommandShapes.shapeOf(commandName, command));
+
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        BsonDocument copy = sampled && stats.explainable && stats.lastSlowAt != 0 && !stats.explainRequested.get()
+                ? command.clone()
+                : null;
+        pending.put(event.getRequestId(), new Pending(stats, event.getDatabaseName(), sampled, copy));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        complete(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        complete(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+    }
+
+    /**
+     * Returns up to {@code limit} shapes, slowest first by {@code order}.
+     */
+    public List<MongoQueryShapeResponse> slowestShapes(int limit, Order order) {
+        Comparator<ShapeStats> comparator = switch (order) {
+            case MAX -> Comparator.comparingLong(stats -> stats.maxNanos.get());
+            case MEAN -> Comparator.comparingDouble(ShapeStats::meanNanos);
+            case TOTAL -> Comparator.comparingLong(stats -> stats.totalNanos.sum());
+        };
+        return shapes.values().stream()
+                .filter(stats -> stats.count.sum() > 0)
+                .sorted(comparator.reversed())
+                .limit(limit)
+                .map(ShapeStats::toResponse)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void complete(int requestId, long elapsedNanos, boolean succeeded) {
+        Pending command = pending.remove(requestId);
+        if (command == null) {
+            return;
+        }
+        ShapeStats stats = command.stats();
+        stats.record(elapsedNanos, succeeded);
+
+        if (elapsedNanos < slowThresholdNanos) {
+            return;
+        }
+        stats.slowCount.increment();
+        stats.lastSlowAt = System.currentTimeMillis();
+        if (!command.sampled()) {
+            return;
+        }
+
+        long suppressed = slowLogThrottle.tryAcquire(stats.key);
+        if (suppressed != LogThrottle.SUPPRESSED) {
+            log.warn("Slow Mongo {} on {} took {} ms: {} (plan: {}, {} similar suppressed)",
+                    stats.command, stats.collection, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    stats.shape, Objects.requireNonNullElse(stats.planSummary, UNKNOWN_PLAN), suppressed);
+        }
+        if (command.command() != null && stats.explainRequested.compareAndSet(false, true)) {
+            explainExecutor.execute(() -> explain(stats, command.databaseName(), command.command()));
+        }
+    }
+
+    private void explain(ShapeStats stats, String databaseName, BsonDocument command) {
+        BsonDocument explainable = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!key.startsWith("$") && !SESSION_FIELDS.contains(key)) {
+                explainable.put(key, value);
+            }
+        });
+        try {
+            Document result = databaseFactory.getObject().getMongoDatabase(databaseName)
+                    .runCommand(new BsonDocument("explain", explainable).append("verbosity", new BsonString("queryPlanner")));
+            stats.planSummary = Objects.requireNonNullElse(CommandShapes.summarizePlan(result), UNKNOWN_PLAN);
+            log.info("Explained slow Mongo {} on {} {}: {}", stats.command, stats.collection, stats.shape, stats.planSummary);
+        } catch (RuntimeException ex) {
+            stats.planSummary = UNKNOWN_PLAN;
+            log.warn("Could not explain Mongo {} on {}: {}", stats.command, stats.collection, ex.getMessage());
+        }
+    }
+
+    private ShapeStats statsFor(String collection, String command, String shape) {
+        String key = command + ' ' + collection + ' ' + shape;
+        ShapeStats stats = shapes.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        if (shapes.size() >= maxShapes) {
+            return shapes.computeIfAbsent(OTHER, k -> new ShapeStats(k, OTHER, OTHER, OTHER, false));
+        }
+        return shapes.computeIfAbsent(key, k -> new ShapeStats(k, collection, command, shape,
+                CommandShapes.EXPLAINABLE_COMMANDS.contains(command)));
+    }
+
+    private final class ShapeStats {
+
+        private final String key;
+        private final String collection;
+        private final String command;
+        private final String shape;
+        private final boolean explainable;
+        private final Timer succeeded;
+        private final Timer failed;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder slowCount = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicBoolean explainRequested = new AtomicBoolean();
+        private volatile long lastSlowAt;
+        private volatile String planSummary;
+
+        private ShapeStats(String key, String collection, String command, String shape, boolean explainable) {
+            this.key = key;
+            this.collection = collection;
+            this.command = command;
+            this.shape = shape;
+            this.explainable = explainable;
+            this.succeeded = timer("success");
+            this.failed = timer("failure");
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder(METRIC)
+                    .description("Latency of Mongo commands by collection and shape")
+                    .tag("collection", collection)
+                    .tag("command", command)
+                    .tag("shape", shape.isEmpty() ? "-" : shape)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry);
+        }
+
+        private void record(long elapsedNanos, boolean success) {
+            (success ? succeeded : failed).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            if (!success) {
+                failures.increment();
+            }
+            if (elapsedNanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            }
+        }
+
+        private double meanNanos() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) totalNanos.sum() / n;
+        }
+
+        private MongoQueryShapeResponse toResponse() {
+            long slowAt = lastSlowAt;
+            return MongoQueryShapeResponse.builder()
+                    .collection(collection)
+                    .command(command)
+                    .shape(shape)
+                    .count(count.sum())
+                    .failures(failures.sum())
+                    .meanMs(meanNanos() / 1_000_000.0)
+                    .maxMs(maxNanos.get() / 1_000_000.0)
+                    .slowCount(slowCount.sum())
+                    .lastSlowAt(slowAt == 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(slowAt), ZoneId.systemDefault()))
+                    .planSummary(planSummary)
+                    .build();
+        }
+    }
+}
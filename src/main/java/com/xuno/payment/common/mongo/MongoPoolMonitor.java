@@ -0,0 +1,72 @@
+package com.xuno.payment.common.mongo;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks how long requests wait to check a connection out of the Mongo pool, including failed
+ * check-outs (pool wait timeouts). {@link #recentMeanWaitNanos()} covers the current and previous
+ * {@code app.health.pool-wait-window-seconds} window, so it falls back to zero shortly after traffic
+ * stops instead of holding on to the last spike.
+ */
+@Component
+public class MongoPoolMonitor implements ConnectionPoolListener {
+
+    private final long windowNanos;
+    private final AtomicLong windowStart;
+    private final LongAdder currentWaitNanos = new LongAdder();
+    private final LongAdder currentCount = new LongAdder();
+    private volatile long previousWaitNanos;
+    private volatile long previousCount;
+
+    public MongoPoolMonitor(@Value("${app.health.pool-wait-window-seconds:10}") long windowSeconds) {
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        record(event.getElapsedTime(TimeUnit.NANOSECONDS), System.nanoTime());
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        record(event.getElapsedTime(TimeUnit.NANOSECONDS), System.nanoTime());
+    }
+
+    public long recentMeanWaitNanos() {
+        return recentMeanWaitNanos(System.nanoTime());
+    }
+
+    void record(long waitNanos, long nowNanos) {
+        roll(nowNanos);
+        currentWaitNanos.add(waitNanos);
+        currentCount.increment();
+    }
+
+    long recentMeanWaitNanos(long nowNanos) {
+        roll(nowNanos);
+        long count = currentCount.sum() + previousCount;
+        return count == 0 ? 0 : (currentWaitNanos.sum() + previousWaitNanos) / count;
+    }
+
+    private void roll(long nowNanos) {
+        long start = windowStart.get();
+        long elapsed = nowNanos - start;
+        if (elapsed < windowNanos || !windowStart.compareAndSet(start, nowNanos)) {
+            return;
+        }
+        long waitNanos = currentWaitNanos.sumThenReset();
+        long count = currentCount.sumThenReset();
+        boolean idleWindowInBetween = elapsed >= 2 * windowNanos;
+        previousWaitNanos = idleWindowInBetween ? 0 : waitNanos;
+        previousCount = idleWindowInBetween ? 0 : count;
+    }
+}
@@ -0,0 +1,47 @@
+package com.xuno.payment.common.storage;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes entities as BSON through the application's {@link MongoConverter}, so records in an
+ * embedded store use the same field names, value conversions and schema version as the documents
+ * in the Mongo collections.
+ */
+public class BsonEntityCodec<T> {
+
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+
+    private final MongoConverter converter;
+    private final Class<T> type;
+
+    public BsonEntityCodec(MongoConverter converter, Class<T> type) {
+        this.converter = converter;
+        this.type = type;
+    }
+
+    public byte[] encode(T entity) {
+        Document document = new Document();
+        converter.write(entity, document);
+
+        BasicOutputBuffer output = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(output)) {
+            DOCUMENT_CODEC.encode(writer, document, EncoderContext.builder().build());
+        }
+        return output.toByteArray();
+    }
+
+    public T decode(byte[] bytes) {
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bytes))) {
+            return converter.read(type, DOCUMENT_CODEC.decode(reader, DecoderContext.builder().build()));
+        }
+    }
+}
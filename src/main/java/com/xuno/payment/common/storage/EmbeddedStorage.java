@@ -0,0 +1,75 @@
+package com.xuno.payment.common.storage;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens the {@link LogStructuredStore}s of the embedded storage backend, one subdirectory of
+ * {@code app.storage.embedded.directory} per store, compacts them periodically and closes them on
+ * shutdown. Only active with {@code app.storage.type=embedded}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "embedded")
+@Slf4j
+public class EmbeddedStorage {
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean syncWrites;
+    private final double compactionMinGarbageRatio;
+    private final Map<String, LogStructuredStore> stores = new ConcurrentHashMap<>();
+
+    public EmbeddedStorage(@Value("${app.storage.embedded.directory:./data/store}") Path directory,
+                           @Value("${app.storage.embedded.segment-size-mb:64}") int segmentSizeMb,
+                           @Value("${app.storage.embedded.sync-writes:false}") boolean syncWrites,
+                           @Value("${app.storage.embedded.compaction.min-garbage-ratio:0.5}") double compactionMinGarbageRatio) {
+        this.directory = directory;
+        this.segmentBytes = segmentSizeMb * 1024 * 1024;
+        this.syncWrites = syncWrites;
+        this.compactionMinGarbageRatio = compactionMinGarbageRatio;
+    }
+
+    public LogStructuredStore open(String name) {
+        return stores.computeIfAbsent(name, key -> {
+            try {
+                return LogStructuredStore.open(directory.resolve(key), segmentBytes, syncWrites);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not open embedded store " + key + " in " + directory, ex);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.embedded.compaction.interval-ms:60000}",
+            initialDelayString = "${app.storage.embedded.compaction.interval-ms:60000}")
+    public void compact() {
+        stores.forEach((name, store) -> {
+            try {
+                store.compact(compactionMinGarbageRatio);
+            } catch (Exception ex) {
+                log.error("Error compacting embedded store: {}", name, ex);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        stores.forEach((name, store) -> {
+            try {
+                store.close();
+            } catch (IOException ex) {
+                log.error("Error closing embedded store: {}", name, ex);
+            }
+        });
+        stores.clear();
+    }
+}
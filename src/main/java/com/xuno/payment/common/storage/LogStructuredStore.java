@@ -0,0 +1,393 @@
+package com.xuno.payment.common.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Key-value store over an append-only log of memory-mapped segment files. Every put appends a record
+ * to the active segment and points the in-memory hash index at it; the record it replaces becomes
+ * garbage. Reads go through the index straight to the mapped segment and never take a lock.
+ *
+ * <p>Records are {@code [length][crc32c][key length][key][value]}. On open the segments are replayed
+ * in order to rebuild the index, stopping at the first record whose length or checksum is invalid,
+ * which is where a crash cut the last write short. {@link #compact} copies the live records out of
+ * sealed segments with enough garbage and deletes them.
+ */
+@Slf4j
+public class LogStructuredStore implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Short.BYTES;
+    private static final int MAX_KEY_BYTES = Short.MAX_VALUE;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean syncWrites;
+
+    private final Map<String, Long> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private Segment active;
+
+    private LogStructuredStore(Path directory, int segmentBytes, boolean syncWrites) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.syncWrites = syncWrites;
+    }
+
+    /**
+     * Opens the store in {@code directory}, creating it if needed and replaying existing segments.
+     *
+     * @param segmentBytes size new segments are mapped with; a record must fit in one segment
+     * @param syncWrites   whether every put is forced to disk before it returns, rather than only
+     *                     when a segment is sealed or the store is closed
+     */
+    public static LogStructuredStore open(Path directory, int segmentBytes, boolean syncWrites) throws IOException {
+        if (segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size is too small: " + segmentBytes);
+        }
+        Files.createDirectories(directory);
+
+        LogStructuredStore store = new LogStructuredStore(directory, segmentBytes, syncWrites);
+        store.recover();
+        return store;
+    }
+
+    public byte[] get(String key) {
+        while (true) {
+            Long address = index.get(key);
+            if (address == null) {
+                return null;
+            }
+            byte[] value = read(address);
+            if (value != null) {
+                return value;
+            }
+            // The segment was compacted away after the index was read; the record has moved
+            if (Objects.equals(index.get(key), address)) {
+                throw new IllegalStateException("Record for key " + key + " points at a removed segment");
+            }
+        }
+    }
+
+    public void put(String key, byte[] value) {
+        byte[] record = encode(key, value);
+
+        writeLock.lock();
+        try {
+            long address = append(record);
+            Long previous = index.put(key, address);
+            if (previous != null) {
+                markDead(previous);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Passes every live key and its value to {@code action}, in no particular order. */
+    public void forEach(BiConsumer<String, byte[]> action) {
+        for (String key : index.keySet()) {
+            byte[] value = get(key);
+            if (value != null) {
+                action.accept(key, value);
+            }
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Rewrites the live records of every sealed segment whose share of garbage is at least
+     * {@code minGarbageRatio} to the end of the log, then deletes the segment. Puts interleave with
+     * the copying record by record. Returns the number of segments removed.
+     */
+    public int compact(double minGarbageRatio) throws IOException {
+        List<Segment> candidates = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            if (segment != currentSegment() && segment.garbageRatio() >= minGarbageRatio) {
+                candidates.add(segment);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        long moved = 0;
+        for (Segment segment : candidates) {
+            moved += relocateLiveRecords(segment);
+        }
+
+        writeLock.lock();
+        try {
+            active.force();
+        } finally {
+            writeLock.unlock();
+        }
+
+        for (Segment segment : candidates) {
+            segments.remove(segment.id);
+            segment.close();
+            Files.deleteIfExists(segment.path);
+        }
+        log.info("Compacted {} segments in {}, moving {} live records", candidates.size(), directory, moved);
+        return candidates.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.force();
+                segment.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        for (Path file : files) {
+            Segment segment = Segment.map(file, segmentIdOf(file), Math.max(segmentBytes, (int) Files.size(file)));
+            segments.put(segment.id, segment);
+            replay(segment);
+        }
+
+        active = segments.isEmpty() ? createSegment(0) : segments.lastEntry().getValue();
+        if (!files.isEmpty()) {
+            log.info("Recovered {} keys from {} segments in {}", index.size(), segments.size(), directory);
+        }
+    }
+
+    private void replay(Segment segment) {
+        int offset = 0;
+        while (offset + HEADER_BYTES <= segment.capacity()) {
+            int length = segment.buffer.getInt(offset);
+            if (length < HEADER_BYTES || offset + length > segment.capacity() || !segment.checksumMatches(offset, length)) {
+                break;
+            }
+            String key = segment.key(offset);
+            Long previous = index.put(key, address(segment.id, offset));
+            if (previous != null) {
+                markDead(previous);
+            }
+            offset += length;
+        }
+        segment.writePosition = offset;
+    }
+
+    private long relocateLiveRecords(Segment segment) {
+        long moved = 0;
+        int offset = 0;
+        while (offset < segment.writePosition) {
+            int length = segment.buffer.getInt(offset);
+            String key = segment.key(offset);
+            long address = address(segment.id, offset);
+
+            writeLock.lock();
+            try {
+                if (Objects.equals(index.get(key), address)) {
+                    byte[] record = new byte[length];
+                    segment.buffer.get(offset, record);
+                    index.put(key, append(record));
+                    moved++;
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            offset += length;
+        }
+        return moved;
+    }
+
+    private long append(byte[] record) {
+        if (record.length > segmentBytes) {
+            throw new IllegalArgumentException("Record of " + record.length + " bytes does not fit in a segment of "
+                    + segmentBytes + " bytes");
+        }
+        if (active.writePosition + record.length > active.capacity()) {
+            active.force();
+            active = createSegment(active.id + 1);
+        }
+
+        int offset = active.writePosition;
+        active.buffer.put(offset, record);
+        if (syncWrites) {
+            active.buffer.force(offset, record.length);
+        }
+        active.writePosition = offset + record.length;
+        return address(active.id, offset);
+    }
+
+    private byte[] read(long address) {
+        Segment segment = segments.get(segmentOf(address));
+        if (segment == null) {
+            return null;
+        }
+        int offset = offsetOf(address);
+        int length = segment.buffer.getInt(offset);
+        int keyLength = segment.buffer.getShort(offset + 2 * Integer.BYTES);
+
+        byte[] value = new byte[length - HEADER_BYTES - keyLength];
+        segment.buffer.get(offset + HEADER_BYTES + keyLength, value);
+        return value;
+    }
+
+    private void markDead(long address) {
+        Segment segment = segments.get(segmentOf(address));
+        if (segment != null) {
+            segment.deadBytes.addAndGet(segment.buffer.getInt(offsetOf(address)));
+        }
+    }
+
+    private Segment currentSegment() {
+        writeLock.lock();
+        try {
+            return active;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Segment createSegment(int id) {
+        try {
+            Segment segment = Segment.map(directory.resolve("%010d%s".formatted(id, SEGMENT_SUFFIX)), id, segmentBytes);
+            segments.put(id, segment);
+            return segment;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create segment " + id + " in " + directory, ex);
+        }
+    }
+
+    private static byte[] encode(String key, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Key is longer than " + MAX_KEY_BYTES + " bytes");
+        }
+
+        int length = HEADER_BYTES + keyBytes.length + value.length;
+        byte[] record = new byte[length];
+        putInt(record, 0, length);
+        record[8] = (byte) (keyBytes.length >>> 8);
+        record[9] = (byte) keyBytes.length;
+        System.arraycopy(keyBytes, 0, record, HEADER_BYTES, keyBytes.length);
+        System.arraycopy(value, 0, record, HEADER_BYTES + keyBytes.length, value.length);
+
+        CRC32C crc = new CRC32C();
+        crc.update(record, 2 * Integer.BYTES, length - 2 * Integer.BYTES);
+        putInt(record, Integer.BYTES, (int) crc.getValue());
+        return record;
+    }
+
+    private static void putInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    private static long address(int segmentId, int offset) {
+        return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int segmentOf(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offsetOf(long address) {
+        return (int) address;
+    }
+
+    private static int segmentIdOf(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final AtomicLong deadBytes = new AtomicLong();
+        private volatile int writePosition;
+
+        private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment map(Path path, int id, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        double garbageRatio() {
+            return writePosition == 0 ? 0 : (double) deadBytes.get() / writePosition;
+        }
+
+        String key(int offset) {
+            byte[] key = new byte[buffer.getShort(offset + 2 * Integer.BYTES)];
+            buffer.get(offset + HEADER_BYTES, key);
+            return new String(key, StandardCharsets.UTF_8);
+        }
+
+        boolean checksumMatches(int offset, int length) {
+            byte[] body = new byte[length - 2 * Integer.BYTES];
+            buffer.get(offset + 2 * Integer.BYTES, body);
+            CRC32C crc = new CRC32C();
+            crc.update(body);
+            return (int) crc.getValue() == buffer.getInt(offset + Integer.BYTES);
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        /** The mapping stays valid after the channel is closed, so readers holding it are unaffected. */
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
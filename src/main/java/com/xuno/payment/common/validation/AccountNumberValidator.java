@@ -3,18 +3,16 @@ package com.xuno.payment.common.validation;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.util.regex.Pattern;
-
 public class AccountNumberValidator implements ConstraintValidator<AccountNumber, String> {
-    
-    private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile("^\\d{4,16}$");
-    
+
+    private static final int MIN_LENGTH = 4;
+    private static final int MAX_LENGTH = 16;
+
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
         if (value == null) {
             return true;
         }
-        return ACCOUNT_NUMBER_PATTERN.matcher(value).matches();
+        return Digits.isDigits(value, MIN_LENGTH, MAX_LENGTH);
     }
 }
-
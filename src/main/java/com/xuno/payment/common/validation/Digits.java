@@ -0,0 +1,26 @@
+package com.xuno.payment.common.validation;
+
+final class Digits {
+
+    private Digits() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Equivalent to matching {@code ^\d{min,max}$} without a regex: only ASCII digits, within the
+     * length bounds.
+     */
+    static boolean isDigits(String value, int minLength, int maxLength) {
+        int length = value.length();
+        if (length < minLength || length > maxLength) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -4,14 +4,22 @@ import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.regex.Pattern;
+import java.util.Locale;
+import java.util.Set;
 
+/**
+ * Rejects values longer than {@code maxLength} or containing {@code < > " ' &}. With
+ * {@code allowHtml}, plain formatting tags such as {@code <b>}, {@code </p>} or {@code <br/>} are
+ * accepted as well: a tag may hold only one of {@link #FORMATTING_TAGS}, with no attributes, so
+ * nothing inside a tag can carry a URL, a script or an event handler. Any other tag, and an unclosed
+ * one, is rejected. The value itself is never logged, since these fields can carry personal data.
+ */
 @Slf4j
 public class SanitizedValidator implements ConstraintValidator<Sanitized, String> {
-    
-    private static final Pattern DANGEROUS_CHARS = Pattern.compile("[<>\"'&]");
-    private static final Pattern HTML_TAGS = Pattern.compile("<[^>]*>");
-    
+
+    private static final Set<String> FORMATTING_TAGS = Set.of(
+            "b", "i", "u", "s", "em", "strong", "small", "sub", "sup", "br", "p", "ul", "ol", "li");
+
     private boolean allowHtml;
     private int maxLength;
 
@@ -28,20 +36,51 @@ public class SanitizedValidator implements ConstraintValidator<Sanitized, String
         }
 
         if (value.length() > maxLength) {
-            log.warn("Input validation failed: String length {} exceeds maximum {}", value.length(), maxLength);
+            log.debug("Input validation failed: String length {} exceeds maximum {}", value.length(), maxLength);
             return false;
         }
 
-        if (DANGEROUS_CHARS.matcher(value).find()) {
-            log.warn("Input validation failed: String contains dangerous characters: {}", value);
-            return false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '<' && allowHtml) {
+                int tagEnd = value.indexOf('>', i + 1);
+                if (tagEnd < 0 || !isFormattingTag(value, i + 1, tagEnd)) {
+                    log.debug("Input validation failed: String contains a disallowed tag at index {}", i);
+                    return false;
+                }
+                i = tagEnd;
+                continue;
+            }
+            switch (c) {
+                case '<', '>', '"', '\'', '&' -> {
+                    log.debug("Input validation failed: String contains a disallowed character at index {}", i);
+                    return false;
+                }
+                default -> {
+                }
+            }
         }
+        return true;
+    }
 
-        if (!allowHtml && HTML_TAGS.matcher(value).find()) {
-            log.warn("Input validation failed: String contains HTML tags: {}", value);
-            return false;
+    /**
+     * Whether {@code value[start, end)}, the inside of a tag, is {@code name}, {@code /name} or
+     * {@code name/} for one of the formatting tags, optionally with spaces before a trailing slash.
+     */
+    private static boolean isFormattingTag(String value, int start, int end) {
+        if (start < end && value.charAt(start) == '/') {
+            start++;
+        } else if (start < end && value.charAt(end - 1) == '/') {
+            end--;
+            while (end > start && value.charAt(end - 1) == ' ') {
+                end--;
+            }
         }
-
-        return true;
+        for (int i = start; i < end; i++) {
+            if (!Character.isLetterOrDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return FORMATTING_TAGS.contains(value.substring(start, end).toLowerCase(Locale.ROOT));
     }
-}
\ No newline at end of file
+}
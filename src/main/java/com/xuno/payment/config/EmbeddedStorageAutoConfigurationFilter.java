@@ -0,0 +1,40 @@
+package com.xuno.payment.config;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Leaves out Spring Boot's Mongo client, template, repository and Mongo health auto-configuration
+ * with {@code app.storage.type=embedded}, so the embedded backend starts without a Mongo server and
+ * a bean that still needs one fails at startup rather than on first use. Registered in
+ * {@code META-INF/spring.factories}.
+ */
+public class EmbeddedStorageAutoConfigurationFilter implements AutoConfigurationImportFilter, EnvironmentAware {
+
+    private static final List<String> MONGO_PACKAGES = List.of(
+            "org.springframework.boot.autoconfigure.mongo.",
+            "org.springframework.boot.autoconfigure.data.mongo.",
+            "org.springframework.boot.actuate.autoconfigure.data.mongo.");
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public boolean[] match(String[] autoConfigurationClasses, AutoConfigurationMetadata autoConfigurationMetadata) {
+        boolean embedded = "embedded".equals(environment.getProperty("app.storage.type"));
+        boolean[] matches = new boolean[autoConfigurationClasses.length];
+        for (int i = 0; i < autoConfigurationClasses.length; i++) {
+            String candidate = autoConfigurationClasses[i];
+            matches[i] = !embedded || candidate == null || MONGO_PACKAGES.stream().noneMatch(candidate::startsWith);
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,72 @@
+package com.xuno.payment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.xuno.payment.common.dto.GlobalApiResponse;
+import com.xuno.payment.exchangeconfig.model.dto.ExchangeConfigResponse;
+import com.xuno.payment.payment.model.dto.PaymentDetailResponse;
+import com.xuno.payment.payment.model.dto.PaymentResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.List;
+
+@Configuration
+@Slf4j
+public class JacksonConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private static final List<Class<?>> HOT_RESPONSE_TYPES = List.of(
+            GlobalApiResponse.class, PaymentResponse.class, PaymentDetailResponse.class, ExchangeConfigResponse.class);
+
+    /**
+     * Replaces reflective getter calls in bean serializers with generated lambda accessors. Picked
+     * up by Spring Boot's auto-configured {@link ObjectMapper}.
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Binary CBOR and Smile converters for internal callers that exchange large payloads. Both are
+     * built from Spring Boot's configured builder, so modules, date handling and the envelope
+     * serializer are the same as for JSON.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Builds and caches the serializers for the response types every request goes through, so the
+     * first requests after startup do not pay for introspection and accessor generation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpSerializers(ApplicationReadyEvent event) {
+        prepareSerializers(event.getApplicationContext().getBean(ObjectMapper.class));
+        log.debug("Prepared JSON serializers for {}", HOT_RESPONSE_TYPES);
+    }
+
+    /**
+     * {@link ObjectMapper#writerFor} fetches the root serializer of its type eagerly, which puts it
+     * and the serializers of its properties in the mapper's shared cache.
+     */
+    static void prepareSerializers(ObjectMapper objectMapper) {
+        HOT_RESPONSE_TYPES.forEach(objectMapper::writerFor);
+    }
+}
@@ -0,0 +1,69 @@
+package com.xuno.payment.config;
+
+import com.xuno.payment.common.mongo.MongoCommandTracer;
+import com.xuno.payment.common.mongo.MongoPoolMonitor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions.BigDecimalRepresentation;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+@Configuration
+public class MongoConfig {
+
+    /**
+     * Stores {@link java.math.BigDecimal} as Decimal128 instead of the default string so that amount
+     * comparisons are numeric and can use index range scans. Legacy string values are still readable.
+     */
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return MongoCustomConversions.create(adapter -> adapter.bigDecimal(BigDecimalRepresentation.DECIMAL128));
+    }
+
+    /**
+     * Registers {@link MongoCommandTracer} on the auto-configured client, so every command sent by
+     * repositories and {@code MongoTemplate} is timed by shape.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandTracing(MongoCommandTracer tracer) {
+        return builder -> builder.addCommandListener(tracer);
+    }
+
+    /**
+     * Registers {@link MongoPoolMonitor} on the auto-configured client's connection pool, so the
+     * readiness probe can see connection check-out waits.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolMonitoring(MongoPoolMonitor monitor) {
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(monitor));
+    }
+
+    /**
+     * With {@code app.storage.type=embedded} the Mongo auto-configuration is left out (see
+     * {@link EmbeddedStorageAutoConfigurationFilter}), but the embedded stores still encode their
+     * records through the mapping converter, so it is declared here without a database behind it.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "embedded")
+    static class EmbeddedStorageMapping {
+
+        @Bean
+        public MongoMappingContext mongoMappingContext(MongoCustomConversions conversions) {
+            MongoMappingContext context = new MongoMappingContext();
+            context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+            return context;
+        }
+
+        @Bean
+        public MappingMongoConverter mappingMongoConverter(MongoMappingContext context,
+                                                           MongoCustomConversions conversions) {
+            MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+            converter.setCustomConversions(conversions);
+            return converter;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.xuno.payment.config;
+
+import com.xuno.payment.common.concurrent.SingleFlight;
+import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SingleFlightConfig {
+
+    /**
+     * Shares one Mongo lookup between concurrent payment creations for the same corridor and amount.
+     */
+    @Bean
+    public SingleFlight<String, ExchangeRateConfiguration> exchangeConfigMatchLoads(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("exchangeConfigMatch", meterRegistry);
+    }
+}
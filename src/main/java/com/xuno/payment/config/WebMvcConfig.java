@@ -1,15 +1,23 @@
 package com.xuno.payment.config;
 
+import com.xuno.payment.common.admission.AdmissionControlInterceptor;
+import com.xuno.payment.common.logging.LogSamplingInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private static final long MAX_AGE_SECS = 3600;
 
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+    private final LogSamplingInterceptor logSamplingInterceptor;
+
     @Value("${cors.allowed-origins:}")
     private String[] allowedOrigins;
 
@@ -22,4 +30,10 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .allowCredentials(false)
                 .maxAge(MAX_AGE_SECS);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(logSamplingInterceptor).addPathPatterns("/api/v1/**");
+        registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/api/v1/**");
+    }
 }
@@ -0,0 +1,46 @@
+package com.xuno.payment.diagnostics.controller;
+
+import com.xuno.payment.common.annotation.ApiDefaultErrors;
+import com.xuno.payment.common.dto.GlobalApiResponse;
+import com.xuno.payment.common.dto.MongoQueryShapeResponse;
+import com.xuno.payment.common.mongo.MongoCommandTracer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/diagnostics")
+@Tag(name = "Diagnostics", description = "Admin API for runtime performance diagnostics")
+@ApiDefaultErrors
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final MongoCommandTracer mongoCommandTracer;
+
+    @GetMapping("/mongo/slow-queries")
+    @Operation(summary = "Get slowest Mongo query shapes",
+               description = "Retrieve the slowest Mongo command shapes since startup, with literal values removed")
+    @ApiResponse(responseCode = "200", description = "Query shapes retrieved successfully")
+    public ResponseEntity<GlobalApiResponse<List<MongoQueryShapeResponse>>> findSlowQueries(
+            @Parameter(description = "Maximum number of shapes to return (at most 100)")
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Ranking: MAX latency, MEAN latency or TOTAL time spent")
+            @RequestParam(defaultValue = "MAX") MongoCommandTracer.Order orderBy) {
+
+        List<MongoQueryShapeResponse> responses =
+                mongoCommandTracer.slowestShapes(Math.clamp(limit, 1, MAX_LIMIT), orderBy);
+
+        return ResponseEntity.ok(GlobalApiResponse.success(responses));
+    }
+}
@@ -2,6 +2,7 @@ package com.xuno.payment.exchangeconfig.controller;
 
 import com.xuno.payment.common.annotation.ApiDefaultErrors;
 import com.xuno.payment.common.dto.GlobalApiResponse;
+import com.xuno.payment.config.JacksonConfig;
 import com.xuno.payment.exchangeconfig.model.dto.ExchangeConfigRequest;
 import com.xuno.payment.exchangeconfig.model.dto.ExchangeConfigResponse;
 import com.xuno.payment.exchangeconfig.service.ExchangeConfigService;
@@ -11,13 +12,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
-@RequestMapping("/api/v1/exchange-configs")
+@RequestMapping(value = "/api/v1/exchange-configs", produces = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.APPLICATION_SMILE_VALUE})
 @Tag(name = "Exchange Configuration", description = "API for managing exchange rate and fee configurations")
 @ApiDefaultErrors
 @RequiredArgsConstructor
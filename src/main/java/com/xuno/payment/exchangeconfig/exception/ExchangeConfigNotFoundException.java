@@ -0,0 +1,24 @@
+package com.xuno.payment.exchangeconfig.exception;
+
+import com.xuno.payment.common.exception.ErrorCode;
+import com.xuno.payment.common.exception.ResourceNotFoundException;
+
+import java.math.BigDecimal;
+
+public class ExchangeConfigNotFoundException extends ResourceNotFoundException {
+
+    private ExchangeConfigNotFoundException(ErrorCode code, String message) {
+        super(code, message);
+    }
+
+    public static ExchangeConfigNotFoundException forId(String id) {
+        return new ExchangeConfigNotFoundException(ErrorCode.EXCHANGE_CONFIG_NOT_FOUND,
+                "Exchange configuration not found with ID: " + id);
+    }
+
+    public static ExchangeConfigNotFoundException forCorridor(String sourceCurrency, String targetCurrency, BigDecimal amount) {
+        return new ExchangeConfigNotFoundException(ErrorCode.NO_MATCHING_EXCHANGE_CONFIG,
+                String.format("No exchange configuration found for %s to %s with amount %s",
+                        sourceCurrency, targetCurrency, amount));
+    }
+}
@@ -0,0 +1,11 @@
+package com.xuno.payment.exchangeconfig.exception;
+
+import com.xuno.payment.common.exception.DomainException;
+import com.xuno.payment.common.exception.ErrorCode;
+
+public class InvalidExchangeConfigException extends DomainException {
+
+    public InvalidExchangeConfigException(String message) {
+        super(ErrorCode.INVALID_EXCHANGE_CONFIG, message);
+    }
+}
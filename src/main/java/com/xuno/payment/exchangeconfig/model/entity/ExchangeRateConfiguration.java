@@ -8,12 +8,17 @@ import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Document(collection = "exchange_configs")
+@CompoundIndex(name = "pair_amount_created_idx",
+        def = "{'sourceCurrency': 1, 'targetCurrency': 1, 'minAmount': 1, 'maxAmount': 1, 'createdAt': -1}",
+        partialFilter = "{'deleted': false}")
+@CompoundIndex(name = "deleted_created_idx", def = "{'deleted': 1, 'createdAt': -1}")
 @Getter
 @Setter
 @Builder
@@ -1,12 +1,14 @@
 package com.xuno.payment.exchangeconfig.service.impl;
 
-import com.xuno.payment.common.exception.ResourceNotFoundException;
+import com.xuno.payment.common.concurrent.SingleFlight;
+import com.xuno.payment.exchangeconfig.exception.ExchangeConfigNotFoundException;
+import com.xuno.payment.exchangeconfig.exception.InvalidExchangeConfigException;
 import com.xuno.payment.exchangeconfig.mapper.ExchangeConfigMapper;
 import com.xuno.payment.exchangeconfig.model.dto.ExchangeConfigRequest;
 import com.xuno.payment.exchangeconfig.model.dto.ExchangeConfigResponse;
 import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
-import com.xuno.payment.exchangeconfig.repository.ExchangeConfigRepository;
 import com.xuno.payment.exchangeconfig.service.ExchangeConfigService;
+import com.xuno.payment.exchangeconfig.store.ExchangeConfigStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,8 +23,9 @@ import java.util.List;
 @Transactional
 public class ExchangeConfigServiceImpl implements ExchangeConfigService {
 
-    private final ExchangeConfigRepository repository;
+    private final ExchangeConfigStore store;
     private final ExchangeConfigMapper mapper;
+    private final SingleFlight<String, ExchangeRateConfiguration> matchLoads;
 
     @Override
     public ExchangeConfigResponse create(ExchangeConfigRequest request) {
@@ -31,7 +34,7 @@ public class ExchangeConfigServiceImpl implements ExchangeConfigService {
 
         validateRequest(request);
         ExchangeRateConfiguration entity = mapper.toEntity(request);
-        ExchangeRateConfiguration saved = repository.save(entity);
+        ExchangeRateConfiguration saved = store.insert(entity);
         log.info("Exchange configuration created with ID: {}", saved.getId());
 
         return mapper.toResponse(saved);
@@ -42,7 +45,7 @@ public class ExchangeConfigServiceImpl implements ExchangeConfigService {
     public List<ExchangeConfigResponse> findAll() {
         log.info("Fetching all exchange configurations");
 
-        return repository.findAll().stream()
+        return store.findAll().stream()
                 .map(mapper::toResponse)
                 .toList();
     }
@@ -63,7 +66,7 @@ public class ExchangeConfigServiceImpl implements ExchangeConfigService {
         validateRequest(request);
         ExchangeRateConfiguration entity = findByIdOrThrow(id);
         mapper.updateRequestToEntity(entity, request);
-        ExchangeRateConfiguration updated = repository.save(entity);
+        ExchangeRateConfiguration updated = store.update(entity);
         log.info("Exchange configuration updated with ID: {}", updated.getId());
 
         return mapper.toResponse(updated);
@@ -75,7 +78,7 @@ public class ExchangeConfigServiceImpl implements ExchangeConfigService {
 
         ExchangeRateConfiguration entity = findByIdOrThrow(id);
         entity.markAsDeleted();
-        repository.save(entity);
+        store.update(entity);
 
         log.info("Exchange configuration soft deleted with ID: {}", id);
     }
@@ -89,24 +92,21 @@ public class ExchangeConfigServiceImpl implements ExchangeConfigService {
         log.info("Finding matching exchange config for {} to {} with amount {}", 
                 sourceCurrency, targetCurrency, amount);
         
-        return repository.findMatchingConfig(sourceCurrency, targetCurrency, amount)
+        String key = sourceCurrency + "-" + targetCurrency + ":" + (amount == null ? null : amount.stripTrailingZeros().toPlainString());
+        return matchLoads.execute(key, () -> store.findMatchingConfig(sourceCurrency, targetCurrency, amount)
                 .stream()
                 .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        String.format("No exchange configuration found for %s to %s with amount %s",
-                                sourceCurrency, targetCurrency, amount)));
+                .orElseThrow(() -> ExchangeConfigNotFoundException.forCorridor(sourceCurrency, targetCurrency, amount)));
     }
 
     private ExchangeRateConfiguration findByIdOrThrow(String id) {
-        return repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Exchange configuration not found with ID: " + id));
+        return store.findById(id)
+                .orElseThrow(() -> ExchangeConfigNotFoundException.forId(id));
     }
 
     private void validateRequest(ExchangeConfigRequest request) {
         if (request.getMinAmount().compareTo(request.getMaxAmount()) > 0) {
-            throw new IllegalArgumentException(
-                    "Minimum amount cannot be greater than maximum amount");
+            throw new InvalidExchangeConfigException("Minimum amount cannot be greater than maximum amount");
         }
     }
 
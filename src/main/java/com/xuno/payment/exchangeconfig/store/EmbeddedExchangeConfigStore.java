@@ -0,0 +1,142 @@
+package com.xuno.payment.exchangeconfig.store;
+
+import com.xuno.payment.common.storage.BsonEntityCodec;
+import com.xuno.payment.common.storage.EmbeddedStorage;
+import com.xuno.payment.common.storage.LogStructuredStore;
+import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ExchangeConfigStore} over a {@link LogStructuredStore}. There are only ever a handful of
+ * configurations, so matching filters an in-memory index of every live configuration's currency pair
+ * and amount range and reads only the matches from the log. Only active with
+ * {@code app.storage.type=embedded}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "embedded")
+@Slf4j
+public class EmbeddedExchangeConfigStore implements ExchangeConfigStore {
+
+    static final String STORE_NAME = "exchange-configs";
+
+    private static final Comparator<IndexEntry> OLDEST_FIRST = Comparator
+            .comparing(IndexEntry::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(IndexEntry::id);
+
+    private final LogStructuredStore records;
+    private final BsonEntityCodec<ExchangeRateConfiguration> codec;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<String, IndexEntry> entriesById = new ConcurrentHashMap<>();
+
+    public EmbeddedExchangeConfigStore(EmbeddedStorage storage, MongoConverter converter) {
+        this.records = storage.open(STORE_NAME);
+        this.codec = new BsonEntityCodec<>(converter, ExchangeRateConfiguration.class);
+
+        records.forEach((id, bytes) -> index(codec.decode(bytes)));
+        log.info("Embedded exchange configuration store opened with {} configurations", records.size());
+    }
+
+    @Override
+    public ExchangeRateConfiguration insert(ExchangeRateConfiguration config) {
+        if (config.getId() != null) {
+            throw new IllegalArgumentException("New exchange configuration already has an id: " + config.getId());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        config.setId(new ObjectId().toHexString());
+        if (config.getCreatedAt() == null) {
+            config.setCreatedAt(now);
+        }
+        config.setUpdatedAt(now);
+        return write(config);
+    }
+
+    @Override
+    public ExchangeRateConfiguration update(ExchangeRateConfiguration config) {
+        if (config.getId() == null) {
+            throw new IllegalArgumentException("Exchange configuration to update has no id");
+        }
+        config.setUpdatedAt(LocalDateTime.now());
+        return write(config);
+    }
+
+    @Override
+    public Optional<ExchangeRateConfiguration> findById(String id) {
+        byte[] record = records.get(id);
+        if (record == null) {
+            return Optional.empty();
+        }
+        ExchangeRateConfiguration config = codec.decode(record);
+        return config.isDeleted() ? Optional.empty() : Optional.of(config);
+    }
+
+    @Override
+    public List<ExchangeRateConfiguration> findAll() {
+        return load(entriesById.values().stream().sorted(OLDEST_FIRST).toList());
+    }
+
+    @Override
+    public List<ExchangeRateConfiguration> findMatchingConfig(String sourceCurrency, String targetCurrency,
+                                                              BigDecimal amount) {
+        return load(entriesById.values().stream()
+                .filter(entry -> entry.matches(sourceCurrency, targetCurrency, amount))
+                .sorted(OLDEST_FIRST.reversed())
+                .toList());
+    }
+
+    private ExchangeRateConfiguration write(ExchangeRateConfiguration config) {
+        byte[] record = codec.encode(config);
+
+        writeLock.lock();
+        try {
+            records.put(config.getId(), record);
+            index(config);
+        } finally {
+            writeLock.unlock();
+        }
+        return config;
+    }
+
+    private void index(ExchangeRateConfiguration config) {
+        if (config.isDeleted()) {
+            entriesById.remove(config.getId());
+        } else {
+            entriesById.put(config.getId(), IndexEntry.of(config));
+        }
+    }
+
+    private List<ExchangeRateConfiguration> load(List<IndexEntry> entries) {
+        return entries.stream()
+                .map(entry -> findById(entry.id()))
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private record IndexEntry(String id, String sourceCurrency, String targetCurrency,
+                              BigDecimal minAmount, BigDecimal maxAmount, LocalDateTime createdAt) {
+
+        static IndexEntry of(ExchangeRateConfiguration config) {
+            return new IndexEntry(config.getId(), config.getSourceCurrency(), config.getTargetCurrency(),
+                    config.getMinAmount(), config.getMaxAmount(), config.getCreatedAt());
+        }
+
+        boolean matches(String sourceCurrency, String targetCurrency, BigDecimal amount) {
+            return sourceCurrency.equals(this.sourceCurrency)
+                    && targetCurrency.equals(this.targetCurrency)
+                    && minAmount != null && minAmount.compareTo(amount) <= 0
+                    && maxAmount != null && maxAmount.compareTo(amount) >= 0;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.xuno.payment.exchangeconfig.store;
+
+import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage operations the exchange configuration service needs, implemented over Mongo
+ * ({@link MongoExchangeConfigStore}) or an embedded log-structured store
+ * ({@link EmbeddedExchangeConfigStore}) depending on {@code app.storage.type}. Soft-deleted
+ * configurations are never returned.
+ */
+public interface ExchangeConfigStore {
+
+    /** Stores a new configuration, assigning its id and, unless already set, its creation time. */
+    ExchangeRateConfiguration insert(ExchangeRateConfiguration config);
+
+    /** Replaces a stored configuration, including marking it deleted. */
+    ExchangeRateConfiguration update(ExchangeRateConfiguration config);
+
+    Optional<ExchangeRateConfiguration> findById(String id);
+
+    List<ExchangeRateConfiguration> findAll();
+
+    /** Configurations for the currency pair whose amount range contains {@code amount}, newest first. */
+    List<ExchangeRateConfiguration> findMatchingConfig(String sourceCurrency, String targetCurrency, BigDecimal amount);
+}
@@ -0,0 +1,54 @@
+package com.xuno.payment.exchangeconfig.store;
+
+import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
+import com.xuno.payment.exchangeconfig.repository.ExchangeConfigRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link ExchangeConfigStore} over {@link ExchangeConfigRepository}. The default backend.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "mongo", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MongoExchangeConfigStore implements ExchangeConfigStore {
+
+    private final ExchangeConfigRepository repository;
+
+    @Override
+    public ExchangeRateConfiguration insert(ExchangeRateConfiguration config) {
+        if (config.getId() != null) {
+            throw new IllegalArgumentException("New exchange configuration already has an id: " + config.getId());
+        }
+        return repository.save(config);
+    }
+
+    @Override
+    public ExchangeRateConfiguration update(ExchangeRateConfiguration config) {
+        if (config.getId() == null) {
+            throw new IllegalArgumentException("Exchange configuration to update has no id");
+        }
+        return repository.save(config);
+    }
+
+    @Override
+    public Optional<ExchangeRateConfiguration> findById(String id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public List<ExchangeRateConfiguration> findAll() {
+        return repository.findAll();
+    }
+
+    @Override
+    public List<ExchangeRateConfiguration> findMatchingConfig(String sourceCurrency, String targetCurrency,
+                                                              BigDecimal amount) {
+        return repository.findMatchingConfig(sourceCurrency, targetCurrency, amount);
+    }
+}
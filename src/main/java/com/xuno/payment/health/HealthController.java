@@ -2,8 +2,13 @@ package com.xuno.payment.health;
 
 import com.xuno.payment.common.annotation.ApiDefaultErrors;
 import com.xuno.payment.common.dto.GlobalApiResponse;
+import com.xuno.payment.health.model.dto.ProbeResponse;
+import com.xuno.payment.health.service.HealthProbeService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -15,8 +20,11 @@ import java.util.Map;
 @RestController
 @RequestMapping("/health")
 @Tag(name = "Health", description = "Health check endpoints")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final HealthProbeService healthProbeService;
+
     @GetMapping
     @ApiDefaultErrors
     @Operation(summary = "Check server health", description = "Returns server status to verify if the service is up and running")
@@ -29,5 +37,29 @@ public class HealthController {
         
         return ResponseEntity.ok(response);
     }
-}
 
+    @GetMapping("/liveness")
+    @Operation(summary = "Liveness probe", description = "Reports whether the process is healthy; does not depend on Mongo")
+    @ApiResponse(responseCode = "200", description = "Service is live")
+    @ApiResponse(responseCode = "503", description = "Service is not live and should be restarted")
+    public ResponseEntity<GlobalApiResponse<ProbeResponse>> liveness() {
+        return probeResponse(healthProbeService.liveness(), "Service is not live");
+    }
+
+    @GetMapping("/readiness")
+    @Operation(summary = "Readiness probe",
+               description = "Checks Mongo ping latency, connection pool wait, async queue depth and index build state")
+    @ApiResponse(responseCode = "200", description = "Service is ready for traffic")
+    @ApiResponse(responseCode = "503", description = "Service is not ready for traffic")
+    public ResponseEntity<GlobalApiResponse<ProbeResponse>> readiness() {
+        return probeResponse(healthProbeService.readiness(), "Service is not ready");
+    }
+
+    private static ResponseEntity<GlobalApiResponse<ProbeResponse>> probeResponse(ProbeResponse probe, String downMessage) {
+        if (probe.isUp()) {
+            return ResponseEntity.ok(GlobalApiResponse.success(probe));
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(GlobalApiResponse.error(probe, HttpStatus.SERVICE_UNAVAILABLE, downMessage));
+    }
+}
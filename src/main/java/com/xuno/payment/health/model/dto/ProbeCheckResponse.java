@@ -0,0 +1,31 @@
+package com.xuno.payment.health.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Result of one probe check", name = "ProbeCheckResponse")
+public class ProbeCheckResponse {
+
+    @Schema(description = "UP or DOWN", example = "UP")
+    private String status;
+
+    @Schema(description = "Measured value", example = "3")
+    private Long value;
+
+    @Schema(description = "Value at or above which the check is DOWN", example = "250")
+    private Long threshold;
+
+    @Schema(description = "Unit or explanation of the value", example = "ms")
+    private String detail;
+}
@@ -0,0 +1,38 @@
+package com.xuno.payment.health.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Liveness or readiness probe result", name = "ProbeResponse")
+public class ProbeResponse {
+
+    public static final String UP = "UP";
+    public static final String DOWN = "DOWN";
+
+    @Schema(description = "UP when every check is UP", example = "UP")
+    private String status;
+
+    @Schema(description = "Individual checks by name")
+    private Map<String, ProbeCheckResponse> checks;
+
+    @Schema(description = "When the checks were run; results are cached briefly")
+    private LocalDateTime checkedAt;
+
+    @JsonIgnore
+    public boolean isUp() {
+        return UP.equals(status);
+    }
+}
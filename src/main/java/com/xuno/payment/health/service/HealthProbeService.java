@@ -0,0 +1,10 @@
+package com.xuno.payment.health.service;
+
+import com.xuno.payment.health.model.dto.ProbeResponse;
+
+public interface HealthProbeService {
+
+    ProbeResponse liveness();
+
+    ProbeResponse readiness();
+}
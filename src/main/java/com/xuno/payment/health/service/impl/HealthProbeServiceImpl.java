@@ -0,0 +1,286 @@
+package com.xuno.payment.health.service.impl;
+
+import com.xuno.payment.common.index.MongoIndexManager;
+import com.xuno.payment.common.mongo.MongoPoolMonitor;
+import com.xuno.payment.health.model.dto.ProbeCheckResponse;
+import com.xuno.payment.health.model.dto.ProbeResponse;
+import com.xuno.payment.health.service.HealthProbeService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Liveness reports whether the process itself is healthy; it deliberately ignores Mongo, since a
+ * restart would not fix a slow database. Readiness checks Mongo ping latency, connection pool wait,
+ * the async executor's queue depth and the index build, and is cached for
+ * {@code app.health.cache-ttl-ms} so frequent probes do not add load of their own. With
+ * {@code app.storage.type=embedded} there is no Mongo, so only the queue depth is checked.
+ *
+ * <p>When readiness changes, a {@link ReadinessState} {@link AvailabilityChangeEvent} is published,
+ * so components listening for availability changes can shed load. Only a refusal published here is
+ * lifted here; a refusal published by Spring itself (on shutdown) is left alone.
+ */
+@Service
+@Slf4j
+public class HealthProbeServiceImpl implements HealthProbeService {
+
+    static final String APPLICATION = "application";
+    static final String MONGO_PING = "mongoPing";
+    static final String POOL_WAIT = "mongoPoolWait";
+    static final String QUEUE_DEPTH = "asyncQueueDepth";
+    static final String INDEXES = "mongoIndexes";
+
+    /** Both {@code null} with embedded storage. */
+    private final MongoTemplate mongoTemplate;
+    private final MongoIndexManager indexManager;
+    private final MongoPoolMonitor poolMonitor;
+    private final ObjectProvider<ThreadPoolTaskExecutor> taskExecutor;
+    private final ApplicationAvailability availability;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final long pingThresholdMs;
+    private final long pingTimeoutMs;
+    private final long poolWaitThresholdMs;
+    private final long queueDepthThreshold;
+    private final long cacheTtlNanos;
+
+    private final ExecutorService pingExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile CachedProbe cachedReadiness;
+
+    /** Guarded by {@link #refreshLock}. A ping that outlives its timeout is reused, not piled on. */
+    private Future<Long> pendingPing;
+
+    public HealthProbeServiceImpl(ObjectProvider<MongoTemplate> mongoTemplate,
+                                  MongoPoolMonitor poolMonitor,
+                                  ObjectProvider<MongoIndexManager> indexManager,
+                                  ObjectProvider<ThreadPoolTaskExecutor> taskExecutor,
+                                  ApplicationAvailability availability,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${app.health.readiness.mongo-ping-ms:250}") long pingThresholdMs,
+                                  @Value("${app.health.readiness.mongo-ping-timeout-ms:1000}") long pingTimeoutMs,
+                                  @Value("${app.health.readiness.pool-wait-ms:100}") long poolWaitThresholdMs,
+                                  @Value("${app.health.readiness.queue-depth:1000}") long queueDepthThreshold,
+                                  @Value("${app.health.cache-ttl-ms:2000}") long cacheTtlMs) {
+        this.mongoTemplate = mongoTemplate.getIfAvailable();
+        this.poolMonitor = poolMonitor;
+        this.indexManager = indexManager.getIfAvailable();
+        this.taskExecutor = taskExecutor;
+        this.availability = availability;
+        this.eventPublisher = eventPublisher;
+        this.pingThresholdMs = pingThresholdMs;
+        this.pingTimeoutMs = pingTimeoutMs;
+        this.poolWaitThresholdMs = poolWaitThresholdMs;
+        this.queueDepthThreshold = queueDepthThreshold;
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMs);
+    }
+
+    @Override
+    public ProbeResponse liveness() {
+        LivenessState state = availability.getLivenessState();
+        boolean up = state == LivenessState.CORRECT;
+        return probe(Map.of(APPLICATION, ProbeCheckResponse.builder()
+                .status(up ? ProbeResponse.UP : ProbeResponse.DOWN)
+                .detail(state.name())
+                .build()));
+    }
+
+    @Override
+    public ProbeResponse readiness() {
+        CachedProbe cached = cachedReadiness;
+        if (isFresh(cached)) {
+            return cached.response();
+        }
+
+        // One caller refreshes; the others keep serving the previous result meanwhile
+        if (cached != null && !refreshLock.tryLock()) {
+            return cached.response();
+        }
+        if (cached == null) {
+            refreshLock.lock();
+        }
+
+        try {
+            cached = cachedReadiness;
+            if (isFresh(cached)) {
+                return cached.response();
+            }
+            ProbeResponse response = checkReadiness();
+            cachedReadiness = new CachedProbe(response, System.nanoTime());
+            return response;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pingExecutor.shutdownNow();
+    }
+
+    private ProbeResponse checkReadiness() {
+        Map<String, ProbeCheckResponse> checks = new LinkedHashMap<>();
+        if (mongoTemplate != null) {
+            checks.put(MONGO_PING, mongoPing());
+            checks.put(POOL_WAIT, measured(TimeUnit.NANOSECONDS.toMillis(poolMonitor.recentMeanWaitNanos()),
+                    poolWaitThresholdMs, "ms mean connection check-out wait"));
+        }
+        checks.put(QUEUE_DEPTH, queueDepth());
+        if (indexManager != null) {
+            checks.put(INDEXES, indexes());
+        }
+
+        boolean checksUp = checks.values().stream().allMatch(check -> ProbeResponse.UP.equals(check.getStatus()));
+        ReadinessState state = updateAvailability(checksUp, checks);
+        checks.put(APPLICATION, ProbeCheckResponse.builder()
+                .status(state == ReadinessState.ACCEPTING_TRAFFIC ? ProbeResponse.UP : ProbeResponse.DOWN)
+                .detail(state.name())
+                .build());
+
+        return probe(checks);
+    }
+
+    /**
+     * Publishes REFUSING_TRAFFIC when a check fails while accepting traffic, and ACCEPTING_TRAFFIC
+     * once the checks pass again, but only if the refusal was ours. Returns the resulting state.
+     */
+    private ReadinessState updateAvailability(boolean checksUp, Map<String, ProbeCheckResponse> checks) {
+        ReadinessState state = availability.getReadinessState();
+
+        if (!checksUp && state == ReadinessState.ACCEPTING_TRAFFIC) {
+            log.warn("Readiness checks failed, refusing traffic: {}", failedChecks(checks));
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        } else if (checksUp && state == ReadinessState.REFUSING_TRAFFIC && refusedByThisProbe()) {
+            log.info("Readiness checks passed, accepting traffic again");
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+        return availability.getReadinessState();
+    }
+
+    private boolean refusedByThisProbe() {
+        AvailabilityChangeEvent<ReadinessState> last = availability.getLastChangeEvent(ReadinessState.class);
+        return last != null && last.getSource() == this;
+    }
+
+    private ProbeCheckResponse mongoPing() {
+        if (pendingPing == null || pendingPing.isDone()) {
+            pendingPing = pingExecutor.submit(() -> {
+                long start = System.nanoTime();
+                mongoTemplate.executeCommand(new Document("ping", 1));
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            });
+        }
+
+        try {
+            return measured(pendingPing.get(pingTimeoutMs, TimeUnit.MILLISECONDS), pingThresholdMs, "ms");
+        } catch (TimeoutException ex) {
+            return down(pingTimeoutMs, pingThresholdMs, "ping did not complete in " + pingTimeoutMs + " ms");
+        } catch (ExecutionException ex) {
+            return down(null, pingThresholdMs, "ping failed: " + ex.getCause().getClass().getSimpleName());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return down(null, pingThresholdMs, "ping interrupted");
+        }
+    }
+
+    private ProbeCheckResponse queueDepth() {
+        ThreadPoolTaskExecutor executor = taskExecutor.getIfUnique();
+        if (executor == null) {
+            return ProbeCheckResponse.builder()
+                    .status(ProbeResponse.UP)
+                    .threshold(queueDepthThreshold)
+                    .detail("no queueing task executor")
+                    .build();
+        }
+        return measured(executor.getQueueSize(), queueDepthThreshold, "queued async tasks");
+    }
+
+    /**
+     * Only a failed build, which leaves declared indexes missing, makes the service unready. While
+     * indexes are pending or building the existing ones keep serving, so the check stays UP and says
+     * so in its detail.
+     */
+    private ProbeCheckResponse indexes() {
+        MongoIndexManager.State state = indexManager.getState();
+        List<String> missing = indexManager.getMissingIndexes();
+        String detail = switch (state) {
+            case FAILED -> missing.isEmpty() ? "FAILED" : "FAILED, missing: " + missing;
+            case PENDING, BUILDING -> state.name() + ", serving on existing indexes";
+            default -> state.name();
+        };
+
+        return ProbeCheckResponse.builder()
+                .status(state == MongoIndexManager.State.FAILED ? ProbeResponse.DOWN : ProbeResponse.UP)
+                .detail(detail)
+                .build();
+    }
+
+    private boolean isFresh(CachedProbe cached) {
+        return cached != null && System.nanoTime() - cached.checkedAtNanos() < cacheTtlNanos;
+    }
+
+    private static ProbeCheckResponse measured(long value, long threshold, String detail) {
+        return ProbeCheckResponse.builder()
+                .status(value < threshold ? ProbeResponse.UP : ProbeResponse.DOWN)
+                .value(value)
+                .threshold(threshold)
+                .detail(detail)
+                .build();
+    }
+
+    private static ProbeCheckResponse down(Long value, long threshold, String detail) {
+        return ProbeCheckResponse.builder()
+                .status(ProbeResponse.DOWN)
+                .value(value)
+                .threshold(threshold)
+                .detail(detail)
+                .build();
+    }
+
+    private static ProbeResponse probe(Map<String, ProbeCheckResponse> checks) {
+        boolean up = checks.values().stream().allMatch(check -> ProbeResponse.UP.equals(check.getStatus()));
+        return ProbeResponse.builder()
+                .status(up ? ProbeResponse.UP : ProbeResponse.DOWN)
+                .checks(checks)
+                .checkedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static String failedChecks(Map<String, ProbeCheckResponse> checks) {
+        StringBuilder failed = new StringBuilder();
+        checks.forEach((name, check) -> {
+            if (ProbeResponse.DOWN.equals(check.getStatus())) {
+                if (!failed.isEmpty()) {
+                    failed.append(", ");
+                }
+                failed.append(name).append('=').append(check.getValue() != null ? check.getValue() : check.getDetail());
+            }
+        });
+        return failed.toString();
+    }
+
+    private record CachedProbe(ProbeResponse response, long checkedAtNanos) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.xuno.payment.payment.archive;
+
+import com.xuno.payment.common.migration.LegacySchemaQueries;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.repository.PaymentPartitionRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves delivered and rejected payments older than {@code app.payment.archive.older-than-days} out of
+ * Mongo into {@link PaymentArchive} segments, so the hot collections and their indexes only hold
+ * payments that can still change. Documents are deleted only after their segment is on disk.
+ * Disabled unless {@code app.payment.archive.cron} is set.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "mongo", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentArchivalJob {
+
+    private static final List<Integer> TERMINAL_STATUSES = List.of(
+            PaymentStatus.DELIVERED.getCode(), PaymentStatus.REJECTED.getCode());
+
+    private final MongoTemplate mongoTemplate;
+    private final PaymentPartitionRouter partitionRouter;
+    private final PaymentArchive archive;
+    private final LegacySchemaQueries legacySchemaQueries;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.payment.archive.older-than-days:90}")
+    private int olderThanDays;
+
+    @Value("${app.payment.archive.segment-size:10000}")
+    private int segmentSize;
+
+    @Value("${app.payment.archive.delete-batch-size:500}")
+    private int deleteBatchSize;
+
+    @Scheduled(cron = "${app.payment.archive.cron:-}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Payment archival is already running, skipping");
+            return;
+        }
+        try {
+            archive(LocalDateTime.now().minusDays(olderThanDays));
+        } catch (Exception ex) {
+            log.error("Payment archival failed", ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public long archive(LocalDateTime cutoff) {
+        Document filter = legacySchemaQueries.widen(Payment.class, new Document("st", new Document("$in", TERMINAL_STATUSES))
+                .append("ca", new Document("$lt", Date.from(cutoff.atZone(ZoneId.systemDefault()).toInstant())))
+                .append("del", false));
+
+        long archived = 0;
+        for (String collection : partitionRouter.allCollections().reversed()) {
+            archived += archiveCollection(collection, filter);
+        }
+
+        log.info("Archived {} payments created before {}", archived, cutoff);
+        return archived;
+    }
+
+    private long archiveCollection(String collection, Document filter) {
+        long archived = 0;
+        while (true) {
+            List<Document> documents = mongoTemplate.getCollection(collection)
+                    .find(filter)
+                    .sort(legacySchemaQueries.widenSort(Payment.class, new Document("ca", 1)))
+                    .limit(segmentSize)
+                    .into(new ArrayList<>());
+
+            if (documents.isEmpty()) {
+                break;
+            }
+
+            archive.writeSegment(collection, documents);
+            delete(collection, filter, documents);
+
+            archived += documents.size();
+            if (documents.size() < segmentSize) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private void delete(String collection, Document filter, List<Document> documents) {
+        for (int start = 0; start < documents.size(); start += deleteBatchSize) {
+            List<Object> ids = documents.subList(start, Math.min(start + deleteBatchSize, documents.size())).stream()
+                    .map(document -> document.get("_id"))
+                    .toList();
+            mongoTemplate.getCollection(collection)
+                    .deleteMany(new Document(filter).append("_id", new Document("$in", ids)));
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.xuno.payment.payment.archive;
+
+import com.xuno.payment.common.migration.SchemaUpcaster;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.util.ReferenceNumberGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only cold storage for payments that no longer change. Each segment file is a sequence of
+ * independently gzipped blocks of extended-JSON documents, written in {@code createdAt} order. A
+ * sidecar {@code .idx} file holds one entry per block with its id and creation-time range, so a
+ * lookup only decompresses the blocks that can contain the requested payment. The index is written
+ * last, so a segment without one (an interrupted write) is ignored.
+ */
+@Component
+@Slf4j
+public class PaymentArchive {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final DateTimeFormatter SEGMENT_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+    record BlockIndex(String minId, String maxId, long minCreatedAt, long maxCreatedAt, long offset, int length) {
+
+        boolean mayContainId(String id) {
+            return minId.compareTo(id) <= 0 && maxId.compareTo(id) >= 0;
+        }
+
+        boolean overlaps(long from, long to) {
+            return minCreatedAt <= to && maxCreatedAt >= from;
+        }
+    }
+
+    record Segment(Path file, List<BlockIndex> blocks) {
+    }
+
+    private final MongoConverter converter;
+    private final SchemaUpcaster upcaster;
+    private final Path directory;
+    private final int blockSize;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    public PaymentArchive(MongoConverter converter,
+                          SchemaUpcaster upcaster,
+                          @Value("${app.payment.archive.dir:data/payment-archive}") String directory,
+                          @Value("${app.payment.archive.block-size:128}") int blockSize) {
+        this.converter = converter;
+        this.upcaster = upcaster;
+        this.directory = Path.of(directory);
+        this.blockSize = blockSize;
+        loadSegments();
+    }
+
+    /**
+     * Writes {@code documents}, already sorted by {@code createdAt}, to a new segment and makes it
+     * visible to lookups. Returns only once the segment and its index are flushed to disk, so the
+     * caller may then delete the documents from Mongo.
+     */
+    public Path writeSegment(String source, List<Document> documents) {
+        documents.forEach(document -> upcaster.upcast(Payment.class, document));
+        try {
+            Files.createDirectories(directory);
+            String name = "segment-" + LocalDateTime.now().format(SEGMENT_NAME_FORMAT) + "-" + System.nanoTime() + "-" + source;
+            Path segmentFile = directory.resolve(name + SEGMENT_SUFFIX);
+            Path indexFile = directory.resolve(name + INDEX_SUFFIX);
+
+            List<BlockIndex> blocks = new ArrayList<>();
+            try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                for (int start = 0; start < documents.size(); start += blockSize) {
+                    List<Document> block = documents.subList(start, Math.min(start + blockSize, documents.size()));
+                    byte[] compressed = compress(block);
+                    blocks.add(indexOf(block, channel.position(), compressed.length));
+                    channel.write(ByteBuffer.wrap(compressed));
+                }
+                channel.force(true);
+            }
+
+            Path tempIndex = directory.resolve(name + INDEX_SUFFIX + ".tmp");
+            Files.write(tempIndex, blocks.stream().map(PaymentArchive::toJson).toList(), StandardCharsets.UTF_8);
+            Files.move(tempIndex, indexFile, StandardCopyOption.ATOMIC_MOVE);
+
+            segments.add(new Segment(segmentFile, List.copyOf(blocks)));
+            log.info("Archived {} payments to segment {}", documents.size(), segmentFile.getFileName());
+            return segmentFile;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error writing payment archive segment", ex);
+        }
+    }
+
+    public Optional<Payment> findById(String id) {
+        for (Segment segment : segments) {
+            for (BlockIndex block : segment.blocks()) {
+                if (!block.mayContainId(id)) {
+                    continue;
+                }
+                for (Document document : readBlock(segment.file(), block)) {
+                    if (id.equals(String.valueOf(document.get("_id"))) && !Boolean.TRUE.equals(document.get("del"))) {
+                        return Optional.of(converter.read(Payment.class, document));
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Resolves a transaction, sender or receiver reference to an archived payment. A reference is
+     * generated while its payment is created, so only blocks created within
+     * {@link ReferenceNumberGenerator#CREATION_SKEW} of the time in its ULID are read. References without a ULID, generated before references were
+     * time ordered, are not looked up: that would mean reading the whole archive.
+     */
+    public Optional<Payment> findByReference(String reference) {
+        Optional<Instant> generatedAt = ReferenceNumberGenerator.timestampOf(reference);
+        if (generatedAt.isEmpty()) {
+            return Optional.empty();
+        }
+        long from = generatedAt.get().minus(ReferenceNumberGenerator.CREATION_SKEW).toEpochMilli();
+        long to = generatedAt.get().plus(ReferenceNumberGenerator.CREATION_SKEW).toEpochMilli();
+
+        for (Segment segment : segments) {
+            for (BlockIndex block : segment.blocks()) {
+                if (!block.overlaps(from, to)) {
+                    continue;
+                }
+                for (Document document : readBlock(segment.file(), block)) {
+                    if (Boolean.TRUE.equals(document.get("del"))) {
+                        continue;
+                    }
+                    Payment payment = converter.read(Payment.class, document);
+                    if (hasReference(payment, reference)) {
+                        return Optional.of(payment);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Creation time of the newest archived payment, or empty while nothing is archived.
+     */
+    public Optional<LocalDateTime> newestCreatedAt() {
+        return segments.stream()
+                .flatMap(segment -> segment.blocks().stream())
+                .mapToLong(BlockIndex::maxCreatedAt)
+                .max()
+                .stream()
+                .mapToObj(millis -> LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()))
+                .findFirst();
+    }
+
+    /**
+     * Returns archived payments created in {@code [from, to]}, oldest first. Payment listings whose
+     * range reaches back into the archive merge these with the hot collections.
+     */
+    public List<Payment> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        long fromMillis = toEpochMillis(from);
+        long toMillis = toEpochMillis(to);
+
+        List<Payment> payments = new ArrayList<>();
+        for (Segment segment : segments) {
+            for (BlockIndex block : segment.blocks()) {
+                if (!block.overlaps(fromMillis, toMillis)) {
+                    continue;
+                }
+                for (Document document : readBlock(segment.file(), block)) {
+                    long createdAt = createdAtOf(document);
+                    if (createdAt >= fromMillis && createdAt <= toMillis && !Boolean.TRUE.equals(document.get("del"))) {
+                        payments.add(converter.read(Payment.class, document));
+                    }
+                }
+            }
+        }
+        payments.sort(Comparator.comparing(Payment::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return payments;
+    }
+
+    private void loadSegments() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path indexFile : files.filter(file -> file.toString().endsWith(INDEX_SUFFIX)).sorted().toList()) {
+                String fileName = indexFile.getFileName().toString();
+                Path segmentFile = indexFile.resolveSibling(fileName.substring(0, fileName.length() - INDEX_SUFFIX.length()) + SEGMENT_SUFFIX);
+                List<BlockIndex> blocks = Files.readAllLines(indexFile, StandardCharsets.UTF_8).stream()
+                        .filter(line -> !line.isBlank())
+                        .map(PaymentArchive::fromJson)
+                        .toList();
+                segments.add(new Segment(segmentFile, blocks));
+            }
+            log.info("Loaded {} payment archive segments from {}", segments.size(), directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error loading payment archive segments from " + directory, ex);
+        }
+    }
+
+    private List<Document> readBlock(Path file, BlockIndex block) {
+        byte[] compressed = new byte[block.length()];
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            raf.seek(block.offset());
+            raf.readFully(compressed);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error reading payment archive segment " + file, ex);
+        }
+
+        List<Document> documents = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(compressed)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Document document = Document.parse(line);
+                upcaster.upcast(Payment.class, document);
+                documents.add(document);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error decompressing payment archive block in " + file, ex);
+        }
+        return documents;
+    }
+
+    private static boolean hasReference(Payment payment, String reference) {
+        return reference.equals(payment.getReferenceNumber())
+                || (payment.getSender() != null && reference.equals(payment.getSender().getReferenceNumber()))
+                || (payment.getReceiver() != null && reference.equals(payment.getReceiver().getReferenceNumber()));
+    }
+
+    private static byte[] compress(List<Document> block) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (Document document : block) {
+                gzip.write(document.toJson(JSON_SETTINGS).getBytes(StandardCharsets.UTF_8));
+                gzip.write('\n');
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static BlockIndex indexOf(List<Document> block, long offset, int length) {
+        String minId = null;
+        String maxId = null;
+        long minCreatedAt = Long.MAX_VALUE;
+        long maxCreatedAt = Long.MIN_VALUE;
+
+        for (Document document : block) {
+            String id = String.valueOf(document.get("_id"));
+            minId = minId == null || id.compareTo(minId) < 0 ? id : minId;
+            maxId = maxId == null || id.compareTo(maxId) > 0 ? id : maxId;
+            long createdAt = createdAtOf(document);
+            minCreatedAt = Math.min(minCreatedAt, createdAt);
+            maxCreatedAt = Math.max(maxCreatedAt, createdAt);
+        }
+        return new BlockIndex(minId, maxId, minCreatedAt, maxCreatedAt, offset, length);
+    }
+
+    private static long createdAtOf(Document document) {
+        Object createdAt = document.get("ca");
+        return createdAt instanceof Date date ? date.getTime() : 0L;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String toJson(BlockIndex block) {
+        return new Document("minId", block.minId())
+                .append("maxId", block.maxId())
+                .append("minCreatedAt", block.minCreatedAt())
+                .append("maxCreatedAt", block.maxCreatedAt())
+                .append("offset", block.offset())
+                .append("length", block.length())
+                .toJson();
+    }
+
+    private static BlockIndex fromJson(String json) {
+        Document document = Document.parse(json);
+        return new BlockIndex(
+                document.getString("minId"),
+                document.getString("maxId"),
+                ((Number) document.get("minCreatedAt")).longValue(),
+                ((Number) document.get("maxCreatedAt")).longValue(),
+                ((Number) document.get("offset")).longValue(),
+                ((Number) document.get("length")).intValue());
+    }
+}
@@ -0,0 +1,90 @@
+package com.xuno.payment.payment.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xuno.payment.common.concurrent.SingleFlight;
+import com.xuno.payment.payment.model.dto.PaymentDetailResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited read-through cache of decrypted and masked payment details keyed by payment ID.
+ * Entries must be evicted whenever the underlying payment document changes. Concurrent misses for
+ * the same ID share one load (Mongo read plus decrypt and mask) through a {@link SingleFlight}. The
+ * load runs outside the cache's locks; each eviction bumps a stamp for the ID's stripe, and a load
+ * that saw the stamp change while it ran takes its result back out, so an eviction racing with it
+ * cannot leave a stale entry.
+ */
+@Component
+public class PaymentDetailCache {
+
+    private static final String CACHE_NAME = "paymentDetail";
+    private static final int EVICTION_STRIPES = 256;
+
+    private final Cache<String, PaymentDetailResponse> cache;
+    private final SingleFlight<String, PaymentDetailResponse> loads;
+    private final AtomicLongArray evictions = new AtomicLongArray(EVICTION_STRIPES);
+
+    public PaymentDetailCache(@Value("${app.cache.payment-detail.max-size:10000}") long maxSize,
+                              @Value("${app.cache.payment-detail.ttl-seconds:60}") long ttlSeconds,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("Fraction of payment detail lookups served from the cache")
+                .register(meterRegistry);
+        this.loads = new SingleFlight<>(CACHE_NAME, meterRegistry);
+    }
+
+    public PaymentDetailResponse get(String id, Function<String, PaymentDetailResponse> loader) {
+        PaymentDetailResponse cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        return loads.execute(id, () -> load(id, loader));
+    }
+
+    public void evict(String id) {
+        if (id != null) {
+            evictions.incrementAndGet(stripe(id));
+            loads.forget(id);
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Loads without holding any cache lock, then publishes the result unless an eviction of the
+     * stripe started after the load did. The stamp is checked after the put as well, since an
+     * eviction between the check and the put would otherwise invalidate nothing and be lost.
+     */
+    private PaymentDetailResponse load(String id, Function<String, PaymentDetailResponse> loader) {
+        int stripe = stripe(id);
+        long stamp = evictions.get(stripe);
+        PaymentDetailResponse loaded = loader.apply(id);
+        if (loaded == null || evictions.get(stripe) != stamp) {
+            return loaded;
+        }
+        cache.asMap().putIfAbsent(id, loaded);
+        if (evictions.get(stripe) != stamp) {
+            cache.asMap().remove(id, loaded);
+        }
+        return loaded;
+    }
+
+    private static int stripe(String id) {
+        return Math.floorMod(id.hashCode(), EVICTION_STRIPES);
+    }
+}
@@ -0,0 +1,46 @@
+package com.xuno.payment.payment.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Bounded cache of recently resolved transaction, sender and receiver references to payment IDs.
+ * References never change once assigned, so entries only leave by size or when the payment is gone.
+ */
+@Component
+public class PaymentReferenceCache {
+
+    private static final String CACHE_NAME = "paymentReference";
+
+    private final Cache<String, String> cache;
+
+    public PaymentReferenceCache(@Value("${app.cache.payment-reference.max-size:10000}") long maxSize,
+                                 MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the payment ID for {@code reference}, loading it on a miss. A loader returning
+     * {@code null} (no such payment) is not cached.
+     */
+    public String get(String reference, Function<String, String> loader) {
+        return cache.get(reference, loader);
+    }
+
+    public void evict(String reference) {
+        if (reference != null) {
+            cache.invalidate(reference);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.xuno.payment.payment.controller;
 
 import com.xuno.payment.common.annotation.ApiDefaultErrors;
 import com.xuno.payment.common.dto.GlobalApiResponse;
+import com.xuno.payment.config.JacksonConfig;
 import com.xuno.payment.payment.model.dto.PaymentDetailResponse;
 import com.xuno.payment.payment.model.dto.PaymentRequest;
 import com.xuno.payment.payment.model.dto.PaymentResponse;
@@ -18,13 +19,17 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 @RestController
-@RequestMapping("/api/v1/payments")
+@RequestMapping(value = "/api/v1/payments", produces = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.APPLICATION_SMILE_VALUE})
 @Tag(name = "Payment", description = "API for managing payment requests")
 @ApiDefaultErrors
 @RequiredArgsConstructor
@@ -36,6 +41,7 @@ public class PaymentController {
     @Operation(summary = "Create payment request", 
                description = "Create a new payment request. System will verify and calculate fees automatically.")
     @ApiResponse(responseCode = "201", description = "Payment request created successfully")
+    @ApiResponse(responseCode = "409", description = "Idempotency key already used; the existing payment is returned in data")
     public ResponseEntity<GlobalApiResponse<PaymentResponse>> create(
             @Valid @RequestBody PaymentRequest request,
             @RequestHeader(value = "X-Admin-Id", required = false) String adminId) {
@@ -82,10 +88,46 @@ public class PaymentController {
     @Operation(summary = "Get payment by ID", 
                description = "Retrieve a specific payment by its ID with status history")
     @ApiResponse(responseCode = "200", description = "Payment retrieved successfully")
-    public ResponseEntity<GlobalApiResponse<PaymentDetailResponse>> find(@PathVariable String id) {
+    @ApiResponse(responseCode = "304", description = "Payment unchanged since the ETag in If-None-Match")
+    public ResponseEntity<GlobalApiResponse<PaymentDetailResponse>> find(@PathVariable String id, WebRequest webRequest) {
         
         PaymentDetailResponse response = service.find(id);
-        
-        return ResponseEntity.ok(GlobalApiResponse.success(response));
+        String eTag = eTagOf(response);
+
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(GlobalApiResponse.success(response));
+    }
+
+    @GetMapping("/by-reference/{reference}")
+    @Operation(summary = "Get payment by reference",
+               description = "Retrieve a payment by its transaction (TXN-), sender (SND-) or receiver (RCV-) reference")
+    @ApiResponse(responseCode = "200", description = "Payment retrieved successfully")
+    @ApiResponse(responseCode = "304", description = "Payment unchanged since the ETag in If-None-Match")
+    public ResponseEntity<GlobalApiResponse<PaymentDetailResponse>> findByReference(@PathVariable String reference,
+                                                                                    WebRequest webRequest) {
+
+        PaymentDetailResponse response = service.findByReference(reference);
+        String eTag = eTagOf(response);
+
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(GlobalApiResponse.success(response));
+    }
+
+    private String eTagOf(PaymentDetailResponse response) {
+        if (response.getUpdatedAt() == null) {
+            return null;
+        }
+        long updatedAtMillis = response.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        return "\"" + Long.toHexString(updatedAtMillis) + "\"";
     }
 }
@@ -0,0 +1,79 @@
+package com.xuno.payment.payment.controller;
+
+import com.xuno.payment.common.annotation.ApiDefaultErrors;
+import com.xuno.payment.common.dto.GlobalApiResponse;
+import com.xuno.payment.payment.model.dto.VerificationBatchRequest;
+import com.xuno.payment.payment.model.dto.VerificationResultResponse;
+import com.xuno.payment.payment.model.dto.VerificationRuleResponse;
+import com.xuno.payment.payment.model.dto.VerificationRulesRequest;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.verification.VerificationRule;
+import com.xuno.payment.payment.verification.VerificationRuleEngine;
+import com.xuno.payment.payment.verification.VerificationRuleSet;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/verification/rules")
+@Tag(name = "Verification Rules", description = "Admin API for the automated payment verification rules")
+@ApiDefaultErrors
+@RequiredArgsConstructor
+public class VerificationRuleController {
+
+    private final VerificationRuleEngine ruleEngine;
+
+    @GetMapping
+    @Operation(summary = "Get verification rules",
+               description = "Retrieve the active rules in precedence order with their evaluation statistics")
+    @ApiResponse(responseCode = "200", description = "Rules retrieved successfully")
+    public ResponseEntity<GlobalApiResponse<List<VerificationRuleResponse>>> findAll() {
+        return ResponseEntity.ok(GlobalApiResponse.success(ruleEngine.describe()));
+    }
+
+    @PutMapping
+    @Operation(summary = "Replace verification rules",
+               description = "Compile the given rules and make them active; invalid rules leave the active rules unchanged")
+    @ApiResponse(responseCode = "200", description = "Rules replaced successfully")
+    public ResponseEntity<GlobalApiResponse<List<VerificationRuleResponse>>> replace(
+            @Valid @RequestBody VerificationRulesRequest request) {
+
+        ruleEngine.replace(request.getRules());
+
+        return ResponseEntity.ok(GlobalApiResponse.success(ruleEngine.describe()));
+    }
+
+    @PostMapping("/evaluate")
+    @Operation(summary = "Evaluate verification rules",
+               description = "Evaluate the active rules, or candidate rules, over a batch of payments without creating them")
+    @ApiResponse(responseCode = "200", description = "Payments evaluated successfully")
+    public ResponseEntity<GlobalApiResponse<List<VerificationResultResponse>>> evaluate(
+            @Valid @RequestBody VerificationBatchRequest request) {
+
+        // Evaluated on a separate copy so a dry run does not count towards the live rules' statistics
+        VerificationRuleSet rules = request.getRules() != null
+                ? ruleEngine.compile(request.getRules())
+                : ruleEngine.compileActive();
+        List<VerificationRule> matches = rules.evaluateAll(request.getPayments());
+
+        List<VerificationResultResponse> responses = matches.stream()
+                .map(rule -> VerificationResultResponse.builder()
+                        .status(rule != null ? rule.getOutcome() : PaymentStatus.PENDING_ADMIN_REVIEW)
+                        .rule(rule != null ? rule.getName() : null)
+                        .build())
+                .toList();
+
+        return ResponseEntity.ok(GlobalApiResponse.success(responses));
+    }
+}
@@ -0,0 +1,25 @@
+package com.xuno.payment.payment.exception;
+
+import com.xuno.payment.common.exception.DomainException;
+import com.xuno.payment.common.exception.ErrorCode;
+import com.xuno.payment.payment.model.dto.PaymentResponse;
+
+/**
+ * A create request reused the idempotency key of an existing payment. The existing payment is
+ * replayed in the 409 response so that a client retrying a request it never saw the answer to
+ * can pick up the original result.
+ */
+public class IdempotencyConflictException extends DomainException {
+
+    private final transient PaymentResponse existing;
+
+    public IdempotencyConflictException(String idempotencyKey, PaymentResponse existing) {
+        super(ErrorCode.IDEMPOTENCY_CONFLICT, "Payment with idempotency key already exists: " + idempotencyKey);
+        this.existing = existing;
+    }
+
+    @Override
+    public PaymentResponse getData() {
+        return existing;
+    }
+}
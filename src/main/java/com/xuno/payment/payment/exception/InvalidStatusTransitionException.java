@@ -0,0 +1,11 @@
+package com.xuno.payment.payment.exception;
+
+import com.xuno.payment.common.exception.DomainException;
+import com.xuno.payment.common.exception.ErrorCode;
+
+public class InvalidStatusTransitionException extends DomainException {
+
+    public InvalidStatusTransitionException(String message) {
+        super(ErrorCode.INVALID_STATUS_TRANSITION, message);
+    }
+}
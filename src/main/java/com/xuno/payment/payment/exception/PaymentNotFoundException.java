@@ -0,0 +1,19 @@
+package com.xuno.payment.payment.exception;
+
+import com.xuno.payment.common.exception.ErrorCode;
+import com.xuno.payment.common.exception.ResourceNotFoundException;
+
+public class PaymentNotFoundException extends ResourceNotFoundException {
+
+    private PaymentNotFoundException(String message) {
+        super(ErrorCode.PAYMENT_NOT_FOUND, message);
+    }
+
+    public static PaymentNotFoundException forId(String id) {
+        return new PaymentNotFoundException("Payment not found with ID: " + id);
+    }
+
+    public static PaymentNotFoundException forReference(String reference) {
+        return new PaymentNotFoundException("Payment not found with reference: " + reference);
+    }
+}
@@ -0,0 +1,11 @@
+package com.xuno.payment.payment.exception;
+
+import com.xuno.payment.common.exception.DomainException;
+import com.xuno.payment.common.exception.ErrorCode;
+
+public class PaymentNotVerifiedException extends DomainException {
+
+    public PaymentNotVerifiedException() {
+        super(ErrorCode.PAYMENT_NOT_VERIFIED, "Payment must be verified by system before admin verification.");
+    }
+}
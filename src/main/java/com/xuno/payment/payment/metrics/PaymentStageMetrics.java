@@ -0,0 +1,184 @@
+package com.xuno.payment.payment.metrics;
+
+import com.xuno.payment.analytics.model.entity.PaymentRollup;
+import com.xuno.payment.common.exception.DomainException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times payment operations stage by stage. Each call site opens a {@link StageTrace}, enters each
+ * stage as it starts and finishes the trace on the way out; stage durations are buffered until then
+ * so every timer can be tagged with the final outcome. Operations slower than
+ * {@code app.metrics.payment.slow-threshold-ms} are logged with their stage breakdown.
+ *
+ * <p>Timers publish histogram buckets so percentiles can be aggregated across instances. The
+ * corridor tag is free-form client input, so only the first {@code app.metrics.payment.max-corridors}
+ * distinct corridors get their own series; the rest are tagged {@value #OTHER_CORRIDOR}.
+ */
+@Component
+@Slf4j
+public class PaymentStageMetrics {
+
+    public static final String OPERATION_METRIC = "payment.operation";
+    public static final String STAGE_METRIC = "payment.stage";
+    public static final String SUCCESS = "success";
+
+    static final String OTHER_CORRIDOR = "other";
+    static final String NO_CORRIDOR = "none";
+
+    private static final String ERROR = "error";
+    private static final int MAX_STAGES = 16;
+
+    private record TimerKey(String metric, String operation, String stage, String corridor, String outcome) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final int maxCorridors;
+    private final Set<String> corridors = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public PaymentStageMetrics(MeterRegistry meterRegistry,
+                               @Value("${app.metrics.payment.slow-threshold-ms:500}") long slowThresholdMs,
+                               @Value("${app.metrics.payment.max-corridors:50}") int maxCorridors) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.maxCorridors = maxCorridors;
+    }
+
+    public StageTrace start(String operation) {
+        return new StageTrace(operation, System.nanoTime());
+    }
+
+    private String corridorTag(String corridor) {
+        String value = corridor != null ? corridor : PaymentRollup.UNASSIGNED_CORRIDOR;
+        if (corridors.contains(value)) {
+            return value;
+        }
+        synchronized (corridors) {
+            if (corridors.size() < maxCorridors) {
+                corridors.add(value);
+                return value;
+            }
+        }
+        return OTHER_CORRIDOR;
+    }
+
+    private Timer timer(TimerKey key) {
+        return timers.computeIfAbsent(key, k -> {
+            Timer.Builder builder = Timer.builder(k.metric())
+                    .tag("operation", k.operation())
+                    .tag("corridor", k.corridor())
+                    .tag("outcome", k.outcome())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30));
+            if (k.stage() != null) {
+                builder.tag("stage", k.stage()).description("Time spent in one stage of a payment operation");
+            } else {
+                builder.description("End-to-end time of a payment operation");
+            }
+            return builder.register(meterRegistry);
+        });
+    }
+
+    /**
+     * Stage timings of one operation. Not thread-safe: a trace belongs to the thread running the
+     * operation.
+     */
+    public final class StageTrace {
+
+        private final String operation;
+        private final long startNanos;
+        private final String[] stages = new String[MAX_STAGES];
+        private final long[] durations = new long[MAX_STAGES];
+        private int count;
+        private String currentStage;
+        private long stageStartNanos;
+        private String corridor = NO_CORRIDOR;
+        private String outcome = SUCCESS;
+
+        private StageTrace(String operation, long startNanos) {
+            this.operation = operation;
+            this.startNanos = startNanos;
+            this.stageStartNanos = startNanos;
+        }
+
+        /**
+         * Ends the current stage, if any, and starts {@code stage}.
+         */
+        public StageTrace enter(String stage) {
+            long now = System.nanoTime();
+            closeStage(now);
+            currentStage = stage;
+            stageStartNanos = now;
+            return this;
+        }
+
+        public StageTrace corridor(String corridor) {
+            this.corridor = corridorTag(corridor);
+            return this;
+        }
+
+        /**
+         * Marks the operation as failed. Domain errors are tagged with their code, anything else as
+         * {@value PaymentStageMetrics#ERROR}.
+         */
+        public void fail(RuntimeException ex) {
+            outcome = ex instanceof DomainException domainException ? domainException.getCode().name() : ERROR;
+        }
+
+        /**
+         * Ends the current stage and records the operation. Call from a {@code finally} block.
+         */
+        public void finish() {
+            long now = System.nanoTime();
+            closeStage(now);
+            long total = now - startNanos;
+
+            timer(new TimerKey(OPERATION_METRIC, operation, null, corridor, outcome)).record(total, TimeUnit.NANOSECONDS);
+            for (int i = 0; i < count; i++) {
+                timer(new TimerKey(STAGE_METRIC, operation, stages[i], corridor, outcome))
+                        .record(durations[i], TimeUnit.NANOSECONDS);
+            }
+
+            if (total >= slowThresholdNanos) {
+                log.warn("Slow payment {} (corridor: {}, outcome: {}) took {} ms: {}",
+                        operation, corridor, outcome, toMillis(total), breakdown());
+            }
+        }
+
+        private void closeStage(long now) {
+            if (currentStage != null && count < MAX_STAGES) {
+                stages[count] = currentStage;
+                durations[count] = now - stageStartNanos;
+                count++;
+            }
+            currentStage = null;
+        }
+
+        String breakdown() {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(stages[i]).append('=').append(toMillis(durations[i])).append("ms");
+            }
+            return builder.toString();
+        }
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.xuno.payment.payment.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request DTO for evaluating verification rules over a batch of payments", name = "VerificationBatchRequest")
+public class VerificationBatchRequest {
+
+    @Schema(description = "Candidate rule definitions to try instead of the active rules; they are not installed")
+    private List<String> rules;
+
+    @Schema(description = "Payments to evaluate (at most 1000)", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "Payments are required")
+    @Size(max = 1000, message = "At most 1000 payments can be evaluated at once")
+    private List<PaymentRequest> payments;
+}
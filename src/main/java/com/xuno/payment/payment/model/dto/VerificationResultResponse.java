@@ -0,0 +1,24 @@
+package com.xuno.payment.payment.model.dto;
+
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Verification outcome for one payment", name = "VerificationResultResponse")
+public class VerificationResultResponse {
+
+    @Schema(description = "Status the payment would get", example = "LOW_BALANCE")
+    private PaymentStatus status;
+
+    @Schema(description = "Name of the deciding rule, or null when no rule matched", example = "low-balance")
+    private String rule;
+}
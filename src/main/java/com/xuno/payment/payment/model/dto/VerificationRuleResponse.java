@@ -0,0 +1,45 @@
+package com.xuno.payment.payment.model.dto;
+
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "An active verification rule and its statistics", name = "VerificationRuleResponse")
+public class VerificationRuleResponse {
+
+    @Schema(description = "Rule name", example = "low-balance")
+    private String name;
+
+    @Schema(description = "Rule definition", example = "low-balance: sourceAmount < 100.00 -> LOW_BALANCE")
+    private String definition;
+
+    @Schema(description = "Status a matching payment gets", example = "LOW_BALANCE")
+    private PaymentStatus outcome;
+
+    @Schema(description = "Declared position; when several rules match, the lowest wins", example = "1")
+    private int precedence;
+
+    @Schema(description = "Position in the current evaluation order", example = "2")
+    private int evaluationPosition;
+
+    @Schema(description = "Number of payments the rule was evaluated against", example = "15000")
+    private long evaluations;
+
+    @Schema(description = "Number of payments the rule matched", example = "120")
+    private long hits;
+
+    @Schema(description = "Share of evaluations that matched", example = "0.008")
+    private double hitRate;
+
+    @Schema(description = "Mean evaluation time in nanoseconds", example = "35.2")
+    private double meanNanos;
+}
@@ -0,0 +1,26 @@
+package com.xuno.payment.payment.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request DTO for replacing the verification rules", name = "VerificationRulesRequest")
+public class VerificationRulesRequest {
+
+    @Schema(description = "Rule definitions in precedence order; an empty list sends every payment to admin review",
+            example = "[\"low-balance: sourceAmount < 100.00 -> LOW_BALANCE\", \"amount-limit: sourceAmount > 1000000.00 -> REJECTED\"]",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Rules are required")
+    private List<String> rules;
+}
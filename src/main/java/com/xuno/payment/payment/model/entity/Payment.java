@@ -1,5 +1,7 @@
 package com.xuno.payment.payment.model.entity;
 
+import com.xuno.payment.common.convert.EnumCodeConverter;
+import com.xuno.payment.common.migration.SchemaUpcaster;
 import com.xuno.payment.payment.model.enums.PaymentStatus;
 import com.xuno.payment.payment.model.enums.UserRole;
 import com.xuno.payment.payment.model.valueobject.*;
@@ -11,19 +13,28 @@ import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.convert.ValueConverter;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Stored with the compact v2 schema: short {@code @Field} keys and enums as numeric codes. Index
+ * definitions use the stored keys, since they are not mapped from property names.
+ */
 @Document(collection = "payments")
-@CompoundIndex(name = "status_created_idx", def = "{'status': 1, 'createdAt': -1}")
-@CompoundIndex(name = "sender_created_idx", def = "{'sender.referenceNumber': 1, 'createdAt': -1}")
-@CompoundIndex(name = "reference_number_idx", def = "{'referenceNumber': 1}")
-@CompoundIndex(name = "idempotency_key_idx", def = "{'idempotencyKey': 1}")
+@CompoundIndex(name = "status_created_idx", def = "{'st': 1, 'ca': -1}", partialFilter = "{'del': false}")
+@CompoundIndex(name = "sender_created_idx", def = "{'snd.ref': 1, 'ca': -1}", partialFilter = "{'del': false}")
+@CompoundIndex(name = "reference_number_idx", def = "{'ref': 1}", partialFilter = "{'del': false}")
+@CompoundIndex(name = "receiver_reference_idx", def = "{'rcv.ref': 1}", partialFilter = "{'del': false}")
+@CompoundIndex(name = "idempotency_key_idx", def = "{'idk': 1}", partialFilter = "{'del': false}")
+@CompoundIndex(name = "deleted_created_idx", def = "{'del': 1, 'ca': -1}")
 @Getter
 @Setter
 @Builder
@@ -34,57 +45,98 @@ public class Payment {
     @Id
     private String id;
 
+    @Field(SchemaUpcaster.VERSION_FIELD)
+    @Builder.Default
+    private int schemaVersion = SchemaUpcaster.CURRENT_VERSION;
+
+    @Field("ref")
     private String referenceNumber;
+
+    @Field("idk")
     private String idempotencyKey;
 
+    @Field("snd")
     private SenderInfo sender;
+
+    @Field("rcv")
     private ReceiverInfo receiver;
 
+    @Field("sc")
     private String sourceCurrency;
+
+    @Field("tc")
     private String targetCurrency;
+
+    @Field("sco")
     private String sourceCountry;
+
+    @Field("dco")
     private String destinationCountry;
+
+    @Field("cor")
     private String corridor;
 
+    @Field("sa")
     private BigDecimal sourceAmount;
+
+    @Field("ta")
     private BigDecimal targetAmount;
 
+    @Field("pur")
     private String purpose;
 
     @Builder.Default
+    @Field("st")
+    @ValueConverter(EnumCodeConverter.class)
     private PaymentStatus status = PaymentStatus.PENDING_ADMIN_REVIEW;
 
+    /**
+     * History embedded by older versions. It is read so it can be moved to the
+     * {@code payment_status_history} collection, but is never written back.
+     */
+    @ReadOnlyProperty
     @Builder.Default
     private List<StatusHistory> statusHistory = new ArrayList<>();
 
+    @Field("erc")
     private ExchangeRateCalculationResult exchangeRateCalculation;
+
+    @Field("fee")
     private FeeCalculationResult feeCalculation;
 
+    @Field("cb")
     private String createdBy;
+
+    @Field("cbr")
+    @ValueConverter(EnumCodeConverter.class)
     private UserRole createdByRole;
 
+    @Field("vb")
     private String validatedBy;
+
+    @Field("vbr")
+    @ValueConverter(EnumCodeConverter.class)
     private UserRole validatedByRole;
 
     @Builder.Default
+    @Field("sv")
     private boolean systemVerified = false;
 
     @CreatedDate
+    @Field("ca")
     private LocalDateTime createdAt;
 
     @LastModifiedDate
+    @Field("ua")
     private LocalDateTime updatedAt;
 
+    @Field("edd")
     private LocalDateTime estimatedDeliveryDate;
 
     @Builder.Default
+    @Field("del")
     private boolean deleted = false;
-    private LocalDateTime deletedAt;
 
-    public void addStatusHistory(StatusHistory history) {
-        if (this.statusHistory == null) {
-            this.statusHistory = new ArrayList<>();
-        }
-        this.statusHistory.add(history);
-    }
+    @Field("da")
+    private LocalDateTime deletedAt;
 }
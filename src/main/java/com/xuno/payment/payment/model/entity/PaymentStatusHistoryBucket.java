@@ -0,0 +1,38 @@
+package com.xuno.payment.payment.model.entity;
+
+import com.xuno.payment.payment.model.valueobject.StatusHistory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A fixed-capacity chunk of a payment's status history. Events are appended with {@code $push}
+ * to the newest bucket that still has room, so the payment document itself never grows.
+ */
+@Document(collection = "payment_status_history")
+@CompoundIndex(name = "payment_bucket_idx", def = "{'paymentId': 1, '_id': 1}")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentStatusHistoryBucket {
+
+    @Id
+    private String id;
+
+    private String paymentId;
+
+    private int count;
+
+    @Builder.Default
+    private List<StatusHistory> events = new ArrayList<>();
+}
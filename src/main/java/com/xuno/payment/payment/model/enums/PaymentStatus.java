@@ -1,14 +1,21 @@
 package com.xuno.payment.payment.model.enums;
 
-public enum PaymentStatus {
-    INITIATED,
-    CREATED,
-    PENDING_ADMIN_REVIEW,
-    APPROVED,
-    DELIVERED,
-    REJECTED,
-    LOW_BALANCE,
-    MISINFORMATION_SENDER,
-    MISINFORMATION_RECEIVER
-}
+import com.xuno.payment.common.convert.CodedEnum;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum PaymentStatus implements CodedEnum {
+    INITIATED(1),
+    CREATED(2),
+    PENDING_ADMIN_REVIEW(3),
+    APPROVED(4),
+    DELIVERED(5),
+    REJECTED(6),
+    LOW_BALANCE(7),
+    MISINFORMATION_SENDER(8),
+    MISINFORMATION_RECEIVER(9);
 
+    private final int code;
+}
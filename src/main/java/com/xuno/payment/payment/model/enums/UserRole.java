@@ -1,7 +1,14 @@
 package com.xuno.payment.payment.model.enums;
 
-public enum UserRole {
-    ADMIN,
-    SYSTEM_USER
-}
+import com.xuno.payment.common.convert.CodedEnum;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum UserRole implements CodedEnum {
+    ADMIN(1),
+    SYSTEM_USER(2);
 
+    private final int code;
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,10 +16,19 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ExchangeRateCalculationResult {
+    @Field("cfg")
     private String exchangeConfigId;
+
+    @Field("rate")
     private BigDecimal exchangeRate;
+
+    @Field("sc")
     private String sourceCurrency;
+
+    @Field("tc")
     private String targetCurrency;
+
+    @Field("at")
     private LocalDateTime appliedAt;
 
     public BigDecimal convertAmount(BigDecimal sourceAmount) {
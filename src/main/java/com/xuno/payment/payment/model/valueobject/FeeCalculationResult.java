@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,11 +16,22 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class FeeCalculationResult {
+    @Field("ff")
     private BigDecimal feeFlat;
+
+    @Field("fp")
     private BigDecimal feePercent;
+
+    @Field("ffa")
     private BigDecimal flatFeeAmount;
+
+    @Field("pfa")
     private BigDecimal percentFeeAmount;
+
+    @Field("tot")
     private BigDecimal totalFee;
+
+    @Field("at")
     private LocalDateTime calculatedAt;
 }
 
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 @Getter
 @Setter
@@ -15,10 +16,13 @@ import lombok.Setter;
 public class ReceiverAccountInfo {
     
     @AccountNumber
+    @Field("num")
     private String accountNumber;
     
+    @Field("bank")
     private String bankCode;
     
+    @Field("swift")
     private String swiftCode;
 }
 
@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 @Getter
 @Setter
@@ -16,10 +17,13 @@ import lombok.Setter;
 public class SenderFundingAccountInfo {
     
     @AccountNumber
+    @Field("num")
     private String accountNumber;
     
+    @Field("bank")
     private String bankCode;
     
     @RoutingNumber
+    @Field("rtn")
     private String routingNumber;
 }
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 @Getter
 @Setter
@@ -12,8 +13,15 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 public class SenderInfo {
+    @Field("nm")
     private String name;
+
+    @Field("adr")
     private String address;
+
+    @Field("ref")
     private String referenceNumber;
+
+    @Field("acc")
     private SenderFundingAccountInfo fundingAccount;
 }
@@ -1,5 +1,6 @@
 package com.xuno.payment.payment.model.valueobject;
 
+import com.xuno.payment.common.convert.EnumCodeConverter;
 import com.xuno.payment.payment.model.enums.PaymentStatus;
 import com.xuno.payment.payment.model.enums.UserRole;
 import lombok.AllArgsConstructor;
@@ -7,6 +8,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.convert.ValueConverter;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.time.LocalDateTime;
 
@@ -16,10 +19,21 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class StatusHistory {
+    @Field("st")
+    @ValueConverter(EnumCodeConverter.class)
     private PaymentStatus status;
+
+    @Field("by")
     private String changedBy;
+
+    @Field("role")
+    @ValueConverter(EnumCodeConverter.class)
     private UserRole changedByRole;
+
+    @Field("at")
     private LocalDateTime changedAt;
+
+    @Field("n")
     private String note;
 }
 
@@ -0,0 +1,172 @@
+package com.xuno.payment.payment.repository;
+
+import com.xuno.payment.common.index.MongoIndexManager;
+import com.xuno.payment.payment.model.entity.Payment;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps payments to monthly {@code payments_YYYYMM} collections so that range scans over recent
+ * payments only touch the partitions they need, and old months can be dropped or archived whole.
+ * A payment's partition is derived from the timestamp of its ObjectId, so a lookup by id needs no
+ * extra index. With partitioning disabled every payment lives in the single {@code payments} collection.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "mongo", matchIfMissing = true)
+@Slf4j
+public class PaymentPartitionRouter {
+
+    public static final String LEGACY_COLLECTION = "payments";
+
+    private static final String PARTITION_PREFIX = "payments_";
+    private static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoIndexManager indexManager;
+    private final boolean enabled;
+    private final boolean legacyFallback;
+
+    private final Set<String> partitions = ConcurrentHashMap.newKeySet();
+    private final Set<String> indexedPartitions = ConcurrentHashMap.newKeySet();
+
+    public PaymentPartitionRouter(MongoTemplate mongoTemplate,
+                                  MongoIndexManager indexManager,
+                                  @Value("${app.payment.partitioning.enabled:false}") boolean enabled,
+                                  @Value("${app.payment.partitioning.legacy-fallback:true}") boolean legacyFallback) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexManager = indexManager;
+        this.enabled = enabled;
+        this.legacyFallback = legacyFallback;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            refresh();
+            log.info("Payment partitioning enabled with partitions: {}", partitions);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether reads should also consult the unpartitioned {@code payments} collection, which holds
+     * payments created before partitioning was switched on until they are next written.
+     */
+    public boolean isLegacyFallback() {
+        return enabled && legacyFallback;
+    }
+
+    /**
+     * Returns the collection a payment created at {@code createdAt} is written to, creating the
+     * partition's indexes the first time this instance writes to it.
+     */
+    public String collectionForWrite(LocalDateTime createdAt) {
+        if (!enabled) {
+            return LEGACY_COLLECTION;
+        }
+        return register(partitionName(YearMonth.from(createdAt)));
+    }
+
+    /**
+     * Returns the collection an existing payment is written back to. A payment still in the legacy
+     * collection moves to the partition of its id, which may be an older month no one has written to
+     * yet, so the partition is registered and indexed just as {@link #collectionForWrite} does.
+     */
+    public String collectionForUpdate(String id) {
+        String collection = collectionForId(id);
+        return LEGACY_COLLECTION.equals(collection) ? collection : register(collection);
+    }
+
+    public String collectionForId(String id) {
+        if (!enabled || !ObjectId.isValid(id)) {
+            return LEGACY_COLLECTION;
+        }
+        LocalDateTime createdAt = LocalDateTime.ofInstant(new ObjectId(id).getDate().toInstant(), ZoneId.systemDefault());
+        return partitionName(YearMonth.from(createdAt));
+    }
+
+    /**
+     * Returns the collections that may hold payments created in the given range, newest partition
+     * first, followed by the legacy collection when fallback is on. Either bound may be null.
+     */
+    public List<String> collectionsBetween(LocalDateTime from, LocalDateTime to) {
+        if (!enabled) {
+            return List.of(LEGACY_COLLECTION);
+        }
+        if (!partitions.contains(partitionName(YearMonth.now()))) {
+            refresh();
+        }
+
+        String lower = from != null ? partitionName(YearMonth.from(from)) : null;
+        String upper = to != null ? partitionName(YearMonth.from(to)) : null;
+
+        List<String> collections = new ArrayList<>(partitions.stream()
+                .filter(partition -> lower == null || partition.compareTo(lower) >= 0)
+                .filter(partition -> upper == null || partition.compareTo(upper) <= 0)
+                .sorted(Comparator.reverseOrder())
+                .toList());
+
+        if (isLegacyFallback()) {
+            collections.add(LEGACY_COLLECTION);
+        }
+        return collections;
+    }
+
+    public List<String> allCollections() {
+        return collectionsBetween(null, null);
+    }
+
+    void refresh() {
+        for (String name : mongoTemplate.getCollectionNames()) {
+            if (isPartition(name)) {
+                partitions.add(name);
+            }
+        }
+    }
+
+    /**
+     * Makes {@code partition} visible to range reads, creating its indexes the first time this
+     * instance writes to it.
+     */
+    private String register(String partition) {
+        if (indexedPartitions.add(partition)) {
+            try {
+                indexManager.ensureIndexes(Payment.class, partition);
+            } catch (Exception ex) {
+                indexedPartitions.remove(partition);
+                log.error("Error creating indexes for payment partition: {}", partition, ex);
+            }
+        }
+        partitions.add(partition);
+        return partition;
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_FORMAT);
+    }
+
+    private static boolean isPartition(String name) {
+        return name.startsWith(PARTITION_PREFIX)
+                && name.length() == PARTITION_PREFIX.length() + 6
+                && name.substring(PARTITION_PREFIX.length()).chars().allMatch(Character::isDigit);
+    }
+}
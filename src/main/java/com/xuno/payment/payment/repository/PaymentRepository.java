@@ -10,14 +10,15 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface PaymentRepository extends MongoRepository<Payment, String> {
+public interface PaymentRepository extends MongoRepository<Payment, String>, PaymentRepositoryCustom {
 
     @Query("{ 'deleted': false }")
     Page<Payment> findAll(Pageable pageable);
 
-    @Query("{ '_id': ?0, 'deleted': false }")
-    Optional<Payment> findById(String id);
+    // Redeclared so calls resolve to the partition-aware implementations in PaymentRepositoryImpl
+    @Override
+    <S extends Payment> S save(S payment);
 
-    @Query("{ 'idempotencyKey': ?0, 'deleted': false }")
-    Optional<Payment> findByIdempotencyKey(String idempotencyKey);
+    @Override
+    Optional<Payment> findById(String id);
 }
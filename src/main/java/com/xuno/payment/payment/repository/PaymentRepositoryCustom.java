@@ -0,0 +1,27 @@
+package com.xuno.payment.payment.repository;
+
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Payment operations that are routed through {@link PaymentPartitionRouter} instead of the single
+ * collection the generated repository methods would use.
+ */
+public interface PaymentRepositoryCustom {
+
+    <S extends Payment> S save(S payment);
+
+    Optional<Payment> findById(String id);
+
+    Optional<Payment> findByIdempotencyKey(String idempotencyKey);
+
+    Optional<String> findIdByReference(String reference);
+
+    Page<Payment> findAll(PaymentStatus status, LocalDateTime dateFrom, LocalDateTime dateTo,
+                          String senderReference, Pageable pageable);
+}
@@ -0,0 +1,226 @@
+package com.xuno.payment.payment.repository;
+
+import com.xuno.payment.common.migration.LegacySchemaQueries;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.util.ReferenceNumberGenerator;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentRepositoryImpl implements PaymentRepositoryCustom {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+    private static final Comparator<Payment> NEWEST_FIRST_ORDER = Comparator.comparing(
+            Payment::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final MongoTemplate mongoTemplate;
+    private final PaymentPartitionRouter router;
+    private final LegacySchemaQueries legacySchemaQueries;
+    private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdown();
+    }
+
+    /**
+     * New payments get their ObjectId and creation time from the same instant, so the partition they
+     * are written to is always the one {@link PaymentPartitionRouter#collectionForId} resolves. Updates
+     * of payments still in the legacy collection move them into their partition.
+     */
+    @Override
+    public <S extends Payment> S save(S payment) {
+        if (payment.getId() == null) {
+            Instant now = Instant.now();
+            payment.setId(new ObjectId(Date.from(now)).toHexString());
+            if (payment.getCreatedAt() == null) {
+                payment.setCreatedAt(LocalDateTime.ofInstant(now, ZoneId.systemDefault()));
+            }
+            return mongoTemplate.insert(payment, router.collectionForWrite(payment.getCreatedAt()));
+        }
+
+        String collection = router.collectionForUpdate(payment.getId());
+        S saved = mongoTemplate.save(payment, collection);
+
+        if (router.isLegacyFallback() && !PaymentPartitionRouter.LEGACY_COLLECTION.equals(collection)) {
+            mongoTemplate.remove(new Query(Criteria.where("_id").is(payment.getId())),
+                    Payment.class, PaymentPartitionRouter.LEGACY_COLLECTION);
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Payment> findById(String id) {
+        String collection = router.collectionForId(id);
+        Payment payment = findOne(PaymentSpecification.byId(id), collection);
+
+        if (payment == null && router.isLegacyFallback() && !PaymentPartitionRouter.LEGACY_COLLECTION.equals(collection)) {
+            payment = findOne(PaymentSpecification.byId(id), PaymentPartitionRouter.LEGACY_COLLECTION);
+        }
+        return Optional.ofNullable(payment);
+    }
+
+    /**
+     * A key stays taken for as long as its payment exists, so every partition is searched, newest
+     * first since keys are usually replayed soon. Across partitions only the id is read from the
+     * idempotency index, and the payment is then loaded from the one partition that holds it.
+     */
+    @Override
+    public Optional<Payment> findByIdempotencyKey(String idempotencyKey) {
+        List<String> collections = router.allCollections();
+        if (collections.size() == 1) {
+            return Optional.ofNullable(findOne(PaymentSpecification.byIdempotencyKey(idempotencyKey),
+                    collections.getFirst()));
+        }
+
+        Query query = PaymentSpecification.byIdempotencyKey(idempotencyKey);
+        query.fields().include("_id");
+        return Optional.ofNullable(findFirst(query, collections)).flatMap(match -> findById(match.getId()));
+    }
+
+    /**
+     * Resolves a transaction, sender or receiver reference to the payment id, reading only the id
+     * from the index. A reference carrying its generation time is looked up in the partitions around
+     * that time; older references search every partition, newest first.
+     */
+    @Override
+    public Optional<String> findIdByReference(String reference) {
+        Query query = PaymentSpecification.byReference(reference);
+        query.fields().include("_id");
+
+        List<String> collections = ReferenceNumberGenerator.timestampOf(reference)
+                .map(generatedAt -> router.collectionsBetween(
+                        LocalDateTime.ofInstant(generatedAt.minus(ReferenceNumberGenerator.CREATION_SKEW), ZoneId.systemDefault()),
+                        LocalDateTime.ofInstant(generatedAt.plus(ReferenceNumberGenerator.CREATION_SKEW), ZoneId.systemDefault())))
+                .orElseGet(router::allCollections);
+
+        return Optional.ofNullable(findFirst(query, collections)).map(Payment::getId);
+    }
+
+    /**
+     * Queries every partition overlapping the date range in parallel. Each partition returns its
+     * newest {@code offset + size} matches; the merged list is then cut down to the requested page,
+     * so deep pages cost more per partition than shallow ones.
+     */
+    @Override
+    public Page<Payment> findAll(PaymentStatus status, LocalDateTime dateFrom, LocalDateTime dateTo,
+                                 String senderReference, Pageable pageable) {
+        List<String> collections = router.collectionsBetween(dateFrom, dateTo);
+
+        if (collections.size() == 1) {
+            String collection = collections.getFirst();
+            long total = count(listQuery(status, dateFrom, dateTo, senderReference), collection);
+            List<Payment> payments = find(listQuery(status, dateFrom, dateTo, senderReference).with(pageable), collection);
+            return new PageImpl<>(payments, pageable, total);
+        }
+
+        int limit = (int) pageable.getOffset() + pageable.getPageSize();
+
+        List<CompletableFuture<Long>> counts = collections.stream()
+                .map(collection -> CompletableFuture.supplyAsync(() -> count(
+                        listQuery(status, dateFrom, dateTo, senderReference), collection), fanOutExecutor))
+                .toList();
+        List<CompletableFuture<List<Payment>>> pages = collections.stream()
+                .map(collection -> CompletableFuture.supplyAsync(() -> find(
+                        listQuery(status, dateFrom, dateTo, senderReference).with(NEWEST_FIRST).limit(limit),
+                        collection), fanOutExecutor))
+                .toList();
+
+        long total = counts.stream().mapToLong(CompletableFuture::join).sum();
+        List<Payment> payments = pages.stream()
+                .flatMap(page -> page.join().stream())
+                .sorted(NEWEST_FIRST_ORDER)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+
+        log.debug("Fanned out payment query across {} collections", collections.size());
+        return new PageImpl<>(payments, pageable, total);
+    }
+
+    /**
+     * Reads go through {@code findOne}, {@code find} and {@code count}, which until the compact schema
+     * migration is complete widen the query to also match payments still stored with the v1 keys.
+     */
+    private Payment findOne(Query query, String collection) {
+        if (legacySchemaQueries.isMigrated()) {
+            return mongoTemplate.findOne(query, Payment.class, collection);
+        }
+        Document document = mongoTemplate.findOne(legacySchemaQueries.widen(Payment.class, query), Document.class, collection);
+        return document != null ? legacySchemaQueries.read(Payment.class, document) : null;
+    }
+
+    /**
+     * Returns the first match in {@code collections}, in order. Several collections are searched by one
+     * aggregation that chains them with {@code $unionWith} and stops at the first document, so a
+     * lookup costs a single round trip however many partitions it spans.
+     */
+    private Payment findFirst(Query query, List<String> collections) {
+        if (collections.size() == 1) {
+            return findOne(query, collections.getFirst());
+        }
+
+        Query mapped = legacySchemaQueries.widen(Payment.class, query);
+        List<Document> branch = new ArrayList<>();
+        branch.add(new Document("$match", mapped.getQueryObject()));
+        if (!mapped.getFieldsObject().isEmpty()) {
+            branch.add(new Document("$project", mapped.getFieldsObject()));
+        }
+        branch.add(new Document("$limit", 1));
+
+        List<Document> pipeline = new ArrayList<>(branch);
+        for (String collection : collections.subList(1, collections.size())) {
+            pipeline.add(new Document("$unionWith", new Document("coll", collection).append("pipeline", branch)));
+        }
+        pipeline.add(new Document("$limit", 1));
+
+        Document document = mongoTemplate.getCollection(collections.getFirst()).aggregate(pipeline).first();
+        return document != null ? legacySchemaQueries.read(Payment.class, document) : null;
+    }
+
+    private List<Payment> find(Query query, String collection) {
+        if (legacySchemaQueries.isMigrated()) {
+            return mongoTemplate.find(query, Payment.class, collection);
+        }
+        return mongoTemplate.find(legacySchemaQueries.widen(Payment.class, query), Document.class, collection).stream()
+                .map(document -> legacySchemaQueries.read(Payment.class, document))
+                .toList();
+    }
+
+    private long count(Query query, String collection) {
+        if (legacySchemaQueries.isMigrated()) {
+            return mongoTemplate.count(query, Payment.class, collection);
+        }
+        return mongoTemplate.count(legacySchemaQueries.widen(Payment.class, query), collection);
+    }
+
+    private static Query listQuery(PaymentStatus status, LocalDateTime dateFrom, LocalDateTime dateTo, String senderReference) {
+        Query query = PaymentSpecification.buildQuery(status, dateFrom, dateTo, senderReference);
+        query.fields().exclude("statusHistory");
+        return query;
+    }
+}
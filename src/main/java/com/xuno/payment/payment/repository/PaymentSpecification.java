@@ -1,6 +1,7 @@
 package com.xuno.payment.payment.repository;
 
 import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.util.ReferenceNumberGenerator;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
@@ -8,6 +9,38 @@ import java.time.LocalDateTime;
 
 public class PaymentSpecification {
 
+    public static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id).and("deleted").is(false));
+    }
+
+    public static Query byIdempotencyKey(String idempotencyKey) {
+        return new Query(Criteria.where("idempotencyKey").is(idempotencyKey).and("deleted").is(false));
+    }
+
+    /**
+     * Matches a transaction, sender or receiver reference against the field it was generated for,
+     * chosen by its prefix.
+     */
+    public static Query byReference(String reference) {
+        return new Query(Criteria.where(referenceField(reference)).is(reference).and("deleted").is(false));
+    }
+
+    /**
+     * Returns the property a transaction, sender or receiver reference is stored in, rejecting
+     * references without a known prefix.
+     */
+    public static String referenceField(String reference) {
+        int separator = reference.indexOf('-');
+        String prefix = separator > 0 ? reference.substring(0, separator) : "";
+
+        return switch (prefix) {
+            case ReferenceNumberGenerator.TXN_PREFIX -> "referenceNumber";
+            case ReferenceNumberGenerator.SND_PREFIX -> "sender.referenceNumber";
+            case ReferenceNumberGenerator.RCV_PREFIX -> "receiver.referenceNumber";
+            default -> throw new IllegalArgumentException("Unknown reference prefix: " + reference);
+        };
+    }
+
     public static Query buildQuery(
             PaymentStatus status,
             LocalDateTime dateFrom,
@@ -0,0 +1,13 @@
+package com.xuno.payment.payment.repository;
+
+import com.xuno.payment.payment.model.entity.PaymentStatusHistoryBucket;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PaymentStatusHistoryRepository extends MongoRepository<PaymentStatusHistoryBucket, String> {
+
+    List<PaymentStatusHistoryBucket> findByPaymentIdOrderByIdAsc(String paymentId);
+}
@@ -20,4 +20,6 @@ public interface PaymentService {
                                   String senderReference, Pageable pageable);
 
     PaymentDetailResponse find(String id);
+
+    PaymentDetailResponse findByReference(String reference);
 }
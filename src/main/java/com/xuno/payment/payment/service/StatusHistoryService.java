@@ -0,0 +1,14 @@
+package com.xuno.payment.payment.service;
+
+import com.xuno.payment.payment.model.valueobject.StatusHistory;
+
+import java.util.List;
+
+public interface StatusHistoryService {
+
+    void append(String paymentId, StatusHistory history);
+
+    void appendAll(String paymentId, List<StatusHistory> histories);
+
+    List<StatusHistory> findByPaymentId(String paymentId);
+}
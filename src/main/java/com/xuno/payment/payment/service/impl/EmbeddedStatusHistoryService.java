@@ -0,0 +1,75 @@
+package com.xuno.payment.payment.service.impl;
+
+import com.xuno.payment.common.storage.BsonEntityCodec;
+import com.xuno.payment.common.storage.EmbeddedStorage;
+import com.xuno.payment.common.storage.LogStructuredStore;
+import com.xuno.payment.payment.model.entity.PaymentStatusHistoryBucket;
+import com.xuno.payment.payment.model.valueobject.StatusHistory;
+import com.xuno.payment.payment.service.StatusHistoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link StatusHistoryService} over a {@link LogStructuredStore} for {@code app.storage.type=embedded}.
+ * A payment's whole history is one record keyed by payment id, rewritten on every append: there is
+ * no in-place {@code $push} to bound, so it is not split into buckets.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "embedded")
+@Slf4j
+public class EmbeddedStatusHistoryService implements StatusHistoryService {
+
+    static final String STORE_NAME = "payment_status_history";
+
+    private final LogStructuredStore records;
+    private final BsonEntityCodec<PaymentStatusHistoryBucket> codec;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public EmbeddedStatusHistoryService(EmbeddedStorage storage, MongoConverter converter) {
+        this.records = storage.open(STORE_NAME);
+        this.codec = new BsonEntityCodec<>(converter, PaymentStatusHistoryBucket.class);
+    }
+
+    @Override
+    public void append(String paymentId, StatusHistory history) {
+        appendAll(paymentId, List.of(history));
+    }
+
+    @Override
+    public void appendAll(String paymentId, List<StatusHistory> histories) {
+        log.debug("Appending {} statuses to history of payment: {}", histories.size(), paymentId);
+
+        writeLock.lock();
+        try {
+            PaymentStatusHistoryBucket bucket = read(paymentId);
+            if (bucket == null) {
+                bucket = PaymentStatusHistoryBucket.builder()
+                        .id(paymentId)
+                        .paymentId(paymentId)
+                        .build();
+            }
+            bucket.getEvents().addAll(histories);
+            bucket.setCount(bucket.getEvents().size());
+            records.put(paymentId, codec.encode(bucket));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<StatusHistory> findByPaymentId(String paymentId) {
+        PaymentStatusHistoryBucket bucket = read(paymentId);
+        return bucket == null ? new ArrayList<>() : bucket.getEvents();
+    }
+
+    private PaymentStatusHistoryBucket read(String paymentId) {
+        byte[] record = records.get(paymentId);
+        return record == null ? null : codec.decode(record);
+    }
+}
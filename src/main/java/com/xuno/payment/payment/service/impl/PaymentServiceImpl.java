@@ -1,9 +1,18 @@
 package com.xuno.payment.payment.service.impl;
 
-import com.xuno.payment.common.exception.ResourceNotFoundException;
+import com.xuno.payment.analytics.service.PaymentRollupService;
 import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
 import com.xuno.payment.exchangeconfig.service.ExchangeConfigService;
+import com.xuno.payment.payment.archive.PaymentArchive;
+import com.xuno.payment.payment.cache.PaymentDetailCache;
+import com.xuno.payment.payment.cache.PaymentReferenceCache;
+import com.xuno.payment.payment.exception.IdempotencyConflictException;
+import com.xuno.payment.payment.exception.InvalidStatusTransitionException;
+import com.xuno.payment.payment.exception.PaymentNotFoundException;
+import com.xuno.payment.payment.exception.PaymentNotVerifiedException;
 import com.xuno.payment.payment.mapper.PaymentMapper;
+import com.xuno.payment.payment.metrics.PaymentStageMetrics;
+import com.xuno.payment.payment.metrics.PaymentStageMetrics.StageTrace;
 import com.xuno.payment.payment.model.dto.PaymentDetailResponse;
 import com.xuno.payment.payment.model.dto.PaymentRequest;
 import com.xuno.payment.payment.model.dto.PaymentResponse;
@@ -12,29 +21,31 @@ import com.xuno.payment.payment.model.entity.Payment;
 import com.xuno.payment.payment.model.enums.PaymentStatus;
 import com.xuno.payment.payment.model.enums.UserRole;
 import com.xuno.payment.payment.model.valueobject.StatusHistory;
-import com.xuno.payment.payment.repository.PaymentRepository;
-import com.xuno.payment.payment.repository.PaymentSpecification;
 import com.xuno.payment.payment.service.EncryptionService;
 import com.xuno.payment.payment.service.ExchangeRateService;
 import com.xuno.payment.payment.service.FeeCalculationService;
 import com.xuno.payment.payment.service.PaymentService;
+import com.xuno.payment.payment.service.StatusHistoryService;
 import com.xuno.payment.payment.service.SystemVerificationService;
+import com.xuno.payment.payment.store.PaymentStore;
 import com.xuno.payment.payment.util.ReferenceNumberGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -42,90 +53,136 @@ import java.util.concurrent.CompletableFuture;
 @Transactional
 public class PaymentServiceImpl implements PaymentService {
 
-    private final PaymentRepository repository;
+    private static final Comparator<Payment> NEWEST_FIRST = Comparator.comparing(
+            Payment::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final PaymentStore store;
     private final PaymentMapper mapper;
     private final ExchangeConfigService exchangeConfigService;
     private final ExchangeRateService exchangeRateService;
     private final FeeCalculationService feeCalculationService;
     private final SystemVerificationService systemVerificationService;
     private final EncryptionService encryptionService;
-    private final MongoTemplate mongoTemplate;
+    private final PaymentRollupService rollupService;
+    private final PaymentDetailCache detailCache;
+    private final PaymentReferenceCache referenceCache;
+    private final StatusHistoryService statusHistoryService;
+    private final PaymentArchive paymentArchive;
+    private final PaymentStageMetrics stageMetrics;
 
     @Override
     public PaymentResponse create(PaymentRequest request, String adminId) {
         log.info("Creating payment: {} to {} for amount {}", 
                 request.getSourceCurrency(), request.getTargetCurrency(), request.getSourceAmount());
 
-        checkIdempotency(request.getIdempotencyKey());
-        systemVerificationService.performInitialVerification(request);
-
-        ExchangeRateConfiguration exchangeConfig = exchangeConfigService.findMatchingConfig(
-                request.getSourceCurrency(),
-                request.getTargetCurrency(),
-                request.getSourceAmount()
-        );
-
-        var exchangeRateResult = exchangeRateService.calculateExchangeRate(
-                request.getSourceCurrency(),
-                request.getTargetCurrency(),
-                request.getSourceAmount()
-        );
-
-        var feeResult = feeCalculationService.calculateFees(request.getSourceAmount(), exchangeConfig);
-        BigDecimal targetAmount = calculateTargetAmount(request.getSourceAmount(), exchangeRateResult, feeResult);
-
-        Payment payment = mapper.toEntity(request);
-        payment.setReferenceNumber(ReferenceNumberGenerator.generate());
-        payment.setIdempotencyKey(request.getIdempotencyKey());
-        payment.setExchangeRateCalculation(exchangeRateResult);
-        payment.setFeeCalculation(feeResult);
-        payment.setTargetAmount(targetAmount);
-        payment.setCreatedBy(adminId != null ? adminId : "system");
-        payment.setCreatedByRole(UserRole.ADMIN);
-        payment.setEstimatedDeliveryDate(calculateEstimatedDeliveryDate());
-        payment.getSender().setReferenceNumber(ReferenceNumberGenerator.generateSenderReference());
-        payment.getReceiver().setReferenceNumber(ReferenceNumberGenerator.generateReceiverReference());
-        
-        encryptSensitive(payment);
-
-        addStatusHistory(payment, PaymentStatus.PENDING_ADMIN_REVIEW, adminId, UserRole.ADMIN, "Payment created");
-
-        Payment saved = repository.save(payment);
-        log.info("Payment created with ID: {} and reference: {}", saved.getId(), saved.getReferenceNumber());
-
-        PaymentResponse response = mapper.toResponse(saved);
-        decryptAndMaskResponse(response);
+        StageTrace trace = stageMetrics.start("create").corridor(request.getCorridor());
+        try {
+            trace.enter("idempotency");
+            checkIdempotency(request.getIdempotencyKey());
+            trace.enter("verification");
+            systemVerificationService.performInitialVerification(request);
+
+            trace.enter("config");
+            ExchangeRateConfiguration exchangeConfig = exchangeConfigService.findMatchingConfig(
+                    request.getSourceCurrency(),
+                    request.getTargetCurrency(),
+                    request.getSourceAmount()
+            );
+
+            trace.enter("fx");
+            var exchangeRateResult = exchangeRateService.calculateExchangeRate(
+                    request.getSourceCurrency(),
+                    request.getTargetCurrency(),
+                    request.getSourceAmount()
+            );
+
+            trace.enter("fees");
+            var feeResult = feeCalculationService.calculateFees(request.getSourceAmount(), exchangeConfig);
+            BigDecimal targetAmount = calculateTargetAmount(request.getSourceAmount(), exchangeRateResult, feeResult);
+
+            trace.enter("mapping");
+            Payment payment = mapper.toEntity(request);
+            payment.setReferenceNumber(ReferenceNumberGenerator.generate());
+            payment.setIdempotencyKey(request.getIdempotencyKey());
+            payment.setExchangeRateCalculation(exchangeRateResult);
+            payment.setFeeCalculation(feeResult);
+            payment.setTargetAmount(targetAmount);
+            payment.setCreatedBy(adminId != null ? adminId : "system");
+            payment.setCreatedByRole(UserRole.ADMIN);
+            payment.setEstimatedDeliveryDate(calculateEstimatedDeliveryDate());
+            payment.getSender().setReferenceNumber(ReferenceNumberGenerator.generateSenderReference());
+            payment.getReceiver().setReferenceNumber(ReferenceNumberGenerator.generateReceiverReference());
+
+            trace.enter("encryption");
+            encryptSensitive(payment);
+
+            trace.enter("save");
+            Payment saved = store.insert(payment);
+            trace.enter("history");
+            addStatusHistory(saved, PaymentStatus.PENDING_ADMIN_REVIEW, adminId, UserRole.ADMIN, "Payment created");
+            log.info("Payment created with ID: {} and reference: {}", saved.getId(), saved.getReferenceNumber());
+            trace.enter("rollup");
+            rollupService.recordCreated(saved);
+
+            trace.enter("response");
+            PaymentResponse response = mapper.toResponse(saved);
+            decryptAndMaskResponse(response);
 
-        performAutomatedVerification(saved, request);
+            trace.enter("automated-verification");
+            performAutomatedVerification(saved, request);
 
-        return response;
+            return response;
+        } catch (RuntimeException ex) {
+            trace.fail(ex);
+            throw ex;
+        } finally {
+            trace.finish();
+        }
     }
 
     @Override
     public PaymentResponse validate(String id, StatusUpdateRequest request, String adminId) {
         log.info("Validating payment with ID: {} to status: {}", id, request.getStatus());
 
-        Payment payment = findByIdOrThrow(id);
-        
-        if (!payment.isSystemVerified()) {
-            throw new IllegalArgumentException("Payment must be verified by system before admin verification.");
-        }
-        
-        validateStatusTransition(payment.getStatus(), request.getStatus());
-
-        payment.setStatus(request.getStatus());
-        payment.setValidatedBy(adminId != null ? adminId : "system");
-        payment.setValidatedByRole(UserRole.ADMIN);
-
-        addStatusHistory(payment, request.getStatus(), adminId, UserRole.ADMIN, request.getNote());
-
-        Payment updated = repository.save(payment);
-        log.info("Payment validated with ID: {} to status: {}", updated.getId(), updated.getStatus());
-
-        PaymentResponse response = mapper.toResponse(updated);
-        decryptAndMaskResponse(response);
+        StageTrace trace = stageMetrics.start("validate");
+        try {
+            trace.enter("load");
+            Payment payment = findByIdOrThrow(id);
+            trace.corridor(payment.getCorridor());
+
+            trace.enter("transition");
+            if (!payment.isSystemVerified()) {
+                throw new PaymentNotVerifiedException();
+            }
+
+            validateStatusTransition(payment.getStatus(), request.getStatus());
+
+            PaymentStatus previousStatus = payment.getStatus();
+            payment.setStatus(request.getStatus());
+            payment.setValidatedBy(adminId != null ? adminId : "system");
+            payment.setValidatedByRole(UserRole.ADMIN);
+
+            trace.enter("save");
+            moveLegacyStatusHistory(payment);
+            Payment updated = store.update(payment);
+            trace.enter("history");
+            addStatusHistory(updated, request.getStatus(), adminId, UserRole.ADMIN, request.getNote());
+            detailCache.evict(id);
+            log.info("Payment validated with ID: {} to status: {}", updated.getId(), updated.getStatus());
+            trace.enter("rollup");
+            rollupService.recordStatusChange(updated, previousStatus);
+
+            trace.enter("response");
+            PaymentResponse response = mapper.toResponse(updated);
+            decryptAndMaskResponse(response);
 
-        return response;
+            return response;
+        } catch (RuntimeException ex) {
+            trace.fail(ex);
+            throw ex;
+        } finally {
+            trace.finish();
+        }
     }
 
     @Override
@@ -135,30 +192,63 @@ public class PaymentServiceImpl implements PaymentService {
         log.info("Fetching payments with filters - status: {}, dateFrom: {}, dateTo: {}, senderReference: {}",
                 status, dateFrom, dateTo, senderReference);
 
-        Query query = PaymentSpecification.buildQuery(status, dateFrom, dateTo, senderReference);
-        query.with(pageable);
+        StageTrace trace = stageMetrics.start("findAll");
+        try {
+            trace.enter("query");
+            Page<Payment> paymentPage = findAllWithArchive(status, dateFrom, dateTo, senderReference, pageable, trace);
 
-        long total = mongoTemplate.count(query, Payment.class);
-        List<Payment> payments = mongoTemplate.find(query, Payment.class);
+            trace.enter("response");
+            return paymentPage.map(payment -> {
+                PaymentResponse response = mapper.toResponse(payment);
+                decryptAndMaskResponse(response);
 
-        Page<Payment> paymentPage = new PageImpl<>(payments, pageable, total);
+                return response;
+            });
+        } catch (RuntimeException ex) {
+            trace.fail(ex);
+            throw ex;
+        } finally {
+            trace.finish();
+        }
+    }
 
-        return paymentPage.map(payment -> {
-            PaymentResponse response = mapper.toResponse(payment);
-            decryptAndMaskResponse(response);
+    @Override
+    @Transactional(readOnly = true)
+    public PaymentDetailResponse find(String id) {
+        log.info("Fetching payment with ID: {}", id);
 
+        StageTrace trace = stageMetrics.start("find");
+        try {
+            trace.enter("cache");
+            PaymentDetailResponse response = detailCache.get(id, key -> loadDetail(key, trace));
+            trace.corridor(response.getCorridor());
             return response;
-        });
+        } catch (RuntimeException ex) {
+            trace.fail(ex);
+            throw ex;
+        } finally {
+            trace.finish();
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PaymentDetailResponse find(String id) {
-        log.info("Fetching payment with ID: {}", id);
-        Payment payment = findByIdOrThrow(id);
-        PaymentDetailResponse response = mapper.toDetailResponse(payment);
-        decryptAndMaskDetailResponse(response);
-        return response;
+    public PaymentDetailResponse findByReference(String reference) {
+        log.info("Fetching payment with reference: {}", reference);
+
+        String id = referenceCache.get(reference, ref -> store.findIdByReference(ref)
+                .or(() -> paymentArchive.findByReference(ref).map(Payment::getId))
+                .orElse(null));
+        if (id == null) {
+            throw PaymentNotFoundException.forReference(reference);
+        }
+
+        try {
+            return find(id);
+        } catch (PaymentNotFoundException ex) {
+            referenceCache.evict(reference);
+            throw ex;
+        }
     }
 
     @Async
@@ -170,19 +260,25 @@ public class PaymentServiceImpl implements PaymentService {
             
             future.thenAccept(status -> {
                 try {
-                    Payment paymentToUpdate = repository.findById(payment.getId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Payment not found: " + payment.getId()));
+                    Payment paymentToUpdate = store.findById(payment.getId())
+                            .orElseThrow(() -> PaymentNotFoundException.forId(payment.getId()));
                     
                     if (status != PaymentStatus.PENDING_ADMIN_REVIEW) {
+                        PaymentStatus previousStatus = paymentToUpdate.getStatus();
                         paymentToUpdate.setStatus(status);
                         paymentToUpdate.setSystemVerified(true);
-                        addStatusHistory(paymentToUpdate, status, "system", UserRole.SYSTEM_USER, 
+                        moveLegacyStatusHistory(paymentToUpdate);
+                        Payment updated = store.update(paymentToUpdate);
+                        addStatusHistory(updated, status, "system", UserRole.SYSTEM_USER,
                                 "System verification completed: " + status);
-                        repository.save(paymentToUpdate);
+                        detailCache.evict(payment.getId());
+                        rollupService.recordStatusChange(updated, previousStatus);
                         log.info("Payment {} updated to status {} after async verification", paymentToUpdate.getId(), status);
                     } else {
                         paymentToUpdate.setSystemVerified(true);
-                        repository.save(paymentToUpdate);
+                        moveLegacyStatusHistory(paymentToUpdate);
+                        store.update(paymentToUpdate);
+                        detailCache.evict(payment.getId());
                         log.info("Payment {} verified successfully", paymentToUpdate.getId());
                     }
                 } catch (Exception ex) {
@@ -199,8 +295,12 @@ public class PaymentServiceImpl implements PaymentService {
 
     private void checkIdempotency(String idempotencyKey) {
         if (idempotencyKey != null) {
-            repository.findByIdempotencyKey(idempotencyKey).ifPresent(existing -> {
-                throw new IllegalArgumentException("Payment with idempotency key already exists: " + idempotencyKey);
+            store.findByIdempotencyKey(idempotencyKey).ifPresent(existing -> {
+                PaymentResponse replay = mapper.toResponse(existing);
+                if (replay != null) {
+                    decryptAndMaskResponse(replay);
+                }
+                throw new IdempotencyConflictException(idempotencyKey, replay);
             });
         }
     }
@@ -219,10 +319,10 @@ public class PaymentServiceImpl implements PaymentService {
 
     private void validateStatusTransition(PaymentStatus currentStatus, PaymentStatus newStatus) {
         if (currentStatus == PaymentStatus.APPROVED && newStatus == PaymentStatus.REJECTED) {
-            throw new IllegalArgumentException("Cannot reject an approved payment");
+            throw new InvalidStatusTransitionException("Cannot reject an approved payment");
         }
         if (currentStatus == PaymentStatus.DELIVERED) {
-            throw new IllegalArgumentException("Cannot change status of a delivered payment");
+            throw new InvalidStatusTransitionException("Cannot change status of a delivered payment");
         }
     }
 
@@ -234,12 +334,73 @@ public class PaymentServiceImpl implements PaymentService {
                 .changedAt(LocalDateTime.now())
                 .note(note)
                 .build();
-        payment.addStatusHistory(history);
+        statusHistoryService.append(payment.getId(), history);
+    }
+
+    private void moveLegacyStatusHistory(Payment payment) {
+        if (payment.getStatusHistory() != null && !payment.getStatusHistory().isEmpty()) {
+            statusHistoryService.appendAll(payment.getId(), payment.getStatusHistory());
+            payment.setStatusHistory(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Lists payments from the store and, when {@code dateFrom} reaches back to or before the newest
+     * archived payment, from the archive as well, merged newest first. Without {@code dateFrom} only
+     * the store is listed, so an open-ended listing never reads the whole archive.
+     */
+    private Page<Payment> findAllWithArchive(PaymentStatus status, LocalDateTime dateFrom, LocalDateTime dateTo,
+                                             String senderReference, Pageable pageable, StageTrace trace) {
+        LocalDateTime newestArchived = dateFrom == null || pageable.isUnpaged() ? null : paymentArchive.newestCreatedAt()
+                .filter(newest -> !dateFrom.isAfter(newest))
+                .orElse(null);
+        if (newestArchived == null) {
+            return store.findAll(status, dateFrom, dateTo, senderReference, pageable);
+        }
+
+        int limit = (int) pageable.getOffset() + pageable.getPageSize();
+        Page<Payment> hot = store.findAll(status, dateFrom, dateTo, senderReference, PageRequest.of(0, limit));
+
+        trace.enter("archive");
+        LocalDateTime archivedTo = dateTo == null || dateTo.isAfter(newestArchived) ? newestArchived : dateTo;
+        List<Payment> archived = paymentArchive.findCreatedBetween(dateFrom, archivedTo).stream()
+                .filter(payment -> status == null || status == payment.getStatus())
+                .filter(payment -> senderReference == null || (payment.getSender() != null
+                        && senderReference.equals(payment.getSender().getReferenceNumber())))
+                .toList();
+
+        List<Payment> payments = Stream.concat(hot.getContent().stream(), archived.stream())
+                .sorted(NEWEST_FIRST)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(payments, pageable, hot.getTotalElements() + archived.size());
+    }
+
+    private PaymentDetailResponse loadDetail(String id, StageTrace trace) {
+        trace.enter("load");
+        Payment payment = store.findById(id)
+                .or(() -> paymentArchive.findById(id))
+                .orElseThrow(() -> PaymentNotFoundException.forId(id));
+        trace.enter("response");
+        PaymentDetailResponse response = mapper.toDetailResponse(payment);
+        response.setStatusHistory(statusHistoryOf(payment));
+        decryptAndMaskDetailResponse(response);
+        return response;
+    }
+
+    private List<StatusHistory> statusHistoryOf(Payment payment) {
+        List<StatusHistory> history = new ArrayList<>();
+        if (payment.getStatusHistory() != null) {
+            history.addAll(payment.getStatusHistory());
+        }
+        history.addAll(statusHistoryService.findByPaymentId(payment.getId()));
+        return history;
     }
 
     private Payment findByIdOrThrow(String id) {
-        return repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with ID: " + id));
+        return store.findById(id)
+                .orElseThrow(() -> PaymentNotFoundException.forId(id));
     }
 
     private void encryptSensitive(Payment payment) {
@@ -0,0 +1,63 @@
+package com.xuno.payment.payment.service.impl;
+
+import com.xuno.payment.payment.model.entity.PaymentStatusHistoryBucket;
+import com.xuno.payment.payment.model.valueobject.StatusHistory;
+import com.xuno.payment.payment.repository.PaymentStatusHistoryRepository;
+import com.xuno.payment.payment.service.StatusHistoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "mongo", matchIfMissing = true)
+@Slf4j
+public class StatusHistoryServiceImpl implements StatusHistoryService {
+
+    private final PaymentStatusHistoryRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final int bucketSize;
+
+    public StatusHistoryServiceImpl(PaymentStatusHistoryRepository repository,
+                                    MongoTemplate mongoTemplate,
+                                    @Value("${app.payment.status-history.bucket-size:50}") int bucketSize) {
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.bucketSize = bucketSize;
+    }
+
+    @Override
+    public void append(String paymentId, StatusHistory history) {
+        log.debug("Appending status {} to history of payment: {}", history.getStatus(), paymentId);
+
+        Query openBucket = new Query(Criteria.where("paymentId").is(paymentId).and("count").lt(bucketSize));
+        Update update = new Update()
+                .push("events", history)
+                .inc("count", 1);
+
+        mongoTemplate.upsert(openBucket, update, PaymentStatusHistoryBucket.class);
+    }
+
+    @Override
+    public void appendAll(String paymentId, List<StatusHistory> histories) {
+        for (StatusHistory history : histories) {
+            append(paymentId, history);
+        }
+    }
+
+    @Override
+    public List<StatusHistory> findByPaymentId(String paymentId) {
+        List<StatusHistory> histories = new ArrayList<>();
+        for (PaymentStatusHistoryBucket bucket : repository.findByPaymentIdOrderByIdAsc(paymentId)) {
+            histories.addAll(bucket.getEvents());
+        }
+        return histories;
+    }
+}
@@ -0,0 +1,255 @@
+package com.xuno.payment.payment.store;
+
+import com.xuno.payment.common.storage.BsonEntityCodec;
+import com.xuno.payment.common.storage.EmbeddedStorage;
+import com.xuno.payment.common.storage.LogStructuredStore;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.repository.PaymentSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * {@link PaymentStore} over a {@link LogStructuredStore}: payments are kept on disk as BSON records
+ * keyed by id, while idempotency keys and references are resolved through in-memory hash indexes and
+ * list queries walk an in-memory skiplist ordered newest first. The indexes are rebuilt from the log
+ * on startup. Only active with {@code app.storage.type=embedded}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "embedded")
+@Slf4j
+public class EmbeddedPaymentStore implements PaymentStore {
+
+    static final String STORE_NAME = "payments";
+
+    private static final Comparator<ScanKey> NEWEST_FIRST = Comparator
+            .comparing(ScanKey::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ScanKey::id, Comparator.reverseOrder());
+    // Ids sort newest first, so these bound every id created at the same instant
+    private static final String FIRST_ID = "\uffff";
+    private static final String LAST_ID = "";
+
+    private final LogStructuredStore records;
+    private final BsonEntityCodec<Payment> codec;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final ConcurrentSkipListMap<ScanKey, IndexEntry> byCreatedAt = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+    private final Map<String, IndexEntry> entriesById = new ConcurrentHashMap<>();
+    private final Map<String, String> idsByIdempotencyKey = new ConcurrentHashMap<>();
+    private final Map<String, String> idsByReference = new ConcurrentHashMap<>();
+
+    public EmbeddedPaymentStore(EmbeddedStorage storage, MongoConverter converter) {
+        this.records = storage.open(STORE_NAME);
+        this.codec = new BsonEntityCodec<>(converter, Payment.class);
+
+        records.forEach((id, bytes) -> index(codec.decode(bytes)));
+        log.info("Embedded payment store opened with {} payments", records.size());
+    }
+
+    /**
+     * Like {@code PaymentRepositoryImpl}, the id is an ObjectId taken from the creation instant, so
+     * ids order the same way as creation times.
+     */
+    @Override
+    public Payment insert(Payment payment) {
+        if (payment.getId() != null) {
+            throw new IllegalArgumentException("New payment already has an id: " + payment.getId());
+        }
+        Instant now = Instant.now();
+        LocalDateTime timestamp = LocalDateTime.ofInstant(now, ZoneId.systemDefault());
+        payment.setId(new ObjectId(Date.from(now)).toHexString());
+        if (payment.getCreatedAt() == null) {
+            payment.setCreatedAt(timestamp);
+        }
+        payment.setUpdatedAt(timestamp);
+        return write(payment);
+    }
+
+    @Override
+    public Payment update(Payment payment) {
+        if (payment.getId() == null) {
+            throw new IllegalArgumentException("Payment to update has no id");
+        }
+        payment.setUpdatedAt(LocalDateTime.now());
+        return write(payment);
+    }
+
+    @Override
+    public Optional<Payment> findById(String id) {
+        byte[] record = records.get(id);
+        if (record == null) {
+            return Optional.empty();
+        }
+        Payment payment = codec.decode(record);
+        return payment.isDeleted() ? Optional.empty() : Optional.of(payment);
+    }
+
+    @Override
+    public Optional<Payment> findByIdempotencyKey(String idempotencyKey) {
+        String id = idsByIdempotencyKey.get(idempotencyKey);
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    @Override
+    public Optional<String> findIdByReference(String reference) {
+        PaymentSpecification.referenceField(reference);
+        return Optional.ofNullable(idsByReference.get(reference));
+    }
+
+    /**
+     * Walks the skiplist between the two dates and filters the rest in memory. Without filters the
+     * walk stops at the end of the page, since the total is the size of the index.
+     */
+    @Override
+    public Page<Payment> findAll(PaymentStatus status, LocalDateTime dateFrom, LocalDateTime dateTo,
+                                 String senderReference, Pageable pageable) {
+        boolean unfiltered = status == null && dateFrom == null && dateTo == null && senderReference == null;
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        long limit = pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE;
+
+        long total = 0;
+        List<String> ids = new ArrayList<>();
+        for (IndexEntry entry : range(dateFrom, dateTo).values()) {
+            if (!entry.matches(status, senderReference)) {
+                continue;
+            }
+            if (total >= offset && ids.size() < limit) {
+                ids.add(entry.id());
+            } else if (unfiltered && ids.size() == limit) {
+                break;
+            }
+            total++;
+        }
+        if (unfiltered) {
+            total = byCreatedAt.size();
+        }
+
+        List<Payment> payments = ids.stream()
+                .map(this::findById)
+                .flatMap(Optional::stream)
+                .toList();
+        return new PageImpl<>(payments, pageable, total);
+    }
+
+    /**
+     * Passes every payment that is not deleted to {@code action}, in no particular order. Payments
+     * written while this runs may or may not be seen.
+     */
+    public void forEach(Consumer<Payment> action) {
+        for (String id : entriesById.keySet()) {
+            findById(id).ifPresent(action);
+        }
+    }
+
+    private Payment write(Payment payment) {
+        byte[] record = codec.encode(payment);
+
+        writeLock.lock();
+        try {
+            records.put(payment.getId(), record);
+            index(payment);
+        } finally {
+            writeLock.unlock();
+        }
+        return payment;
+    }
+
+    /**
+     * Adds the payment's new index entries before removing stale ones, so a concurrent lookup of a
+     * key that did not change never misses. Deleted payments are dropped from every index.
+     */
+    private void index(Payment payment) {
+        String id = payment.getId();
+        IndexEntry entry = payment.isDeleted() ? null : IndexEntry.of(payment);
+        IndexEntry previous = entry != null ? entriesById.put(id, entry) : entriesById.remove(id);
+
+        if (entry != null) {
+            byCreatedAt.put(entry.scanKey(), entry);
+            if (entry.idempotencyKey() != null) {
+                idsByIdempotencyKey.put(entry.idempotencyKey(), id);
+            }
+            entry.references().forEach(reference -> idsByReference.put(reference, id));
+        }
+
+        if (previous != null) {
+            if (entry == null || !previous.scanKey().equals(entry.scanKey())) {
+                byCreatedAt.remove(previous.scanKey());
+            }
+            if (previous.idempotencyKey() != null
+                    && (entry == null || !previous.idempotencyKey().equals(entry.idempotencyKey()))) {
+                idsByIdempotencyKey.remove(previous.idempotencyKey(), id);
+            }
+            for (String reference : previous.references()) {
+                if (entry == null || !entry.references().contains(reference)) {
+                    idsByReference.remove(reference, id);
+                }
+            }
+        }
+    }
+
+    private NavigableMap<ScanKey, IndexEntry> range(LocalDateTime dateFrom, LocalDateTime dateTo) {
+        if (dateFrom != null && dateTo != null) {
+            return dateFrom.isAfter(dateTo)
+                    ? Collections.emptyNavigableMap()
+                    : byCreatedAt.subMap(new ScanKey(dateTo, FIRST_ID), true, new ScanKey(dateFrom, LAST_ID), true);
+        }
+        if (dateTo != null) {
+            return byCreatedAt.tailMap(new ScanKey(dateTo, FIRST_ID), true);
+        }
+        if (dateFrom != null) {
+            return byCreatedAt.headMap(new ScanKey(dateFrom, LAST_ID), true);
+        }
+        return byCreatedAt;
+    }
+
+    private record ScanKey(LocalDateTime createdAt, String id) {
+    }
+
+    private record IndexEntry(ScanKey scanKey, PaymentStatus status, String senderReference,
+                              String idempotencyKey, List<String> references) {
+
+        static IndexEntry of(Payment payment) {
+            String senderReference = payment.getSender() != null ? payment.getSender().getReferenceNumber() : null;
+            String receiverReference = payment.getReceiver() != null ? payment.getReceiver().getReferenceNumber() : null;
+            List<String> references = Stream.of(payment.getReferenceNumber(), senderReference, receiverReference)
+                    .filter(Objects::nonNull)
+                    .toList();
+
+            return new IndexEntry(new ScanKey(payment.getCreatedAt(), payment.getId()), payment.getStatus(),
+                    senderReference, payment.getIdempotencyKey(), references);
+        }
+
+        String id() {
+            return scanKey.id();
+        }
+
+        boolean matches(PaymentStatus status, String senderReference) {
+            return (status == null || status == this.status)
+                    && (senderReference == null || senderReference.equals(this.senderReference));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.xuno.payment.payment.store;
+
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * {@link PaymentStore} over the partition-aware {@link PaymentRepository}. The default backend.
+ * Unsorted pages are sorted newest first, which a single collection would not do by itself.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "mongo", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MongoPaymentStore implements PaymentStore {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private final PaymentRepository repository;
+
+    @Override
+    public Payment insert(Payment payment) {
+        if (payment.getId() != null) {
+            throw new IllegalArgumentException("New payment already has an id: " + payment.getId());
+        }
+        return repository.save(payment);
+    }
+
+    @Override
+    public Payment update(Payment payment) {
+        if (payment.getId() == null) {
+            throw new IllegalArgumentException("Payment to update has no id");
+        }
+        return repository.save(payment);
+    }
+
+    @Override
+    public Optional<Payment> findById(String id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public Optional<Payment> findByIdempotencyKey(String idempotencyKey) {
+        return repository.findByIdempotencyKey(idempotencyKey);
+    }
+
+    @Override
+    public Optional<String> findIdByReference(String reference) {
+        return repository.findIdByReference(reference);
+    }
+
+    @Override
+    public Page<Payment> findAll(PaymentStatus status, LocalDateTime dateFrom, LocalDateTime dateTo,
+                                 String senderReference, Pageable pageable) {
+        Pageable sorted = pageable.isPaged() && pageable.getSort().isUnsorted()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST)
+                : pageable;
+        return repository.findAll(status, dateFrom, dateTo, senderReference, sorted);
+    }
+}
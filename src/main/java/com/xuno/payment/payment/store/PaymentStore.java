@@ -0,0 +1,37 @@
+package com.xuno.payment.payment.store;
+
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Storage operations the payment service needs, implemented over Mongo ({@link MongoPaymentStore})
+ * or an embedded log-structured store ({@link EmbeddedPaymentStore}) depending on
+ * {@code app.storage.type}. Soft-deleted payments are never returned.
+ */
+public interface PaymentStore {
+
+    /** Stores a new payment, assigning its id and, unless already set, its creation time. */
+    Payment insert(Payment payment);
+
+    /** Replaces a stored payment, typically after a status change. */
+    Payment update(Payment payment);
+
+    Optional<Payment> findById(String id);
+
+    Optional<Payment> findByIdempotencyKey(String idempotencyKey);
+
+    /** Resolves a transaction, sender or receiver reference to the id of its payment. */
+    Optional<String> findIdByReference(String reference);
+
+    /**
+     * Returns a page of payments matching every given filter, newest first. Null filters match
+     * everything and both dates are inclusive.
+     */
+    Page<Payment> findAll(PaymentStatus status, LocalDateTime dateFrom, LocalDateTime dateTo,
+                          String senderReference, Pageable pageable);
+}
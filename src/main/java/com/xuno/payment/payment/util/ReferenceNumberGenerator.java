@@ -1,15 +1,39 @@
 package com.xuno.payment.payment.util;
 
 import java.security.SecureRandom;
-import java.util.Base64;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
 
+/**
+ * Generates references of the form {@code PREFIX-<26 chars>}, where the 26 characters are a
+ * ULID: a 48-bit millisecond timestamp followed by 80 random bits, in Crockford base32. References
+ * sort by creation time, so inserts append to the right edge of their indexes instead of landing
+ * on random pages. Within a thread, references generated in the same millisecond increment the
+ * random part, so they are strictly increasing. Each thread draws entropy from its own
+ * {@link SecureRandom} in buffered chunks.
+ */
 public final class ReferenceNumberGenerator {
 
-    private static final SecureRandom random = new SecureRandom();
-    private static final int REFERENCE_LENGTH = 16;
-    private static final String TXN_PREFIX = "TXN";
-    private static final String SND_PREFIX = "SND";
-    private static final String RCV_PREFIX = "RCV";
+    public static final String TXN_PREFIX = "TXN";
+    public static final String SND_PREFIX = "SND";
+    public static final String RCV_PREFIX = "RCV";
+
+    private static final char[] ENCODING = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int TIME_LENGTH = 10;
+    private static final int RANDOM_LENGTH = 16;
+    private static final int ENTROPY_BYTES = 10;
+    private static final int ENTROPY_BUFFER_SIZE = ENTROPY_BYTES * 64;
+
+    public static final int ULID_LENGTH = TIME_LENGTH + RANDOM_LENGTH;
+
+    /**
+     * How far the time in a reference may be from its payment's creation time. References are
+     * generated while the payment is created, so this is generous.
+     */
+    public static final Duration CREATION_SKEW = Duration.ofMinutes(5);
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
 
     private ReferenceNumberGenerator() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
@@ -27,11 +51,101 @@ public final class ReferenceNumberGenerator {
         return generateReference(RCV_PREFIX);
     }
 
+    /**
+     * Returns the time encoded in a reference's ULID, or empty for a reference without one, such as
+     * those generated before references were time ordered.
+     */
+    public static Optional<Instant> timestampOf(String reference) {
+        int offset = reference.indexOf('-') + 1;
+        if (offset == 0 || reference.length() - offset != ULID_LENGTH) {
+            return Optional.empty();
+        }
+        long timestamp = 0;
+        for (int i = offset; i < reference.length(); i++) {
+            int value = decode(reference.charAt(i));
+            if (value < 0) {
+                return Optional.empty();
+            }
+            if (i < offset + TIME_LENGTH) {
+                timestamp = (timestamp << 5) | value;
+            }
+        }
+        return Optional.of(Instant.ofEpochMilli(timestamp));
+    }
+
+    private static int decode(char c) {
+        for (int value = 0; value < ENCODING.length; value++) {
+            if (ENCODING[value] == c) {
+                return value;
+            }
+        }
+        return -1;
+    }
+
     private static String generateReference(String prefix) {
-        byte[] randomBytes = new byte[REFERENCE_LENGTH];
-        random.nextBytes(randomBytes);
-        String randomPart = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
-        return String.format("%s-%s", prefix, randomPart);
+        State state = STATE.get();
+        state.advance(System.currentTimeMillis());
+
+        int offset = prefix.length() + 1;
+        char[] chars = new char[offset + ULID_LENGTH];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        chars[prefix.length()] = '-';
+
+        long timestamp = state.timestamp;
+        for (int i = offset + TIME_LENGTH - 1; i >= offset; i--) {
+            chars[i] = ENCODING[(int) (timestamp & 31)];
+            timestamp >>>= 5;
+        }
+
+        long high = state.randomHigh;
+        long low = state.randomLow;
+        for (int i = offset + ULID_LENGTH - 1; i >= offset + TIME_LENGTH; i--) {
+            chars[i] = ENCODING[(int) (low & 31)];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+
+        return new String(chars);
     }
-}
 
+    private static final class State {
+
+        private final SecureRandom random = new SecureRandom();
+        private final byte[] entropy = new byte[ENTROPY_BUFFER_SIZE];
+        private int position = ENTROPY_BUFFER_SIZE;
+
+        private long timestamp = -1;
+        private long randomHigh;
+        private long randomLow;
+
+        /**
+         * Moves to the next value. A clock that stands still or goes backwards keeps the last
+         * timestamp and increments the random part, so values never decrease.
+         */
+        void advance(long now) {
+            if (now > timestamp) {
+                timestamp = now;
+                nextRandom();
+            } else if (++randomLow == 0) {
+                randomHigh = (randomHigh + 1) & 0xFFFF;
+                if (randomHigh == 0) {
+                    timestamp++;
+                }
+            }
+        }
+
+        private void nextRandom() {
+            if (position == ENTROPY_BUFFER_SIZE) {
+                random.nextBytes(entropy);
+                position = 0;
+            }
+            randomHigh = ((entropy[position] & 0xFFL) << 8) | (entropy[position + 1] & 0xFFL);
+            long low = 0;
+            for (int i = 2; i < ENTROPY_BYTES; i++) {
+                low = (low << 8) | (entropy[position + i] & 0xFFL);
+            }
+            randomLow = low;
+            position += ENTROPY_BYTES;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.xuno.payment.payment.verification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xuno.payment.payment.model.dto.PaymentRequest;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.model.valueobject.SenderFundingAccountInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sliding-window velocity limits per sender, kept in memory so a verification never needs a count
+ * query. {@code app.verification.velocity.limits} sets, per corridor and source currency, how many
+ * payments and how much source amount in that currency one sender may send within
+ * {@code window-minutes}; {@value #ANY_CORRIDOR} covers corridors that are not listed. Every limit
+ * names its currency, since an amount means nothing without one. Amounts are only added up within
+ * one source currency, so a sender has a window per source currency. The limit of the payment's
+ * corridor and currency is checked against the sender's activity in that currency across all
+ * corridors, and only payments within the limit are counted. Currencies without any limit are not
+ * tracked.
+ *
+ * <p>A sender is identified by an HMAC of its funding account, routing number and source currency
+ * under {@code app.encryption.secret}, so neither memory nor the snapshot holds account numbers. Each
+ * sender's window is a ring of {@code buckets} time buckets holding a count and an amount; a bucket
+ * is reset when the ring comes round to it again, so the window slides one bucket at a time. Senders
+ * live in a bounded Caffeine map ({@code max-senders}) and are dropped after a full window without
+ * payments, when their buckets would be empty anyway.
+ *
+ * <p>Windows are written to {@code snapshot.file} every {@code snapshot.interval-ms} and on
+ * shutdown, and read back on startup, so a restarted node does not start from empty windows.
+ */
+@Component
+@Slf4j
+public class VelocityLimiter {
+
+    public static final String ANY_CORRIDOR = "*";
+
+    private static final int SNAPSHOT_MAGIC = 0x56454C32;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * Maximum count and amount, in hundredths of the limit's currency, within the window.
+     */
+    private record Limit(int maxCount, long maxAmount) {
+    }
+
+    /**
+     * A payment that took its sender over the limit of its corridor.
+     */
+    public record Breach(String corridor, String currency, long count, BigDecimal amount, int maxCount,
+                         BigDecimal maxAmount) {
+    }
+
+    /**
+     * Limits keyed by {@code corridor:currency}.
+     */
+    private final Map<String, Limit> limits;
+    private final Set<String> currencies;
+    private final Map<String, Counter> breaches = new HashMap<>();
+    private final PaymentStatus outcome;
+    private final long bucketMillis;
+    private final int buckets;
+    private final Cache<Long, SenderWindow> windows;
+    private final Path snapshotFile;
+    private final ThreadLocal<Mac> macs;
+
+    public VelocityLimiter(MeterRegistry meterRegistry,
+                           @Value("${app.encryption.secret}") String secret,
+                           @Value("${app.verification.velocity.limits:}") String[] limits,
+                           @Value("${app.verification.velocity.window-minutes:60}") int windowMinutes,
+                           @Value("${app.verification.velocity.buckets:12}") int buckets,
+                           @Value("${app.verification.velocity.max-senders:100000}") long maxSenders,
+                           @Value("${app.verification.velocity.outcome:REJECTED}") PaymentStatus outcome,
+                           @Value("${app.verification.velocity.snapshot.file:}") String snapshotFile) {
+        this.limits = parseLimits(limits);
+        this.currencies = this.limits.keySet().stream()
+                .map(key -> key.substring(key.lastIndexOf(':') + 1))
+                .collect(Collectors.toUnmodifiableSet());
+        this.outcome = outcome;
+        this.buckets = buckets;
+        this.bucketMillis = TimeUnit.MINUTES.toMillis(windowMinutes) / buckets;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxSenders)
+                .expireAfterAccess(Duration.ofMinutes(windowMinutes))
+                .build();
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("Cannot initialize " + HMAC_ALGORITHM, ex);
+            }
+        });
+
+        this.limits.keySet().forEach(limitKey -> breaches.put(limitKey, Counter.builder("verification.velocity.breaches")
+                .tag("corridor", limitKey.substring(0, limitKey.lastIndexOf(':')))
+                .tag("currency", limitKey.substring(limitKey.lastIndexOf(':') + 1))
+                .description("Payments that took their sender over a velocity limit")
+                .register(meterRegistry)));
+        Gauge.builder("verification.velocity.senders", windows, Cache::estimatedSize)
+                .description("Senders with payments in the current velocity window")
+                .register(meterRegistry);
+
+        if (!this.limits.isEmpty()) {
+            restore(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Status given to payments that breach a limit.
+     */
+    public PaymentStatus outcome() {
+        return outcome;
+    }
+
+    /**
+     * Checks the limit of the payment's corridor and source currency and, if the sender stays within
+     * it, counts the payment towards the sender's window. Call it only for payments no verification
+     * rule stopped.
+     *
+     * @return the breach, or {@code null} if the sender is within the limit, no limit applies or the
+     *         sender has no funding account
+     */
+    public Breach record(PaymentRequest request) {
+        return record(request, System.currentTimeMillis());
+    }
+
+    Breach record(PaymentRequest request, long nowMillis) {
+        String currency = request.getSourceCurrency();
+        if (currency == null || !currencies.contains(currency) || request.getSourceAmount() == null) {
+            return null;
+        }
+        Long sender = senderKey(request);
+        if (sender == null) {
+            return null;
+        }
+
+        String corridor = request.getCorridor() != null && limits.containsKey(limitKey(request.getCorridor(), currency))
+                ? request.getCorridor() : ANY_CORRIDOR;
+        String limitKey = limitKey(corridor, currency);
+        Limit limit = limits.get(limitKey);
+
+        long epoch = nowMillis / bucketMillis;
+        long[] totals = windows.get(sender, key -> new SenderWindow(buckets))
+                .add(epoch, hundredths(request.getSourceAmount()), limit);
+        if (limit == null || (totals[0] <= limit.maxCount() && totals[1] <= limit.maxAmount())) {
+            return null;
+        }
+        breaches.get(limitKey).increment();
+        return new Breach(corridor, currency, totals[0], BigDecimal.valueOf(totals[1], 2), limit.maxCount(),
+                BigDecimal.valueOf(limit.maxAmount(), 2));
+    }
+
+    @Scheduled(fixedDelayString = "${app.verification.velocity.snapshot.interval-ms:60000}",
+               initialDelayString = "${app.verification.velocity.snapshot.interval-ms:60000}")
+    public void snapshot() {
+        if (snapshotFile == null || limits.isEmpty()) {
+            return;
+        }
+        long oldestEpoch = System.currentTimeMillis() / bucketMillis - buckets + 1;
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+            int senders = 0;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(bucketMillis);
+                out.writeInt(buckets);
+                for (Map.Entry<Long, SenderWindow> entry : windows.asMap().entrySet()) {
+                    out.writeBoolean(true);
+                    out.writeLong(entry.getKey());
+                    entry.getValue().write(out, oldestEpoch);
+                    senders++;
+                }
+                out.writeBoolean(false);
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Velocity snapshot written: {} senders", senders);
+        } catch (IOException ex) {
+            log.warn("Cannot write velocity snapshot {}: {}", snapshotFile, ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    void restore(long nowMillis) {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return;
+        }
+        long oldestEpoch = nowMillis / bucketMillis - buckets + 1;
+        int senders = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readLong() != bucketMillis || in.readInt() != buckets) {
+                log.warn("Ignoring velocity snapshot {} written with a different window layout", snapshotFile);
+                return;
+            }
+            while (in.readBoolean()) {
+                long sender = in.readLong();
+                SenderWindow window = new SenderWindow(buckets);
+                if (window.read(in, oldestEpoch)) {
+                    windows.put(sender, window);
+                    senders++;
+                }
+            }
+            log.info("Velocity windows restored from {}: {} senders", snapshotFile, senders);
+        } catch (IOException ex) {
+            log.warn("Cannot read velocity snapshot {}, starting with empty windows: {}", snapshotFile, ex.getMessage());
+            windows.invalidateAll();
+        }
+    }
+
+    private Long senderKey(PaymentRequest request) {
+        SenderFundingAccountInfo account = request.getSender() != null ? request.getSender().getFundingAccount() : null;
+        if (account == null || account.getAccountNumber() == null) {
+            return null;
+        }
+        String identity = account.getAccountNumber() + "|" + (account.getRoutingNumber() != null ? account.getRoutingNumber() : "")
+                + "|" + request.getSourceCurrency();
+        byte[] digest = macs.get().doFinal(identity.getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(digest).getLong();
+    }
+
+    private static long hundredths(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static String limitKey(String corridor, String currency) {
+        return corridor + ":" + currency;
+    }
+
+    /**
+     * Parses entries of the form {@code corridor:CURRENCY=maxCount/maxAmount}, the amount being in
+     * that currency. Entries without a currency, with an unknown currency or repeating a corridor and
+     * currency are rejected, so no amount is ever compared across currencies.
+     */
+    private static Map<String, Limit> parseLimits(String[] entries) {
+        Map<String, Limit> limits = new HashMap<>();
+        for (String entry : entries) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int equals = entry.indexOf('=');
+            int colon = entry.lastIndexOf(':', equals);
+            int slash = entry.indexOf('/', equals + 1);
+            if (colon <= 0 || equals <= colon + 1 || slash < 0) {
+                throw new IllegalArgumentException("Invalid velocity limit '" + entry.trim()
+                        + "': expected corridor:CURRENCY=count/amount");
+            }
+            String corridor = entry.substring(0, colon).trim();
+            String currency = entry.substring(colon + 1, equals).trim();
+            try {
+                Currency.getInstance(currency);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Invalid velocity limit '" + entry.trim()
+                        + "': unknown currency " + currency, ex);
+            }
+            Limit limit = new Limit(Integer.parseInt(entry.substring(equals + 1, slash).trim()),
+                    hundredths(new BigDecimal(entry.substring(slash + 1).trim())));
+            if (limits.putIfAbsent(limitKey(corridor, currency), limit) != null) {
+                throw new IllegalArgumentException("Duplicate velocity limit for " + limitKey(corridor, currency));
+            }
+        }
+        return Map.copyOf(limits);
+    }
+
+    /**
+     * One sender's ring of time buckets. Each slot remembers which bucket epoch it holds, so a slot
+     * left over from an earlier turn of the ring is recognised and reset instead of counted.
+     */
+    private static final class SenderWindow {
+
+        private final long[] epochs;
+        private final int[] counts;
+        private final long[] amounts;
+
+        private SenderWindow(int buckets) {
+            epochs = new long[buckets];
+            counts = new int[buckets];
+            amounts = new long[buckets];
+            Arrays.fill(epochs, Long.MIN_VALUE);
+        }
+
+        /**
+         * Returns the count and amount over the window ending at {@code epoch} including a payment
+         * of {@code amount}, and adds the payment to the bucket of {@code epoch} unless that takes
+         * the window over {@code limit}.
+         */
+        private synchronized long[] add(long epoch, long amount, Limit limit) {
+            long count = 1;
+            long total = amount;
+            long oldest = epoch - epochs.length + 1;
+            for (int i = 0; i < epochs.length; i++) {
+                if (epochs[i] >= oldest && epochs[i] <= epoch) {
+                    count += counts[i];
+                    total += amounts[i];
+                }
+            }
+            if (limit != null && (count > limit.maxCount() || total > limit.maxAmount())) {
+                return new long[]{count, total};
+            }
+
+            int slot = (int) Math.floorMod(epoch, epochs.length);
+            if (epochs[slot] != epoch) {
+                epochs[slot] = epoch;
+                counts[slot] = 0;
+                amounts[slot] = 0;
+            }
+            counts[slot]++;
+            amounts[slot] += amount;
+            return new long[]{count, total};
+        }
+
+        private synchronized void write(DataOutputStream out, long oldestEpoch) throws IOException {
+            int live = 0;
+            for (long epoch : epochs) {
+                if (epoch >= oldestEpoch) {
+                    live++;
+                }
+            }
+            out.writeInt(live);
+            for (int i = 0; i < epochs.length; i++) {
+                if (epochs[i] >= oldestEpoch) {
+                    out.writeLong(epochs[i]);
+                    out.writeInt(counts[i]);
+                    out.writeLong(amounts[i]);
+                }
+            }
+        }
+
+        /**
+         * Reads buckets written by {@link #write}, keeping those still inside the window. Returns
+         * whether any were kept.
+         */
+        private boolean read(DataInputStream in, long oldestEpoch) throws IOException {
+            boolean kept = false;
+            for (int i = in.readInt(); i > 0; i--) {
+                long epoch = in.readLong();
+                int count = in.readInt();
+                long amount = in.readLong();
+                if (epoch >= oldestEpoch) {
+                    int slot = (int) Math.floorMod(epoch, epochs.length);
+                    epochs[slot] = epoch;
+                    counts[slot] = count;
+                    amounts[slot] = amount;
+                    kept = true;
+                }
+            }
+            return kept;
+        }
+    }
+}
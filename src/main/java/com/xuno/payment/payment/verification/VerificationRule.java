@@ -0,0 +1,80 @@
+package com.xuno.payment.payment.verification;
+
+import com.xuno.payment.payment.model.dto.PaymentRequest;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * One compiled verification rule: a named condition over a {@link PaymentRequest} and the status a
+ * payment gets when it matches. Created by {@link VerificationRuleCompiler}.
+ *
+ * <p>A rule also keeps its own evaluation count, hit count and time spent, which
+ * {@link VerificationRuleSet} uses to decide the evaluation order. The same instance is carried over
+ * to a new rule set when its definition is unchanged, so its statistics survive a reload.
+ */
+public final class VerificationRule {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final String definition;
+    @Getter
+    private final PaymentStatus outcome;
+    private final Predicate<PaymentRequest> condition;
+
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    VerificationRule(String name, String definition, PaymentStatus outcome, Predicate<PaymentRequest> condition) {
+        this.name = name;
+        this.definition = definition;
+        this.outcome = outcome;
+        this.condition = condition;
+    }
+
+    public boolean matches(PaymentRequest request) {
+        return condition.test(request);
+    }
+
+    void record(long nanos, boolean hit) {
+        record(1, hit ? 1 : 0, nanos);
+    }
+
+    void record(int evaluated, int matched, long nanos) {
+        evaluations.add(evaluated);
+        hits.add(matched);
+        totalNanos.add(nanos);
+    }
+
+    public long evaluationCount() {
+        return evaluations.sum();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    public double meanNanos() {
+        long count = evaluations.sum();
+        return count == 0 ? 0 : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * Expected cost of evaluating this rule per payment it decides: mean time divided by hit rate.
+     * The hit rate is smoothed, so rules that have not been evaluated yet rank by cost alone and a
+     * rule that never matches still gets a finite rank.
+     */
+    double rank() {
+        long count = evaluations.sum();
+        double hitRate = (hits.sum() + 1.0) / (count + 2.0);
+        return meanNanos() / hitRate;
+    }
+}
@@ -0,0 +1,248 @@
+package com.xuno.payment.payment.verification;
+
+import com.xuno.payment.payment.model.dto.PaymentRequest;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles rule definitions of the form
+ *
+ * <pre>
+ * name: field op operand [and field op operand ...] -> OUTCOME
+ * </pre>
+ *
+ * into {@link VerificationRule}s. {@code op} is one of {@code < <= > >= == !=}, an operand is a
+ * number, a {@code 'quoted text'} or another field, and {@code OUTCOME} is a {@link PaymentStatus}.
+ * Text comparisons ignore case and only support {@code ==} and {@code !=}, plus
+ * {@code field in watchlist}, which screens the value against the {@link WatchlistScreener} list. A
+ * comparison involving a missing value never matches.
+ *
+ * <p>Fields are resolved and literals parsed once here, so evaluating a rule is a chain of accessor
+ * calls and comparisons with no parsing or reflection. Invalid definitions are rejected with an
+ * {@link IllegalArgumentException} naming the problem.
+ */
+public final class VerificationRuleCompiler {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_.-]+");
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+    private static final List<String> OPERATORS = List.of("<=", ">=", "==", "!=", "<", ">", "in");
+    private static final String WATCHLIST = "watchlist";
+    private static final Predicate<String> NO_WATCHLIST = name -> false;
+
+    private static final Map<String, Function<PaymentRequest, BigDecimal>> NUMBER_FIELDS = Map.of(
+            "sourceAmount", PaymentRequest::getSourceAmount);
+
+    private static final Map<String, Function<PaymentRequest, String>> TEXT_FIELDS = Map.of(
+            "sender.name", request -> request.getSender() != null ? request.getSender().getName() : null,
+            "receiver.name", request -> request.getReceiver() != null ? request.getReceiver().getName() : null,
+            "sourceCurrency", PaymentRequest::getSourceCurrency,
+            "targetCurrency", PaymentRequest::getTargetCurrency,
+            "sourceCountry", PaymentRequest::getSourceCountry,
+            "destinationCountry", PaymentRequest::getDestinationCountry,
+            "corridor", PaymentRequest::getCorridor,
+            "purpose", PaymentRequest::getPurpose);
+
+    private VerificationRuleCompiler() {
+    }
+
+    public static VerificationRule compile(String definition) {
+        return compile(definition, NO_WATCHLIST);
+    }
+
+    /**
+     * Compiles a definition whose {@code in watchlist} comparisons call {@code watchlist} with the
+     * field value. The predicate is called on every evaluation, so it may change what it matches
+     * without the rule being recompiled.
+     */
+    public static VerificationRule compile(String definition, Predicate<String> watchlist) {
+        String trimmed = definition.trim();
+        int colon = trimmed.indexOf(':');
+        int arrow = trimmed.lastIndexOf("->");
+        if (colon <= 0 || arrow < colon) {
+            throw invalid(trimmed, "expected 'name: condition -> OUTCOME'");
+        }
+
+        String name = trimmed.substring(0, colon).trim();
+        if (!NAME.matcher(name).matches()) {
+            throw invalid(trimmed, "rule name may only contain letters, digits, '_', '.' and '-'");
+        }
+
+        String outcomeName = trimmed.substring(arrow + 2).trim();
+        PaymentStatus outcome;
+        try {
+            outcome = PaymentStatus.valueOf(outcomeName);
+        } catch (IllegalArgumentException ex) {
+            throw invalid(trimmed, "unknown outcome '" + outcomeName + "'");
+        }
+
+        List<String> tokens = tokenize(trimmed, trimmed.substring(colon + 1, arrow));
+        List<Predicate<PaymentRequest>> comparisons = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            if (position + 3 > tokens.size()) {
+                throw invalid(trimmed, "expected 'field op operand'");
+            }
+            comparisons.add(comparison(trimmed, tokens.get(position), tokens.get(position + 1), tokens.get(position + 2),
+                    watchlist));
+            position += 3;
+            if (position == tokens.size()) {
+                break;
+            }
+            if (!tokens.get(position).equalsIgnoreCase("and")) {
+                throw invalid(trimmed, "expected 'and' but found '" + tokens.get(position) + "'");
+            }
+            position++;
+        }
+
+        return new VerificationRule(name, trimmed, outcome, allOf(comparisons));
+    }
+
+    private static Predicate<PaymentRequest> comparison(String definition, String field, String operator, String operand,
+                                                        Predicate<String> watchlist) {
+        if (!OPERATORS.contains(operator)) {
+            throw invalid(definition, "unknown operator '" + operator + "'");
+        }
+        if (operator.equals("in")) {
+            Function<PaymentRequest, String> text = TEXT_FIELDS.get(field);
+            if (text == null || !operand.equals(WATCHLIST)) {
+                throw invalid(definition, "'in' needs a text field and 'watchlist'");
+            }
+            return request -> {
+                String value = text.apply(request);
+                return value != null && watchlist.test(value);
+            };
+        }
+
+        Function<PaymentRequest, BigDecimal> number = NUMBER_FIELDS.get(field);
+        if (number != null) {
+            return numberComparison(definition, number, operator, operand);
+        }
+        Function<PaymentRequest, String> text = TEXT_FIELDS.get(field);
+        if (text != null) {
+            return textComparison(definition, text, operator, operand);
+        }
+        throw invalid(definition, "unknown field '" + field + "'");
+    }
+
+    private static Predicate<PaymentRequest> numberComparison(String definition, Function<PaymentRequest, BigDecimal> field,
+                                                              String operator, String operand) {
+        Function<PaymentRequest, BigDecimal> other;
+        if (NUMBER.matcher(operand).matches()) {
+            BigDecimal literal = new BigDecimal(operand);
+            other = request -> literal;
+        } else if (NUMBER_FIELDS.containsKey(operand)) {
+            other = NUMBER_FIELDS.get(operand);
+        } else {
+            throw invalid(definition, "'" + operand + "' is not a number or numeric field");
+        }
+
+        IntPredicate test = switch (operator) {
+            case "<" -> result -> result < 0;
+            case "<=" -> result -> result <= 0;
+            case ">" -> result -> result > 0;
+            case ">=" -> result -> result >= 0;
+            case "==" -> result -> result == 0;
+            default -> result -> result != 0;
+        };
+        return request -> {
+            BigDecimal left = field.apply(request);
+            BigDecimal right = other.apply(request);
+            return left != null && right != null && test.test(left.compareTo(right));
+        };
+    }
+
+    private static Predicate<PaymentRequest> textComparison(String definition, Function<PaymentRequest, String> field,
+                                                            String operator, String operand) {
+        Function<PaymentRequest, String> other;
+        if (operand.length() >= 2 && operand.startsWith("'") && operand.endsWith("'")) {
+            String literal = operand.substring(1, operand.length() - 1);
+            other = request -> literal;
+        } else if (TEXT_FIELDS.containsKey(operand)) {
+            other = TEXT_FIELDS.get(operand);
+        } else {
+            throw invalid(definition, "'" + operand + "' is not a quoted text or text field");
+        }
+
+        return switch (operator) {
+            case "==" -> request -> {
+                String left = field.apply(request);
+                String right = other.apply(request);
+                return left != null && right != null && left.equalsIgnoreCase(right);
+            };
+            case "!=" -> request -> {
+                String left = field.apply(request);
+                String right = other.apply(request);
+                return left != null && right != null && !left.equalsIgnoreCase(right);
+            };
+            default -> throw invalid(definition, "text fields only support == and !=");
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<PaymentRequest> allOf(List<Predicate<PaymentRequest>> comparisons) {
+        if (comparisons.size() == 1) {
+            return comparisons.getFirst();
+        }
+        Predicate<PaymentRequest>[] all = comparisons.toArray(new Predicate[0]);
+        return request -> {
+            for (Predicate<PaymentRequest> comparison : all) {
+                if (!comparison.test(request)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Splits a condition into words, operators and quoted text, keeping the quotes on quoted text.
+     */
+    private static List<String> tokenize(String definition, String condition) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < condition.length()) {
+            char c = condition.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'') {
+                int end = condition.indexOf('\'', i + 1);
+                if (end < 0) {
+                    throw invalid(definition, "unterminated quoted text");
+                }
+                tokens.add(condition.substring(i, end + 1));
+                i = end + 1;
+            } else if ("<>=!".indexOf(c) >= 0) {
+                int end = i + 1 < condition.length() && condition.charAt(i + 1) == '=' ? i + 2 : i + 1;
+                tokens.add(condition.substring(i, end));
+                i = end;
+            } else {
+                int end = i;
+                while (end < condition.length() && isWordCharacter(condition.charAt(end))) {
+                    end++;
+                }
+                if (end == i) {
+                    throw invalid(definition, "unexpected character '" + c + "'");
+                }
+                tokens.add(condition.substring(i, end));
+                i = end;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-';
+    }
+
+    private static IllegalArgumentException invalid(String definition, String problem) {
+        return new IllegalArgumentException("Invalid verification rule '" + definition + "': " + problem);
+    }
+}
@@ -0,0 +1,181 @@
+package com.xuno.payment.payment.verification;
+
+import com.xuno.payment.payment.model.dto.PaymentRequest;
+import com.xuno.payment.payment.model.dto.VerificationRuleResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the active {@link VerificationRuleSet}, compiled from {@code app.verification.rules} at
+ * startup. {@link #replace(List)} compiles a new set and swaps it in atomically, so a verification
+ * in progress finishes on the set it started with and an invalid definition leaves the active set
+ * untouched. Rules whose definition did not change keep their statistics and meters across a swap.
+ *
+ * <p>Every {@code app.verification.reorder-interval-ms} the evaluation order is recomputed from the
+ * statistics gathered so far. Each rule is exported as the {@code verification.rule} timer
+ * (evaluations and time spent) and the {@code verification.rule.hits} counter, tagged {@code rule}
+ * and {@code outcome}.
+ */
+@Component
+@Slf4j
+public class VerificationRuleEngine {
+
+    public static final String DEFAULT_RULES =
+            "low-balance: sourceAmount < 100.00 -> LOW_BALANCE,"
+            + "sender-misinformation: sender.name == 'Test Sender' -> MISINFORMATION_SENDER,"
+            + "receiver-misinformation: receiver.name == 'Test Receiver' -> MISINFORMATION_RECEIVER,"
+            + "sender-watchlist: sender.name in watchlist -> MISINFORMATION_SENDER,"
+            + "receiver-watchlist: receiver.name in watchlist -> MISINFORMATION_RECEIVER,"
+            + "amount-limit: sourceAmount > 1000000.00 -> REJECTED,"
+            + "domestic-currency: sourceCountry == destinationCountry and sourceCurrency != targetCurrency -> REJECTED";
+
+    static final String TIMER_METRIC = "verification.rule";
+    static final String HITS_METRIC = "verification.rule.hits";
+
+    private final MeterRegistry meterRegistry;
+    private final WatchlistScreener watchlistScreener;
+    private final AtomicReference<VerificationRuleSet> active = new AtomicReference<>();
+    private final Map<VerificationRule, List<Meter>> meters = new HashMap<>();
+
+    public VerificationRuleEngine(MeterRegistry meterRegistry, WatchlistScreener watchlistScreener,
+                                  @Value("${app.verification.rules:" + DEFAULT_RULES + "}") String[] rules) {
+        this.meterRegistry = meterRegistry;
+        this.watchlistScreener = watchlistScreener;
+        replace(Arrays.asList(rules));
+    }
+
+    public VerificationRule evaluate(PaymentRequest request) {
+        return active.get().evaluate(request);
+    }
+
+    public List<VerificationRule> evaluateAll(List<PaymentRequest> requests) {
+        return active.get().evaluateAll(requests);
+    }
+
+    public VerificationRuleSet activeRules() {
+        return active.get();
+    }
+
+    /**
+     * Compiles {@code definitions} into a rule set without installing it, for dry runs.
+     *
+     * @throws IllegalArgumentException if a definition is invalid or two rules share a name
+     */
+    public VerificationRuleSet compile(List<String> definitions) {
+        return compile(definitions, Map.of());
+    }
+
+    /**
+     * Compiles the definitions of the active rules into a separate rule set, for dry runs of the
+     * active rules. Its rules keep their own statistics and have no meters, so evaluating it leaves
+     * the counters, meters and evaluation order of the live rules untouched.
+     */
+    public VerificationRuleSet compileActive() {
+        return compile(active.get().rules().stream().map(VerificationRule::getDefinition).toList());
+    }
+
+    /**
+     * Compiles {@code definitions} and makes them the active rule set.
+     *
+     * @throws IllegalArgumentException if a definition is invalid or two rules share a name; the
+     *                                  active rule set is then unchanged
+     */
+    public synchronized VerificationRuleSet replace(List<String> definitions) {
+        VerificationRuleSet current = active.get();
+        Map<String, VerificationRule> existing = new HashMap<>();
+        if (current != null) {
+            current.rules().forEach(rule -> existing.put(rule.getDefinition(), rule));
+        }
+
+        VerificationRuleSet replacement = compile(definitions, existing);
+        active.set(replacement);
+
+        List<VerificationRule> retired = new ArrayList<>(meters.keySet());
+        retired.removeAll(replacement.rules());
+        retired.forEach(rule -> meters.remove(rule).forEach(meterRegistry::remove));
+        replacement.rules().forEach(rule -> meters.computeIfAbsent(rule, this::register));
+
+        log.info("Verification rules loaded: {}", replacement.rules().stream().map(VerificationRule::getName).toList());
+        return replacement;
+    }
+
+    @Scheduled(fixedDelayString = "${app.verification.reorder-interval-ms:30000}",
+               initialDelayString = "${app.verification.reorder-interval-ms:30000}")
+    public void reorder() {
+        VerificationRuleSet current = active.get();
+        VerificationRuleSet reordered = current.reordered();
+        if (reordered != current && active.compareAndSet(current, reordered)) {
+            log.debug("Verification rules now evaluated in order: {}",
+                    reordered.evaluationOrder().stream().map(VerificationRule::getName).toList());
+        }
+    }
+
+    /**
+     * Rules of the active set in declared order, with their statistics.
+     */
+    public List<VerificationRuleResponse> describe() {
+        VerificationRuleSet current = active.get();
+        List<VerificationRule> evaluationOrder = current.evaluationOrder();
+        List<VerificationRule> rules = current.rules();
+
+        List<VerificationRuleResponse> responses = new ArrayList<>(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            VerificationRule rule = rules.get(i);
+            long evaluations = rule.evaluationCount();
+            responses.add(VerificationRuleResponse.builder()
+                    .name(rule.getName())
+                    .definition(rule.getDefinition())
+                    .outcome(rule.getOutcome())
+                    .precedence(i + 1)
+                    .evaluationPosition(evaluationOrder.indexOf(rule) + 1)
+                    .evaluations(evaluations)
+                    .hits(rule.hitCount())
+                    .hitRate(evaluations == 0 ? 0 : (double) rule.hitCount() / evaluations)
+                    .meanNanos(rule.meanNanos())
+                    .build());
+        }
+        return responses;
+    }
+
+    private VerificationRuleSet compile(List<String> definitions, Map<String, VerificationRule> existing) {
+        List<VerificationRule> rules = new ArrayList<>();
+        for (String definition : definitions) {
+            if (definition.isBlank()) {
+                continue;
+            }
+            VerificationRule rule = existing.get(definition.trim());
+            rules.add(rule != null ? rule : VerificationRuleCompiler.compile(definition, watchlistScreener::matches));
+        }
+        return VerificationRuleSet.of(rules);
+    }
+
+    private List<Meter> register(VerificationRule rule) {
+        String outcome = rule.getOutcome().name();
+        return List.of(
+                FunctionTimer.builder(TIMER_METRIC, rule, VerificationRule::evaluationCount,
+                                VerificationRule::totalNanos, TimeUnit.NANOSECONDS)
+                        .tag("rule", rule.getName())
+                        .tag("outcome", outcome)
+                        .description("Evaluations of a verification rule and the time spent in them")
+                        .register(meterRegistry),
+                FunctionCounter.builder(HITS_METRIC, rule, VerificationRule::hitCount)
+                        .tag("rule", rule.getName())
+                        .tag("outcome", outcome)
+                        .description("Payments a verification rule matched")
+                        .register(meterRegistry));
+    }
+}
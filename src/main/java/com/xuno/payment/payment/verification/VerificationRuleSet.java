@@ -0,0 +1,159 @@
+package com.xuno.payment.payment.verification;
+
+import com.xuno.payment.payment.model.dto.PaymentRequest;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable, ordered set of verification rules. The declared order is the precedence: when
+ * several rules match a payment, the one declared first decides its status, exactly as in an
+ * if/else chain.
+ *
+ * <p>The evaluation order is separate from the precedence and is chosen from each rule's observed
+ * cost and hit rate (see {@link #reordered()}), so cheap rules that often match run first. A rule is
+ * skipped once a rule with higher precedence has matched, and evaluation stops as soon as no rule
+ * left to run could take precedence over the best match, so any evaluation order yields the same
+ * result as the declared one.
+ */
+public final class VerificationRuleSet {
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final List<VerificationRule> rules;
+    private final int[] order;
+    private final int[] minPrecedenceFrom;
+
+    private VerificationRuleSet(List<VerificationRule> rules, int[] order) {
+        this.rules = rules;
+        this.order = order;
+        this.minPrecedenceFrom = new int[order.length + 1];
+        minPrecedenceFrom[order.length] = NO_MATCH;
+        for (int i = order.length - 1; i >= 0; i--) {
+            minPrecedenceFrom[i] = Math.min(order[i], minPrecedenceFrom[i + 1]);
+        }
+    }
+
+    /**
+     * Creates a rule set evaluated in declared order until statistics are available.
+     *
+     * @throws IllegalArgumentException if two rules share a name
+     */
+    public static VerificationRuleSet of(List<VerificationRule> rules) {
+        Set<String> names = new HashSet<>();
+        for (VerificationRule rule : rules) {
+            if (!names.add(rule.getName())) {
+                throw new IllegalArgumentException("Duplicate verification rule name: " + rule.getName());
+            }
+        }
+        return new VerificationRuleSet(List.copyOf(rules), IntStream.range(0, rules.size()).toArray());
+    }
+
+    /**
+     * Rules in declared (precedence) order.
+     */
+    public List<VerificationRule> rules() {
+        return rules;
+    }
+
+    /**
+     * Rules in the order they are currently evaluated.
+     */
+    public List<VerificationRule> evaluationOrder() {
+        return Arrays.stream(order).mapToObj(rules::get).toList();
+    }
+
+    /**
+     * Returns the matching rule with the highest precedence, or {@code null} if no rule matches.
+     */
+    public VerificationRule evaluate(PaymentRequest request) {
+        int best = NO_MATCH;
+        long start = System.nanoTime();
+        for (int i = 0; i < order.length && minPrecedenceFrom[i] < best; i++) {
+            int precedence = order[i];
+            if (precedence > best) {
+                continue;
+            }
+            VerificationRule rule = rules.get(precedence);
+            boolean hit = rule.matches(request);
+            long now = System.nanoTime();
+            rule.record(now - start, hit);
+            start = now;
+            if (hit) {
+                best = precedence;
+            }
+        }
+        return best == NO_MATCH ? null : rules.get(best);
+    }
+
+    /**
+     * Evaluates a batch rule by rule instead of payment by payment: each rule runs over every payment
+     * it could still decide before the next rule starts, which keeps one rule's code and constants hot
+     * and times each rule once per batch. The result for each payment is the same as
+     * {@link #evaluate(PaymentRequest)}.
+     *
+     * @return the deciding rule for each payment, in the same order, {@code null} where none matched
+     */
+    public List<VerificationRule> evaluateAll(List<PaymentRequest> requests) {
+        int size = requests.size();
+        int[] best = new int[size];
+        Arrays.fill(best, NO_MATCH);
+        int undecided = size;
+
+        for (int i = 0; i < order.length && undecided > 0; i++) {
+            int precedence = order[i];
+            VerificationRule rule = rules.get(precedence);
+            int evaluated = 0;
+            int hits = 0;
+            long start = System.nanoTime();
+            for (int j = 0; j < size; j++) {
+                if (best[j] < precedence) {
+                    continue;
+                }
+                evaluated++;
+                if (rule.matches(requests.get(j))) {
+                    hits++;
+                    best[j] = precedence;
+                }
+            }
+            if (evaluated > 0) {
+                rule.record(evaluated, hits, System.nanoTime() - start);
+            }
+            undecided = countUndecided(best, minPrecedenceFrom[i + 1]);
+        }
+
+        VerificationRule[] matches = new VerificationRule[size];
+        for (int j = 0; j < size; j++) {
+            matches[j] = best[j] == NO_MATCH ? null : rules.get(best[j]);
+        }
+        return Arrays.asList(matches);
+    }
+
+    private static int countUndecided(int[] best, int minRemainingPrecedence) {
+        int undecided = 0;
+        for (int precedence : best) {
+            if (precedence > minRemainingPrecedence) {
+                undecided++;
+            }
+        }
+        return undecided;
+    }
+
+    /**
+     * Returns a rule set with the same rules and precedence, evaluated in ascending order of
+     * {@link VerificationRule#rank()}: cheapest per decided payment first, ties in declared order.
+     */
+    public VerificationRuleSet reordered() {
+        double[] ranks = rules.stream().mapToDouble(VerificationRule::rank).toArray();
+        int[] reordered = IntStream.range(0, rules.size())
+                .boxed()
+                .sorted(Comparator.<Integer>comparingDouble(i -> ranks[i]).thenComparingInt(i -> i))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        return Arrays.equals(reordered, order) ? this : new VerificationRuleSet(rules, reordered);
+    }
+}
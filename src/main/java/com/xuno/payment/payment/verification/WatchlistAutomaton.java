@@ -0,0 +1,263 @@
+package com.xuno.payment.payment.verification;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable Aho-Corasick automaton over a watchlist of names. A screened name is matched against
+ * every entry in a single pass over its characters, so the cost depends on the length of the name
+ * and not on the size of the list.
+ *
+ * <p>Entries and screened names go through the same {@link #normalize(CharSequence)}: Unicode
+ * compatibility decomposition, accents stripped, case folded, and every run of characters that are
+ * not letters or digits turned into one space, with a space added on both ends. Matching the padded
+ * forms means an entry only matches whole words: {@code "Ann Lee"} matches {@code "Dr. ANN LEE"}
+ * and {@code "Ann-Lee Smith"}, but not {@code "Joanne Lee"}.
+ *
+ * <p>States are numbered breadth first and stored in flat arrays. The outgoing edges of a state are
+ * contiguous and sorted by character, so a transition is a binary search over a few entries and the
+ * whole automaton costs about 20 bytes per state.
+ */
+public final class WatchlistAutomaton {
+
+    private static final int ROOT = 0;
+    private static final int NO_MATCH = -1;
+
+    public static final WatchlistAutomaton EMPTY = build(List.of());
+
+    private final String[] keys;
+    private final int[] firstEdge;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    private final int[] match;
+
+    private WatchlistAutomaton(String[] keys, int[] firstEdge, char[] edgeChars, int[] edgeTargets, int[] fail,
+                               int[] match) {
+        this.keys = keys;
+        this.firstEdge = firstEdge;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.match = match;
+    }
+
+    /**
+     * Builds the automaton. Entries are normalized and deduplicated; entries without any letter or
+     * digit are ignored.
+     */
+    public static WatchlistAutomaton build(Collection<String> names) {
+        String[] keys = names.stream()
+                .map(WatchlistAutomaton::normalize)
+                .filter(key -> key.length() > 2)
+                .sorted()
+                .distinct()
+                .toArray(String[]::new);
+        return new Builder(keys).build();
+    }
+
+    /**
+     * Returns the first watchlist entry found in {@code name}, in normalized form, or {@code null}.
+     */
+    public String firstMatch(CharSequence name) {
+        if (keys.length == 0 || name == null) {
+            return null;
+        }
+        String text = normalize(name);
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = next(state, c)) < 0 && state != ROOT) {
+                state = fail[state];
+            }
+            state = next < 0 ? ROOT : next;
+            if (match[state] != NO_MATCH) {
+                return keys[match[state]].strip();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Number of distinct normalized entries.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    public int stateCount() {
+        return fail.length;
+    }
+
+    private int next(int state, char c) {
+        int low = firstEdge[state];
+        int high = firstEdge[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char edge = edgeChars[mid];
+            if (edge < c) {
+                low = mid + 1;
+            } else if (edge > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    static String normalize(CharSequence text) {
+        StringBuilder out = new StringBuilder(text.length() + 2).append(' ');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                    out.append(c);
+                } else if (c >= 'A' && c <= 'Z') {
+                    out.append((char) (c + ('a' - 'A')));
+                } else {
+                    appendSeparator(out);
+                }
+                continue;
+            }
+
+            int codePoint = Character.codePointAt(text, i);
+            i += Character.charCount(codePoint) - 1;
+            String decomposed = Normalizer.normalize(Character.toString(codePoint), Normalizer.Form.NFKD);
+            decomposed.codePoints().forEach(part -> {
+                int type = Character.getType(part);
+                if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK
+                        || type == Character.COMBINING_SPACING_MARK) {
+                    return;
+                }
+                if (Character.isLetterOrDigit(part)) {
+                    String letter = Character.toString(part).toLowerCase(Locale.ROOT);
+                    out.append(letter.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT));
+                } else {
+                    appendSeparator(out);
+                }
+            });
+        }
+        appendSeparator(out);
+        return out.toString();
+    }
+
+    private static void appendSeparator(StringBuilder out) {
+        if (out.charAt(out.length() - 1) != ' ') {
+            out.append(' ');
+        }
+    }
+
+    /**
+     * Builds the trie breadth first from the sorted keys: each state covers the range of keys that
+     * share its prefix, so its children are the runs of equal characters at the next position and
+     * can be laid out contiguously. Failure links and inherited matches only depend on shallower
+     * states, so they are filled in during the same pass.
+     */
+    private static final class Builder {
+
+        private final String[] keys;
+        private int states;
+        private int edges;
+        private int[] firstEdge = new int[16];
+        private int[] rangeStart = new int[16];
+        private int[] rangeEnd = new int[16];
+        private int[] depth = new int[16];
+        private int[] fail = new int[16];
+        private int[] match = new int[16];
+        private char[] edgeChars = new char[16];
+        private int[] edgeTargets = new int[16];
+
+        private Builder(String[] keys) {
+            this.keys = keys;
+        }
+
+        private WatchlistAutomaton build() {
+            addState(0, keys.length, 0, ROOT, NO_MATCH);
+            for (int state = 0; state < states; state++) {
+                firstEdge[state] = edges;
+                int end = rangeEnd[state];
+                int d = depth[state];
+                int i = rangeStart[state];
+                while (i < end && keys[i].length() == d) {
+                    i++;
+                }
+                while (i < end) {
+                    char c = keys[i].charAt(d);
+                    int j = i + 1;
+                    while (j < end && keys[j].charAt(d) == c) {
+                        j++;
+                    }
+                    int failState = state == ROOT ? ROOT : failTarget(fail[state], c);
+                    int inherited = keys[i].length() == d + 1 ? i : match[failState];
+                    int child = addState(i, j, d + 1, failState, inherited);
+                    addEdge(c, child);
+                    i = j;
+                }
+            }
+            firstEdge = Arrays.copyOf(firstEdge, states + 1);
+            firstEdge[states] = edges;
+            return new WatchlistAutomaton(keys, firstEdge, Arrays.copyOf(edgeChars, edges),
+                    Arrays.copyOf(edgeTargets, edges), Arrays.copyOf(fail, states), Arrays.copyOf(match, states));
+        }
+
+        private int failTarget(int state, char c) {
+            while (true) {
+                int next = next(state, c);
+                if (next >= 0) {
+                    return next;
+                }
+                if (state == ROOT) {
+                    return ROOT;
+                }
+                state = fail[state];
+            }
+        }
+
+        /**
+         * Transition lookup during the build. Only used on states shallower than the one being
+         * expanded, whose edges are already final.
+         */
+        private int next(int state, char c) {
+            for (int e = firstEdge[state], last = firstEdge[state + 1]; e < last; e++) {
+                if (edgeChars[e] == c) {
+                    return edgeTargets[e];
+                }
+            }
+            return -1;
+        }
+
+        private int addState(int start, int end, int d, int failState, int matchKey) {
+            if (states + 1 >= firstEdge.length) {
+                int capacity = firstEdge.length * 2;
+                firstEdge = Arrays.copyOf(firstEdge, capacity);
+                rangeStart = Arrays.copyOf(rangeStart, capacity);
+                rangeEnd = Arrays.copyOf(rangeEnd, capacity);
+                depth = Arrays.copyOf(depth, capacity);
+                fail = Arrays.copyOf(fail, capacity);
+                match = Arrays.copyOf(match, capacity);
+            }
+            int state = states++;
+            rangeStart[state] = start;
+            rangeEnd[state] = end;
+            depth[state] = d;
+            fail[state] = failState;
+            match[state] = matchKey;
+            return state;
+        }
+
+        private void addEdge(char c, int target) {
+            if (edges == edgeChars.length) {
+                edgeChars = Arrays.copyOf(edgeChars, edges * 2);
+                edgeTargets = Arrays.copyOf(edgeTargets, edges * 2);
+            }
+            edgeChars[edges] = c;
+            edgeTargets[edges] = target;
+            edges++;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.xuno.payment.payment.verification;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Screens sender and receiver names against the watchlist file in
+ * {@code app.verification.watchlist.file}: UTF-8, one name per line, blank lines and lines starting
+ * with {@code #} ignored. Rules use it through the {@code in watchlist} operator.
+ *
+ * <p>The list is loaded before the service starts taking traffic, and a missing or unreadable file
+ * fails startup. Afterwards the file is checked every {@code app.verification.watchlist.reload-interval-ms};
+ * when it has changed, a new {@link WatchlistAutomaton} is built on a background thread and swapped
+ * in, so screening never waits for a rebuild. A reload that fails keeps the current list.
+ */
+@Component
+@Slf4j
+public class WatchlistScreener {
+
+    private final Path file;
+    private final AtomicReference<WatchlistAutomaton> automaton = new AtomicReference<>(WatchlistAutomaton.EMPTY);
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "watchlist-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile FileTime loadedModifiedTime;
+
+    public WatchlistScreener(MeterRegistry meterRegistry,
+                             @Value("${app.verification.watchlist.file:}") String file) {
+        this.file = file.isBlank() ? null : Path.of(file);
+        if (this.file != null) {
+            try {
+                load();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot load watchlist " + this.file, ex);
+            }
+        }
+        Gauge.builder("verification.watchlist.entries", automaton, current -> current.get().size())
+                .description("Distinct normalized names on the screening watchlist")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the watchlist entry found in {@code name}, in normalized form, or {@code null}.
+     */
+    public String screen(String name) {
+        return automaton.get().firstMatch(name);
+    }
+
+    public boolean matches(String name) {
+        return screen(name) != null;
+    }
+
+    public int size() {
+        return automaton.get().size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.verification.watchlist.reload-interval-ms:60000}",
+               initialDelayString = "${app.verification.watchlist.reload-interval-ms:60000}")
+    public void reloadIfChanged() {
+        if (file == null) {
+            return;
+        }
+        try {
+            if (!Files.getLastModifiedTime(file).equals(loadedModifiedTime)) {
+                reload();
+            }
+        } catch (IOException ex) {
+            log.warn("Cannot check watchlist {} for changes, keeping {} entries: {}", file, size(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the watchlist from the file on the loader thread. Returns immediately; a reload that
+     * is already running is not repeated.
+     */
+    public Future<?> reload() {
+        if (file == null || !reloading.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return loader.submit(() -> {
+            try {
+                load();
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Watchlist reload from {} failed, keeping {} entries: {}", file, size(), ex.getMessage());
+            } finally {
+                reloading.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    private void load() throws IOException {
+        long start = System.nanoTime();
+        FileTime modifiedTime = Files.getLastModifiedTime(file);
+        List<String> names;
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            names = lines.filter(line -> !line.isBlank() && !line.startsWith("#")).toList();
+        }
+        WatchlistAutomaton built = WatchlistAutomaton.build(names);
+        automaton.set(built);
+        loadedModifiedTime = modifiedTime;
+        log.info("Watchlist loaded from {}: {} entries, {} states in {} ms", file, built.size(), built.stateCount(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,243 @@
+package com.xuno.payment.analytics.service.impl;
+
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.DeleteResult;
+import com.xuno.payment.analytics.mapper.PaymentRollupMapper;
+import com.xuno.payment.analytics.model.dto.PaymentRollupResponse;
+import com.xuno.payment.analytics.model.entity.PaymentRollup;
+import com.xuno.payment.common.migration.LegacySchemaQueries;
+import com.xuno.payment.payment.archive.PaymentArchive;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.model.valueobject.FeeCalculationResult;
+import com.xuno.payment.payment.repository.PaymentPartitionRouter;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentRollupService Tests")
+class PaymentRollupServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private PaymentRollupMapper mapper;
+
+    @Mock
+    private PaymentPartitionRouter partitionRouter;
+
+    @Mock
+    private LegacySchemaQueries legacySchemaQueries;
+
+    @Mock
+    private PaymentArchive paymentArchive;
+
+    @Mock
+    private MongoCollection<Document> paymentsCollection;
+
+    @Mock
+    private AggregateIterable<Document> aggregation;
+
+    @InjectMocks
+    private PaymentRollupServiceImpl rollupService;
+
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        payment = Payment.builder()
+                .id("payment-1")
+                .corridor("US-EU")
+                .status(PaymentStatus.PENDING_ADMIN_REVIEW)
+                .sourceAmount(new BigDecimal("1000.00"))
+                .targetAmount(new BigDecimal("900.00"))
+                .feeCalculation(FeeCalculationResult.builder()
+                        .totalFee(new BigDecimal("50.00"))
+                        .build())
+                .createdAt(LocalDateTime.of(2025, 1, 21, 14, 30))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should increment the creation bucket when a payment is created")
+    void testRecordCreated() {
+        // When
+        rollupService.recordCreated(payment);
+
+        // Then
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(queryCaptor.capture(), updateCaptor.capture(), eq(PaymentRollup.class));
+
+        assertEquals("US-EU|PENDING_ADMIN_REVIEW|2025-01-21", queryCaptor.getValue().getQueryObject().get("_id"));
+        Document inc = (Document) updateCaptor.getValue().getUpdateObject().get("$inc");
+        assertEquals(1L, inc.get("count"));
+        assertEquals(new Decimal128(new BigDecimal("1000.00")), inc.get("sourceAmountSum"));
+        assertEquals(new Decimal128(new BigDecimal("900.00")), inc.get("targetAmountSum"));
+        assertEquals(new Decimal128(new BigDecimal("50.00")), inc.get("totalFeeSum"));
+    }
+
+    @Test
+    @DisplayName("Should not propagate rollup failures to the caller")
+    void testRecordCreated_Failure() {
+        // Given
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(PaymentRollup.class)))
+                .thenThrow(new RuntimeException("Mongo unavailable"));
+
+        // When & Then
+        assertDoesNotThrow(() -> rollupService.recordCreated(payment));
+    }
+
+    @Test
+    @DisplayName("Should move totals from the previous status bucket to the new one")
+    void testRecordStatusChange() {
+        // Given
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PaymentRollup.class)).thenReturn(bulkOperations);
+        when(bulkOperations.upsert(any(Query.class), any(Update.class))).thenReturn(bulkOperations);
+        payment.setStatus(PaymentStatus.APPROVED);
+
+        // When
+        rollupService.recordStatusChange(payment, PaymentStatus.PENDING_ADMIN_REVIEW);
+
+        // Then
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(2)).upsert(queryCaptor.capture(), updateCaptor.capture());
+        verify(bulkOperations).execute();
+
+        assertEquals("US-EU|PENDING_ADMIN_REVIEW|2025-01-21", queryCaptor.getAllValues().get(0).getQueryObject().get("_id"));
+        assertEquals("US-EU|APPROVED|2025-01-21", queryCaptor.getAllValues().get(1).getQueryObject().get("_id"));
+        Document decrement = (Document) updateCaptor.getAllValues().get(0).getUpdateObject().get("$inc");
+        assertEquals(-1L, decrement.get("count"));
+        assertEquals(new Decimal128(new BigDecimal("-1000.00")), decrement.get("sourceAmountSum"));
+    }
+
+    @Test
+    @DisplayName("Should skip rollup update when status is unchanged")
+    void testRecordStatusChange_Unchanged() {
+        // When
+        rollupService.recordStatusChange(payment, PaymentStatus.PENDING_ADMIN_REVIEW);
+
+        // Then
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should find rollups with filters")
+    void testFindRollups() {
+        // Given
+        PaymentRollup rollup = PaymentRollup.builder()
+                .corridor("US-EU")
+                .status(PaymentStatus.APPROVED)
+                .day("2025-01-21")
+                .count(3)
+                .build();
+        PaymentRollupResponse response = PaymentRollupResponse.builder()
+                .corridor("US-EU")
+                .count(3)
+                .build();
+
+        when(mongoTemplate.find(any(Query.class), eq(PaymentRollup.class))).thenReturn(List.of(rollup));
+        when(mapper.toResponse(rollup)).thenReturn(response);
+
+        // When
+        List<PaymentRollupResponse> result = rollupService.findRollups(
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), "US-EU", PaymentStatus.APPROVED);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(3, result.get(0).getCount());
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(PaymentRollup.class));
+        Document queryObject = queryCaptor.getValue().getQueryObject();
+        assertEquals("US-EU", queryObject.get("corridor"));
+        assertEquals(PaymentStatus.APPROVED, queryObject.get("status"));
+        assertEquals(new Document("$gte", "2025-01-01").append("$lte", "2025-01-31"), queryObject.get("day"));
+    }
+
+    @Test
+    @DisplayName("Should merge rebuilt buckets for the days after the newest archived payment only")
+    void testRebuildKeepsArchivedDays() {
+        // Given
+        when(partitionRouter.allCollections()).thenReturn(List.of("payments_202502", "payments_202501"));
+        when(paymentArchive.newestCreatedAt()).thenReturn(Optional.of(LocalDateTime.of(2025, 1, 20, 23, 15)));
+        when(mongoTemplate.getCollection("payments_202502")).thenReturn(paymentsCollection);
+        when(paymentsCollection.aggregate(anyList())).thenReturn(aggregation);
+        when(aggregation.allowDiskUse(true)).thenReturn(aggregation);
+        when(mongoTemplate.remove(any(Query.class), eq(PaymentRollup.class))).thenReturn(DeleteResult.acknowledged(2));
+
+        // When
+        rollupService.rebuild();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Document>> pipelineCaptor = ArgumentCaptor.forClass(List.class);
+        verify(paymentsCollection).aggregate(pipelineCaptor.capture());
+        List<Document> pipeline = pipelineCaptor.getValue();
+
+        assertEquals(new Document("$unionWith", "payments_202501"), pipeline.getFirst());
+        Document createdAt = (Document) ((Document) pipeline.get(1).get("$match")).get("ca");
+        Date firstDay = Date.from(LocalDate.of(2025, 1, 21).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        assertEquals(firstDay, createdAt.get("$gte"));
+        Document merge = (Document) pipeline.getLast().get("$merge");
+        assertEquals("payment_rollups", merge.get("into"));
+        assertEquals("replace", merge.get("whenMatched"));
+        assertTrue(pipeline.stream().noneMatch(stage -> stage.containsKey("$out")));
+        verify(aggregation).toCollection();
+
+        ArgumentCaptor<Query> staleCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(staleCaptor.capture(), eq(PaymentRollup.class));
+        Document stale = staleCaptor.getValue().getQueryObject();
+        assertEquals(new Document("$gte", "2025-01-21"), stale.get("day"));
+        String rebuildId = (String) ((Document) pipeline.get(pipeline.size() - 2).get("$project")).get("rebuildId");
+        assertEquals(new Document("$ne", rebuildId), stale.get("rebuildId"));
+    }
+
+    @Test
+    @DisplayName("Should clear stale buckets without aggregating when there is no payments collection")
+    void testRebuildWithoutCollections() {
+        // Given
+        when(partitionRouter.allCollections()).thenReturn(List.of());
+        when(paymentArchive.newestCreatedAt()).thenReturn(Optional.empty());
+        when(mongoTemplate.remove(any(Query.class), eq(PaymentRollup.class))).thenReturn(DeleteResult.acknowledged(3));
+
+        // When
+        rollupService.rebuild();
+
+        // Then
+        ArgumentCaptor<Query> staleCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(staleCaptor.capture(), eq(PaymentRollup.class));
+        Document stale = staleCaptor.getValue().getQueryObject();
+        assertTrue(stale.containsKey("rebuildId"));
+        assertFalse(stale.containsKey("day"));
+        verify(mongoTemplate, never()).getCollection(anyString());
+    }
+}
@@ -0,0 +1,169 @@
+package com.xuno.payment.common.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(2000);
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(1000);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(4, 2, 8, 1000, 0.5, 0.1, 1000, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should reject requests beyond the current limit")
+    void testRejectBeyondLimit() {
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        // Then
+        assertFalse(limiter.tryAcquire());
+        assertEquals(4, limiter.getInFlight());
+
+        limiter.release(FAST);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively on slow requests down to the minimum")
+    void testBackOffOnSlowRequests() {
+        // Given
+        long now = System.nanoTime();
+
+        // When
+        limiter.tryAcquire();
+        limiter.release(SLOW, now);
+
+        // Then
+        assertEquals(2, limiter.getLimit());
+        assertEquals(2.0, meterRegistry.get("admission.concurrency.limit").gauge().value());
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, now + WINDOW);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should back off once per window however many slow requests complete in it")
+    void testBackOffOncePerWindow() {
+        // Given
+        limiter = new AdaptiveConcurrencyLimiter(8, 2, 8, 1000, 0.5, 0.1, 1000, meterRegistry);
+        long now = System.nanoTime();
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire();
+        }
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            limiter.release(SLOW, now + i);
+        }
+
+        // Then
+        assertEquals(4, limiter.getLimit());
+
+        // When
+        limiter.release(SLOW, now + WINDOW);
+
+        // Then
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should grow at most once per window of fast requests under load up to the maximum")
+    void testGrowOnFastRequests() {
+        // Given
+        long now = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            limiter.release(FAST, now);
+            limiter.tryAcquire();
+        }
+
+        // Then
+        assertEquals(5, limiter.getLimit());
+
+        // When
+        for (int i = 1; i <= 20; i++) {
+            limiter.release(FAST, now + i * WINDOW);
+            limiter.tryAcquire();
+        }
+
+        // Then
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should grow in proportion to the limit so a large limit recovers as fast as a small one")
+    void testProportionalGrowth() {
+        // Given
+        limiter = new AdaptiveConcurrencyLimiter(500, 10, 500, 1000, 0.9, 0.1, 1000, meterRegistry);
+        long now = System.nanoTime();
+        for (int i = 0; i < 500; i++) {
+            limiter.tryAcquire();
+        }
+        limiter.release(SLOW, now);
+        assertEquals(450, limiter.getLimit());
+
+        // When
+        for (int i = 1; i <= 2; i++) {
+            limiter.release(FAST, now + i * WINDOW);
+            limiter.tryAcquire();
+        }
+
+        // Then
+        assertEquals(500, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should not adjust the limit for requests released unmeasured")
+    void testReleaseUnmeasured() {
+        // Given
+        long now = System.nanoTime();
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // When
+        limiter.releaseUnmeasured();
+
+        // Then
+        assertEquals(4, limiter.getLimit());
+        assertEquals(1, limiter.getInFlight());
+        limiter.release(SLOW, now);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should not grow while most of the limit is unused")
+    void testNoGrowthWhenIdle() {
+        // When
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST);
+        }
+
+        // Then
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
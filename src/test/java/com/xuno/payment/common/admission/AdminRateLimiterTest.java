@@ -0,0 +1,77 @@
+package com.xuno.payment.common.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdminRateLimiter Tests")
+class AdminRateLimiterTest {
+
+    private final AdminRateLimiter limiter = new AdminRateLimiter(10, 5, 1000);
+
+    @Test
+    @DisplayName("Should allow a burst and then ask the caller to wait")
+    void testBurstThenReject() {
+        // Given
+        long now = 0;
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Duration.ZERO, limiter.tryAcquire("admin-1", now));
+        }
+        Duration wait = limiter.tryAcquire("admin-1", now);
+
+        // Then
+        assertEquals(Duration.ofMillis(100), wait);
+    }
+
+    @Test
+    @DisplayName("Should refill tokens at the configured rate")
+    void testRefill() {
+        // Given
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("admin-1", now);
+        }
+
+        // When
+        long later = now + TimeUnit.MILLISECONDS.toNanos(100);
+
+        // Then
+        assertEquals(Duration.ZERO, limiter.tryAcquire("admin-1", later));
+        assertFalse(limiter.tryAcquire("admin-1", later).isZero());
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per caller")
+    void testSeparateBuckets() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("admin-1", 0);
+        }
+
+        // Then
+        assertFalse(limiter.tryAcquire("admin-1", 0).isZero());
+        assertEquals(Duration.ZERO, limiter.tryAcquire("admin-2", 0));
+    }
+
+    @Test
+    @DisplayName("Should give a refunded token back to the caller")
+    void testRefund() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("admin-1", 0);
+        }
+
+        // When
+        limiter.refund("admin-1");
+
+        // Then
+        assertEquals(Duration.ZERO, limiter.tryAcquire("admin-1", 0));
+        assertFalse(limiter.tryAcquire("admin-1", 0).isZero());
+    }
+}
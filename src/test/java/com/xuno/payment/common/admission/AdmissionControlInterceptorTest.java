@@ -0,0 +1,77 @@
+package com.xuno.payment.common.admission;
+
+import com.xuno.payment.common.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdmissionControlInterceptor Tests")
+class AdmissionControlInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private AdmissionControlInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(4, 2, 8, 0, 0.5, 0.1, 1000, meterRegistry);
+        interceptor = new AdmissionControlInterceptor(concurrencyLimiter, new AdminRateLimiter(1, 2, 100), true,
+                new String[]{"/api/v1/admin/**", "/api/v1/analytics/rollups/rebuild"}, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should rate limit per client address whatever X-Admin-Id is sent")
+    void testRateLimitIgnoresAdminHeader() {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = request("GET", "/api/v1/payments", "admin-" + i);
+            assertTrue(interceptor.preHandle(request, response, null));
+            interceptor.afterCompletion(request, response, null, null);
+        }
+
+        // Then
+        AdmissionRejectedException ex = assertThrows(AdmissionRejectedException.class,
+                () -> interceptor.preHandle(request("GET", "/api/v1/payments", "admin-2"), response, null));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should not cut the concurrency limit for slow admin and rebuild requests")
+    void testLatencyExcludedPaths() {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockHttpServletRequest rebuild = request("POST", "/api/v1/analytics/rollups/rebuild", null);
+        MockHttpServletRequest payments = request("GET", "/api/v1/payments", null);
+        payments.setRemoteAddr("10.0.0.2");
+
+        // When
+        interceptor.preHandle(rebuild, response, null);
+        interceptor.afterCompletion(rebuild, response, null, null);
+
+        // Then
+        assertEquals(4, concurrencyLimiter.getLimit());
+        assertEquals(0, concurrencyLimiter.getInFlight());
+
+        interceptor.preHandle(payments, response, null);
+        interceptor.afterCompletion(payments, response, null, null);
+        assertEquals(2, concurrencyLimiter.getLimit());
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String adminId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("10.0.0.1");
+        if (adminId != null) {
+            request.addHeader("X-Admin-Id", adminId);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,136 @@
+package com.xuno.payment.common.concurrent;
+
+import com.xuno.payment.common.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>("test", new SimpleMeterRegistry());
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight load between concurrent callers")
+    void testCoalesceConcurrentCallers() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> flight.execute("payment-1", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "detail";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // When
+        Future<String> second = executor.submit(() -> flight.execute("payment-1", () -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        waitForCoalesced(1);
+        release.countDown();
+
+        // Then
+        assertEquals("detail", first.get(5, TimeUnit.SECONDS));
+        assertEquals("detail", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1.0, flight.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("Should pass the loader's exception to callers that joined")
+    void testShareException() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> flight.execute("payment-1", () -> {
+            loading.countDown();
+            await(release);
+            throw new ResourceNotFoundException("Payment not found with ID: payment-1");
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // When
+        Future<String> second = executor.submit(() -> flight.execute("payment-1", () -> "unexpected"));
+        waitForCoalesced(1);
+        release.countDown();
+
+        // Then
+        Exception firstError = assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        Exception secondError = assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ResourceNotFoundException.class, firstError.getCause());
+        assertInstanceOf(ResourceNotFoundException.class, secondError.getCause());
+    }
+
+    @Test
+    @DisplayName("Should not retain results once the load completes")
+    void testNoRetention() {
+        // When
+        String first = flight.execute("payment-1", () -> "v1");
+        String second = flight.execute("payment-1", () -> "v2");
+
+        // Then
+        assertEquals("v1", first);
+        assertEquals("v2", second);
+        assertEquals(0.0, flight.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("Should start a fresh load after the in-flight one is forgotten")
+    void testForget() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> stale = executor.submit(() -> flight.execute("payment-1", () -> {
+            loading.countDown();
+            await(release);
+            return "stale";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // When
+        flight.forget("payment-1");
+        String fresh = flight.execute("payment-1", () -> "fresh");
+        release.countDown();
+
+        // Then
+        assertEquals("fresh", fresh);
+        assertEquals("stale", stale.get(5, TimeUnit.SECONDS));
+    }
+
+    private void waitForCoalesced(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getCoalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
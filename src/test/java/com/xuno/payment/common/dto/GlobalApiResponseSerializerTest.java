@@ -0,0 +1,99 @@
+package com.xuno.payment.common.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.xuno.payment.payment.model.dto.PaymentResponse;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.model.valueobject.SenderFundingAccountInfo;
+import com.xuno.payment.payment.model.valueobject.SenderInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GlobalApiResponseSerializer Tests")
+class GlobalApiResponseSerializerTest {
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper beanMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = mapperBuilder().addModule(new BlackbirdModule()).build();
+        beanMapper = mapperBuilder()
+                .annotationIntrospector(new JacksonAnnotationIntrospector() {
+                    @Override
+                    public Object findSerializer(Annotated annotated) {
+                        return annotated.getRawType() == GlobalApiResponse.class ? null : super.findSerializer(annotated);
+                    }
+                })
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should write the same JSON as bean serialization for a success response")
+    void testSuccessMatchesBeanSerialization() throws Exception {
+        // Given
+        GlobalApiResponse<List<PaymentResponse>> response = GlobalApiResponse.success(List.of(payment(), payment()));
+        response.setTimestamp(LocalDateTime.of(2025, 11, 21, 0, 43, 51, 105083000));
+
+        // When
+        String json = objectMapper.writeValueAsString(response);
+
+        // Then
+        assertEquals(beanMapper.writeValueAsString(response), json);
+        assertTrue(json.startsWith("{\"success\":true,\"message\":\"Success\",\"status\":200,\"data\":[{"));
+        assertTrue(json.endsWith("\"timestamp\":\"2025-11-21T00:43:51.105083\"}"));
+    }
+
+    @Test
+    @DisplayName("Should omit null fields like bean serialization")
+    void testErrorOmitsNullFields() throws Exception {
+        // Given
+        GlobalApiResponse<Object> response = GlobalApiResponse.error(HttpStatus.NOT_FOUND, "Payment not found");
+        response.setTimestamp(null);
+
+        // When
+        String json = objectMapper.writeValueAsString(response);
+
+        // Then
+        assertEquals(beanMapper.writeValueAsString(response), json);
+        assertEquals("{\"success\":false,\"message\":\"Payment not found\",\"status\":404}", json);
+    }
+
+    private static JsonMapper.Builder mapperBuilder() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static PaymentResponse payment() {
+        return PaymentResponse.builder()
+                .id("507f1f77bcf86cd799439011")
+                .referenceNumber("TXN-01JD3ZQ4Y5N8W7K2M6P9R3T5V8")
+                .sender(SenderInfo.builder()
+                        .name("Alice Sender")
+                        .referenceNumber("SND-01JD3ZQ4Y5N8W7K2M6P9R3T5V9")
+                        .fundingAccount(SenderFundingAccountInfo.builder().accountNumber("****6789").bankCode("BANK001").build())
+                        .build())
+                .sourceCurrency("USD")
+                .targetCurrency("EUR")
+                .sourceAmount(new BigDecimal("1000.00"))
+                .targetAmount(new BigDecimal("940.00"))
+                .status(PaymentStatus.APPROVED)
+                .systemVerified(true)
+                .createdAt(LocalDateTime.of(2025, 1, 21, 14, 30, 22))
+                .build();
+    }
+}
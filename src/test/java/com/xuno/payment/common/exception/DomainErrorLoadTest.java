@@ -0,0 +1,96 @@
+package com.xuno.payment.common.exception;
+
+import com.xuno.payment.payment.exception.PaymentNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures how many errors per second a request thread can raise and handle when each is thrown
+ * {@value #STACK_DEPTH} frames deep, roughly where a service call sits under the servlet and Spring
+ * frames. It compares an exception that captures its stack trace with the stackless
+ * {@link DomainException}, and the stackless one again through
+ * {@link GlobalExceptionHandler#handleDomainException}, which includes the throttled WARN line and
+ * the response body. Excluded from the default build; run with
+ * {@code mvn test -Pload-test -Dtest=DomainErrorLoadTest}.
+ */
+@Tag("load")
+@DisplayName("Domain Error Load Tests")
+@Slf4j
+class DomainErrorLoadTest {
+
+    private static final int STACK_DEPTH = 60;
+    private static final int ERRORS = 500_000;
+    private static final int WARMUP_ERRORS = 500_000;
+    private static final int ROUNDS = 5;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("Should raise stackless domain errors faster than errors with a stack trace")
+    void testErrorThroughput() {
+        // Given
+        double minSpeedup = Double.parseDouble(System.getProperty("loadtest.errors.min-speedup", "1.5"));
+        Supplier<RuntimeException> withStack = () -> new IllegalStateException("Payment not found with ID: 42");
+        Supplier<RuntimeException> stackless = () -> PaymentNotFoundException.forId("42");
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ERRORS; i++) {
+            sink += raise(withStack, false) + raise(stackless, false) + raise(stackless, true);
+        }
+
+        // When
+        double bestWithStack = 0;
+        double bestStackless = 0;
+        double bestHandled = 0;
+        log.info(String.format("%7s %14s %14s %14s", "round", "stack err/s", "stackless/s", "handled/s"));
+        for (int round = 1; round <= ROUNDS; round++) {
+            double withStackRate = rate(withStack, false);
+            double stacklessRate = rate(stackless, false);
+            double handledRate = rate(stackless, true);
+            log.info(String.format("%7d %14.0f %14.0f %14.0f", round, withStackRate, stacklessRate, handledRate));
+            bestWithStack = Math.max(bestWithStack, withStackRate);
+            bestStackless = Math.max(bestStackless, stacklessRate);
+            bestHandled = Math.max(bestHandled, handledRate);
+        }
+
+        // Then
+        double speedup = bestStackless / bestWithStack;
+        log.info(String.format("best: %.0f with stack, %.0f stackless (%.1fx), %.0f handled", bestWithStack,
+                bestStackless, speedup, bestHandled));
+        assertTrue(sink > 0);
+        assertTrue(speedup >= minSpeedup, "stackless speedup " + speedup + "x under " + minSpeedup + "x");
+    }
+
+    private double rate(Supplier<RuntimeException> error, boolean handled) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ERRORS; i++) {
+            sink += raise(error, handled);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(sink > 0);
+        return ERRORS * 1_000_000_000.0 / elapsed;
+    }
+
+    private int raise(Supplier<RuntimeException> error, boolean handled) {
+        try {
+            return descend(STACK_DEPTH, error);
+        } catch (DomainException ex) {
+            return handled ? handler.handleDomainException(ex).getStatusCode().value() : ex.getMessage().length();
+        } catch (RuntimeException ex) {
+            return ex.getMessage().length();
+        }
+    }
+
+    private static int descend(int depth, Supplier<RuntimeException> error) {
+        if (depth == 0) {
+            throw error.get();
+        }
+        return descend(depth - 1, error) + 1;
+    }
+}
@@ -0,0 +1,241 @@
+package com.xuno.payment.common.index;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.xuno.payment.analytics.model.entity.PaymentRollup;
+import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
+import com.xuno.payment.exchangeconfig.repository.ExchangeConfigRepository;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.repository.PaymentRepository;
+import com.xuno.payment.payment.repository.PaymentSpecification;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MongoIndexManager Tests")
+class MongoIndexManagerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations paymentIndexOps;
+
+    @Mock
+    private IndexOperations exchangeConfigIndexOps;
+
+    @Mock
+    private IndexOperations rollupIndexOps;
+
+    private MongoMappingContext mappingContext;
+    private QueryMapper queryMapper;
+    private MongoIndexManager indexManager;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.setInitialEntitySet(Set.of(Payment.class, ExchangeRateConfiguration.class, PaymentRollup.class));
+        mappingContext.initialize();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        queryMapper = new QueryMapper(converter);
+
+        indexManager = new MongoIndexManager(mongoTemplate, mappingContext);
+    }
+
+    @Test
+    @DisplayName("Should create and verify every declared index")
+    void testEnsureIndexes_Success() {
+        // Given
+        stubIndexOps();
+        when(paymentIndexOps.getIndexInfo()).thenReturn(indexInfos(declaredIndexNames(Payment.class)));
+        when(exchangeConfigIndexOps.getIndexInfo()).thenReturn(indexInfos(declaredIndexNames(ExchangeRateConfiguration.class)));
+        when(rollupIndexOps.getIndexInfo()).thenReturn(indexInfos(declaredIndexNames(PaymentRollup.class)));
+
+        // When
+        indexManager.ensureIndexes();
+
+        // Then
+        assertEquals(MongoIndexManager.State.READY, indexManager.getState());
+        assertTrue(indexManager.getMissingIndexes().isEmpty());
+        verify(paymentIndexOps, times(6)).createIndex(any(IndexDefinition.class));
+        verify(exchangeConfigIndexOps, times(2)).createIndex(any(IndexDefinition.class));
+        verify(rollupIndexOps, times(1)).createIndex(any(IndexDefinition.class));
+    }
+
+    @Test
+    @DisplayName("Should report failure when a declared index is missing after the build")
+    void testEnsureIndexes_Missing() {
+        // Given
+        stubIndexOps();
+        when(paymentIndexOps.getIndexInfo()).thenReturn(indexInfos(List.of("_id_")));
+        when(exchangeConfigIndexOps.getIndexInfo()).thenReturn(indexInfos(declaredIndexNames(ExchangeRateConfiguration.class)));
+        when(rollupIndexOps.getIndexInfo()).thenReturn(indexInfos(declaredIndexNames(PaymentRollup.class)));
+
+        // When
+        indexManager.ensureIndexes();
+
+        // Then
+        assertEquals(MongoIndexManager.State.FAILED, indexManager.getState());
+        assertTrue(indexManager.getMissingIndexes().contains("payments.status_created_idx"));
+    }
+
+    @Test
+    @DisplayName("Should recreate an index whose existing definition conflicts")
+    void testEnsureIndexes_Conflict() {
+        // Given
+        stubIndexOps();
+        MongoCommandException conflict = new MongoCommandException(
+                BsonDocument.parse("{ok: 0, code: 85, errmsg: 'Index with name: status_created_idx already exists with different options'}"),
+                new ServerAddress());
+        when(paymentIndexOps.createIndex(argThat(definition -> definition != null
+                && "status_created_idx".equals(definition.getIndexOptions().getString("name")))))
+                .thenThrow(new UncategorizedMongoDbException("conflict", conflict))
+                .thenReturn("status_created_idx");
+        when(paymentIndexOps.getIndexInfo()).thenReturn(indexInfos(declaredIndexNames(Payment.class)));
+        when(exchangeConfigIndexOps.getIndexInfo()).thenReturn(indexInfos(declaredIndexNames(ExchangeRateConfiguration.class)));
+        when(rollupIndexOps.getIndexInfo()).thenReturn(indexInfos(declaredIndexNames(PaymentRollup.class)));
+
+        // When
+        indexManager.ensureIndexes();
+
+        // Then
+        verify(paymentIndexOps).dropIndex("status_created_idx");
+        assertEquals(MongoIndexManager.State.READY, indexManager.getState());
+    }
+
+    @Test
+    @DisplayName("Should declare an index for every payment and exchange config query")
+    void testDeclaredIndexesCoverQueries() {
+        List<IndexDefinition> paymentIndexes = declaredIndexes(Payment.class);
+        List<IndexDefinition> exchangeConfigIndexes = declaredIndexes(ExchangeRateConfiguration.class);
+
+        for (Document filter : mapped(repositoryFilters(PaymentRepository.class), Payment.class)) {
+            assertTrue(isServedByIndex(filter, paymentIndexes), () -> "No index serves payment query " + filter);
+        }
+        for (Document filter : mapped(specificationFilters(), Payment.class)) {
+            assertTrue(isServedByIndex(filter, paymentIndexes), () -> "No index serves payment filter " + filter);
+        }
+        for (Document filter : mapped(repositoryFilters(ExchangeConfigRepository.class), ExchangeRateConfiguration.class)) {
+            assertTrue(isServedByIndex(filter, exchangeConfigIndexes), () -> "No index serves exchange config query " + filter);
+        }
+    }
+
+    private void stubIndexOps() {
+        when(mongoTemplate.indexOps("payments", Payment.class)).thenReturn(paymentIndexOps);
+        when(mongoTemplate.indexOps("exchange_configs", ExchangeRateConfiguration.class)).thenReturn(exchangeConfigIndexOps);
+        when(mongoTemplate.indexOps("payment_rollups", PaymentRollup.class)).thenReturn(rollupIndexOps);
+    }
+
+    private List<IndexDefinition> declaredIndexes(Class<?> type) {
+        List<IndexDefinition> definitions = new ArrayList<>();
+        IndexResolver.create(mappingContext).resolveIndexFor(type).forEach(definitions::add);
+        return definitions;
+    }
+
+    private List<String> declaredIndexNames(Class<?> type) {
+        return declaredIndexes(type).stream()
+                .map(definition -> definition.getIndexOptions().getString("name"))
+                .toList();
+    }
+
+    private static List<IndexInfo> indexInfos(List<String> names) {
+        return names.stream()
+                .map(name -> new IndexInfo(List.of(), name, false, false, null))
+                .toList();
+    }
+
+    /**
+     * Maps property names to stored field names the way queries are mapped before they are sent,
+     * since index definitions are written against the stored names.
+     */
+    private List<Document> mapped(List<Document> filters, Class<?> type) {
+        return filters.stream()
+                .map(filter -> queryMapper.getMappedObject(filter, mappingContext.getPersistentEntity(type)))
+                .toList();
+    }
+
+    private static List<Document> repositoryFilters(Class<?> repository) {
+        List<Document> filters = new ArrayList<>();
+        for (Method method : repository.getDeclaredMethods()) {
+            Query query = method.getAnnotation(Query.class);
+            if (query != null) {
+                filters.add(Document.parse(query.value().replaceAll("\\?\\d+", "'param'")));
+            }
+        }
+        assertFalse(filters.isEmpty());
+        return filters;
+    }
+
+    private static List<Document> specificationFilters() {
+        List<Document> filters = new ArrayList<>();
+        for (int mask = 0; mask < 16; mask++) {
+            filters.add(PaymentSpecification.buildQuery(
+                    (mask & 1) != 0 ? PaymentStatus.APPROVED : null,
+                    (mask & 2) != 0 ? LocalDateTime.now().minusDays(7) : null,
+                    (mask & 4) != 0 ? LocalDateTime.now() : null,
+                    (mask & 8) != 0 ? "SND-123" : null).getQueryObject());
+        }
+        filters.add(PaymentSpecification.byId("payment-1").getQueryObject());
+        filters.add(PaymentSpecification.byIdempotencyKey("key-1").getQueryObject());
+        filters.add(PaymentSpecification.byReference("TXN-01JC5Z8Q4W9R7T2M3N6P8X0Y1Z").getQueryObject());
+        filters.add(PaymentSpecification.byReference("SND-01JC5Z8Q4W9R7T2M3N6P8X0Y1Z").getQueryObject());
+        filters.add(PaymentSpecification.byReference("RCV-01JC5Z8Q4W9R7T2M3N6P8X0Y1Z").getQueryObject());
+        return filters;
+    }
+
+    /**
+     * Approximates the query planner: an index can drive the query when the filter constrains the
+     * index's leading key and implies its partial filter expression. The {@code _id} index always exists.
+     */
+    private static boolean isServedByIndex(Document filter, List<IndexDefinition> indexes) {
+        if (filter.containsKey("_id")) {
+            return true;
+        }
+        for (IndexDefinition index : indexes) {
+            String leadingKey = index.getIndexKeys().keySet().iterator().next();
+            Document partialFilter = index.getIndexOptions().get("partialFilterExpression", Document.class);
+
+            boolean partialFilterImplied = partialFilter == null || partialFilter.entrySet().stream()
+                    .allMatch(entry -> entry.getValue().equals(filter.get(entry.getKey())));
+
+            if (filter.containsKey(leadingKey) && partialFilterImplied) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
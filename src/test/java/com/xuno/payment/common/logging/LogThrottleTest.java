@@ -0,0 +1,44 @@
+package com.xuno.payment.common.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LogThrottle Tests")
+class LogThrottleTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LogThrottle throttle = new LogThrottle(Duration.ofSeconds(10));
+
+    @Test
+    @DisplayName("Should let one event per key through per interval and count the rest")
+    void testThrottle() {
+        // When
+        long first = throttle.tryAcquire("PAYMENT_NOT_FOUND", 0);
+        long second = throttle.tryAcquire("PAYMENT_NOT_FOUND", SECOND);
+        long third = throttle.tryAcquire("PAYMENT_NOT_FOUND", 2 * SECOND);
+        long afterInterval = throttle.tryAcquire("PAYMENT_NOT_FOUND", 10 * SECOND);
+
+        // Then
+        assertEquals(0, first);
+        assertEquals(LogThrottle.SUPPRESSED, second);
+        assertEquals(LogThrottle.SUPPRESSED, third);
+        assertEquals(2, afterInterval);
+    }
+
+    @Test
+    @DisplayName("Should throttle keys independently")
+    void testIndependentKeys() {
+        // When
+        throttle.tryAcquire("PAYMENT_NOT_FOUND", 0);
+
+        // Then
+        assertEquals(0, throttle.tryAcquire("IDEMPOTENCY_CONFLICT", 0));
+        assertEquals(LogThrottle.SUPPRESSED, throttle.tryAcquire("PAYMENT_NOT_FOUND", 0));
+    }
+}
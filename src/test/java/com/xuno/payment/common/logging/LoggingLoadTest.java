@@ -0,0 +1,163 @@
+package com.xuno.payment.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures how long a request thread spends in one INFO call, the line logged when a payment is
+ * created, with {@value #THREADS} threads logging concurrently to a JSON file. It compares writing
+ * synchronously with handing events to a {@link RingBufferAppender}, and the ring buffer again with
+ * {@value #SAMPLED_PERCENT}% of requests sampled by {@link LogSamplingTurboFilter}. Each thread does
+ * about {@value #WORK_MICROS} us of work between calls, like a request between two log lines.
+ * Excluded from the default build; run with {@code mvn test -Pload-test -Dtest=LoggingLoadTest}.
+ */
+@Tag("load")
+@DisplayName("Logging Load Tests")
+@Slf4j
+class LoggingLoadTest {
+
+    private static final int THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 40_000;
+    private static final int WARMUP_EVENTS_PER_THREAD = 10_000;
+    private static final int WORK_MICROS = 100;
+    private static final int SAMPLED_PERCENT = 25;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should keep request threads out of log I/O with the ring buffer")
+    void testLoggingLatency() throws Exception {
+        // Given
+        double maxP99Ratio = Double.parseDouble(System.getProperty("loadtest.logging.max-async-p99-ratio", "0.5"));
+
+        // When
+        log.info(String.format("%-18s %9s %9s %9s %9s %9s", "mode", "p50 us", "p99 us", "p99.9 us", "dropped",
+                "skipped"));
+        long[] sync = run("sync", false, false);
+        long[] async = run("async", true, false);
+        run("async + sampling", true, true);
+
+        // Then
+        double syncP99 = micros(sync, 0.99);
+        double asyncP99 = micros(async, 0.99);
+        assertTrue(asyncP99 <= syncP99 * maxP99Ratio,
+                "async p99 " + asyncP99 + " us over " + maxP99Ratio + " x sync p99 " + syncP99 + " us");
+    }
+
+    private long[] run(String mode, boolean async, boolean sampling) throws Exception {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        context.start();
+        if (sampling) {
+            LogSamplingTurboFilter filter = new LogSamplingTurboFilter();
+            filter.setContext(context);
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("logstash");
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(directory.resolve(mode.replace(' ', '-') + ".log").toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (async) {
+            RingBufferAppender ring = new RingBufferAppender();
+            ring.setContext(context);
+            ring.setName("ASYNC");
+            ring.addAppender(file);
+            ring.start();
+            appender = ring;
+        }
+        Logger logger = context.getLogger("com.xuno.payment.payment.service.impl.PaymentServiceImpl");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+
+        long droppedBefore = RingBufferAppender.droppedCount();
+        long sampledBefore = LogSamplingTurboFilter.sampledOutCount();
+        long[] latencies = new long[THREADS * EVENTS_PER_THREAD];
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            Future<?>[] producers = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t * EVENTS_PER_THREAD;
+                producers[t] = executor.submit(() -> produce(logger, sampling, latencies, offset));
+            }
+            for (Future<?> producer : producers) {
+                producer.get();
+            }
+        } finally {
+            appender.stop();
+            context.stop();
+        }
+
+        Arrays.sort(latencies);
+        log.info(String.format("%-18s %9.2f %9.2f %9.2f %9d %9d", mode, micros(latencies, 0.5),
+                micros(latencies, 0.99), micros(latencies, 0.999), RingBufferAppender.droppedCount() - droppedBefore,
+                LogSamplingTurboFilter.sampledOutCount() - sampledBefore));
+        return latencies;
+    }
+
+    private static void produce(Logger logger, boolean sampling, long[] latencies, int offset) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BigDecimal amount = new BigDecimal("500.00");
+        for (int i = -WARMUP_EVENTS_PER_THREAD; i < EVENTS_PER_THREAD; i++) {
+            if (sampling && random.nextInt(100) >= SAMPLED_PERCENT) {
+                MDC.put(LogSamplingInterceptor.SAMPLED_KEY, LogSamplingInterceptor.NOT_SAMPLED);
+            } else {
+                MDC.remove(LogSamplingInterceptor.SAMPLED_KEY);
+            }
+            work();
+
+            long start = System.nanoTime();
+            logger.info("Creating payment: {} to {} for amount {}", "USD", "EUR", amount);
+            long elapsed = System.nanoTime() - start;
+            if (i >= 0) {
+                latencies[offset + i] = elapsed;
+            }
+        }
+        MDC.clear();
+    }
+
+    private static void work() {
+        long until = System.nanoTime() + WORK_MICROS * 1000L;
+        while (System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static double micros(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1000.0;
+    }
+}
@@ -0,0 +1,148 @@
+package com.xuno.payment.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RingBufferAppender Tests")
+class RingBufferAppenderTest {
+
+    private LoggerContext context;
+    private Logger logger;
+    private RecordingAppender target;
+    private RingBufferAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        logger = context.getLogger("test");
+        target = new RecordingAppender();
+        target.setContext(context);
+        target.start();
+
+        appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("test");
+        appender.setCapacity(2);
+        appender.addAppender(target);
+        appender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        appender.stop();
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Should deliver events to the attached appender in order on a background thread")
+    void testDelivery() throws Exception {
+        // When
+        for (int i = 0; i < 100; i++) {
+            appendBlocking(event(Level.INFO, "event " + i));
+        }
+        appender.stop();
+
+        // Then
+        assertEquals(100, target.events.size());
+        assertEquals("event 99", target.events.getLast().getFormattedMessage());
+        assertNotEquals(Thread.currentThread().getName(), target.threads.getFirst());
+    }
+
+    @Test
+    @DisplayName("Should drop INFO and write WARN inline when the buffer is full")
+    void testOverflow() throws Exception {
+        // Given
+        appender.doAppend(event(Level.INFO, RecordingAppender.BLOCK));
+        assertTrue(target.blocked.await(5, TimeUnit.SECONDS));
+        appender.doAppend(event(Level.INFO, "queued 1"));
+        appender.doAppend(event(Level.INFO, "queued 2"));
+        long droppedBefore = RingBufferAppender.droppedCount();
+
+        // When
+        appender.doAppend(event(Level.INFO, "dropped"));
+        appender.doAppend(event(Level.WARN, "kept"));
+
+        // Then
+        assertEquals(droppedBefore + 1, RingBufferAppender.droppedCount());
+        assertEquals("kept", target.events.getLast().getFormattedMessage());
+        assertEquals(Thread.currentThread().getName(), target.threads.getLast());
+    }
+
+    @Test
+    @DisplayName("Should skip INFO but keep WARN on threads whose request was not sampled")
+    void testSamplingTurboFilter() {
+        // Given
+        context.addTurboFilter(new LogSamplingTurboFilter());
+        MDC.put(LogSamplingInterceptor.SAMPLED_KEY, LogSamplingInterceptor.NOT_SAMPLED);
+        long sampledOutBefore = LogSamplingTurboFilter.sampledOutCount();
+
+        // When
+        boolean infoEnabled = logger.isInfoEnabled();
+        logger.info("skipped {}", 1);
+        logger.warn("kept");
+
+        // Then
+        assertFalse(infoEnabled);
+        assertEquals(sampledOutBefore + 1, LogSamplingTurboFilter.sampledOutCount());
+        assertTrue(logger.isWarnEnabled());
+        assertEquals(Double.valueOf(0.1), LogSamplingInterceptor.parseRates(
+                new String[]{"GET /api/v1/payments/{id}=0.1", ""}).get("GET /api/v1/payments/{id}"));
+    }
+
+    private void appendBlocking(ILoggingEvent event) throws InterruptedException {
+        long before = RingBufferAppender.droppedCount();
+        appender.doAppend(event);
+        while (RingBufferAppender.droppedCount() > before) {
+            before = RingBufferAppender.droppedCount();
+            Thread.sleep(1);
+            appender.doAppend(event);
+        }
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(Logger.class.getName(), logger, level, message, null, null);
+    }
+
+    private static final class RecordingAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        static final String BLOCK = "block";
+
+        final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            if (BLOCK.equals(event.getMessage())) {
+                blocked.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return;
+            }
+            events.add(event);
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+}
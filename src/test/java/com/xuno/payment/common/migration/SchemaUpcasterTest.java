@@ -0,0 +1,195 @@
+package com.xuno.payment.common.migration;
+
+import com.xuno.payment.config.MongoTestConverters;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.entity.PaymentStatusHistoryBucket;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.model.enums.UserRole;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SchemaUpcaster Tests")
+class SchemaUpcasterTest {
+
+    private MappingMongoConverter converter;
+    private SchemaUpcaster upcaster;
+
+    @BeforeEach
+    void setUp() {
+        converter = MongoTestConverters.converter();
+        upcaster = new SchemaUpcaster(MongoTestConverters.mappingContext(converter));
+    }
+
+    @Test
+    @DisplayName("Should upcast a v1 payment so it reads with the compact mapping")
+    void testUpcastPayment() {
+        // Given
+        Document document = v1Payment();
+
+        // When
+        boolean changed = upcaster.upcast(Payment.class, document);
+        Payment payment = converter.read(Payment.class, document);
+
+        // Then
+        assertTrue(changed);
+        assertEquals(SchemaUpcaster.CURRENT_VERSION, document.get(SchemaUpcaster.VERSION_FIELD));
+        assertEquals(PaymentStatus.APPROVED.getCode(), document.get("st"));
+        assertFalse(document.containsKey("status"));
+
+        assertEquals("TXN-1", payment.getReferenceNumber());
+        assertEquals(PaymentStatus.APPROVED, payment.getStatus());
+        assertEquals(UserRole.ADMIN, payment.getCreatedByRole());
+        assertEquals("SND-1", payment.getSender().getReferenceNumber());
+        assertEquals("123456789", payment.getSender().getFundingAccount().getRoutingNumber());
+        assertEquals(0, new BigDecimal("50.00").compareTo(payment.getFeeCalculation().getTotalFee()));
+        assertEquals(PaymentStatus.PENDING_ADMIN_REVIEW, payment.getStatusHistory().getFirst().getStatus());
+        assertEquals(UserRole.SYSTEM_USER, payment.getStatusHistory().getFirst().getChangedByRole());
+        assertFalse(payment.isDeleted());
+    }
+
+    @Test
+    @DisplayName("Should leave v2 documents untouched")
+    void testUpcastCurrentVersion() {
+        // Given
+        Document v1 = v1Payment();
+        upcaster.upcast(Payment.class, v1);
+        Document v2 = new Document();
+        converter.write(converter.read(Payment.class, v1), v2);
+        Document copy = new Document(v2);
+
+        // When
+        boolean changed = upcaster.upcast(Payment.class, v2);
+
+        // Then
+        assertFalse(changed);
+        assertEquals(copy, v2);
+    }
+
+    @Test
+    @DisplayName("Should upcast v1 status history events inside buckets")
+    void testUpcastBucket() {
+        // Given
+        Document bucket = new Document("_id", new ObjectId())
+                .append("paymentId", "payment-1")
+                .append("count", 1)
+                .append("events", List.of(new Document("status", "DELIVERED")
+                        .append("changedBy", "admin-1")
+                        .append("changedByRole", "ADMIN")));
+
+        // When
+        upcaster.upcast(PaymentStatusHistoryBucket.class, bucket);
+        PaymentStatusHistoryBucket result = converter.read(PaymentStatusHistoryBucket.class, bucket);
+
+        // Then
+        Document event = bucket.getList("events", Document.class).getFirst();
+        assertEquals(PaymentStatus.DELIVERED.getCode(), event.get("st"));
+        assertEquals(PaymentStatus.DELIVERED, result.getEvents().getFirst().getStatus());
+        assertEquals("admin-1", result.getEvents().getFirst().getChangedBy());
+    }
+
+    @Test
+    @DisplayName("Should rewrite a filter on v2 keys into the same filter on v1 keys and enum names")
+    void testLegacyFilter() {
+        // Given
+        Document filter = new Document("del", false)
+                .append("st", new Document("$in", List.of(PaymentStatus.DELIVERED.getCode(), PaymentStatus.REJECTED.getCode())))
+                .append("snd.ref", "SND-1")
+                .append("_id", "payment-1");
+
+        // When
+        Document legacy = upcaster.legacyFilter(Payment.class, filter);
+
+        // Then
+        assertEquals(new Document("deleted", false)
+                .append("status", new Document("$in", List.of("DELIVERED", "REJECTED")))
+                .append("sender.referenceNumber", "SND-1")
+                .append("_id", "payment-1"), legacy);
+        assertEquals("feeCalculation.totalFee", upcaster.legacyPath(Payment.class, "fee.tot"));
+    }
+
+    @Test
+    @DisplayName("Should store a typical payment in substantially fewer bytes than v1")
+    void testCompactSize() {
+        // Given
+        Document v1 = v1Payment();
+        v1.remove("statusHistory");
+        int v1Size = bsonSize(v1);
+
+        // When
+        Document v2 = new Document(v1);
+        upcaster.upcast(Payment.class, v2);
+        int v2Size = bsonSize(v2);
+
+        // Then
+        assertTrue(v2Size < v1Size * 0.75, () -> "v1 " + v1Size + " bytes, v2 " + v2Size + " bytes");
+    }
+
+    private static int bsonSize(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+    }
+
+    private static Document v1Payment() {
+        Date now = new Date();
+        return new Document("_id", new ObjectId())
+                .append("referenceNumber", "TXN-1")
+                .append("idempotencyKey", "key-1")
+                .append("sender", new Document("name", "Alice Sender")
+                        .append("address", "1 Main St")
+                        .append("referenceNumber", "SND-1")
+                        .append("fundingAccount", new Document("accountNumber", "encrypted-account")
+                                .append("bankCode", "BANK001")
+                                .append("routingNumber", "123456789")))
+                .append("receiver", new Document("name", "Bob Receiver")
+                        .append("address", "2 High St")
+                        .append("referenceNumber", "RCV-1")
+                        .append("account", new Document("accountNumber", "encrypted-account")
+                                .append("bankCode", "BANK002")
+                                .append("swiftCode", "SWIFT002")))
+                .append("sourceCurrency", "USD")
+                .append("targetCurrency", "EUR")
+                .append("sourceCountry", "US")
+                .append("destinationCountry", "DE")
+                .append("corridor", "US-DE")
+                .append("sourceAmount", new Decimal128(new BigDecimal("1000.00")))
+                .append("targetAmount", new Decimal128(new BigDecimal("950.00")))
+                .append("purpose", "Family support")
+                .append("status", "APPROVED")
+                .append("statusHistory", List.of(new Document("status", "PENDING_ADMIN_REVIEW")
+                        .append("changedBy", "system")
+                        .append("changedByRole", "SYSTEM_USER")
+                        .append("changedAt", now)))
+                .append("exchangeRateCalculation", new Document("exchangeConfigId", "config-1")
+                        .append("exchangeRate", new Decimal128(new BigDecimal("0.95")))
+                        .append("sourceCurrency", "USD")
+                        .append("targetCurrency", "EUR")
+                        .append("appliedAt", now))
+                .append("feeCalculation", new Document("feeFlat", new Decimal128(new BigDecimal("10.00")))
+                        .append("feePercent", new Decimal128(new BigDecimal("4.00")))
+                        .append("flatFeeAmount", new Decimal128(new BigDecimal("10.00")))
+                        .append("percentFeeAmount", new Decimal128(new BigDecimal("40.00")))
+                        .append("totalFee", new Decimal128(new BigDecimal("50.00")))
+                        .append("calculatedAt", now))
+                .append("createdBy", "admin-123")
+                .append("createdByRole", "ADMIN")
+                .append("validatedBy", "admin-456")
+                .append("validatedByRole", "ADMIN")
+                .append("systemVerified", true)
+                .append("createdAt", now)
+                .append("updatedAt", now)
+                .append("estimatedDeliveryDate", now)
+                .append("deleted", false);
+    }
+}
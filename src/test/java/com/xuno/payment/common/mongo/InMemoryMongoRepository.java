@@ -0,0 +1,225 @@
+package com.xuno.payment.common.mongo;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Thread-safe {@link MongoRepository} kept in memory for tests and the load-test harness. Entities
+ * are stored as the BSON documents the application's {@link MongoConverter} writes and converted back
+ * on every read, so callers get copies, as they would from Mongo, and mapping costs stay realistic.
+ * Query-by-example is not supported.
+ */
+public abstract class InMemoryMongoRepository<T> implements MongoRepository<T, String> {
+
+    private final MongoConverter converter;
+    private final Class<T> type;
+    private final MongoPersistentEntity<?> entity;
+    private final ConcurrentMap<String, Document> documents = new ConcurrentHashMap<>();
+
+    protected InMemoryMongoRepository(MongoConverter converter, Class<T> type) {
+        this.converter = converter;
+        this.type = type;
+        this.entity = converter.getMappingContext().getRequiredPersistentEntity(type);
+    }
+
+    /** Called before an entity is stored; {@code isNew} is true when it has no id yet. */
+    protected void beforeSave(T entity, boolean isNew) {
+    }
+
+    /** Called after an entity is stored, with the copy that was stored, so subclasses can index it. */
+    protected void afterSave(String id, T stored) {
+    }
+
+    protected void afterDelete(String id) {
+    }
+
+    /** Reads the stored copy of {@code id}, or null. Does not apply any soft-delete filter. */
+    protected T load(String id) {
+        Document document = documents.get(id);
+        return document == null ? null : converter.read(type, document);
+    }
+
+    /** Reads every stored entity, in no particular order. */
+    protected List<T> loadAll() {
+        List<T> entities = new ArrayList<>(documents.size());
+        for (Document document : documents.values()) {
+            entities.add(converter.read(type, document));
+        }
+        return entities;
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        boolean isNew = idOf(entity) == null;
+        beforeSave(entity, isNew);
+
+        PersistentPropertyAccessor<S> accessor = this.entity.getPropertyAccessor(entity);
+        if (idOf(entity) == null) {
+            accessor.setProperty(this.entity.getRequiredIdProperty(), new ObjectId().toHexString());
+        }
+        String id = idOf(entity);
+
+        Document document = new Document();
+        converter.write(entity, document);
+        documents.put(id, document);
+        afterSave(id, converter.read(type, document));
+        return entity;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(load(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return documents.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return loadAll();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        List<T> entities = new ArrayList<>();
+        for (String id : ids) {
+            findById(id).ifPresent(entities::add);
+        }
+        return entities;
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        if (sort.isSorted()) {
+            throw new UnsupportedOperationException("Sorted findAll is not supported in memory");
+        }
+        return findAll();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        List<T> all = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        List<T> content = all.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(content, pageable, all.size());
+    }
+
+    @Override
+    public long count() {
+        return documents.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        if (documents.remove(id) != null) {
+            afterDelete(id);
+        }
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        List.copyOf(documents.keySet()).forEach(this::deleteById);
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupportedExample();
+    }
+
+    private String idOf(Object entity) {
+        Object id = this.entity.getPropertyAccessor(entity).getProperty(this.entity.getRequiredIdProperty());
+        return id == null ? null : id.toString();
+    }
+
+    private static UnsupportedOperationException unsupportedExample() {
+        return new UnsupportedOperationException("Query by example is not supported in memory");
+    }
+}
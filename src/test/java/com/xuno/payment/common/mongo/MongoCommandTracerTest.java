@@ -0,0 +1,122 @@
+package com.xuno.payment.common.mongo;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.xuno.payment.common.dto.MongoQueryShapeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("MongoCommandTracer Tests")
+class MongoCommandTracerTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private SimpleMeterRegistry registry;
+    private MongoCommandTracer tracer;
+    private int requestId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        tracer = new MongoCommandTracer(registry, mock(ObjectProvider.class), true, 100, 0.0, 3);
+    }
+
+    @Test
+    @DisplayName("Should reduce queries that differ only in values to the same shape")
+    void testShapeOf() {
+        // Given
+        BsonDocument first = BsonDocument.parse(
+                "{find: 'payments', filter: {st: 2, ca: {$gte: {$date: 0}}, _id: {$in: ['a', 'b']}}, sort: {ca: -1}, limit: 20}");
+        BsonDocument second = BsonDocument.parse(
+                "{find: 'payments', filter: {st: 5, ca: {$gte: {$date: 1000}}, _id: {$in: ['c']}}, sort: {ca: -1}, limit: 50}");
+
+        // When
+        String shape = CommandShapes.shapeOf("find", first);
+
+        // Then
+        assertEquals("{st: ?, ca: {$gte: ?}, _id: {$in: [?]}} sort {ca: -1}", shape);
+        assertEquals(shape, CommandShapes.shapeOf("find", second));
+        assertEquals("payments", CommandShapes.collectionOf("find", first));
+        assertEquals("[$match {st: ?, $or: [{cor: ?}, {cor: {$exists: ?}}]}, $group, $sort {_id: 1}]",
+                CommandShapes.shapeOf("aggregate", BsonDocument.parse(
+                        "{aggregate: 'payments', pipeline: [{$match: {st: 1, $or: [{cor: 'US-EU'}, {cor: {$exists: false}}]}},"
+                                + " {$group: {_id: '$cor', n: {$sum: 1}}}, {$sort: {_id: 1}}], cursor: {}}")));
+    }
+
+    @Test
+    @DisplayName("Should summarize the winning plan of an explain result")
+    void testSummarizePlan() {
+        // Given
+        Document explain = Document.parse("{queryPlanner: {winningPlan: {stage: 'LIMIT', inputStage: {stage: 'FETCH',"
+                + " inputStage: {stage: 'IXSCAN', indexName: 'status_created_idx'}}}}}");
+
+        // When
+        String summary = CommandShapes.summarizePlan(explain);
+
+        // Then
+        assertEquals("LIMIT > FETCH > IXSCAN(status_created_idx)", summary);
+    }
+
+    @Test
+    @DisplayName("Should time commands per shape and rank the slowest first")
+    void testSlowestShapes() {
+        // Given
+        run("{find: 'payments', filter: {st: 1}}", 5);
+        run("{find: 'payments', filter: {st: 2}}", 250);
+        run("{find: 'payments', filter: {ref: 'TXN-1'}}", 20);
+
+        // When
+        List<MongoQueryShapeResponse> slowest = tracer.slowestShapes(10, MongoCommandTracer.Order.MAX);
+
+        // Then
+        assertEquals(2, slowest.size());
+        assertEquals("{st: ?}", slowest.getFirst().getShape());
+        assertEquals(2, slowest.getFirst().getCount());
+        assertEquals(1, slowest.getFirst().getSlowCount());
+        assertEquals(250.0, slowest.getFirst().getMaxMs(), 0.001);
+        assertNotNull(slowest.getFirst().getLastSlowAt());
+        assertEquals(2, registry.get(MongoCommandTracer.METRIC).tag("shape", "{st: ?}").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should fold shapes beyond the limit into a single entry and ignore untracked commands")
+    void testShapeLimit() {
+        // When
+        run("{find: 'payments', filter: {a: 1}}", 1);
+        run("{find: 'payments', filter: {b: 1}}", 1);
+        run("{find: 'payments', filter: {c: 1}}", 1);
+        run("{find: 'payments', filter: {d: 1}}", 1);
+        run("{hello: 1}", 1);
+
+        // Then
+        List<MongoQueryShapeResponse> shapes = tracer.slowestShapes(10, MongoCommandTracer.Order.TOTAL);
+        assertEquals(4, shapes.size());
+        assertTrue(shapes.stream().anyMatch(shape -> MongoCommandTracer.OTHER.equals(shape.getShape())));
+    }
+
+    private void run(String json, long elapsedMs) {
+        BsonDocument command = BsonDocument.parse(json);
+        String commandName = command.getFirstKey();
+        int id = ++requestId;
+        tracer.commandStarted(new CommandStartedEvent(null, 1, id, CONNECTION, "payment", commandName, command));
+        tracer.commandSucceeded(new CommandSucceededEvent(null, 1, id, CONNECTION, "payment", commandName,
+                new BsonDocument(), TimeUnit.MILLISECONDS.toNanos(elapsedMs)));
+    }
+}
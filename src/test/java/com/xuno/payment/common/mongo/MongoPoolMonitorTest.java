@@ -0,0 +1,46 @@
+package com.xuno.payment.common.mongo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MongoPoolMonitor Tests")
+class MongoPoolMonitorTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    @DisplayName("Should average waits over the current and previous window")
+    void testMeanOverTwoWindows() {
+        // Given
+        MongoPoolMonitor monitor = new MongoPoolMonitor(10);
+        long start = System.nanoTime();
+        monitor.record(TimeUnit.MILLISECONDS.toNanos(100), start);
+        monitor.record(TimeUnit.MILLISECONDS.toNanos(300), start);
+
+        // When
+        monitor.record(TimeUnit.MILLISECONDS.toNanos(200), start + WINDOW + 1);
+        long mean = monitor.recentMeanWaitNanos(start + WINDOW + 2);
+
+        // Then
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), mean);
+    }
+
+    @Test
+    @DisplayName("Should fall back to zero once two windows pass without check-outs")
+    void testForgetsOldWaits() {
+        // Given
+        MongoPoolMonitor monitor = new MongoPoolMonitor(10);
+        long start = System.nanoTime();
+        monitor.record(TimeUnit.SECONDS.toNanos(2), start);
+
+        // When
+        long mean = monitor.recentMeanWaitNanos(start + 2 * WINDOW + 1);
+
+        // Then
+        assertEquals(0, mean);
+    }
+}
@@ -0,0 +1,122 @@
+package com.xuno.payment.common.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LogStructuredStore Tests")
+class LogStructuredStoreTest {
+
+    private static final int HEADER_BYTES = 10;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should return the latest value of each key and survive a reopen")
+    void testPutGetAndReopen() throws IOException {
+        // Given
+        try (LogStructuredStore store = LogStructuredStore.open(directory, 4096, false)) {
+            store.put("a", bytes("one"));
+            store.put("b", bytes("two"));
+            store.put("a", bytes("three"));
+
+            // Then
+            assertEquals("three", string(store.get("a")));
+            assertEquals("two", string(store.get("b")));
+            assertNull(store.get("missing"));
+        }
+
+        // When
+        try (LogStructuredStore reopened = LogStructuredStore.open(directory, 4096, false)) {
+            // Then
+            assertEquals(2, reopened.size());
+            assertEquals("three", string(reopened.get("a")));
+            assertEquals("two", string(reopened.get("b")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop a torn last record on reopen and keep appending after it")
+    void testTornTail() throws IOException {
+        // Given
+        try (LogStructuredStore store = LogStructuredStore.open(directory, 4096, true)) {
+            store.put("a", bytes("one"));
+            store.put("b", bytes("two"));
+            store.put("c", bytes("three"));
+        }
+        int lastRecordOffset = 2 * (HEADER_BYTES + 1 + 3);
+        try (FileChannel channel = FileChannel.open(directory.resolve("0000000000.seg"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes("X")), lastRecordOffset + HEADER_BYTES + 1);
+        }
+
+        // When
+        try (LogStructuredStore reopened = LogStructuredStore.open(directory, 4096, false)) {
+            reopened.put("d", bytes("four"));
+
+            // Then
+            assertEquals("one", string(reopened.get("a")));
+            assertEquals("two", string(reopened.get("b")));
+            assertNull(reopened.get("c"));
+        }
+        try (LogStructuredStore reopened = LogStructuredStore.open(directory, 4096, false)) {
+            assertEquals(3, reopened.size());
+            assertEquals("four", string(reopened.get("d")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should compact sealed segments full of overwritten records without losing live ones")
+    void testCompaction() throws IOException {
+        // Given
+        try (LogStructuredStore store = LogStructuredStore.open(directory, 256, false)) {
+            store.put("kept", bytes("x".repeat(100)));
+            for (int i = 0; i < 20; i++) {
+                store.put("hot", bytes(i + "-" + "y".repeat(100)));
+            }
+            int segmentsBefore = store.segmentCount();
+
+            // When
+            int compacted = store.compact(0.5);
+
+            // Then
+            assertTrue(compacted > 0);
+            assertTrue(store.segmentCount() < segmentsBefore);
+            assertEquals("x".repeat(100), string(store.get("kept")));
+            assertEquals("19-" + "y".repeat(100), string(store.get("hot")));
+        }
+
+        try (LogStructuredStore reopened = LogStructuredStore.open(directory, 256, false)) {
+            assertEquals(2, reopened.size());
+            assertEquals("x".repeat(100), string(reopened.get("kept")));
+            assertEquals("19-" + "y".repeat(100), string(reopened.get("hot")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a record larger than a segment")
+    void testRecordTooLarge() throws IOException {
+        try (LogStructuredStore store = LogStructuredStore.open(directory, 128, false)) {
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> store.put("big", new byte[200]));
+            assertNull(store.get("big"));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+}
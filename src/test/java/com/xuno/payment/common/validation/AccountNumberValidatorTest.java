@@ -0,0 +1,38 @@
+package com.xuno.payment.common.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AccountNumberValidator Tests")
+class AccountNumberValidatorTest {
+
+    private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile("^\\d{4,16}$");
+
+    private final AccountNumberValidator accountNumberValidator = new AccountNumberValidator();
+    private final RoutingNumberValidator routingNumberValidator = new RoutingNumberValidator();
+
+    @Test
+    @DisplayName("Should accept the same values as the previous regex")
+    void testMatchesRegexBehaviour() {
+        List<String> values = List.of("", "123", "1234", "123456789", "1234567890123456", "12345678901234567",
+                "1234a", " 1234", "1234\n", "١٢٣٤", "-1234", "12.34");
+
+        for (String value : values) {
+            boolean expected = ACCOUNT_NUMBER_PATTERN.matcher(value).matches();
+            assertEquals(expected, accountNumberValidator.isValid(value, null), () -> "Unexpected result for '" + value + "'");
+            assertEquals(expected, routingNumberValidator.isValid(value, null), () -> "Unexpected result for '" + value + "'");
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept null values")
+    void testNull() {
+        assertTrue(accountNumberValidator.isValid(null, null));
+        assertTrue(routingNumberValidator.isValid(null, null));
+    }
+}
@@ -0,0 +1,104 @@
+package com.xuno.payment.common.validation;
+
+import com.xuno.payment.payment.model.dto.PaymentRequest;
+import com.xuno.payment.payment.model.valueobject.ReceiverAccountInfo;
+import com.xuno.payment.payment.model.valueobject.ReceiverInfo;
+import com.xuno.payment.payment.model.valueobject.SenderFundingAccountInfo;
+import com.xuno.payment.payment.model.valueobject.SenderInfo;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the cost of validating a complete {@link PaymentRequest}, including the cascade into the
+ * sender and receiver, as the controllers do through {@code @Valid}. One in ten requests is invalid
+ * so the failure path is timed too. Excluded from the default build; run with
+ * {@code mvn test -Pload-test -Dtest=RequestValidationLoadTest}.
+ */
+@Tag("load")
+@DisplayName("Request Validation Load Tests")
+@Slf4j
+class RequestValidationLoadTest {
+
+    private static final int VALIDATED_REQUESTS = 200_000;
+    private static final int WARMUP_REQUESTS = 200_000;
+
+    @Test
+    @DisplayName("Should validate a payment request in microseconds")
+    void testValidationLatency() {
+        // Given
+        double maxP99Micros = Double.parseDouble(System.getProperty("loadtest.validation.max-p99-micros", "50"));
+        PaymentRequest valid = request("USD");
+        PaymentRequest invalid = request("U<D");
+
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                validator.validate(i % 10 == 0 ? invalid : valid);
+            }
+
+            // When
+            long[] latencies = new long[VALIDATED_REQUESTS];
+            int violations = 0;
+            for (int i = 0; i < VALIDATED_REQUESTS; i++) {
+                PaymentRequest request = i % 10 == 0 ? invalid : valid;
+                long start = System.nanoTime();
+                violations += validator.validate(request).size();
+                latencies[i] = System.nanoTime() - start;
+            }
+
+            // Then
+            Arrays.sort(latencies);
+            double p99 = micros(latencies, 0.99);
+            log.info(String.format("%9s %9s %9s %9s", "p50 us", "p99 us", "p99.9 us", "mean us"));
+            log.info(String.format("%9.2f %9.2f %9.2f %9.2f", micros(latencies, 0.5), p99, micros(latencies, 0.999),
+                    Arrays.stream(latencies).average().orElse(0) / 1000.0));
+            assertEquals(VALIDATED_REQUESTS / 10, violations, "every invalid request must be rejected exactly once");
+            assertTrue(p99 <= maxP99Micros, "p99 " + p99 + " us over " + maxP99Micros + " us");
+        }
+    }
+
+    private static double micros(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1000.0;
+    }
+
+    private static PaymentRequest request(String sourceCurrency) {
+        return PaymentRequest.builder()
+                .idempotencyKey("validation-load-test")
+                .sender(SenderInfo.builder()
+                        .name("John Doe")
+                        .address("123 Main St, New York, NY 10001")
+                        .fundingAccount(SenderFundingAccountInfo.builder()
+                                .accountNumber("1234567890")
+                                .bankCode("BANK001")
+                                .routingNumber("021000021")
+                                .build())
+                        .build())
+                .receiver(ReceiverInfo.builder()
+                        .name("Jane Smith")
+                        .address("456 Oak Ave, Berlin, Germany")
+                        .account(ReceiverAccountInfo.builder()
+                                .accountNumber("9876543210")
+                                .bankCode("BANK002")
+                                .swiftCode("SWIFT123")
+                                .build())
+                        .build())
+                .sourceCurrency(sourceCurrency)
+                .targetCurrency("EUR")
+                .sourceCountry("US")
+                .destinationCountry("DE")
+                .sourceAmount(new BigDecimal("500.00"))
+                .purpose("Validation load test")
+                .corridor("US-EU")
+                .build();
+    }
+}
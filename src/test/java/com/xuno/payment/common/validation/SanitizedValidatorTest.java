@@ -0,0 +1,81 @@
+package com.xuno.payment.common.validation;
+
+import com.xuno.payment.payment.model.dto.PaymentRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SanitizedValidator Tests")
+class SanitizedValidatorTest {
+
+    private static final Pattern DANGEROUS_CHARS = Pattern.compile("[<>\"'&]");
+    private static final Pattern HTML_TAGS = Pattern.compile("<[^>]*>");
+
+    private SanitizedValidator validator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        validator = new SanitizedValidator();
+        validator.initialize(PaymentRequest.class.getDeclaredField("sourceCurrency").getAnnotation(Sanitized.class));
+    }
+
+    @Test
+    @DisplayName("Should accept the same values as the previous regex checks")
+    void testMatchesRegexBehaviour() {
+        List<String> values = List.of("", "USD", "EU", "U$D", "A&B", "<b>", "x>y", "\"US", "'US", "U S", "ÜSD", "USDX");
+
+        for (String value : values) {
+            boolean expected = value.length() <= 3
+                    && !DANGEROUS_CHARS.matcher(value).find()
+                    && !HTML_TAGS.matcher(value).find();
+            assertEquals(expected, validator.isValid(value, null), () -> "Unexpected result for '" + value + "'");
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept plain formatting tags only when allowHtml is set")
+    void testAllowHtml() throws Exception {
+        // Given
+        SanitizedValidator htmlValidator = validatorFor(HtmlNote.class);
+        SanitizedValidator plainValidator = validatorFor(PlainNote.class);
+
+        // When & Then
+        for (String value : List.of("<b>paid</b>", "<STRONG>due</STRONG> today", "line<br/>break", "<br />", "<p>a</p>")) {
+            assertTrue(htmlValidator.isValid(value, null), () -> "Expected '" + value + "' to be accepted");
+            assertFalse(plainValidator.isValid(value, null), () -> "Expected '" + value + "' to be rejected");
+        }
+        for (String value : List.of("<b", "a > b", "Tom & Jerry", "\"quoted\"", "<b>paid</b>'", "<>", "</>",
+                "<img src=x onerror=\"alert(1)\">", "<b onclick=alert(1)>x</b>", "<a href=\"https://example.com\">invoice</a>",
+                "<a href=javascript:alert(1)>x</a>", "<script>alert(1)</script>", "<b title='x'>", "<b <i>>", "<p&amp;>")) {
+            assertFalse(htmlValidator.isValid(value, null), () -> "Expected '" + value + "' to be rejected");
+        }
+        assertFalse(htmlValidator.isValid("<b>" + "x".repeat(100) + "</b>", null));
+    }
+
+    @Test
+    @DisplayName("Should accept null values")
+    void testNull() {
+        assertTrue(validator.isValid(null, null));
+    }
+
+    private static SanitizedValidator validatorFor(Class<?> type) throws Exception {
+        SanitizedValidator sanitized = new SanitizedValidator();
+        sanitized.initialize(type.getDeclaredField("note").getAnnotation(Sanitized.class));
+        return sanitized;
+    }
+
+    private static class HtmlNote {
+        @Sanitized(allowHtml = true, maxLength = 100)
+        private String note;
+    }
+
+    private static class PlainNote {
+        @Sanitized(maxLength = 100)
+        private String note;
+    }
+}
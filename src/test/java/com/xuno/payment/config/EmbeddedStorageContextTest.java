@@ -0,0 +1,99 @@
+package com.xuno.payment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xuno.payment.analytics.model.dto.PaymentRollupResponse;
+import com.xuno.payment.analytics.service.PaymentRollupService;
+import com.xuno.payment.exchangeconfig.model.dto.ExchangeConfigRequest;
+import com.xuno.payment.exchangeconfig.service.ExchangeConfigService;
+import com.xuno.payment.payment.model.dto.PaymentDetailResponse;
+import com.xuno.payment.payment.model.dto.PaymentRequest;
+import com.xuno.payment.payment.model.dto.PaymentResponse;
+import com.xuno.payment.payment.service.PaymentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the whole application with {@code app.storage.type=embedded} and no Mongo configured, so a
+ * bean that still needs Mongo fails this test at startup, then writes and reads a payment through
+ * the embedded stores.
+ */
+@SpringBootTest(properties = {
+        "spring.config.import=classpath:application.example.yml",
+        "app.storage.type=embedded",
+        "app.encryption.secret=EwN+d+xQXYGA28FUrh2uajP8KPkOHeETo3Bl6TlBoJw=",
+        "app.verification.velocity.snapshot.file="
+})
+@DisplayName("Embedded Storage Context Tests")
+class EmbeddedStorageContextTest {
+
+    private static final String EXCHANGE_CONFIG = """
+            {"sourceCurrency":"USD","targetCurrency":"EUR","minAmount":100.00,"maxAmount":100000.00,\
+            "fxRate":0.95,"feeFlat":10.00,"feePercent":0.04}""";
+    private static final String PAYMENT = """
+            {"idempotencyKey":"embedded-context-1",\
+            "sender":{"name":"John Doe","address":"123 Main St, New York, NY 10001",\
+            "fundingAccount":{"accountNumber":"1234567890","bankCode":"BANK001","routingNumber":"987654321"}},\
+            "receiver":{"name":"Jane Smith","address":"456 Oak Ave, Berlin, Germany",\
+            "account":{"accountNumber":"9876543210","bankCode":"BANK002","swiftCode":"SWIFT123"}},\
+            "sourceCurrency":"USD","targetCurrency":"EUR","sourceCountry":"US","destinationCountry":"DE",\
+            "sourceAmount":500.00,"purpose":"Embedded storage test","corridor":"US-EU"}""";
+
+    @TempDir
+    static Path storeDirectory;
+
+    @DynamicPropertySource
+    static void storeProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.storage.embedded.directory", () -> storeDirectory.toString());
+        registry.add("app.storage.embedded.segment-size-mb", () -> "1");
+    }
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ExchangeConfigService exchangeConfigService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRollupService rollupService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should start without Mongo and keep payments, history and rollups in the embedded store")
+    void testRunsWithoutMongo() throws Exception {
+        // Given
+        assertEquals(0, context.getBeanNamesForType(MongoTemplate.class).length);
+        assertEquals(0, context.getBeanNamesForType(MongoDatabaseFactory.class).length);
+        exchangeConfigService.create(objectMapper.readValue(EXCHANGE_CONFIG, ExchangeConfigRequest.class));
+
+        // When
+        PaymentResponse created = paymentService.create(objectMapper.readValue(PAYMENT, PaymentRequest.class),
+                "embedded-admin");
+        rollupService.rebuild();
+
+        // Then
+        PaymentDetailResponse found = paymentService.find(created.getId());
+        assertEquals(created.getId(), found.getId());
+        assertFalse(found.getStatusHistory().isEmpty());
+        long rolledUp = rollupService.findRollups(null, null, "US-EU", null).stream()
+                .mapToLong(PaymentRollupResponse::getCount)
+                .sum();
+        assertEquals(1, rolledUp);
+    }
+}
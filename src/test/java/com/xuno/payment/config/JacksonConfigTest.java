@@ -0,0 +1,140 @@
+package com.xuno.payment.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.xuno.payment.common.dto.GlobalApiResponse;
+import com.xuno.payment.payment.model.dto.PaymentResponse;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.model.valueobject.SenderInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JacksonConfig Tests")
+class JacksonConfigTest {
+
+    private final JacksonConfig config = new JacksonConfig();
+
+    private ObjectMapper jsonMapper;
+
+    @BeforeEach
+    void setUp() {
+        jsonMapper = builder().build();
+    }
+
+    @Test
+    @DisplayName("Should write the same envelope as JSON in CBOR and Smile")
+    void testBinaryEnvelopeMatchesJson() throws Exception {
+        // Given
+        GlobalApiResponse<List<PaymentResponse>> response = GlobalApiResponse.success(payments(20));
+        JsonNode expected = jsonMapper.readTree(jsonMapper.writeValueAsBytes(response));
+
+        for (AbstractJackson2HttpMessageConverter converter : binaryConverters()) {
+            // When
+            MockHttpOutputMessage output = new MockHttpOutputMessage();
+            converter.write(response, converter.getSupportedMediaTypes().getFirst(), output);
+
+            // Then
+            JsonNode actual = converter.getObjectMapper().readTree(output.getBodyAsBytes());
+            assertTrue(expected.equals(JacksonConfigTest::compareNodes, actual), () -> converter.getSupportedMediaTypes() + " envelope differs from JSON");
+            assertTrue(output.getBodyAsBytes().length < jsonMapper.writeValueAsBytes(response).length);
+        }
+    }
+
+    @Test
+    @DisplayName("Should read back payments written in CBOR and Smile")
+    void testBinaryRoundTrip() throws Exception {
+        // Given
+        List<PaymentResponse> payments = payments(3);
+
+        for (AbstractJackson2HttpMessageConverter converter : binaryConverters()) {
+            MediaType mediaType = converter.getSupportedMediaTypes().getFirst();
+            MockHttpOutputMessage output = new MockHttpOutputMessage();
+            converter.write(payments, mediaType, output);
+
+            // When
+            MockHttpInputMessage input = new MockHttpInputMessage(output.getBodyAsBytes());
+            input.getHeaders().setContentType(mediaType);
+            List<PaymentResponse> result = converter.getObjectMapper()
+                    .readValue(input.getBody(), new TypeReference<List<PaymentResponse>>() { });
+
+            // Then
+            assertEquals(3, result.size());
+            assertEquals(payments.getFirst().getReferenceNumber(), result.getFirst().getReferenceNumber());
+            assertEquals(0, payments.getFirst().getSourceAmount().compareTo(result.getFirst().getSourceAmount()));
+            assertEquals(payments.getFirst().getCreatedAt(), result.getFirst().getCreatedAt());
+            assertEquals(PaymentStatus.APPROVED, result.getFirst().getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Should cache the serializers of the hot response types on warm-up")
+    void testPrepareSerializers() {
+        // Given
+        int cachedBefore = cachedSerializers();
+
+        // When
+        JacksonConfig.prepareSerializers(jsonMapper);
+
+        // Then
+        assertTrue(cachedSerializers() > cachedBefore);
+    }
+
+    private int cachedSerializers() {
+        return ((DefaultSerializerProvider) jsonMapper.getSerializerProvider()).cachedSerializersCount();
+    }
+
+    /**
+     * Binary formats keep {@link BigDecimal} amounts as decimals while JSON reads them back as
+     * doubles, so numbers are compared by value.
+     */
+    private static int compareNodes(JsonNode left, JsonNode right) {
+        if (left.isNumber() && right.isNumber()) {
+            return left.decimalValue().compareTo(right.decimalValue());
+        }
+        return left.equals(right) ? 0 : 1;
+    }
+
+    private List<AbstractJackson2HttpMessageConverter> binaryConverters() {
+        return List.of(config.cborHttpMessageConverter(builder()), config.smileHttpMessageConverter(builder()));
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .postConfigurer(mapper -> mapper.registerModule(new JacksonConfig().blackbirdModule()));
+    }
+
+    private static List<PaymentResponse> payments(int count) {
+        List<PaymentResponse> payments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            payments.add(PaymentResponse.builder()
+                    .id("507f1f77bcf86cd79943901" + i)
+                    .referenceNumber("TXN-01JD3ZQ4Y5N8W7K2M6P9R3T5V" + i)
+                    .sender(SenderInfo.builder().name("Alice Sender").referenceNumber("SND-01JD3ZQ4Y5N8W7K2M6P9R3T5V8").build())
+                    .sourceCurrency("USD")
+                    .targetCurrency("EUR")
+                    .sourceAmount(new BigDecimal("1000.00"))
+                    .targetAmount(new BigDecimal("940.00"))
+                    .status(PaymentStatus.APPROVED)
+                    .createdAt(LocalDateTime.of(2025, 1, 21, 14, 30, 22))
+                    .build());
+        }
+        return payments;
+    }
+}
@@ -0,0 +1,104 @@
+package com.xuno.payment.config;
+
+import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.valueobject.FeeCalculationResult;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MongoConfig Tests")
+class MongoConfigTest {
+
+    private MappingMongoConverter converter;
+    private MongoMappingContext mappingContext;
+
+    @BeforeEach
+    void setUp() {
+        converter = MongoTestConverters.converter();
+        mappingContext = MongoTestConverters.mappingContext(converter);
+    }
+
+    @Test
+    @DisplayName("Should write exchange config amounts as Decimal128")
+    void testWriteExchangeConfig() {
+        // Given
+        ExchangeRateConfiguration config = ExchangeRateConfiguration.builder()
+                .minAmount(new BigDecimal("100.00"))
+                .maxAmount(new BigDecimal("100000.00"))
+                .fxRate(new BigDecimal("0.95"))
+                .build();
+
+        // When
+        Document document = new Document();
+        converter.write(config, document);
+
+        // Then
+        assertEquals(new Decimal128(new BigDecimal("100.00")), document.get("minAmount"));
+        assertEquals(new Decimal128(new BigDecimal("100000.00")), document.get("maxAmount"));
+        assertEquals(new Decimal128(new BigDecimal("0.95")), document.get("fxRate"));
+    }
+
+    @Test
+    @DisplayName("Should write nested payment fee amounts as Decimal128")
+    void testWritePaymentFees() {
+        // Given
+        Payment payment = Payment.builder()
+                .sourceAmount(new BigDecimal("1000.00"))
+                .feeCalculation(FeeCalculationResult.builder()
+                        .totalFee(new BigDecimal("50.00"))
+                        .build())
+                .build();
+
+        // When
+        Document document = new Document();
+        converter.write(payment, document);
+
+        // Then
+        assertInstanceOf(Decimal128.class, document.get("sa"));
+        assertInstanceOf(Decimal128.class, document.get("fee", Document.class).get("tot"));
+    }
+
+    @Test
+    @DisplayName("Should still read amounts persisted as strings before the migration")
+    void testReadLegacyStringAmounts() {
+        // Given
+        Document legacy = new Document("minAmount", "100.00")
+                .append("maxAmount", new Decimal128(new BigDecimal("100000.00")));
+
+        // When
+        ExchangeRateConfiguration config = converter.read(ExchangeRateConfiguration.class, legacy);
+
+        // Then
+        assertEquals(new BigDecimal("100.00"), config.getMinAmount());
+        assertEquals(new BigDecimal("100000.00"), config.getMaxAmount());
+    }
+
+    @Test
+    @DisplayName("Should bind amount range parameters as Decimal128 for numeric comparison")
+    void testAmountRangeQuery() {
+        // Given
+        BigDecimal amount = new BigDecimal("999.99");
+        Query query = new Query(Criteria.where("minAmount").lte(amount).and("maxAmount").gte(amount));
+
+        // When
+        Document mapped = new QueryMapper(converter).getMappedObject(query.getQueryObject(),
+                mappingContext.getPersistentEntity(ExchangeRateConfiguration.class));
+
+        // Then
+        assertEquals(new Decimal128(amount), mapped.get("minAmount", Document.class).get("$lte"));
+        assertEquals(new Decimal128(amount), mapped.get("maxAmount", Document.class).get("$gte"));
+        assertEquals(new Decimal128(amount), converter.convertToMongoType(amount));
+    }
+}
@@ -0,0 +1,34 @@
+package com.xuno.payment.config;
+
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Builds the converter the application uses, from {@link MongoConfig}'s conversions, without a
+ * database or Spring context, for tests that map entities to and from BSON.
+ */
+public final class MongoTestConverters {
+
+    private MongoTestConverters() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    public static MongoMappingContext mappingContext(MappingMongoConverter converter) {
+        return (MongoMappingContext) converter.getMappingContext();
+    }
+}
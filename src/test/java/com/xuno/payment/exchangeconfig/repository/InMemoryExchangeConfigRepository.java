@@ -0,0 +1,59 @@
+package com.xuno.payment.exchangeconfig.repository;
+
+import com.xuno.payment.common.mongo.InMemoryMongoRepository;
+import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory {@link ExchangeConfigRepository}. There are only ever a handful of configurations, so
+ * queries read every stored configuration and filter them the way the repository's queries do.
+ */
+public class InMemoryExchangeConfigRepository extends InMemoryMongoRepository<ExchangeRateConfiguration>
+        implements ExchangeConfigRepository {
+
+    private static final Comparator<ExchangeRateConfiguration> NEWEST_FIRST = Comparator.comparing(
+            ExchangeRateConfiguration::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    public InMemoryExchangeConfigRepository(MongoConverter converter) {
+        super(converter, ExchangeRateConfiguration.class);
+    }
+
+    @Override
+    protected void beforeSave(ExchangeRateConfiguration config, boolean isNew) {
+        LocalDateTime now = LocalDateTime.now();
+        if (config.getCreatedAt() == null) {
+            config.setCreatedAt(now);
+        }
+        config.setUpdatedAt(now);
+    }
+
+    @Override
+    public List<ExchangeRateConfiguration> findAll() {
+        return loadAll().stream()
+                .filter(config -> !config.isDeleted())
+                .toList();
+    }
+
+    @Override
+    public Optional<ExchangeRateConfiguration> findById(String id) {
+        return super.findById(id).filter(config -> !config.isDeleted());
+    }
+
+    @Override
+    public List<ExchangeRateConfiguration> findMatchingConfig(String sourceCurrency, String targetCurrency,
+                                                              BigDecimal amount) {
+        return findAll().stream()
+                .filter(config -> sourceCurrency.equals(config.getSourceCurrency())
+                        && targetCurrency.equals(config.getTargetCurrency())
+                        && config.getMinAmount().compareTo(amount) <= 0
+                        && config.getMaxAmount().compareTo(amount) >= 0)
+                .sorted(NEWEST_FIRST)
+                .toList();
+    }
+}
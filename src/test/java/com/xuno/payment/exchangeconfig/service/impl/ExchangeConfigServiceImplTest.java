@@ -1,17 +1,21 @@
 package com.xuno.payment.exchangeconfig.service.impl;
 
+import com.xuno.payment.common.concurrent.SingleFlight;
 import com.xuno.payment.common.exception.ResourceNotFoundException;
+import com.xuno.payment.exchangeconfig.exception.InvalidExchangeConfigException;
 import com.xuno.payment.exchangeconfig.mapper.ExchangeConfigMapper;
 import com.xuno.payment.exchangeconfig.model.dto.ExchangeConfigRequest;
 import com.xuno.payment.exchangeconfig.model.dto.ExchangeConfigResponse;
 import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
-import com.xuno.payment.exchangeconfig.repository.ExchangeConfigRepository;
+import com.xuno.payment.exchangeconfig.store.ExchangeConfigStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -29,11 +33,14 @@ import static org.mockito.Mockito.*;
 class ExchangeConfigServiceImplTest {
 
     @Mock
-    private ExchangeConfigRepository repository;
+    private ExchangeConfigStore store;
 
     @Mock
     private ExchangeConfigMapper mapper;
 
+    @Spy
+    private SingleFlight<String, ExchangeRateConfiguration> matchLoads = new SingleFlight<>("exchangeConfigMatch", new SimpleMeterRegistry());
+
     @InjectMocks
     private ExchangeConfigServiceImpl exchangeConfigService;
 
@@ -84,7 +91,7 @@ class ExchangeConfigServiceImplTest {
     void testCreate_Success() {
         // Given
         when(mapper.toEntity(request)).thenReturn(entity);
-        when(repository.save(entity)).thenReturn(entity);
+        when(store.insert(entity)).thenReturn(entity);
         when(mapper.toResponse(entity)).thenReturn(response);
 
         // When
@@ -96,7 +103,7 @@ class ExchangeConfigServiceImplTest {
         assertEquals("USD", result.getSourceCurrency());
         assertEquals("EUR", result.getTargetCurrency());
         verify(mapper).toEntity(request);
-        verify(repository).save(entity);
+        verify(store).insert(entity);
         verify(mapper).toResponse(entity);
     }
 
@@ -113,12 +120,12 @@ class ExchangeConfigServiceImplTest {
                 .build();
 
         // When & Then
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+        InvalidExchangeConfigException exception = assertThrows(InvalidExchangeConfigException.class, () -> {
             exchangeConfigService.create(invalidRequest);
         });
 
         assertTrue(exception.getMessage().contains("Minimum amount cannot be greater than maximum amount"));
-        verify(repository, never()).save(any(ExchangeRateConfiguration.class));
+        verify(store, never()).insert(any(ExchangeRateConfiguration.class));
     }
 
     @Test
@@ -152,7 +159,7 @@ class ExchangeConfigServiceImplTest {
                 .build();
 
         when(mapper.toEntity(requestWithoutFees)).thenReturn(entityWithoutFees);
-        when(repository.save(entityWithoutFees)).thenReturn(entityWithoutFees);
+        when(store.insert(entityWithoutFees)).thenReturn(entityWithoutFees);
         when(mapper.toResponse(entityWithoutFees)).thenReturn(responseWithoutFees);
 
         // When
@@ -163,7 +170,7 @@ class ExchangeConfigServiceImplTest {
         assertEquals("config-2", result.getId());
         assertNull(result.getFeeFlat());
         assertNull(result.getFeePercent());
-        verify(repository).save(entityWithoutFees);
+        verify(store).insert(entityWithoutFees);
     }
 
     @Test
@@ -190,7 +197,7 @@ class ExchangeConfigServiceImplTest {
 
         List<ExchangeRateConfiguration> entities = List.of(entity, entity2);
 
-        when(repository.findAll()).thenReturn(entities);
+        when(store.findAll()).thenReturn(entities);
         when(mapper.toResponse(entity)).thenReturn(response);
         when(mapper.toResponse(entity2)).thenReturn(response2);
 
@@ -202,7 +209,7 @@ class ExchangeConfigServiceImplTest {
         assertEquals(2, results.size());
         assertEquals("config-1", results.get(0).getId());
         assertEquals("config-2", results.get(1).getId());
-        verify(repository).findAll();
+        verify(store).findAll();
         verify(mapper, times(2)).toResponse(any(ExchangeRateConfiguration.class));
     }
 
@@ -210,7 +217,7 @@ class ExchangeConfigServiceImplTest {
     @DisplayName("Should return empty list when no configurations exist")
     void testFindAll_EmptyList() {
         // Given
-        when(repository.findAll()).thenReturn(new ArrayList<>());
+        when(store.findAll()).thenReturn(new ArrayList<>());
 
         // When
         List<ExchangeConfigResponse> results = exchangeConfigService.findAll();
@@ -218,7 +225,7 @@ class ExchangeConfigServiceImplTest {
         // Then
         assertNotNull(results);
         assertTrue(results.isEmpty());
-        verify(repository).findAll();
+        verify(store).findAll();
     }
 
     @Test
@@ -227,7 +234,7 @@ class ExchangeConfigServiceImplTest {
         // Given
         String configId = "config-1";
 
-        when(repository.findById(configId)).thenReturn(Optional.of(entity));
+        when(store.findById(configId)).thenReturn(Optional.of(entity));
         when(mapper.toResponse(entity)).thenReturn(response);
 
         // When
@@ -237,7 +244,7 @@ class ExchangeConfigServiceImplTest {
         assertNotNull(result);
         assertEquals("config-1", result.getId());
         assertEquals("USD", result.getSourceCurrency());
-        verify(repository).findById(configId);
+        verify(store).findById(configId);
         verify(mapper).toResponse(entity);
     }
 
@@ -247,7 +254,7 @@ class ExchangeConfigServiceImplTest {
         // Given
         String configId = "non-existent";
 
-        when(repository.findById(configId)).thenReturn(Optional.empty());
+        when(store.findById(configId)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -255,7 +262,7 @@ class ExchangeConfigServiceImplTest {
         });
 
         assertTrue(exception.getMessage().contains("not found"));
-        verify(repository).findById(configId);
+        verify(store).findById(configId);
         verify(mapper, never()).toResponse(any(ExchangeRateConfiguration.class));
     }
 
@@ -285,9 +292,9 @@ class ExchangeConfigServiceImplTest {
                 .feePercent(new BigDecimal("0.05"))
                 .build();
 
-        when(repository.findById(configId)).thenReturn(Optional.of(entity));
+        when(store.findById(configId)).thenReturn(Optional.of(entity));
         doNothing().when(mapper).updateRequestToEntity(entity, updateRequest);
-        when(repository.save(entity)).thenReturn(entity);
+        when(store.update(entity)).thenReturn(entity);
         when(mapper.toResponse(entity)).thenReturn(updatedResponse);
 
         // When
@@ -298,9 +305,9 @@ class ExchangeConfigServiceImplTest {
         assertEquals("config-1", result.getId());
         assertEquals(new BigDecimal("0.96"), result.getFxRate());
         assertEquals(new BigDecimal("15.00"), result.getFeeFlat());
-        verify(repository).findById(configId);
+        verify(store).findById(configId);
         verify(mapper).updateRequestToEntity(entity, updateRequest);
-        verify(repository).save(entity);
+        verify(store).update(entity);
         verify(mapper).toResponse(entity);
     }
 
@@ -310,7 +317,7 @@ class ExchangeConfigServiceImplTest {
         // Given
         String configId = "non-existent";
 
-        when(repository.findById(configId)).thenReturn(Optional.empty());
+        when(store.findById(configId)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -318,8 +325,8 @@ class ExchangeConfigServiceImplTest {
         });
 
         assertTrue(exception.getMessage().contains("not found"));
-        verify(repository).findById(configId);
-        verify(repository, never()).save(any(ExchangeRateConfiguration.class));
+        verify(store).findById(configId);
+        verify(store, never()).update(any(ExchangeRateConfiguration.class));
     }
 
     @Test
@@ -336,14 +343,14 @@ class ExchangeConfigServiceImplTest {
                 .build();
 
         // When & Then
-        // Validation happens before repository call, so no need to stub repository.findById
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+        // Validation happens before the store is called, so no need to stub store.findById
+        InvalidExchangeConfigException exception = assertThrows(InvalidExchangeConfigException.class, () -> {
             exchangeConfigService.update(configId, invalidRequest);
         });
 
         assertTrue(exception.getMessage().contains("Minimum amount cannot be greater than maximum amount"));
-        verify(repository, never()).findById(anyString());
-        verify(repository, never()).save(any(ExchangeRateConfiguration.class));
+        verify(store, never()).findById(anyString());
+        verify(store, never()).update(any(ExchangeRateConfiguration.class));
     }
 
     @Test
@@ -352,8 +359,8 @@ class ExchangeConfigServiceImplTest {
         // Given
         String configId = "config-1";
 
-        when(repository.findById(configId)).thenReturn(Optional.of(entity));
-        when(repository.save(entity)).thenReturn(entity);
+        when(store.findById(configId)).thenReturn(Optional.of(entity));
+        when(store.update(entity)).thenReturn(entity);
 
         // When
         exchangeConfigService.delete(configId);
@@ -361,8 +368,8 @@ class ExchangeConfigServiceImplTest {
         // Then
         assertTrue(entity.isDeleted());
         assertNotNull(entity.getDeletedAt());
-        verify(repository).findById(configId);
-        verify(repository).save(entity);
+        verify(store).findById(configId);
+        verify(store).update(entity);
     }
 
     @Test
@@ -371,7 +378,7 @@ class ExchangeConfigServiceImplTest {
         // Given
         String configId = "non-existent";
 
-        when(repository.findById(configId)).thenReturn(Optional.empty());
+        when(store.findById(configId)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -379,8 +386,8 @@ class ExchangeConfigServiceImplTest {
         });
 
         assertTrue(exception.getMessage().contains("not found"));
-        verify(repository).findById(configId);
-        verify(repository, never()).save(any(ExchangeRateConfiguration.class));
+        verify(store).findById(configId);
+        verify(store, never()).update(any(ExchangeRateConfiguration.class));
     }
 
     @Test
@@ -401,7 +408,7 @@ class ExchangeConfigServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(repository.findMatchingConfig(sourceCurrency, targetCurrency, amount))
+        when(store.findMatchingConfig(sourceCurrency, targetCurrency, amount))
                 .thenReturn(List.of(matchingConfig));
 
         // When
@@ -413,7 +420,7 @@ class ExchangeConfigServiceImplTest {
         assertEquals("config-1", result.getId());
         assertEquals("USD", result.getSourceCurrency());
         assertEquals("EUR", result.getTargetCurrency());
-        verify(repository).findMatchingConfig(sourceCurrency, targetCurrency, amount);
+        verify(store).findMatchingConfig(sourceCurrency, targetCurrency, amount);
     }
 
     @Test
@@ -445,7 +452,7 @@ class ExchangeConfigServiceImplTest {
                 .build();
 
         // Repository returns sorted by createdAt descending (newest first)
-        when(repository.findMatchingConfig(sourceCurrency, targetCurrency, amount))
+        when(store.findMatchingConfig(sourceCurrency, targetCurrency, amount))
                 .thenReturn(List.of(newerConfig, olderConfig));
 
         // When
@@ -456,7 +463,7 @@ class ExchangeConfigServiceImplTest {
         assertNotNull(result);
         assertEquals("config-2", result.getId()); // Should return the latest (first in sorted list)
         assertEquals(new BigDecimal("0.95"), result.getFxRate());
-        verify(repository).findMatchingConfig(sourceCurrency, targetCurrency, amount);
+        verify(store).findMatchingConfig(sourceCurrency, targetCurrency, amount);
     }
 
     @Test
@@ -467,7 +474,7 @@ class ExchangeConfigServiceImplTest {
         String targetCurrency = "EUR";
         BigDecimal amount = new BigDecimal("1000.00");
 
-        when(repository.findMatchingConfig(sourceCurrency, targetCurrency, amount))
+        when(store.findMatchingConfig(sourceCurrency, targetCurrency, amount))
                 .thenReturn(new ArrayList<>());
 
         // When & Then
@@ -476,7 +483,7 @@ class ExchangeConfigServiceImplTest {
         });
 
         assertTrue(exception.getMessage().contains("No exchange configuration found"));
-        verify(repository).findMatchingConfig(sourceCurrency, targetCurrency, amount);
+        verify(store).findMatchingConfig(sourceCurrency, targetCurrency, amount);
     }
 
     @Test
@@ -487,7 +494,7 @@ class ExchangeConfigServiceImplTest {
         String targetCurrency = "EUR";
         BigDecimal amount = new BigDecimal("50.00"); // Below minAmount of 100.00
 
-        when(repository.findMatchingConfig(sourceCurrency, targetCurrency, amount))
+        when(store.findMatchingConfig(sourceCurrency, targetCurrency, amount))
                 .thenReturn(new ArrayList<>());
 
         // When & Then
@@ -496,7 +503,7 @@ class ExchangeConfigServiceImplTest {
         });
 
         assertTrue(exception.getMessage().contains("No exchange configuration found"));
-        verify(repository).findMatchingConfig(sourceCurrency, targetCurrency, amount);
+        verify(store).findMatchingConfig(sourceCurrency, targetCurrency, amount);
     }
 
     @Test
@@ -507,7 +514,7 @@ class ExchangeConfigServiceImplTest {
         String targetCurrency = "EUR";
         BigDecimal amount = new BigDecimal("200000.00"); // Above maxAmount of 100000.00
 
-        when(repository.findMatchingConfig(sourceCurrency, targetCurrency, amount))
+        when(store.findMatchingConfig(sourceCurrency, targetCurrency, amount))
                 .thenReturn(new ArrayList<>());
 
         // When & Then
@@ -516,7 +523,7 @@ class ExchangeConfigServiceImplTest {
         });
 
         assertTrue(exception.getMessage().contains("No exchange configuration found"));
-        verify(repository).findMatchingConfig(sourceCurrency, targetCurrency, amount);
+        verify(store).findMatchingConfig(sourceCurrency, targetCurrency, amount);
     }
 
     @Test
@@ -539,7 +546,7 @@ class ExchangeConfigServiceImplTest {
                 .build();
 
         // Test at minimum boundary
-        when(repository.findMatchingConfig(sourceCurrency, targetCurrency, minAmount))
+        when(store.findMatchingConfig(sourceCurrency, targetCurrency, minAmount))
                 .thenReturn(List.of(config));
 
         ExchangeRateConfiguration resultMin = exchangeConfigService.findMatchingConfig(
@@ -549,7 +556,7 @@ class ExchangeConfigServiceImplTest {
         assertEquals("config-1", resultMin.getId());
 
         // Test at maximum boundary
-        when(repository.findMatchingConfig(sourceCurrency, targetCurrency, maxAmount))
+        when(store.findMatchingConfig(sourceCurrency, targetCurrency, maxAmount))
                 .thenReturn(List.of(config));
 
         ExchangeRateConfiguration resultMax = exchangeConfigService.findMatchingConfig(
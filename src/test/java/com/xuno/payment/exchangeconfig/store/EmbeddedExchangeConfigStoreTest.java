@@ -0,0 +1,49 @@
+package com.xuno.payment.exchangeconfig.store;
+
+import com.xuno.payment.common.storage.EmbeddedStorage;
+import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EmbeddedExchangeConfigStore Tests")
+class EmbeddedExchangeConfigStoreTest extends ExchangeConfigStoreContractTest {
+
+    @TempDir
+    private Path directory;
+
+    private EmbeddedStorage storage;
+
+    @Override
+    protected ExchangeConfigStore createStore(MongoConverter converter) {
+        storage = new EmbeddedStorage(directory, 1, false, 0.5);
+        return new EmbeddedExchangeConfigStore(storage, converter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("Should rebuild its index from the log when reopened")
+    void testReopen() {
+        // Given
+        ExchangeRateConfiguration config = store.insert(config("USD", "EUR", "100.00", "1000.00", null));
+
+        // When
+        storage.close();
+        store = createStore(converter);
+
+        // Then
+        assertEquals(1, store.findMatchingConfig("USD", "EUR", new BigDecimal("250.00")).size());
+        assertEquals(config.getId(), store.findById(config.getId()).orElseThrow().getId());
+    }
+}
@@ -0,0 +1,110 @@
+package com.xuno.payment.exchangeconfig.store;
+
+import com.xuno.payment.config.MongoTestConverters;
+import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link ExchangeConfigStore} must share. Each implementation runs it through a
+ * subclass that supplies the store.
+ */
+abstract class ExchangeConfigStoreContractTest {
+
+    protected MappingMongoConverter converter;
+    protected ExchangeConfigStore store;
+
+    protected abstract ExchangeConfigStore createStore(MongoConverter converter) throws Exception;
+
+    @BeforeEach
+    void setUpStore() throws Exception {
+        converter = MongoTestConverters.converter();
+
+        store = createStore(converter);
+    }
+
+    @Test
+    @DisplayName("Should assign an id and timestamps on insert and read back a copy")
+    void testInsertAndFindById() {
+        // When
+        ExchangeRateConfiguration inserted = store.insert(config("USD", "EUR", "100.00", "1000.00", null));
+        ExchangeRateConfiguration loaded = store.findById(inserted.getId()).orElseThrow();
+
+        // Then
+        assertNotNull(inserted.getId());
+        assertNotNull(inserted.getCreatedAt());
+        assertNotNull(inserted.getUpdatedAt());
+        assertNotSame(inserted, loaded);
+        assertEquals(new BigDecimal("0.95"), loaded.getFxRate());
+        assertEquals(new BigDecimal("100.00"), loaded.getMinAmount());
+        assertEquals(List.of(inserted.getId()), store.findAll().stream().map(ExchangeRateConfiguration::getId).toList());
+        assertThrows(IllegalArgumentException.class, () -> store.insert(inserted));
+    }
+
+    @Test
+    @DisplayName("Should match the currency pair and inclusive amount range, newest first")
+    void testFindMatchingConfig() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        ExchangeRateConfiguration older = store.insert(config("USD", "EUR", "100.00", "1000.00", now.minusDays(1)));
+        ExchangeRateConfiguration newer = store.insert(config("USD", "EUR", "500.00", "5000.00", now));
+        store.insert(config("USD", "GBP", "100.00", "1000.00", now));
+
+        // When & Then
+        assertEquals(List.of(newer.getId(), older.getId()), matching("USD", "EUR", "500.00"));
+        assertEquals(List.of(older.getId()), matching("USD", "EUR", "100.00"));
+        assertEquals(List.of(newer.getId()), matching("USD", "EUR", "5000.00"));
+        assertEquals(List.of(), matching("USD", "EUR", "99.99"));
+        assertEquals(List.of(), matching("EUR", "USD", "500.00"));
+    }
+
+    @Test
+    @DisplayName("Should persist updates and hide soft-deleted configurations")
+    void testUpdateAndDelete() {
+        // Given
+        ExchangeRateConfiguration kept = store.insert(config("USD", "EUR", "100.00", "1000.00", null));
+        ExchangeRateConfiguration deleted = store.insert(config("USD", "EUR", "100.00", "1000.00", null));
+
+        // When
+        kept.setMaxAmount(new BigDecimal("2000.00"));
+        store.update(kept);
+        deleted.markAsDeleted();
+        store.update(deleted);
+
+        // Then
+        assertEquals(new BigDecimal("2000.00"), store.findById(kept.getId()).orElseThrow().getMaxAmount());
+        assertEquals(List.of(kept.getId()), matching("USD", "EUR", "1500.00"));
+        assertTrue(store.findById(deleted.getId()).isEmpty());
+        assertEquals(List.of(kept.getId()), store.findAll().stream().map(ExchangeRateConfiguration::getId).toList());
+        assertThrows(IllegalArgumentException.class, () -> store.update(config("USD", "EUR", "1.00", "2.00", null)));
+    }
+
+    private List<String> matching(String source, String target, String amount) {
+        return store.findMatchingConfig(source, target, new BigDecimal(amount)).stream()
+                .map(ExchangeRateConfiguration::getId)
+                .toList();
+    }
+
+    protected static ExchangeRateConfiguration config(String source, String target, String min, String max,
+                                                      LocalDateTime createdAt) {
+        return ExchangeRateConfiguration.builder()
+                .sourceCurrency(source)
+                .targetCurrency(target)
+                .minAmount(new BigDecimal(min))
+                .maxAmount(new BigDecimal(max))
+                .fxRate(new BigDecimal("0.95"))
+                .feeFlat(new BigDecimal("10.00"))
+                .feePercent(new BigDecimal("0.04"))
+                .createdAt(createdAt)
+                .build();
+    }
+}
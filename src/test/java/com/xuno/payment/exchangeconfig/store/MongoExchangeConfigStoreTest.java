@@ -0,0 +1,18 @@
+package com.xuno.payment.exchangeconfig.store;
+
+import com.xuno.payment.exchangeconfig.repository.InMemoryExchangeConfigRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Runs the contract against {@link MongoExchangeConfigStore} backed by
+ * {@link InMemoryExchangeConfigRepository}, since unit tests have no Mongo server.
+ */
+@DisplayName("MongoExchangeConfigStore Tests")
+class MongoExchangeConfigStoreTest extends ExchangeConfigStoreContractTest {
+
+    @Override
+    protected ExchangeConfigStore createStore(MongoConverter converter) {
+        return new MongoExchangeConfigStore(new InMemoryExchangeConfigRepository(converter));
+    }
+}
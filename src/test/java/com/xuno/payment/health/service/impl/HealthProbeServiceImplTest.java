@@ -0,0 +1,194 @@
+package com.xuno.payment.health.service.impl;
+
+import com.xuno.payment.common.index.MongoIndexManager;
+import com.xuno.payment.common.mongo.MongoPoolMonitor;
+import com.xuno.payment.health.model.dto.ProbeResponse;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HealthProbeService Tests")
+class HealthProbeServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoPoolMonitor poolMonitor;
+
+    @Mock
+    private MongoIndexManager indexManager;
+
+    @Mock
+    private ObjectProvider<ThreadPoolTaskExecutor> taskExecutor;
+
+    @Mock
+    private ObjectProvider<MongoTemplate> mongoTemplateProvider;
+
+    @Mock
+    private ObjectProvider<MongoIndexManager> indexManagerProvider;
+
+    private ApplicationAvailabilityBean availability;
+    private HealthProbeServiceImpl probeService;
+
+    @BeforeEach
+    void setUp() {
+        availability = new ApplicationAvailabilityBean();
+        AvailabilityChangeEvent.publish(event -> availability.onApplicationEvent((AvailabilityChangeEvent<?>) event),
+                this, LivenessState.CORRECT);
+        AvailabilityChangeEvent.publish(event -> availability.onApplicationEvent((AvailabilityChangeEvent<?>) event),
+                this, ReadinessState.ACCEPTING_TRAFFIC);
+
+        lenient().when(mongoTemplateProvider.getIfAvailable()).thenReturn(mongoTemplate);
+        lenient().when(indexManagerProvider.getIfAvailable()).thenReturn(indexManager);
+        lenient().when(indexManager.getState()).thenReturn(MongoIndexManager.State.READY);
+        lenient().when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(new Document("ok", 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (probeService != null) {
+            probeService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should report ready and reuse the result within the cache TTL")
+    void testReadyAndCached() {
+        // Given
+        probeService = probeService(60_000);
+
+        // When
+        ProbeResponse first = probeService.readiness();
+        ProbeResponse second = probeService.readiness();
+
+        // Then
+        assertTrue(first.isUp());
+        assertSame(first, second);
+        assertEquals("no queueing task executor",
+                first.getChecks().get(HealthProbeServiceImpl.QUEUE_DEPTH).getDetail());
+        verify(mongoTemplate, times(1)).executeCommand(any(Document.class));
+    }
+
+    @Test
+    @DisplayName("Should refuse traffic when Mongo does not answer and accept it again once it does")
+    void testRefusesAndRecovers() {
+        // Given
+        probeService = probeService(0);
+        when(mongoTemplate.executeCommand(any(Document.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(500);
+                    return new Document("ok", 1);
+                })
+                .thenReturn(new Document("ok", 1));
+
+        // When
+        ProbeResponse down = probeService.readiness();
+
+        // Then
+        assertFalse(down.isUp());
+        assertEquals(ProbeResponse.DOWN, down.getChecks().get(HealthProbeServiceImpl.MONGO_PING).getStatus());
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, availability.getReadinessState());
+
+        // When
+        ProbeResponse up = awaitReady();
+
+        // Then
+        assertTrue(up.isUp());
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+    }
+
+    @Test
+    @DisplayName("Should refuse traffic for a failed index build only, and not lift a refusal it did not publish")
+    void testIndexesAndForeignRefusal() {
+        // Given
+        probeService = probeService(0);
+        when(indexManager.getState()).thenReturn(MongoIndexManager.State.BUILDING);
+
+        // When
+        ProbeResponse building = probeService.readiness();
+
+        // Then
+        assertTrue(building.isUp());
+        assertEquals("BUILDING, serving on existing indexes",
+                building.getChecks().get(HealthProbeServiceImpl.INDEXES).getDetail());
+
+        // Given
+        when(indexManager.getState()).thenReturn(MongoIndexManager.State.FAILED);
+        when(indexManager.getMissingIndexes()).thenReturn(List.of("payments.status_created_idx"));
+
+        // When
+        ProbeResponse failed = probeService.readiness();
+
+        // Then
+        assertFalse(failed.isUp());
+        assertEquals("FAILED, missing: [payments.status_created_idx]",
+                failed.getChecks().get(HealthProbeServiceImpl.INDEXES).getDetail());
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, availability.getReadinessState());
+
+        // Given
+        when(indexManager.getState()).thenReturn(MongoIndexManager.State.READY);
+        AvailabilityChangeEvent.publish(event -> availability.onApplicationEvent((AvailabilityChangeEvent<?>) event),
+                this, ReadinessState.REFUSING_TRAFFIC);
+
+        // When
+        ProbeResponse shuttingDown = probeService.readiness();
+
+        // Then
+        assertFalse(shuttingDown.isUp());
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, availability.getReadinessState());
+        assertEquals(ProbeResponse.UP, probeService.liveness().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should check only the async queue when storage is embedded and there is no Mongo")
+    void testEmbeddedStorage() {
+        // Given
+        when(mongoTemplateProvider.getIfAvailable()).thenReturn(null);
+        when(indexManagerProvider.getIfAvailable()).thenReturn(null);
+        probeService = probeService(0);
+
+        // When
+        ProbeResponse response = probeService.readiness();
+
+        // Then
+        assertTrue(response.isUp());
+        assertFalse(response.getChecks().containsKey(HealthProbeServiceImpl.MONGO_PING));
+        assertFalse(response.getChecks().containsKey(HealthProbeServiceImpl.INDEXES));
+        assertTrue(response.getChecks().containsKey(HealthProbeServiceImpl.QUEUE_DEPTH));
+        verifyNoInteractions(mongoTemplate, poolMonitor);
+    }
+
+    private HealthProbeServiceImpl probeService(long cacheTtlMs) {
+        return new HealthProbeServiceImpl(mongoTemplateProvider, poolMonitor, indexManagerProvider, taskExecutor,
+                availability, event -> availability.onApplicationEvent((AvailabilityChangeEvent<?>) event),
+                250, 100, 100, 1000, cacheTtlMs);
+    }
+
+    private ProbeResponse awaitReady() {
+        ProbeResponse response = probeService.readiness();
+        for (int attempt = 0; attempt < 50 && !response.isUp(); attempt++) {
+            response = probeService.readiness();
+        }
+        return response;
+    }
+}
@@ -0,0 +1,34 @@
+package com.xuno.payment.loadtest;
+
+import com.xuno.payment.analytics.model.dto.PaymentRollupResponse;
+import com.xuno.payment.analytics.service.PaymentRollupService;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Drops rollup updates. The load test does not exercise analytics, and the real service upserts
+ * through {@code MongoTemplate}, which the in-memory store cannot serve.
+ */
+class DiscardingPaymentRollupService implements PaymentRollupService {
+
+    @Override
+    public void recordCreated(Payment payment) {
+    }
+
+    @Override
+    public void recordStatusChange(Payment payment, PaymentStatus previousStatus) {
+    }
+
+    @Override
+    public List<PaymentRollupResponse> findRollups(LocalDate dateFrom, LocalDate dateTo, String corridor,
+                                                   PaymentStatus status) {
+        return List.of();
+    }
+
+    @Override
+    public void rebuild() {
+    }
+}
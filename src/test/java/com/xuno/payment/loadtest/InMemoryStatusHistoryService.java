@@ -0,0 +1,44 @@
+package com.xuno.payment.loadtest;
+
+import com.xuno.payment.payment.model.valueobject.StatusHistory;
+import com.xuno.payment.payment.service.StatusHistoryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps status history in memory instead of the {@code payment_status_history} buckets, which
+ * {@code StatusHistoryServiceImpl} writes through {@code MongoTemplate} upserts.
+ */
+class InMemoryStatusHistoryService implements StatusHistoryService {
+
+    private final ConcurrentMap<String, List<StatusHistory>> histories = new ConcurrentHashMap<>();
+
+    @Override
+    public void append(String paymentId, StatusHistory history) {
+        List<StatusHistory> events = histories.computeIfAbsent(paymentId, id -> new ArrayList<>());
+        synchronized (events) {
+            events.add(history);
+        }
+    }
+
+    @Override
+    public void appendAll(String paymentId, List<StatusHistory> histories) {
+        for (StatusHistory history : histories) {
+            append(paymentId, history);
+        }
+    }
+
+    @Override
+    public List<StatusHistory> findByPaymentId(String paymentId) {
+        List<StatusHistory> events = histories.get(paymentId);
+        if (events == null) {
+            return new ArrayList<>();
+        }
+        synchronized (events) {
+            return new ArrayList<>(events);
+        }
+    }
+}
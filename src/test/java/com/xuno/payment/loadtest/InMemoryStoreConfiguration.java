@@ -0,0 +1,46 @@
+package com.xuno.payment.loadtest;
+
+import com.xuno.payment.analytics.service.PaymentRollupService;
+import com.xuno.payment.exchangeconfig.repository.ExchangeConfigRepository;
+import com.xuno.payment.exchangeconfig.repository.InMemoryExchangeConfigRepository;
+import com.xuno.payment.payment.repository.InMemoryPaymentRepository;
+import com.xuno.payment.payment.repository.PaymentRepository;
+import com.xuno.payment.payment.service.StatusHistoryService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Replaces every store the request path writes to with an in-memory one when
+ * {@code loadtest.store=memory} (the default), so the full HTTP stack runs without a Mongo server.
+ */
+@TestConfiguration
+@ConditionalOnProperty(name = "loadtest.store", havingValue = LoadTestSettings.MEMORY_STORE, matchIfMissing = true)
+class InMemoryStoreConfiguration {
+
+    @Bean
+    @Primary
+    PaymentRepository inMemoryPaymentRepository(MongoConverter converter) {
+        return new InMemoryPaymentRepository(converter);
+    }
+
+    @Bean
+    @Primary
+    ExchangeConfigRepository inMemoryExchangeConfigRepository(MongoConverter converter) {
+        return new InMemoryExchangeConfigRepository(converter);
+    }
+
+    @Bean
+    @Primary
+    StatusHistoryService inMemoryStatusHistoryService() {
+        return new InMemoryStatusHistoryService();
+    }
+
+    @Bean
+    @Primary
+    PaymentRollupService discardingPaymentRollupService() {
+        return new DiscardingPaymentRollupService();
+    }
+}
@@ -0,0 +1,258 @@
+package com.xuno.payment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator. Requests are scheduled at fixed intervals for the target rate and
+ * each runs on its own virtual thread, so a slow response never delays the requests after it. Latency
+ * is measured from when a request was scheduled to start, not from when it was actually sent, so
+ * time a request spent waiting behind a stalled generator or a full in-flight limit is counted
+ * instead of silently omitted (coordinated omission).
+ */
+class LoadDriver {
+
+    private static final int ADMIN_IDS = 64;
+    private static final int RECENT_PAYMENTS = 4096;
+    private static final int VALIDATION_BACKLOG = 10_000;
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String PAYMENT_TEMPLATE = """
+            {"idempotencyKey":"%s",\
+            "sender":{"name":"John Doe","address":"123 Main St, New York, NY 10001",\
+            "fundingAccount":{"accountNumber":"1234567890","bankCode":"BANK001","routingNumber":"987654321"}},\
+            "receiver":{"name":"Jane Smith","address":"456 Oak Ave, Berlin, Germany",\
+            "account":{"accountNumber":"9876543210","bankCode":"BANK002","swiftCode":"SWIFT123"}},\
+            "sourceCurrency":"USD","targetCurrency":"EUR","sourceCountry":"US","destinationCountry":"DE",\
+            "sourceAmount":%d.00,"purpose":"Load test","corridor":"US-EU"}""";
+    private static final String EXCHANGE_CONFIG = """
+            {"sourceCurrency":"USD","targetCurrency":"EUR","minAmount":100.00,"maxAmount":100000.00,\
+            "fxRate":0.95,"feeFlat":10.00,"feePercent":0.04}""";
+    private static final String APPROVAL = """
+            {"status":"APPROVED","note":"Approved by load test"}""";
+
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(clientExecutor)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final LoadEndpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    private final AtomicReferenceArray<String> recentPayments = new AtomicReferenceArray<>(RECENT_PAYMENTS);
+    private final AtomicLong createdPayments = new AtomicLong();
+    private final BlockingQueue<String> awaitingValidation = new LinkedBlockingQueue<>(VALIDATION_BACKLOG);
+
+    LoadDriver(URI baseUri, LoadTestSettings settings) {
+        this.baseUri = baseUri;
+        this.settings = settings;
+
+        this.endpoints = settings.mix().keySet().toArray(LoadEndpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += settings.mix().get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /** Creates the USD to EUR configuration every generated payment matches. */
+    void seedExchangeConfig() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(request("/api/v1/exchange-configs", "load-admin-seed")
+                .POST(HttpRequest.BodyPublishers.ofString(EXCHANGE_CONFIG)));
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Could not create exchange config: " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    /** Drives the configured mix at the configured rate for {@code duration}, then waits for stragglers. */
+    LoadRun run(Duration duration) {
+        Map<LoadEndpoint, EndpointRecorder> recorders = new EnumMap<>(LoadEndpoint.class);
+        for (LoadEndpoint endpoint : LoadEndpoint.values()) {
+            recorders.put(endpoint, new EndpointRecorder());
+        }
+
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        long start = System.nanoTime();
+        long durationNanos = duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long offset = i * 1_000_000_000L / settings.rate();
+                if (offset >= durationNanos) {
+                    break;
+                }
+                long intendedStart = start + offset;
+                parkUntil(intendedStart);
+
+                Call call = nextCall();
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        recorders.get(call.endpoint()).record(intendedStart, execute(call));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return new LoadRun(recorders, System.nanoTime() - start);
+    }
+
+    void close() {
+        client.close();
+        clientExecutor.shutdownNow();
+    }
+
+    private Call nextCall() {
+        LoadEndpoint endpoint = pickEndpoint();
+        return switch (endpoint) {
+            case VALIDATE -> {
+                String id = awaitingValidation.poll();
+                yield id != null ? new Call(LoadEndpoint.VALIDATE, id) : new Call(LoadEndpoint.CREATE, null);
+            }
+            case FIND -> {
+                String id = randomRecentPayment();
+                yield id != null ? new Call(LoadEndpoint.FIND, id) : new Call(LoadEndpoint.CREATE, null);
+            }
+            default -> new Call(endpoint, null);
+        };
+    }
+
+    private boolean execute(Call call) {
+        String adminId = "load-admin-" + ThreadLocalRandom.current().nextInt(ADMIN_IDS);
+        try {
+            return switch (call.endpoint()) {
+                case CREATE -> create(adminId);
+                case VALIDATE -> succeeded(send(request("/api/v1/payments/" + call.paymentId() + "/validate", adminId)
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(APPROVAL))));
+                case LIST -> succeeded(send(request("/api/v1/payments?page=0&size=20", adminId).GET()));
+                case FIND -> succeeded(send(request("/api/v1/payments/" + call.paymentId(), adminId).GET()));
+            };
+        } catch (IOException | RuntimeException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean create(String adminId) throws IOException, InterruptedException {
+        long amount = ThreadLocalRandom.current().nextLong(100, 5_000);
+        String body = PAYMENT_TEMPLATE.formatted(UUID.randomUUID(), amount);
+
+        HttpResponse<String> response = send(request("/api/v1/payments", adminId)
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (!succeeded(response)) {
+            return false;
+        }
+
+        JsonNode id = objectMapper.readTree(response.body()).path("data").path("id");
+        if (id.isTextual()) {
+            long index = createdPayments.getAndIncrement();
+            recentPayments.set((int) (index % RECENT_PAYMENTS), id.asText());
+            awaitingValidation.offer(id.asText());
+        }
+        return true;
+    }
+
+    private String randomRecentPayment() {
+        long created = createdPayments.get();
+        if (created == 0) {
+            return null;
+        }
+        int bound = (int) Math.min(created, RECENT_PAYMENTS);
+        return recentPayments.get(ThreadLocalRandom.current().nextInt(bound));
+    }
+
+    private LoadEndpoint pickEndpoint() {
+        int ticket = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private HttpRequest.Builder request(String path, String adminId) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .header("X-Admin-Id", adminId);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean succeeded(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private record Call(LoadEndpoint endpoint, String paymentId) {
+    }
+
+    /** Latencies (microseconds, from the scheduled start) and failures of one endpoint. */
+    static final class EndpointRecorder {
+
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long intendedStart, boolean succeeded) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+            latencies.recordValue(Math.min(Math.max(micros, 1), HIGHEST_LATENCY_MICROS));
+            if (!succeeded) {
+                errors.increment();
+            }
+        }
+
+        Histogram latencies() {
+            return latencies;
+        }
+
+        long errors() {
+            return errors.sum();
+        }
+    }
+
+    record LoadRun(Map<LoadEndpoint, EndpointRecorder> recorders, long elapsedNanos) {
+    }
+}
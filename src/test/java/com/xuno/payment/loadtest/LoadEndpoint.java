@@ -0,0 +1,23 @@
+package com.xuno.payment.loadtest;
+
+/**
+ * Endpoints driven by the load test, named by their route so reports line up with the
+ * {@code endpoint} field in the application's logs.
+ */
+enum LoadEndpoint {
+
+    CREATE("POST /api/v1/payments"),
+    VALIDATE("PATCH /api/v1/payments/{id}/validate"),
+    LIST("GET /api/v1/payments"),
+    FIND("GET /api/v1/payments/{id}");
+
+    private final String route;
+
+    LoadEndpoint(String route) {
+        this.route = route;
+    }
+
+    String route() {
+        return route;
+    }
+}
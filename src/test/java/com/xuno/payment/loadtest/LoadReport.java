@@ -0,0 +1,162 @@
+package com.xuno.payment.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of one measured load run, written as JSON so it can be kept as a baseline and compared
+ * against later runs. Latencies are milliseconds, throughput is successful requests per second.
+ */
+record LoadReport(String store, int targetRate, long durationSeconds, double throughput,
+                  Map<String, EndpointReport> endpoints) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Map<String, Double> GATED_PERCENTILES = new TreeMap<>(Map.of("p99", 99.0, "p99.9", 99.9));
+
+    record EndpointReport(long count, long errors, double throughput, double p50Ms, double p99Ms, double p999Ms) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    static LoadReport of(LoadTestSettings settings, LoadDriver.LoadRun run) {
+        double seconds = run.elapsedNanos() / 1e9;
+        Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+        long succeeded = 0;
+
+        for (var entry : run.recorders().entrySet()) {
+            Histogram latencies = entry.getValue().latencies();
+            long count = latencies.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            long errors = entry.getValue().errors();
+            succeeded += count - errors;
+            endpoints.put(entry.getKey().name(), new EndpointReport(
+                    count,
+                    errors,
+                    round((count - errors) / seconds),
+                    millis(latencies, 50),
+                    millis(latencies, 99),
+                    millis(latencies, 99.9)));
+        }
+
+        return new LoadReport(settings.store(), settings.rate(), settings.duration().toSeconds(),
+                round(succeeded / seconds), endpoints);
+    }
+
+    static LoadReport read(Path path) throws IOException {
+        return OBJECT_MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+
+    void write(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        OBJECT_MAPPER.writeValue(path.toFile(), this);
+    }
+
+    /** Endpoints whose share of failed requests is above {@code maxErrorRate}. */
+    List<String> errorRateViolations(double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        endpoints.forEach((name, endpoint) -> {
+            if (endpoint.errorRate() > maxErrorRate) {
+                violations.add("%s failed %d of %d requests".formatted(name, endpoint.errors(), endpoint.count()));
+            }
+        });
+        return violations;
+    }
+
+    /**
+     * Compares this run with {@code baseline}: overall throughput may not drop by more than the
+     * throughput tolerance, and no endpoint's p99 or p99.9 may grow by more than the latency
+     * tolerance plus the noise floor. A percentile is only compared when both runs have enough
+     * samples above it (see {@link #ungatedPercentiles}); below that it is set by a handful of requests
+     * and would fail or pass on noise.
+     */
+    List<String> regressionsAgainst(LoadReport baseline, LoadTestSettings settings) {
+        List<String> regressions = new ArrayList<>();
+
+        double minThroughput = baseline.throughput() * (1 - settings.throughputTolerance());
+        if (throughput < minThroughput) {
+            regressions.add("throughput %.2f/s is below %.2f/s (baseline %.2f/s)"
+                    .formatted(throughput, minThroughput, baseline.throughput()));
+        }
+
+        baseline.endpoints().forEach((name, expected) -> {
+            EndpointReport actual = endpoints.get(name);
+            if (actual == null) {
+                return;
+            }
+            if (gated(actual, expected, 99, settings)) {
+                checkLatency(regressions, name, "p99", actual.p99Ms(), expected.p99Ms(), settings);
+            }
+            if (gated(actual, expected, 99.9, settings)) {
+                checkLatency(regressions, name, "p99.9", actual.p999Ms(), expected.p999Ms(), settings);
+            }
+        });
+        return regressions;
+    }
+
+    /** Endpoint percentiles {@link #regressionsAgainst} skips because either run has too few samples. */
+    List<String> ungatedPercentiles(LoadReport baseline, LoadTestSettings settings) {
+        List<String> ungated = new ArrayList<>();
+        baseline.endpoints().forEach((name, expected) -> {
+            EndpointReport actual = endpoints.get(name);
+            if (actual == null) {
+                return;
+            }
+            GATED_PERCENTILES.forEach((label, percentile) -> {
+                if (!gated(actual, expected, percentile, settings)) {
+                    ungated.add("%s %s (%d requests, baseline %d)".formatted(name, label, actual.count(),
+                            expected.count()));
+                }
+            });
+        });
+        return ungated;
+    }
+
+    String summary() {
+        StringBuilder summary = new StringBuilder()
+                .append("Load test against %s store at %d req/s for %d s: %.2f successful req/s%n"
+                        .formatted(store, targetRate, durationSeconds, throughput))
+                .append("%-40s %8s %7s %9s %9s %9s %9s%n"
+                        .formatted("endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms"));
+        endpoints.forEach((name, endpoint) -> summary.append("%-40s %8d %7d %9.2f %9.2f %9.2f %9.2f%n".formatted(
+                LoadEndpoint.valueOf(name).route(), endpoint.count(), endpoint.errors(), endpoint.throughput(),
+                endpoint.p50Ms(), endpoint.p99Ms(), endpoint.p999Ms())));
+        return summary.toString();
+    }
+
+    private static void checkLatency(List<String> regressions, String endpoint, String percentile,
+                                     double actual, double expected, LoadTestSettings settings) {
+        double limit = Math.max(expected * (1 + settings.latencyTolerance()), expected + settings.latencyFloorMs());
+        if (actual > limit) {
+            regressions.add("%s %s %.2f ms is above %.2f ms (baseline %.2f ms)"
+                    .formatted(endpoint, percentile, actual, limit, expected));
+        }
+    }
+
+    private static boolean gated(EndpointReport actual, EndpointReport expected, double percentile,
+                                 LoadTestSettings settings) {
+        double tail = (100 - percentile) / 100;
+        return Math.min(actual.count(), expected.count()) * tail >= settings.minTailSamples();
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return round(latencies.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
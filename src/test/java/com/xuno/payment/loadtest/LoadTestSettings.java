@@ -0,0 +1,106 @@
+package com.xuno.payment.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties so they can be passed on the
+ * Maven command line ({@code mvn test -Pload-test -Dloadtest.rate=400}).
+ *
+ * @param store                which store the application runs against: {@code memory} or {@code mongo}
+ * @param rate                 requests per second, spread evenly whatever the responses take
+ * @param mix                  relative weight of each endpoint in the traffic
+ * @param throughputTolerance  fraction of the baseline throughput that may be lost before failing
+ * @param latencyTolerance     fraction by which p99/p99.9 may exceed the baseline before failing
+ * @param latencyFloorMs       latency growth below this is treated as noise, whatever the fraction
+ * @param maxErrorRate         fraction of failed requests per endpoint above which the run fails
+ * @param minTailSamples       samples a percentile needs above it, in the run and the baseline, to be
+ *                             compared at all; with 10, p99 needs 1,000 requests and p99.9 10,000
+ * @param updateBaseline       write this run's report as the new baseline instead of comparing
+ */
+record LoadTestSettings(String store,
+                        int rate,
+                        Duration warmup,
+                        Duration duration,
+                        int maxInFlight,
+                        Map<LoadEndpoint, Integer> mix,
+                        double throughputTolerance,
+                        double latencyTolerance,
+                        double latencyFloorMs,
+                        double maxErrorRate,
+                        int minTailSamples,
+                        boolean updateBaseline,
+                        Path baselineDir,
+                        Path reportDir) {
+
+    static final String MEMORY_STORE = "memory";
+    static final String MONGO_STORE = "mongo";
+
+    private static final String PREFIX = "loadtest.";
+
+    static LoadTestSettings fromSystemProperties() {
+        String store = property("store", MEMORY_STORE);
+        if (!MEMORY_STORE.equals(store) && !MONGO_STORE.equals(store)) {
+            throw new IllegalArgumentException("loadtest.store must be memory or mongo: " + store);
+        }
+
+        return new LoadTestSettings(
+                store,
+                Integer.parseInt(property("rate", "100")),
+                Duration.ofSeconds(Long.parseLong(property("warmup-seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(property("duration-seconds", "300"))),
+                Integer.parseInt(property("max-in-flight", "512")),
+                parseMix(property("mix", "create=30,validate=10,list=20,find=40")),
+                Double.parseDouble(property("throughput-tolerance", "0.1")),
+                Double.parseDouble(property("latency-tolerance", "0.5")),
+                Double.parseDouble(property("latency-floor-ms", "5")),
+                Double.parseDouble(property("max-error-rate", "0.01")),
+                Integer.parseInt(property("min-tail-samples", "10")),
+                Boolean.parseBoolean(property("update-baseline", "false")),
+                Path.of(property("baseline-dir", "src/test/resources/loadtest")),
+                Path.of(property("report-dir", "target/loadtest")));
+    }
+
+    boolean inMemory() {
+        return MEMORY_STORE.equals(store);
+    }
+
+    Path baselineFile() {
+        return baselineDir.resolve("baseline-" + store + ".json");
+    }
+
+    Path reportFile() {
+        return reportDir.resolve("report-" + store + ".json");
+    }
+
+    /** Parses {@code create=30,find=40}; endpoints left out get no traffic. */
+    static Map<LoadEndpoint, Integer> parseMix(String mix) {
+        Map<LoadEndpoint, Integer> weights = new EnumMap<>(LoadEndpoint.class);
+        for (String entry : mix.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + trimmed);
+            }
+            LoadEndpoint endpoint = LoadEndpoint.valueOf(trimmed.substring(0, separator).trim().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(trimmed.substring(separator + 1).trim());
+            if (weight > 0) {
+                weights.put(endpoint, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no endpoint with a positive weight: " + mix);
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+}
@@ -0,0 +1,98 @@
+package com.xuno.payment.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Boots the whole application on a random port and drives mixed create/validate/list/find traffic
+ * through HTTP, then compares p99/p99.9 and throughput with the stored baseline. Excluded from the
+ * default build; run with {@code mvn test -Pload-test} (see "Load Testing" in the README).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.config.import=classpath:application.example.yml",
+        "app.encryption.secret=EwN+d+xQXYGA28FUrh2uajP8KPkOHeETo3Bl6TlBoJw=",
+        "logging.level.com.xuno.payment=WARN",
+        "logging.level.com.xuno.payment.loadtest=INFO"
+})
+@Import(InMemoryStoreConfiguration.class)
+@DisplayName("Payment Load Tests")
+@Slf4j
+class PaymentLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Without Mongo, point the client at a closed port so anything that still reaches for Mongo fails
+     * fast and shows up as errors, and switch off the startup jobs that only talk to Mongo.
+     */
+    @DynamicPropertySource
+    static void storeProperties(DynamicPropertyRegistry registry) {
+        if (LoadTestSettings.fromSystemProperties().inMemory()) {
+            registry.add("spring.data.mongodb.uri", () -> "mongodb://localhost:1/loadtest?serverSelectionTimeoutMS=200");
+            registry.add("app.mongo.index-management.enabled", () -> "false");
+            registry.add("app.mongo.decimal128-migration.enabled", () -> "false");
+            registry.add("app.mongo.compact-schema-migration.enabled", () -> "false");
+        }
+    }
+
+    @Test
+    @DisplayName("Should sustain mixed traffic at the target rate within the baseline")
+    void testMixedTraffic() throws Exception {
+        // Given
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + port), settings);
+        LoadReport report;
+        try {
+            driver.seedExchangeConfig();
+            driver.run(settings.warmup());
+
+            // When
+            report = LoadReport.of(settings, driver.run(settings.duration()));
+        } finally {
+            driver.close();
+        }
+
+        // Then
+        report.summary().lines().forEach(log::info);
+        report.write(settings.reportFile());
+
+        Path baseline = settings.baselineFile();
+        if (settings.updateBaseline()) {
+            report.write(baseline);
+            log.info("Baseline written to {}", baseline.toAbsolutePath());
+            return;
+        }
+
+        List<String> violations = report.errorRateViolations(settings.maxErrorRate());
+        assertTrue(violations.isEmpty(), () -> "Error rate above " + settings.maxErrorRate() + ": " + violations);
+
+        assumeTrue(Files.exists(baseline), () -> "No baseline at " + baseline.toAbsolutePath()
+                + "; run with -Dloadtest.update-baseline=true to record one");
+        LoadReport expected = LoadReport.read(baseline);
+        assumeTrue(expected.targetRate() == report.targetRate(), () -> "Baseline was recorded at "
+                + expected.targetRate() + " req/s, not " + report.targetRate());
+        List<String> ungated = report.ungatedPercentiles(expected, settings);
+        if (!ungated.isEmpty()) {
+            log.warn("Too few samples to compare with the baseline, not gated: {}", ungated);
+        }
+        List<String> regressions = report.regressionsAgainst(expected, settings);
+        assertTrue(regressions.isEmpty(), () -> "Regressed against " + baseline + ": " + regressions);
+    }
+}
@@ -0,0 +1,165 @@
+package com.xuno.payment.payment.archive;
+
+import com.xuno.payment.common.migration.SchemaUpcaster;
+import com.xuno.payment.config.MongoTestConverters;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PaymentArchive Tests")
+class PaymentArchiveTest {
+
+    private static final int BLOCK_SIZE = 2;
+
+    @TempDir
+    private Path directory;
+
+    private MappingMongoConverter converter;
+    private SchemaUpcaster upcaster;
+    private PaymentArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        converter = MongoTestConverters.converter();
+        upcaster = new SchemaUpcaster(MongoTestConverters.mappingContext(converter));
+
+        archive = new PaymentArchive(converter, upcaster, directory.toString(), BLOCK_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should find an archived payment by id with its amounts intact")
+    void testFindById() {
+        // Given
+        LocalDateTime start = LocalDateTime.now().minusDays(200).truncatedTo(ChronoUnit.MILLIS);
+        List<Document> documents = documents(start, 5);
+        archive.writeSegment("payments", documents);
+        String id = documents.get(3).getObjectId("_id").toHexString();
+
+        // When
+        Optional<Payment> result = archive.findById(id);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(id, result.get().getId());
+        assertEquals(PaymentStatus.DELIVERED, result.get().getStatus());
+        assertEquals(0, new BigDecimal("103.50").compareTo(result.get().getSourceAmount()));
+        assertEquals(start.plusHours(3), result.get().getCreatedAt());
+        assertTrue(archive.findById(new ObjectId().toHexString()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should load segments written by a previous instance")
+    void testReloadSegments() throws Exception {
+        // Given
+        List<Document> documents = documents(LocalDateTime.now().minusDays(200), 3);
+        archive.writeSegment("payments_202401", documents);
+
+        // When
+        PaymentArchive reloaded = new PaymentArchive(converter, upcaster, directory.toString(), BLOCK_SIZE);
+
+        // Then
+        assertTrue(reloaded.findById(documents.get(2).getObjectId("_id").toHexString()).isPresent());
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore a segment whose index was never written")
+    void testIgnoresIncompleteSegment() throws Exception {
+        // Given
+        Files.write(directory.resolve("segment-incomplete-payments.seg"), new byte[]{1, 2, 3});
+
+        // When
+        PaymentArchive reloaded = new PaymentArchive(converter, upcaster, directory.toString(), BLOCK_SIZE);
+
+        // Then
+        assertTrue(reloaded.findById(new ObjectId().toHexString()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return archived payments created within a date range")
+    void testFindCreatedBetween() {
+        // Given
+        LocalDateTime start = LocalDateTime.now().minusDays(200).truncatedTo(ChronoUnit.MILLIS);
+        archive.writeSegment("payments", documents(start, 6));
+
+        // When
+        List<Payment> result = archive.findCreatedBetween(start.plusHours(1), start.plusHours(3));
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(start.plusHours(1), result.getFirst().getCreatedAt());
+        assertEquals(start.plusHours(3), result.getLast().getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should find an archived payment by reference from the blocks created around its ULID")
+    void testFindByReference() {
+        // Given
+        LocalDateTime start = LocalDateTime.now().minusDays(200).truncatedTo(ChronoUnit.MILLIS);
+        List<Document> documents = documents(start, 5);
+        String reference = reference(start.plusHours(3));
+        documents.get(3).put("ref", reference);
+        archive.writeSegment("payments", documents);
+
+        // When
+        Optional<Payment> result = archive.findByReference(reference);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(documents.get(3).getObjectId("_id").toHexString(), result.get().getId());
+        assertTrue(archive.findByReference(reference(start.plusHours(2))).isEmpty());
+        assertTrue(archive.findByReference("TXN-q2RUj0o6y6cPVEBT3_nR9A").isEmpty());
+        assertEquals(start.plusHours(4), archive.newestCreatedAt().orElseThrow());
+    }
+
+    /**
+     * A transaction reference whose ULID carries {@code createdAt}.
+     */
+    private static String reference(LocalDateTime createdAt) {
+        String encoding = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+        long timestamp = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        char[] time = new char[10];
+        for (int i = 9; i >= 0; i--) {
+            time[i] = encoding.charAt((int) (timestamp & 31));
+            timestamp >>>= 5;
+        }
+        return "TXN-" + new String(time) + "0000000000000000";
+    }
+
+    private List<Document> documents(LocalDateTime start, int count) {
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Payment payment = Payment.builder()
+                    .id(new ObjectId().toHexString())
+                    .status(PaymentStatus.DELIVERED)
+                    .sourceAmount(new BigDecimal("100.50").add(BigDecimal.valueOf(i)))
+                    .createdAt(start.plusHours(i))
+                    .deleted(false)
+                    .build();
+            Document document = new Document();
+            converter.write(payment, document);
+            documents.add(document);
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,81 @@
+package com.xuno.payment.payment.cache;
+
+import com.xuno.payment.payment.model.dto.PaymentDetailResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PaymentDetailCache Tests")
+class PaymentDetailCacheTest {
+
+    private final PaymentDetailCache cache = new PaymentDetailCache(100, 60, new SimpleMeterRegistry());
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should load once and serve later lookups from the cache")
+    void testReadThrough() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        PaymentDetailResponse first = cache.get("payment-1", id -> detail(id, loads));
+        PaymentDetailResponse second = cache.get("payment-1", id -> detail(id, loads));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not block an eviction on a running load nor keep what that load read")
+    void testEvictDuringLoad() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<PaymentDetailResponse> stale = executor.submit(() -> cache.get("payment-1", id -> {
+            loading.countDown();
+            await(release);
+            return detail(id, loads);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // When
+        Future<?> eviction = executor.submit(() -> cache.evict("payment-1"));
+        eviction.get(5, TimeUnit.SECONDS);
+        release.countDown();
+        stale.get(5, TimeUnit.SECONDS);
+        cache.get("payment-1", id -> detail(id, loads));
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    private static PaymentDetailResponse detail(String id, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return PaymentDetailResponse.builder().id(id).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.xuno.payment.payment.metrics;
+
+import com.xuno.payment.payment.exception.PaymentNotFoundException;
+import com.xuno.payment.payment.metrics.PaymentStageMetrics.StageTrace;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PaymentStageMetrics Tests")
+class PaymentStageMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private PaymentStageMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new PaymentStageMetrics(registry, 500, 2);
+    }
+
+    @Test
+    @DisplayName("Should record each stage and the whole operation tagged with corridor and outcome")
+    void testRecordStages() {
+        // Given
+        StageTrace trace = metrics.start("create").corridor("US-EU");
+
+        // When
+        trace.enter("idempotency");
+        trace.enter("save");
+        trace.finish();
+
+        // Then
+        Timer operation = registry.get(PaymentStageMetrics.OPERATION_METRIC)
+                .tags("operation", "create", "corridor", "US-EU", "outcome", PaymentStageMetrics.SUCCESS)
+                .timer();
+        Timer save = registry.get(PaymentStageMetrics.STAGE_METRIC)
+                .tags("operation", "create", "stage", "save", "corridor", "US-EU", "outcome", PaymentStageMetrics.SUCCESS)
+                .timer();
+        assertEquals(1, operation.count());
+        assertEquals(1, save.count());
+        assertEquals(2, registry.get(PaymentStageMetrics.STAGE_METRIC).timers().size());
+        assertTrue(trace.breakdown().startsWith("idempotency="));
+    }
+
+    @Test
+    @DisplayName("Should tag failed operations with their error code")
+    void testFailureOutcome() {
+        // Given
+        StageTrace trace = metrics.start("find");
+        trace.enter("load");
+
+        // When
+        trace.fail(PaymentNotFoundException.forId("missing"));
+        trace.finish();
+
+        // Then
+        assertEquals(1, registry.get(PaymentStageMetrics.STAGE_METRIC)
+                .tags("stage", "load", "outcome", "PAYMENT_NOT_FOUND", "corridor", PaymentStageMetrics.NO_CORRIDOR)
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Should fold corridors beyond the limit into a single tag value")
+    void testCorridorLimit() {
+        // When
+        metrics.start("create").corridor("US-EU").finish();
+        metrics.start("create").corridor(null).finish();
+        metrics.start("create").corridor("GB-IN").finish();
+
+        // Then
+        assertEquals(1, registry.get(PaymentStageMetrics.OPERATION_METRIC).tag("corridor", "US-EU").timer().count());
+        assertEquals(1, registry.get(PaymentStageMetrics.OPERATION_METRIC).tag("corridor", "UNASSIGNED").timer().count());
+        assertEquals(1, registry.get(PaymentStageMetrics.OPERATION_METRIC)
+                .tag("corridor", PaymentStageMetrics.OTHER_CORRIDOR).timer().count());
+    }
+}
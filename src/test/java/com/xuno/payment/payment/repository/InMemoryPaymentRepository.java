@@ -0,0 +1,166 @@
+package com.xuno.payment.payment.repository;
+
+import com.xuno.payment.common.mongo.InMemoryMongoRepository;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory {@link PaymentRepository} with the same semantics as {@link PaymentRepositoryImpl} on an
+ * unpartitioned store: ids derived from the creation time, soft-deleted payments hidden, and lists
+ * returned newest first. Idempotency keys, references and the list order are kept in concurrent
+ * indexes, so lookups do not scan.
+ */
+public class InMemoryPaymentRepository extends InMemoryMongoRepository<Payment> implements PaymentRepository {
+
+    private static final Comparator<RowKey> NEWEST_FIRST = Comparator
+            .comparing(RowKey::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(RowKey::id, Comparator.reverseOrder());
+
+    private final ConcurrentSkipListMap<RowKey, Row> rows = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+    private final ConcurrentMap<String, RowKey> keysById = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> idsByIdempotencyKey = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> idsByReference = new ConcurrentHashMap<>();
+
+    public InMemoryPaymentRepository(MongoConverter converter) {
+        super(converter, Payment.class);
+    }
+
+    @Override
+    protected void beforeSave(Payment payment, boolean isNew) {
+        Instant now = Instant.now();
+        if (isNew) {
+            payment.setId(new ObjectId(Date.from(now)).toHexString());
+            if (payment.getCreatedAt() == null) {
+                payment.setCreatedAt(LocalDateTime.ofInstant(now, ZoneId.systemDefault()));
+            }
+        }
+        payment.setUpdatedAt(LocalDateTime.ofInstant(now, ZoneId.systemDefault()));
+    }
+
+    @Override
+    protected void afterSave(String id, Payment stored) {
+        RowKey key = new RowKey(stored.getCreatedAt(), id);
+        RowKey previous = keysById.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            rows.remove(previous);
+        }
+        rows.put(key, new Row(id, stored.getStatus(), stored.getSender() != null ? stored.getSender().getReferenceNumber() : null,
+                stored.isDeleted()));
+
+        if (stored.getIdempotencyKey() != null) {
+            idsByIdempotencyKey.put(stored.getIdempotencyKey(), id);
+        }
+        index(stored.getReferenceNumber(), id);
+        if (stored.getSender() != null) {
+            index(stored.getSender().getReferenceNumber(), id);
+        }
+        if (stored.getReceiver() != null) {
+            index(stored.getReceiver().getReferenceNumber(), id);
+        }
+    }
+
+    @Override
+    protected void afterDelete(String id) {
+        RowKey key = keysById.remove(id);
+        if (key != null) {
+            rows.remove(key);
+        }
+        idsByIdempotencyKey.values().remove(id);
+        idsByReference.values().removeIf(id::equals);
+    }
+
+    @Override
+    public Optional<Payment> findById(String id) {
+        return super.findById(id).filter(payment -> !payment.isDeleted());
+    }
+
+    @Override
+    public Optional<Payment> findByIdempotencyKey(String idempotencyKey) {
+        String id = idsByIdempotencyKey.get(idempotencyKey);
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    @Override
+    public Optional<String> findIdByReference(String reference) {
+        PaymentSpecification.byReference(reference);
+
+        String id = idsByReference.get(reference);
+        RowKey key = id == null ? null : keysById.get(id);
+        Row row = key == null ? null : rows.get(key);
+        return row == null || row.deleted() ? Optional.empty() : Optional.of(id);
+    }
+
+    @Override
+    public Page<Payment> findAll(Pageable pageable) {
+        return findAll(null, null, null, null, pageable);
+    }
+
+    @Override
+    public Page<Payment> findAll(PaymentStatus status, LocalDateTime dateFrom, LocalDateTime dateTo,
+                                 String senderReference, Pageable pageable) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        long limit = pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE;
+
+        long total = 0;
+        List<Payment> content = new ArrayList<>();
+        for (var entry : rows.entrySet()) {
+            if (!matches(entry.getKey(), entry.getValue(), status, dateFrom, dateTo, senderReference)) {
+                continue;
+            }
+            if (total >= offset && content.size() < limit) {
+                Payment payment = load(entry.getValue().id());
+                if (payment != null) {
+                    content.add(payment);
+                }
+            }
+            total++;
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private void index(String reference, String id) {
+        if (reference != null) {
+            idsByReference.put(reference, id);
+        }
+    }
+
+    private static boolean matches(RowKey key, Row row, PaymentStatus status, LocalDateTime dateFrom,
+                                   LocalDateTime dateTo, String senderReference) {
+        if (row.deleted()) {
+            return false;
+        }
+        if (status != null && status != row.status()) {
+            return false;
+        }
+        if (dateFrom != null && (key.createdAt() == null || key.createdAt().isBefore(dateFrom))) {
+            return false;
+        }
+        if (dateTo != null && (key.createdAt() == null || key.createdAt().isAfter(dateTo))) {
+            return false;
+        }
+        return senderReference == null || senderReference.equals(row.senderReference());
+    }
+
+    private record RowKey(LocalDateTime createdAt, String id) {
+    }
+
+    private record Row(String id, PaymentStatus status, String senderReference, boolean deleted) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.xuno.payment.payment.repository;
+
+import com.xuno.payment.config.MongoTestConverters;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.model.valueobject.SenderInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryPaymentRepository Tests")
+class InMemoryPaymentRepositoryTest {
+
+    private InMemoryPaymentRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        MappingMongoConverter converter = MongoTestConverters.converter();
+
+        repository = new InMemoryPaymentRepository(converter);
+    }
+
+    @Test
+    @DisplayName("Should assign an id and timestamps and return copies on read")
+    void testSaveAndCopy() {
+        // Given
+        Payment payment = payment("TXN-1", "SND-1", "key-1");
+
+        // When
+        Payment saved = repository.save(payment);
+        Payment loaded = repository.findById(saved.getId()).orElseThrow();
+        loaded.setStatus(PaymentStatus.APPROVED);
+
+        // Then
+        assertNotNull(saved.getCreatedAt());
+        assertNotNull(saved.getUpdatedAt());
+        assertNotSame(saved, loaded);
+        assertEquals(new BigDecimal("1000.00"), loaded.getSourceAmount());
+        assertEquals(PaymentStatus.PENDING_ADMIN_REVIEW, repository.findById(saved.getId()).orElseThrow().getStatus());
+        assertEquals(saved.getId(), repository.findByIdempotencyKey("key-1").orElseThrow().getId());
+        assertEquals(saved.getId(), repository.findIdByReference("SND-1").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should page newest first, filter by status and hide deleted payments")
+    void testFindAll() {
+        // Given
+        List<Payment> saved = IntStream.range(0, 5)
+                .mapToObj(i -> repository.save(payment("TXN-" + i, "SND-" + i, null)))
+                .toList();
+        Payment approved = saved.get(1);
+        approved.setStatus(PaymentStatus.APPROVED);
+        repository.save(approved);
+        Payment deleted = saved.get(2);
+        deleted.setDeleted(true);
+        repository.save(deleted);
+
+        // When
+        Page<Payment> page = repository.findAll(null, null, null, null, PageRequest.of(0, 2));
+        Page<Payment> approvedPage = repository.findAll(PaymentStatus.APPROVED, null, null, null, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(4, page.getTotalElements());
+        assertEquals(List.of(saved.get(4).getId(), saved.get(3).getId()), page.map(Payment::getId).getContent());
+        assertEquals(List.of(approved.getId()), approvedPage.map(Payment::getId).getContent());
+        assertTrue(repository.findById(deleted.getId()).isEmpty());
+        assertTrue(repository.findIdByReference("TXN-2").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep every payment saved concurrently")
+    void testConcurrentSaves() throws Exception {
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 400; i++) {
+                int n = i;
+                executor.execute(() -> repository.save(payment("TXN-" + n, "SND-" + n, "key-" + n)));
+            }
+        }
+
+        // Then
+        assertEquals(400, repository.count());
+        assertEquals(400, repository.findAll(null, null, null, null, PageRequest.of(0, 1)).getTotalElements());
+        assertTrue(repository.findByIdempotencyKey("key-399").isPresent());
+    }
+
+    private static Payment payment(String reference, String senderReference, String idempotencyKey) {
+        return Payment.builder()
+                .referenceNumber(reference)
+                .idempotencyKey(idempotencyKey)
+                .sender(SenderInfo.builder().name("John Doe").referenceNumber(senderReference).build())
+                .sourceCurrency("USD")
+                .targetCurrency("EUR")
+                .sourceAmount(new BigDecimal("1000.00"))
+                .corridor("US-EU")
+                .build();
+    }
+}
@@ -0,0 +1,293 @@
+package com.xuno.payment.payment.repository;
+
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import com.xuno.payment.common.index.MongoIndexManager;
+import com.xuno.payment.common.migration.LegacySchemaQueries;
+import com.xuno.payment.common.migration.SchemaUpcaster;
+import com.xuno.payment.config.MongoTestConverters;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.util.ReferenceNumberGenerator;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentRepository Partitioning Tests")
+class PaymentRepositoryImplTest {
+
+    private static final YearMonth CURRENT_MONTH = YearMonth.now();
+    private static final String CURRENT_PARTITION = PaymentPartitionRouter.partitionName(CURRENT_MONTH);
+    private static final String PREVIOUS_PARTITION = PaymentPartitionRouter.partitionName(CURRENT_MONTH.minusMonths(1));
+    private static final String LAST_YEAR_PARTITION = PaymentPartitionRouter.partitionName(CURRENT_MONTH.minusYears(1));
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoIndexManager indexManager;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private AggregateIterable<Document> aggregation;
+
+    private MongoMappingContext mappingContext;
+    private MappingMongoConverter converter;
+    private PaymentPartitionRouter router;
+    private PaymentRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        converter = MongoTestConverters.converter();
+        mappingContext = MongoTestConverters.mappingContext(converter);
+
+        LegacySchemaQueries legacySchemaQueries = new LegacySchemaQueries(new SchemaUpcaster(mappingContext), converter);
+        legacySchemaQueries.markMigrated();
+
+        router = new PaymentPartitionRouter(mongoTemplate, indexManager, true, true);
+        repository = new PaymentRepositoryImpl(mongoTemplate, router, legacySchemaQueries);
+    }
+
+    @Test
+    @DisplayName("Should write new payments to the partition matching their id timestamp")
+    void testSave_NewPayment() {
+        // Given
+        when(mongoTemplate.insert(any(Payment.class), anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Payment first = repository.save(Payment.builder().status(PaymentStatus.PENDING_ADMIN_REVIEW).build());
+        Payment second = repository.save(Payment.builder().status(PaymentStatus.PENDING_ADMIN_REVIEW).build());
+
+        // Then
+        assertTrue(ObjectId.isValid(first.getId()));
+        assertEquals(YearMonth.from(first.getCreatedAt()), YearMonth.from(
+                LocalDateTime.ofInstant(new ObjectId(first.getId()).getDate().toInstant(), ZoneId.systemDefault())));
+        verify(mongoTemplate).insert(first, CURRENT_PARTITION);
+        verify(mongoTemplate).insert(second, CURRENT_PARTITION);
+        verify(indexManager, times(1)).ensureIndexes(Payment.class, CURRENT_PARTITION);
+    }
+
+    @Test
+    @DisplayName("Should move a legacy payment into its partition when it is updated")
+    void testSave_MovesLegacyPayment() {
+        // Given
+        Payment payment = Payment.builder().id(idIn(CURRENT_MONTH)).status(PaymentStatus.APPROVED).build();
+        when(mongoTemplate.save(payment, CURRENT_PARTITION)).thenReturn(payment);
+
+        // When
+        repository.save(payment);
+
+        // Then
+        verify(mongoTemplate).save(payment, CURRENT_PARTITION);
+        verify(mongoTemplate).remove(any(Query.class), eq(Payment.class), eq(PaymentPartitionRouter.LEGACY_COLLECTION));
+    }
+
+    @Test
+    @DisplayName("Should register and index an older month's partition when a legacy payment moves into it")
+    void testSave_MovesLegacyPaymentIntoOlderPartition() {
+        // Given
+        Payment payment = Payment.builder().id(idIn(CURRENT_MONTH.minusYears(1))).status(PaymentStatus.APPROVED).build();
+        when(mongoTemplate.save(payment, LAST_YEAR_PARTITION)).thenReturn(payment);
+        when(mongoTemplate.getCollectionNames()).thenReturn(Set.of(CURRENT_PARTITION, "payments"));
+
+        // When
+        repository.save(payment);
+
+        // Then
+        verify(mongoTemplate).save(payment, LAST_YEAR_PARTITION);
+        verify(indexManager).ensureIndexes(Payment.class, LAST_YEAR_PARTITION);
+        verify(mongoTemplate).remove(any(Query.class), eq(Payment.class), eq(PaymentPartitionRouter.LEGACY_COLLECTION));
+        assertEquals(List.of(CURRENT_PARTITION, LAST_YEAR_PARTITION, PaymentPartitionRouter.LEGACY_COLLECTION),
+                router.allCollections());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the legacy collection when the partition has no match")
+    void testFindById_LegacyFallback() {
+        // Given
+        String id = idIn(CURRENT_MONTH.minusMonths(1));
+        Payment legacy = Payment.builder().id(id).build();
+        when(mongoTemplate.findOne(any(Query.class), eq(Payment.class), eq(PREVIOUS_PARTITION))).thenReturn(null);
+        when(mongoTemplate.findOne(any(Query.class), eq(Payment.class), eq(PaymentPartitionRouter.LEGACY_COLLECTION))).thenReturn(legacy);
+
+        // When
+        Optional<Payment> result = repository.findById(id);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertSame(legacy, result.get());
+    }
+
+    @Test
+    @DisplayName("Should merge partition results newest first and sum their counts")
+    void testFindAll_FanOut() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Payment newest = Payment.builder().id("p3").createdAt(now).build();
+        Payment middle = Payment.builder().id("p2").createdAt(now.minusDays(40)).build();
+        Payment oldest = Payment.builder().id("p1").createdAt(now.minusDays(400)).build();
+
+        when(mongoTemplate.getCollectionNames()).thenReturn(Set.of(CURRENT_PARTITION, PREVIOUS_PARTITION, "payments", "exchange_configs"));
+        when(mongoTemplate.count(any(Query.class), eq(Payment.class), eq(CURRENT_PARTITION))).thenReturn(1L);
+        when(mongoTemplate.count(any(Query.class), eq(Payment.class), eq(PREVIOUS_PARTITION))).thenReturn(1L);
+        when(mongoTemplate.count(any(Query.class), eq(Payment.class), eq(PaymentPartitionRouter.LEGACY_COLLECTION))).thenReturn(1L);
+        when(mongoTemplate.find(any(Query.class), eq(Payment.class), eq(CURRENT_PARTITION))).thenReturn(List.of(newest));
+        when(mongoTemplate.find(any(Query.class), eq(Payment.class), eq(PREVIOUS_PARTITION))).thenReturn(List.of(middle));
+        when(mongoTemplate.find(any(Query.class), eq(Payment.class), eq(PaymentPartitionRouter.LEGACY_COLLECTION))).thenReturn(List.of(oldest));
+
+        // When
+        Page<Payment> page = repository.findAll(null, null, null, null, PageRequest.of(0, 2));
+
+        // Then
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(newest, middle), page.getContent());
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(Payment.class), eq(CURRENT_PARTITION));
+        assertEquals(2, queryCaptor.getValue().getLimit());
+    }
+
+    @Test
+    @DisplayName("Should find an idempotency key from a year ago with one id-only aggregation over every partition")
+    void testFindByIdempotencyKey_OldKeyAcrossPartitions() {
+        // Given
+        String id = idIn(CURRENT_MONTH.minusYears(1));
+        Payment original = Payment.builder().id(id).idempotencyKey("key-1").build();
+        when(mongoTemplate.getCollectionNames()).thenReturn(Set.of(CURRENT_PARTITION, PREVIOUS_PARTITION,
+                LAST_YEAR_PARTITION, "payments"));
+        when(mongoTemplate.getCollection(CURRENT_PARTITION)).thenReturn(collection);
+        when(collection.aggregate(anyList())).thenReturn(aggregation);
+        when(aggregation.first()).thenReturn(new Document("_id", new ObjectId(id)));
+        when(mongoTemplate.findOne(any(Query.class), eq(Payment.class), eq(LAST_YEAR_PARTITION))).thenReturn(original);
+
+        // When
+        Optional<Payment> result = repository.findByIdempotencyKey("key-1");
+
+        // Then
+        assertTrue(result.isPresent());
+        assertSame(original, result.get());
+
+        List<Document> pipeline = capturePipeline();
+        Document match = new Document("$match", new Document("idk", "key-1").append("del", false));
+        assertEquals(match, pipeline.getFirst());
+        assertEquals(new Document("$project", new Document("_id", 1)), pipeline.get(1));
+        assertEquals(new Document("$limit", 1), pipeline.getLast());
+        assertEquals(List.of(PREVIOUS_PARTITION, LAST_YEAR_PARTITION, PaymentPartitionRouter.LEGACY_COLLECTION),
+                unionedCollections(pipeline));
+    }
+
+    @Test
+    @DisplayName("Should resolve a reference only in the partitions around its generation time")
+    void testFindIdByReference_PrunedByReferenceTime() {
+        // Given
+        String id = idIn(CURRENT_MONTH);
+        String reference = ReferenceNumberGenerator.generate();
+        when(mongoTemplate.getCollectionNames()).thenReturn(Set.of(CURRENT_PARTITION, PREVIOUS_PARTITION,
+                LAST_YEAR_PARTITION, "payments"));
+        when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+        when(collection.aggregate(anyList())).thenReturn(aggregation);
+        when(aggregation.first()).thenReturn(new Document("_id", new ObjectId(id)));
+
+        // When
+        Optional<String> result = repository.findIdByReference(reference);
+
+        // Then
+        assertEquals(Optional.of(id), result);
+
+        List<Document> pipeline = capturePipeline();
+        assertEquals(new Document("$project", new Document("_id", 1)), pipeline.get(1));
+        List<String> unioned = unionedCollections(pipeline);
+        assertEquals(PaymentPartitionRouter.LEGACY_COLLECTION, unioned.getLast());
+        assertFalse(unioned.contains(LAST_YEAR_PARTITION));
+        verify(mongoTemplate, never()).getCollection(LAST_YEAR_PARTITION);
+    }
+
+    @Test
+    @DisplayName("Should find a v1 payment by idempotency key while the compact schema migration runs")
+    void testFindByIdempotencyKey_LegacySchema() {
+        // Given
+        LegacySchemaQueries migrating = new LegacySchemaQueries(new SchemaUpcaster(mappingContext), converter);
+        repository = new PaymentRepositoryImpl(mongoTemplate,
+                new PaymentPartitionRouter(mongoTemplate, indexManager, false, true), migrating);
+        Document v1 = new Document("_id", new ObjectId())
+                .append("idempotencyKey", "key-1")
+                .append("status", "APPROVED")
+                .append("deleted", false);
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq(PaymentPartitionRouter.LEGACY_COLLECTION)))
+                .thenReturn(v1);
+
+        // When
+        Optional<Payment> result = repository.findByIdempotencyKey("key-1");
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals("key-1", result.get().getIdempotencyKey());
+        assertEquals(PaymentStatus.APPROVED, result.get().getStatus());
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(queryCaptor.capture(), eq(Document.class), eq(PaymentPartitionRouter.LEGACY_COLLECTION));
+        assertEquals(new Document("$or", List.of(
+                        new Document("idk", "key-1").append("del", false),
+                        new Document("idempotencyKey", "key-1").append("deleted", false))),
+                queryCaptor.getValue().getQueryObject());
+    }
+
+    @Test
+    @DisplayName("Should use the single payments collection when partitioning is disabled")
+    void testPartitioningDisabled() {
+        // Given
+        PaymentPartitionRouter router = new PaymentPartitionRouter(mongoTemplate, indexManager, false, true);
+
+        // When / Then
+        assertEquals(PaymentPartitionRouter.LEGACY_COLLECTION, router.collectionForWrite(LocalDateTime.now()));
+        assertEquals(PaymentPartitionRouter.LEGACY_COLLECTION, router.collectionForId(idIn(CURRENT_MONTH)));
+        assertEquals(List.of(PaymentPartitionRouter.LEGACY_COLLECTION), router.allCollections());
+        verifyNoInteractions(indexManager);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Document> capturePipeline() {
+        ArgumentCaptor<List<Document>> pipelineCaptor = ArgumentCaptor.forClass(List.class);
+        verify(collection).aggregate(pipelineCaptor.capture());
+        return pipelineCaptor.getValue();
+    }
+
+    private static List<String> unionedCollections(List<Document> pipeline) {
+        return pipeline.stream()
+                .filter(stage -> stage.containsKey("$unionWith"))
+                .map(stage -> stage.get("$unionWith", Document.class).getString("coll"))
+                .toList();
+    }
+
+    private static String idIn(YearMonth month) {
+        LocalDateTime midMonth = month.atDay(15).atStartOfDay();
+        return new ObjectId(Date.from(midMonth.atZone(ZoneId.systemDefault()).toInstant())).toHexString();
+    }
+}
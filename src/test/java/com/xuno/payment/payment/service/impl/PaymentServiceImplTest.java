@@ -1,9 +1,18 @@
 package com.xuno.payment.payment.service.impl;
 
+import com.xuno.payment.analytics.service.PaymentRollupService;
+import com.xuno.payment.common.exception.ErrorCode;
 import com.xuno.payment.common.exception.ResourceNotFoundException;
 import com.xuno.payment.exchangeconfig.model.entity.ExchangeRateConfiguration;
 import com.xuno.payment.exchangeconfig.service.ExchangeConfigService;
+import com.xuno.payment.payment.archive.PaymentArchive;
+import com.xuno.payment.payment.cache.PaymentDetailCache;
+import com.xuno.payment.payment.cache.PaymentReferenceCache;
+import com.xuno.payment.payment.exception.IdempotencyConflictException;
+import com.xuno.payment.payment.exception.InvalidStatusTransitionException;
+import com.xuno.payment.payment.exception.PaymentNotVerifiedException;
 import com.xuno.payment.payment.mapper.PaymentMapper;
+import com.xuno.payment.payment.metrics.PaymentStageMetrics;
 import com.xuno.payment.payment.model.dto.PaymentDetailResponse;
 import com.xuno.payment.payment.model.dto.PaymentRequest;
 import com.xuno.payment.payment.model.dto.PaymentResponse;
@@ -12,12 +21,14 @@ import com.xuno.payment.payment.model.entity.Payment;
 import com.xuno.payment.payment.model.enums.PaymentStatus;
 import com.xuno.payment.payment.model.enums.UserRole;
 import com.xuno.payment.payment.model.valueobject.*;
-import com.xuno.payment.payment.repository.PaymentRepository;
+import com.xuno.payment.payment.store.PaymentStore;
 import com.xuno.payment.payment.service.EncryptionService;
 import com.xuno.payment.payment.service.ExchangeRateService;
 import com.xuno.payment.payment.service.FeeCalculationService;
+import com.xuno.payment.payment.service.StatusHistoryService;
 import com.xuno.payment.payment.service.SystemVerificationService;
 import com.xuno.payment.payment.util.ReferenceNumberGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -25,12 +36,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -48,7 +60,7 @@ import static org.mockito.Mockito.*;
 class PaymentServiceImplTest {
 
     @Mock
-    private PaymentRepository repository;
+    private PaymentStore store;
 
     @Mock
     private PaymentMapper mapper;
@@ -69,7 +81,22 @@ class PaymentServiceImplTest {
     private EncryptionService encryptionService;
 
     @Mock
-    private MongoTemplate mongoTemplate;
+    private PaymentRollupService rollupService;
+
+    @Mock
+    private StatusHistoryService statusHistoryService;
+
+    @Mock
+    private PaymentArchive paymentArchive;
+
+    @Spy
+    private PaymentDetailCache detailCache = new PaymentDetailCache(100, 60, new SimpleMeterRegistry());
+
+    @Spy
+    private PaymentReferenceCache referenceCache = new PaymentReferenceCache(100, new SimpleMeterRegistry());
+
+    @Spy
+    private PaymentStageMetrics stageMetrics = new PaymentStageMetrics(new SimpleMeterRegistry(), 500, 50);
 
     @InjectMocks
     private PaymentServiceImpl paymentService;
@@ -208,7 +235,7 @@ class PaymentServiceImplTest {
                 .calculatedAt(LocalDateTime.now())
                 .build();
 
-        when(repository.findByIdempotencyKey("test-key-123")).thenReturn(Optional.empty());
+        when(store.findByIdempotencyKey("test-key-123")).thenReturn(Optional.empty());
         doNothing().when(systemVerificationService).performInitialVerification(paymentRequest);
         when(systemVerificationService.performAsyncVerification(any(PaymentRequest.class)))
                 .thenReturn(CompletableFuture.completedFuture(PaymentStatus.PENDING_ADMIN_REVIEW));
@@ -219,7 +246,7 @@ class PaymentServiceImplTest {
         when(feeCalculationService.calculateFees(new BigDecimal("1000.00"), exchangeConfig))
                 .thenReturn(feeResult);
         when(mapper.toEntity(paymentRequest)).thenReturn(payment);
-        when(repository.save(any(Payment.class))).thenReturn(payment);
+        when(store.insert(any(Payment.class))).thenReturn(payment);
         when(mapper.toResponse(payment)).thenReturn(paymentResponse);
         when(encryptionService.encrypt(anyString())).thenAnswer(invocation -> "encrypted-" + invocation.getArgument(0));
         when(encryptionService.decrypt(anyString())).thenAnswer(invocation -> {
@@ -238,13 +265,16 @@ class PaymentServiceImplTest {
             // Then
             assertNotNull(result);
             assertEquals("payment-1", result.getId());
-            verify(repository).findByIdempotencyKey("test-key-123");
+            verify(store).findByIdempotencyKey("test-key-123");
             verify(systemVerificationService).performInitialVerification(paymentRequest);
             verify(exchangeConfigService).findMatchingConfig("USD", "EUR", new BigDecimal("1000.00"));
             verify(exchangeRateService).calculateExchangeRate("USD", "EUR", new BigDecimal("1000.00"));
             verify(feeCalculationService).calculateFees(new BigDecimal("1000.00"), exchangeConfig);
-            verify(repository).save(any(Payment.class));
+            verify(store).insert(any(Payment.class));
             verify(mapper).toResponse(payment);
+            verify(rollupService).recordCreated(payment);
+            verify(statusHistoryService).append(eq("payment-1"), argThat(history ->
+                    history.getStatus() == PaymentStatus.PENDING_ADMIN_REVIEW));
         }
     }
 
@@ -257,16 +287,22 @@ class PaymentServiceImplTest {
                 .idempotencyKey("test-key-123")
                 .build();
 
-        when(repository.findByIdempotencyKey("test-key-123"))
+        PaymentResponse existingResponse = PaymentResponse.builder().id("existing-payment").build();
+
+        when(store.findByIdempotencyKey("test-key-123"))
                 .thenReturn(Optional.of(existingPayment));
+        when(mapper.toResponse(existingPayment)).thenReturn(existingResponse);
 
         // When & Then
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+        IdempotencyConflictException exception = assertThrows(IdempotencyConflictException.class, () -> {
             paymentService.create(paymentRequest, "admin-123");
         });
 
         assertTrue(exception.getMessage().contains("idempotency key already exists"));
-        verify(repository, never()).save(any(Payment.class));
+        assertEquals(ErrorCode.IDEMPOTENCY_CONFLICT, exception.getCode());
+        assertEquals(HttpStatus.CONFLICT, exception.getCode().getStatus());
+        assertSame(existingResponse, exception.getData());
+        verify(store, never()).insert(any(Payment.class));
     }
 
     @Test
@@ -286,8 +322,8 @@ class PaymentServiceImplTest {
                 .status(PaymentStatus.APPROVED)
                 .build();
 
-        when(repository.findById(paymentId)).thenReturn(Optional.of(payment));
-        when(repository.save(any(Payment.class))).thenReturn(payment);
+        when(store.findById(paymentId)).thenReturn(Optional.of(payment));
+        when(store.update(any(Payment.class))).thenReturn(payment);
         when(mapper.toResponse(any(Payment.class))).thenReturn(expectedResponse);
 
         // When
@@ -296,10 +332,39 @@ class PaymentServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(PaymentStatus.APPROVED, result.getStatus());
-        verify(repository).findById(paymentId);
-        verify(repository).save(any(Payment.class));
+        verify(store).findById(paymentId);
+        verify(store).update(any(Payment.class));
         assertEquals(PaymentStatus.APPROVED, payment.getStatus());
         assertEquals(adminId, payment.getValidatedBy());
+        verify(rollupService).recordStatusChange(payment, PaymentStatus.PENDING_ADMIN_REVIEW);
+        verify(statusHistoryService).append(eq(paymentId), argThat(history ->
+                history.getStatus() == PaymentStatus.APPROVED && "Approved by admin".equals(history.getNote())));
+    }
+
+    @Test
+    @DisplayName("Should move legacy embedded status history out of the payment before saving")
+    void testValidatePayment_MovesLegacyStatusHistory() {
+        // Given
+        String paymentId = "payment-1";
+        StatusUpdateRequest statusUpdateRequest = StatusUpdateRequest.builder()
+                .status(PaymentStatus.APPROVED)
+                .build();
+        List<StatusHistory> legacyHistory = new ArrayList<>(List.of(StatusHistory.builder()
+                .status(PaymentStatus.PENDING_ADMIN_REVIEW)
+                .build()));
+
+        payment.setSystemVerified(true);
+        payment.setStatusHistory(legacyHistory);
+        when(store.findById(paymentId)).thenReturn(Optional.of(payment));
+        when(store.update(any(Payment.class))).thenReturn(payment);
+        when(mapper.toResponse(any(Payment.class))).thenReturn(PaymentResponse.builder().id(paymentId).build());
+
+        // When
+        paymentService.validate(paymentId, statusUpdateRequest, "admin-123");
+
+        // Then
+        verify(statusHistoryService).appendAll(paymentId, legacyHistory);
+        assertTrue(payment.getStatusHistory().isEmpty());
     }
 
     @Test
@@ -313,15 +378,15 @@ class PaymentServiceImplTest {
 
         payment.setSystemVerified(false);
 
-        when(repository.findById(paymentId)).thenReturn(Optional.of(payment));
+        when(store.findById(paymentId)).thenReturn(Optional.of(payment));
 
         // When & Then
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+        PaymentNotVerifiedException exception = assertThrows(PaymentNotVerifiedException.class, () -> {
             paymentService.validate(paymentId, statusUpdateRequest, "admin-123");
         });
 
         assertTrue(exception.getMessage().contains("must be verified by system"));
-        verify(repository, never()).save(any(Payment.class));
+        verify(store, never()).update(any(Payment.class));
     }
 
     @Test
@@ -336,15 +401,16 @@ class PaymentServiceImplTest {
         payment.setSystemVerified(true);
         payment.setStatus(PaymentStatus.APPROVED);
 
-        when(repository.findById(paymentId)).thenReturn(Optional.of(payment));
+        when(store.findById(paymentId)).thenReturn(Optional.of(payment));
 
         // When & Then
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+        InvalidStatusTransitionException exception = assertThrows(InvalidStatusTransitionException.class, () -> {
             paymentService.validate(paymentId, statusUpdateRequest, "admin-123");
         });
 
         assertTrue(exception.getMessage().contains("Cannot reject an approved payment"));
-        verify(repository, never()).save(any(Payment.class));
+        assertEquals(ErrorCode.INVALID_STATUS_TRANSITION, exception.getCode());
+        verify(store, never()).update(any(Payment.class));
     }
 
     @Test
@@ -369,8 +435,13 @@ class PaymentServiceImplTest {
                         .build())
                 .build();
 
-        when(repository.findById(paymentId)).thenReturn(Optional.of(payment));
+        StatusHistory created = StatusHistory.builder()
+                .status(PaymentStatus.PENDING_ADMIN_REVIEW)
+                .build();
+
+        when(store.findById(paymentId)).thenReturn(Optional.of(payment));
         when(mapper.toDetailResponse(payment)).thenReturn(detailResponse);
+        when(statusHistoryService.findByPaymentId(paymentId)).thenReturn(List.of(created));
         when(encryptionService.decrypt(anyString())).thenAnswer(invocation -> {
             String encrypted = invocation.getArgument(0);
             return encrypted.replace("encrypted-", "");
@@ -382,17 +453,136 @@ class PaymentServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals("payment-1", result.getId());
-        verify(repository).findById(paymentId);
+        assertEquals(List.of(created), result.getStatusHistory());
+        verify(store).findById(paymentId);
         verify(mapper).toDetailResponse(payment);
     }
 
+    @Test
+    @DisplayName("Should serve repeated lookups from the detail cache")
+    void testFindPayment_Cached() {
+        // Given
+        String paymentId = "payment-1";
+        PaymentDetailResponse detailResponse = PaymentDetailResponse.builder()
+                .id("payment-1")
+                .status(PaymentStatus.PENDING_ADMIN_REVIEW)
+                .build();
+
+        when(store.findById(paymentId)).thenReturn(Optional.of(payment));
+        when(mapper.toDetailResponse(payment)).thenReturn(detailResponse);
+
+        // When
+        PaymentDetailResponse first = paymentService.find(paymentId);
+        PaymentDetailResponse second = paymentService.find(paymentId);
+
+        // Then
+        assertSame(first, second);
+        verify(store, times(1)).findById(paymentId);
+        verify(mapper, times(1)).toDetailResponse(payment);
+    }
+
+    @Test
+    @DisplayName("Should evict cached details when payment is validated")
+    void testValidatePayment_EvictsDetailCache() {
+        // Given
+        String paymentId = "payment-1";
+        StatusUpdateRequest statusUpdateRequest = StatusUpdateRequest.builder()
+                .status(PaymentStatus.APPROVED)
+                .build();
+
+        payment.setSystemVerified(true);
+        when(store.findById(paymentId)).thenReturn(Optional.of(payment));
+        when(mapper.toDetailResponse(payment)).thenReturn(PaymentDetailResponse.builder().id(paymentId).build());
+        when(store.update(any(Payment.class))).thenReturn(payment);
+        when(mapper.toResponse(any(Payment.class))).thenReturn(PaymentResponse.builder().id(paymentId).build());
+
+        // When
+        paymentService.find(paymentId);
+        paymentService.validate(paymentId, statusUpdateRequest, "admin-123");
+        paymentService.find(paymentId);
+
+        // Then
+        verify(detailCache).evict(paymentId);
+        verify(mapper, times(2)).toDetailResponse(payment);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the archive for payments no longer in Mongo")
+    void testFindPayment_Archived() {
+        // Given
+        String paymentId = "payment-1";
+        payment.setStatus(PaymentStatus.DELIVERED);
+
+        when(store.findById(paymentId)).thenReturn(Optional.empty());
+        when(paymentArchive.findById(paymentId)).thenReturn(Optional.of(payment));
+        when(mapper.toDetailResponse(payment)).thenReturn(PaymentDetailResponse.builder()
+                .id(paymentId)
+                .status(PaymentStatus.DELIVERED)
+                .build());
+
+        // When
+        PaymentDetailResponse result = paymentService.find(paymentId);
+
+        // Then
+        assertEquals(PaymentStatus.DELIVERED, result.getStatus());
+        verify(paymentArchive).findById(paymentId);
+    }
+
+    @Test
+    @DisplayName("Should resolve repeated reference lookups from the reference cache")
+    void testFindByReference_Cached() {
+        // Given
+        String reference = "SND-123";
+        when(store.findIdByReference(reference)).thenReturn(Optional.of("payment-1"));
+        when(store.findById("payment-1")).thenReturn(Optional.of(payment));
+        when(mapper.toDetailResponse(payment)).thenReturn(PaymentDetailResponse.builder().id("payment-1").build());
+
+        // When
+        PaymentDetailResponse first = paymentService.findByReference(reference);
+        PaymentDetailResponse second = paymentService.findByReference(reference);
+
+        // Then
+        assertEquals("payment-1", first.getId());
+        assertSame(first, second);
+        verify(store, times(1)).findIdByReference(reference);
+    }
+
+    @Test
+    @DisplayName("Should resolve a reference of an archived payment from the archive")
+    void testFindByReference_Archived() {
+        // Given
+        String reference = "TXN-archived";
+        when(store.findIdByReference(reference)).thenReturn(Optional.empty());
+        when(paymentArchive.findByReference(reference)).thenReturn(Optional.of(payment));
+        when(store.findById("payment-1")).thenReturn(Optional.empty());
+        when(paymentArchive.findById("payment-1")).thenReturn(Optional.of(payment));
+        when(mapper.toDetailResponse(payment)).thenReturn(PaymentDetailResponse.builder().id("payment-1").build());
+
+        // When
+        PaymentDetailResponse result = paymentService.findByReference(reference);
+
+        // Then
+        assertEquals("payment-1", result.getId());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when no payment has the reference")
+    void testFindByReference_NotFound() {
+        // Given
+        when(store.findIdByReference("RCV-404")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> paymentService.findByReference("RCV-404"));
+        verify(store, never()).findById(anyString());
+    }
+
     @Test
     @DisplayName("Should throw exception when payment not found")
     void testFindPayment_NotFound() {
         // Given
         String paymentId = "non-existent";
 
-        when(repository.findById(paymentId)).thenReturn(Optional.empty());
+        when(store.findById(paymentId)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -400,7 +590,7 @@ class PaymentServiceImplTest {
         });
 
         assertTrue(exception.getMessage().contains("not found"));
-        verify(repository).findById(paymentId);
+        verify(store).findById(paymentId);
     }
 
     @Test
@@ -429,8 +619,8 @@ class PaymentServiceImplTest {
                         .build())
                 .build();
 
-        when(mongoTemplate.count(any(Query.class), eq(Payment.class))).thenReturn(1L);
-        when(mongoTemplate.find(any(Query.class), eq(Payment.class))).thenReturn(List.of(payment));
+        when(store.findAll(status, dateFrom, dateTo, senderReference, pageable))
+                .thenReturn(new PageImpl<>(List.of(payment), pageable, 1));
         when(mapper.toResponse(any(Payment.class))).thenReturn(responseWithEncryptedData);
         when(encryptionService.decrypt(anyString())).thenAnswer(invocation -> {
             String encrypted = invocation.getArgument(0);
@@ -444,8 +634,53 @@ class PaymentServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(1, result.getContent().size());
-        verify(mongoTemplate).count(any(Query.class), eq(Payment.class));
-        verify(mongoTemplate).find(any(Query.class), eq(Payment.class));
+        verify(store).findAll(status, dateFrom, dateTo, senderReference, pageable);
+    }
+
+    @Test
+    @DisplayName("Should merge archived payments into a listing that reaches back into the archive")
+    void testFindAllPayments_IncludesArchived() {
+        // Given
+        LocalDateTime newestArchived = LocalDateTime.now().minusDays(90);
+        LocalDateTime dateFrom = newestArchived.minusDays(10);
+        Pageable pageable = PageRequest.of(1, 1);
+        Payment hot = Payment.builder().id("hot").status(PaymentStatus.DELIVERED).createdAt(newestArchived.plusDays(5)).build();
+        Payment archivedNewer = Payment.builder().id("archived-newer").status(PaymentStatus.DELIVERED)
+                .createdAt(newestArchived).build();
+        Payment archivedRejected = Payment.builder().id("archived-rejected").status(PaymentStatus.REJECTED)
+                .createdAt(newestArchived.minusDays(1)).build();
+        Payment archivedOlder = Payment.builder().id("archived-older").status(PaymentStatus.DELIVERED)
+                .createdAt(newestArchived.minusDays(2)).build();
+
+        when(paymentArchive.newestCreatedAt()).thenReturn(Optional.of(newestArchived));
+        when(paymentArchive.findCreatedBetween(dateFrom, newestArchived))
+                .thenReturn(List.of(archivedOlder, archivedRejected, archivedNewer));
+        when(store.findAll(PaymentStatus.DELIVERED, dateFrom, null, null, PageRequest.of(0, 2)))
+                .thenReturn(new PageImpl<>(List.of(hot), PageRequest.of(0, 2), 1));
+        when(mapper.toResponse(any(Payment.class))).thenAnswer(invocation -> PaymentResponse.builder()
+                .id(invocation.<Payment>getArgument(0).getId())
+                .build());
+
+        // When
+        Page<PaymentResponse> result = paymentService.findAll(PaymentStatus.DELIVERED, dateFrom, null, null, pageable);
+
+        // Then
+        assertEquals(3, result.getTotalElements());
+        assertEquals(List.of("archived-newer"), result.getContent().stream().map(PaymentResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should not read the archive for a listing without a start date")
+    void testFindAllPayments_OpenEndedSkipsArchive() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20);
+        when(store.findAll(null, null, null, null, pageable)).thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        // When
+        paymentService.findAll(null, null, null, null, pageable);
+
+        // Then
+        verifyNoInteractions(paymentArchive);
     }
 }
 
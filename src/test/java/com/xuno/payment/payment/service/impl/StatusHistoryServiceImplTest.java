@@ -0,0 +1,105 @@
+package com.xuno.payment.payment.service.impl;
+
+import com.xuno.payment.payment.model.entity.PaymentStatusHistoryBucket;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.model.valueobject.StatusHistory;
+import com.xuno.payment.payment.repository.PaymentStatusHistoryRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatusHistoryService Tests")
+class StatusHistoryServiceImplTest {
+
+    private static final int BUCKET_SIZE = 50;
+
+    @Mock
+    private PaymentStatusHistoryRepository repository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private StatusHistoryServiceImpl statusHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        statusHistoryService = new StatusHistoryServiceImpl(repository, mongoTemplate, BUCKET_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should push the event into the newest bucket with room")
+    void testAppend() {
+        // Given
+        StatusHistory history = StatusHistory.builder()
+                .status(PaymentStatus.APPROVED)
+                .changedBy("admin-123")
+                .build();
+
+        // When
+        statusHistoryService.append("payment-1", history);
+
+        // Then
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(queryCaptor.capture(), updateCaptor.capture(), eq(PaymentStatusHistoryBucket.class));
+
+        Document query = queryCaptor.getValue().getQueryObject();
+        assertEquals("payment-1", query.get("paymentId"));
+        assertEquals(new Document("$lt", BUCKET_SIZE), query.get("count"));
+
+        Document update = updateCaptor.getValue().getUpdateObject();
+        assertSame(history, update.get("$push", Document.class).get("events"));
+        assertEquals(1, update.get("$inc", Document.class).get("count"));
+    }
+
+    @Test
+    @DisplayName("Should append events in order")
+    void testAppendAll() {
+        // Given
+        StatusHistory first = StatusHistory.builder().status(PaymentStatus.PENDING_ADMIN_REVIEW).build();
+        StatusHistory second = StatusHistory.builder().status(PaymentStatus.APPROVED).build();
+
+        // When
+        statusHistoryService.appendAll("payment-1", List.of(first, second));
+
+        // Then
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).upsert(any(Query.class), updateCaptor.capture(), eq(PaymentStatusHistoryBucket.class));
+        assertSame(first, updateCaptor.getAllValues().get(0).getUpdateObject().get("$push", Document.class).get("events"));
+        assertSame(second, updateCaptor.getAllValues().get(1).getUpdateObject().get("$push", Document.class).get("events"));
+    }
+
+    @Test
+    @DisplayName("Should flatten buckets into a single history")
+    void testFindByPaymentId() {
+        // Given
+        StatusHistory first = StatusHistory.builder().status(PaymentStatus.PENDING_ADMIN_REVIEW).build();
+        StatusHistory second = StatusHistory.builder().status(PaymentStatus.APPROVED).build();
+        StatusHistory third = StatusHistory.builder().status(PaymentStatus.DELIVERED).build();
+
+        when(repository.findByPaymentIdOrderByIdAsc("payment-1")).thenReturn(List.of(
+                PaymentStatusHistoryBucket.builder().paymentId("payment-1").count(2).events(List.of(first, second)).build(),
+                PaymentStatusHistoryBucket.builder().paymentId("payment-1").count(1).events(List.of(third)).build()));
+
+        // When
+        List<StatusHistory> result = statusHistoryService.findByPaymentId("payment-1");
+
+        // Then
+        assertEquals(List.of(first, second, third), result);
+    }
+}
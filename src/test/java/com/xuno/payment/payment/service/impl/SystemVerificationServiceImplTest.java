@@ -0,0 +1,70 @@
+package com.xuno.payment.payment.service.impl;
+
+import com.xuno.payment.payment.model.dto.PaymentRequest;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.verification.VelocityLimiter;
+import com.xuno.payment.payment.verification.VerificationRule;
+import com.xuno.payment.payment.verification.VerificationRuleEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SystemVerificationService Tests")
+class SystemVerificationServiceImplTest {
+
+    @Mock
+    private VerificationRuleEngine ruleEngine;
+
+    @Mock
+    private VelocityLimiter velocityLimiter;
+
+    @InjectMocks
+    private SystemVerificationServiceImpl verificationService;
+
+    private final PaymentRequest request = PaymentRequest.builder()
+            .sourceCurrency("USD")
+            .sourceAmount(new BigDecimal("50.00"))
+            .build();
+
+    @Test
+    @DisplayName("Should not count a payment a verification rule stopped towards velocity")
+    void testRuleMatchSkipsVelocity() {
+        // Given
+        VerificationRule rule = mock(VerificationRule.class);
+        when(rule.getOutcome()).thenReturn(PaymentStatus.LOW_BALANCE);
+        when(ruleEngine.evaluate(request)).thenReturn(rule);
+
+        // When
+        PaymentStatus status = verificationService.performAsyncVerification(request).join();
+
+        // Then
+        assertEquals(PaymentStatus.LOW_BALANCE, status);
+        verifyNoInteractions(velocityLimiter);
+    }
+
+    @Test
+    @DisplayName("Should give the velocity outcome to a payment no rule matched that breaches a limit")
+    void testVelocityBreach() {
+        // Given
+        when(ruleEngine.evaluate(request)).thenReturn(null);
+        when(velocityLimiter.record(request)).thenReturn(new VelocityLimiter.Breach("*", "USD", 3,
+                new BigDecimal("150.00"), 2, new BigDecimal("1000.00")));
+        when(velocityLimiter.outcome()).thenReturn(PaymentStatus.REJECTED);
+
+        // When
+        PaymentStatus status = verificationService.performAsyncVerification(request).join();
+
+        // Then
+        assertEquals(PaymentStatus.REJECTED, status);
+        verify(velocityLimiter).record(request);
+    }
+}
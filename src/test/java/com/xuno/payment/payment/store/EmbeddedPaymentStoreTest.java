@@ -0,0 +1,58 @@
+package com.xuno.payment.payment.store;
+
+import com.xuno.payment.common.storage.EmbeddedStorage;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EmbeddedPaymentStore Tests")
+class EmbeddedPaymentStoreTest extends PaymentStoreContractTest {
+
+    @TempDir
+    private Path directory;
+
+    private EmbeddedStorage storage;
+
+    @Override
+    protected PaymentStore createStore(MongoConverter converter) {
+        storage = new EmbeddedStorage(directory, 1, false, 0.5);
+        return new EmbeddedPaymentStore(storage, converter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("Should rebuild its indexes from the log when reopened")
+    void testReopen() {
+        // Given
+        Payment approved = store.insert(payment("key-1", null));
+        approved.setStatus(PaymentStatus.APPROVED);
+        store.update(approved);
+        Payment deleted = store.insert(payment("key-2", null));
+        deleted.setDeleted(true);
+        store.update(deleted);
+
+        // When
+        storage.close();
+        store = createStore(converter);
+
+        // Then
+        assertEquals(PaymentStatus.APPROVED, store.findById(approved.getId()).orElseThrow().getStatus());
+        assertEquals(approved.getId(), store.findByIdempotencyKey("key-1").orElseThrow().getId());
+        assertEquals(approved.getId(), store.findIdByReference(approved.getSender().getReferenceNumber()).orElseThrow());
+        assertTrue(store.findById(deleted.getId()).isEmpty());
+        assertEquals(1, page(PaymentStatus.APPROVED, null, null, null, 0, 10).getTotalElements());
+        assertEquals(1, page(null, null, null, null, 0, 10).getTotalElements());
+    }
+}
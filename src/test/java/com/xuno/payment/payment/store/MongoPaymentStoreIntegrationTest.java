@@ -0,0 +1,72 @@
+package com.xuno.payment.payment.store;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.xuno.payment.common.index.MongoIndexManager;
+import com.xuno.payment.common.migration.LegacySchemaQueries;
+import com.xuno.payment.common.migration.SchemaUpcaster;
+import com.xuno.payment.config.MongoTestConverters;
+import com.xuno.payment.payment.repository.PaymentPartitionRouter;
+import com.xuno.payment.payment.repository.PaymentRepository;
+import com.xuno.payment.payment.repository.PaymentRepositoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.springframework.data.auditing.IsNewAwareAuditingHandler;
+import org.springframework.data.mapping.callback.EntityCallbacks;
+import org.springframework.data.mapping.context.PersistentEntities;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.event.AuditingEntityCallback;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.util.UUID;
+
+/**
+ * Runs the contract against {@link MongoPaymentStore} over {@link PaymentRepositoryImpl} and a real
+ * MongoDB, with partitioning and the legacy fallback on, so the routing, {@code $unionWith} lookups
+ * and compact-schema queries are exercised against the server. Each test gets its own database,
+ * dropped afterwards. Tagged {@code mongo} and excluded from the default build; run with
+ * {@code mvn test -Pmongo-test -Dspring.data.mongodb.uri=mongodb://localhost:27017}.
+ */
+@Tag("mongo")
+@DisplayName("MongoPaymentStore on MongoDB Tests")
+class MongoPaymentStoreIntegrationTest extends PaymentStoreContractTest {
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private PaymentRepositoryImpl repositoryImpl;
+
+    @Override
+    protected PaymentStore createStore(MongoConverter converter) {
+        client = MongoClients.create(System.getProperty("spring.data.mongodb.uri", "mongodb://localhost:27017"));
+        MongoMappingContext mappingContext = MongoTestConverters.mappingContext(this.converter);
+
+        mongoTemplate = new MongoTemplate(new SimpleMongoClientDatabaseFactory(client,
+                "payment_contract_" + UUID.randomUUID().toString().substring(0, 8)), converter);
+        mongoTemplate.setEntityCallbacks(EntityCallbacks.create(new AuditingEntityCallback(
+                () -> new IsNewAwareAuditingHandler(PersistentEntities.of(mappingContext)))));
+
+        PaymentPartitionRouter router = new PaymentPartitionRouter(mongoTemplate,
+                new MongoIndexManager(mongoTemplate, mappingContext), true, true);
+        repositoryImpl = new PaymentRepositoryImpl(mongoTemplate, router,
+                new LegacySchemaQueries(new SchemaUpcaster(mappingContext), converter));
+
+        PaymentRepository repository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(PaymentRepository.class, RepositoryFragments.just(repositoryImpl));
+        return new MongoPaymentStore(repository);
+    }
+
+    @AfterEach
+    void dropDatabase() {
+        try {
+            mongoTemplate.getDb().drop();
+        } finally {
+            repositoryImpl.shutdown();
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.xuno.payment.payment.store;
+
+import com.xuno.payment.payment.repository.InMemoryPaymentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Runs the contract against {@link MongoPaymentStore} backed by {@link InMemoryPaymentRepository},
+ * since unit tests have no Mongo server. This covers the store, not the partition-aware repository;
+ * {@link MongoPaymentStoreIntegrationTest} runs the same contract against MongoDB.
+ */
+@DisplayName("MongoPaymentStore Tests")
+class MongoPaymentStoreTest extends PaymentStoreContractTest {
+
+    @Override
+    protected PaymentStore createStore(MongoConverter converter) {
+        return new MongoPaymentStore(new InMemoryPaymentRepository(converter));
+    }
+}
@@ -0,0 +1,198 @@
+package com.xuno.payment.payment.store;
+
+import com.xuno.payment.config.MongoTestConverters;
+import com.xuno.payment.payment.model.entity.Payment;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.model.valueobject.ReceiverInfo;
+import com.xuno.payment.payment.model.valueobject.SenderInfo;
+import com.xuno.payment.payment.util.ReferenceNumberGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link PaymentStore} must share. Each implementation runs it through a subclass
+ * that supplies the store.
+ */
+abstract class PaymentStoreContractTest {
+
+    private static final LocalDateTime DAY_ONE = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    protected MappingMongoConverter converter;
+    protected PaymentStore store;
+
+    protected abstract PaymentStore createStore(MongoConverter converter) throws Exception;
+
+    @BeforeEach
+    void setUpStore() throws Exception {
+        converter = MongoTestConverters.converter();
+
+        store = createStore(converter);
+    }
+
+    @Test
+    @DisplayName("Should assign an id and timestamps on insert and read back a copy")
+    void testInsertAndFindById() {
+        // Given
+        Payment payment = payment("key-1", null);
+
+        // When
+        Payment inserted = store.insert(payment);
+        Payment loaded = store.findById(inserted.getId()).orElseThrow();
+        loaded.setStatus(PaymentStatus.APPROVED);
+
+        // Then
+        assertNotNull(inserted.getId());
+        assertNotNull(inserted.getCreatedAt());
+        assertNotNull(inserted.getUpdatedAt());
+        assertNotSame(inserted, loaded);
+        assertEquals(new BigDecimal("1000.00"), loaded.getSourceAmount());
+        assertEquals(payment.getReferenceNumber(), loaded.getReferenceNumber());
+        assertEquals(PaymentStatus.PENDING_ADMIN_REVIEW, store.findById(inserted.getId()).orElseThrow().getStatus());
+        assertTrue(store.findById("0123456789abcdef01234567").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> store.insert(inserted));
+    }
+
+    @Test
+    @DisplayName("Should find payments by idempotency key and by each of their references")
+    void testLookups() {
+        // Given
+        Payment inserted = store.insert(payment("key-1", null));
+
+        // When & Then
+        assertEquals(inserted.getId(), store.findByIdempotencyKey("key-1").orElseThrow().getId());
+        assertEquals(inserted.getId(), store.findIdByReference(inserted.getReferenceNumber()).orElseThrow());
+        assertEquals(inserted.getId(), store.findIdByReference(inserted.getSender().getReferenceNumber()).orElseThrow());
+        assertEquals(inserted.getId(), store.findIdByReference(inserted.getReceiver().getReferenceNumber()).orElseThrow());
+        assertTrue(store.findByIdempotencyKey("key-2").isEmpty());
+        assertTrue(store.findIdByReference(ReferenceNumberGenerator.generate()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> store.findIdByReference("XYZ-1"));
+    }
+
+    @Test
+    @DisplayName("Should persist status updates and reflect them in filtered scans")
+    void testUpdateStatus() {
+        // Given
+        Payment inserted = store.insert(payment(null, null));
+        Payment loaded = store.findById(inserted.getId()).orElseThrow();
+        loaded.setStatus(PaymentStatus.APPROVED);
+        loaded.setValidatedBy("admin-1");
+
+        // When
+        store.update(loaded);
+
+        // Then
+        Payment reloaded = store.findById(inserted.getId()).orElseThrow();
+        assertEquals(PaymentStatus.APPROVED, reloaded.getStatus());
+        assertEquals("admin-1", reloaded.getValidatedBy());
+        assertEquals(loaded.getCreatedAt(), reloaded.getCreatedAt());
+        assertEquals(1, page(PaymentStatus.APPROVED, null, null, null, 0, 10).getTotalElements());
+        assertEquals(0, page(PaymentStatus.PENDING_ADMIN_REVIEW, null, null, null, 0, 10).getTotalElements());
+        assertThrows(IllegalArgumentException.class, () -> store.update(payment(null, null)));
+    }
+
+    @Test
+    @DisplayName("Should scan newest first with inclusive date bounds, sender filter and paging")
+    void testFindAll() {
+        // Given
+        List<Payment> inserted = List.of(
+                store.insert(payment(null, DAY_ONE)),
+                store.insert(payment(null, DAY_ONE.plusDays(1))),
+                store.insert(payment(null, DAY_ONE.plusDays(2))),
+                store.insert(payment(null, DAY_ONE.plusDays(3))),
+                store.insert(payment(null, DAY_ONE.plusDays(4))));
+
+        // When
+        Page<Payment> first = page(null, null, null, null, 0, 2);
+        Page<Payment> last = page(null, null, null, null, 2, 2);
+        Page<Payment> range = page(null, DAY_ONE.plusDays(1), DAY_ONE.plusDays(3), null, 0, 10);
+        Page<Payment> sender = page(null, null, null, inserted.get(2).getSender().getReferenceNumber(), 0, 10);
+
+        // Then
+        assertEquals(5, first.getTotalElements());
+        assertEquals(ids(inserted.get(4), inserted.get(3)), first.map(Payment::getId).getContent());
+        assertEquals(ids(inserted.get(0)), last.map(Payment::getId).getContent());
+        assertEquals(3, range.getTotalElements());
+        assertEquals(ids(inserted.get(3), inserted.get(2), inserted.get(1)), range.map(Payment::getId).getContent());
+        assertEquals(ids(inserted.get(2)), sender.map(Payment::getId).getContent());
+        assertEquals(0, page(null, DAY_ONE.plusDays(3), DAY_ONE.plusDays(1), null, 0, 10).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should hide soft-deleted payments from every lookup")
+    void testDeletedHidden() {
+        // Given
+        Payment kept = store.insert(payment("key-1", null));
+        Payment deleted = store.insert(payment("key-2", null));
+        deleted.setDeleted(true);
+        deleted.setDeletedAt(LocalDateTime.now());
+
+        // When
+        store.update(deleted);
+
+        // Then
+        assertTrue(store.findById(deleted.getId()).isEmpty());
+        assertTrue(store.findByIdempotencyKey("key-2").isEmpty());
+        assertTrue(store.findIdByReference(deleted.getReferenceNumber()).isEmpty());
+        Page<Payment> all = page(null, null, null, null, 0, 10);
+        assertEquals(1, all.getTotalElements());
+        assertEquals(ids(kept), all.map(Payment::getId).getContent());
+    }
+
+    @Test
+    @DisplayName("Should keep every payment inserted concurrently")
+    void testConcurrentInserts() {
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                int n = i;
+                executor.execute(() -> store.insert(payment("key-" + n, null)));
+            }
+        }
+
+        // Then
+        assertEquals(200, page(null, null, null, null, 0, 1).getTotalElements());
+        assertTrue(store.findByIdempotencyKey("key-199").isPresent());
+    }
+
+    protected Page<Payment> page(PaymentStatus status, LocalDateTime from, LocalDateTime to, String senderReference,
+                                 int page, int size) {
+        return store.findAll(status, from, to, senderReference, PageRequest.of(page, size));
+    }
+
+    protected static Payment payment(String idempotencyKey, LocalDateTime createdAt) {
+        return Payment.builder()
+                .referenceNumber(ReferenceNumberGenerator.generate())
+                .idempotencyKey(idempotencyKey)
+                .sender(SenderInfo.builder()
+                        .name("John Doe")
+                        .referenceNumber(ReferenceNumberGenerator.generateSenderReference())
+                        .build())
+                .receiver(ReceiverInfo.builder()
+                        .name("Jane Smith")
+                        .referenceNumber(ReferenceNumberGenerator.generateReceiverReference())
+                        .build())
+                .sourceCurrency("USD")
+                .targetCurrency("EUR")
+                .sourceAmount(new BigDecimal("1000.00"))
+                .corridor("US-EU")
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static List<String> ids(Payment... payments) {
+        return List.of(payments).stream().map(Payment::getId).toList();
+    }
+}
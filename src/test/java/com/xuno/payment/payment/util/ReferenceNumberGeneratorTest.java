@@ -0,0 +1,106 @@
+package com.xuno.payment.payment.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReferenceNumberGenerator Tests")
+class ReferenceNumberGeneratorTest {
+
+    private static final String CROCKFORD_BASE32 = "[0-9A-HJKMNP-TV-Z]";
+
+    @Test
+    @DisplayName("Should prefix references with their type and a 26 character ULID")
+    void testFormat() {
+        assertTrue(ReferenceNumberGenerator.generate().matches("TXN-" + CROCKFORD_BASE32 + "{26}"));
+        assertTrue(ReferenceNumberGenerator.generateSenderReference().matches("SND-" + CROCKFORD_BASE32 + "{26}"));
+        assertTrue(ReferenceNumberGenerator.generateReceiverReference().matches("RCV-" + CROCKFORD_BASE32 + "{26}"));
+    }
+
+    @Test
+    @DisplayName("Should encode the current time in the leading characters")
+    void testTimePrefix() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        String ulid = ReferenceNumberGenerator.generate().substring(4);
+
+        // Then
+        long timestamp = 0;
+        for (char c : ulid.substring(0, 10).toCharArray()) {
+            timestamp = (timestamp << 5) | "0123456789ABCDEFGHJKMNPQRSTVWXYZ".indexOf(c);
+        }
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Should read the generation time back from a reference, and nothing from a pre-ULID one")
+    void testTimestampOf() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        Optional<Instant> timestamp = ReferenceNumberGenerator.timestampOf(ReferenceNumberGenerator.generateSenderReference());
+
+        // Then
+        assertTrue(timestamp.isPresent());
+        assertTrue(timestamp.get().toEpochMilli() >= before && timestamp.get().toEpochMilli() <= System.currentTimeMillis());
+        assertTrue(ReferenceNumberGenerator.timestampOf("TXN-q2RUj0o6y6cPVEBT3_nR9A").isEmpty());
+        assertTrue(ReferenceNumberGenerator.timestampOf("TXN-01ARZ3NDEKTSV4RRFFQ69G5FAU").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing references within a thread")
+    void testMonotonic() {
+        String previous = ReferenceNumberGenerator.generate();
+        for (int i = 0; i < 100_000; i++) {
+            String next = ReferenceNumberGenerator.generate();
+            assertTrue(next.compareTo(previous) > 0, () -> next + " does not sort after previous reference");
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate unique references across threads")
+    void testUniqueAcrossThreads() throws Exception {
+        // Given
+        int threads = 8;
+        int perThread = 50_000;
+        Set<String> references = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    references.add(ReferenceNumberGenerator.generate());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(threads * perThread, references.size());
+    }
+}
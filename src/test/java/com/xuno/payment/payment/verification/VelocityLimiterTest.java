@@ -0,0 +1,165 @@
+package com.xuno.payment.payment.verification;
+
+import com.xuno.payment.payment.model.dto.PaymentRequest;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.model.valueobject.SenderFundingAccountInfo;
+import com.xuno.payment.payment.model.valueobject.SenderInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VelocityLimiter Tests")
+class VelocityLimiterTest {
+
+    private static final String SECRET = "EwN+d+xQXYGA28FUrh2uajP8KPkOHeETo3Bl6TlBoJw=";
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @TempDir
+    private Path directory;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final long now = System.currentTimeMillis();
+
+    @Test
+    @DisplayName("Should breach once a sender exceeds the payment count of its corridor")
+    void testCountLimit() {
+        // Given
+        VelocityLimiter limiter = limiter("*:USD=3/100000.00,US-EU:USD=2/100000.00", "");
+
+        // When & Then
+        assertNull(limiter.record(payment("111", "US-EU", "10.00"), now));
+        assertNull(limiter.record(payment("111", "US-EU", "10.00"), now));
+        VelocityLimiter.Breach breach = limiter.record(payment("111", "US-EU", "10.00"), now);
+        assertNotNull(breach);
+        assertEquals("US-EU", breach.corridor());
+        assertEquals("USD", breach.currency());
+        assertEquals(3, breach.count());
+        assertEquals(new BigDecimal("30.00"), breach.amount());
+        assertNull(limiter.record(payment("111", "GB-NG", "10.00"), now));
+        assertNotNull(limiter.record(payment("111", "GB-NG", "10.00"), now));
+        assertNull(limiter.record(payment("222", "US-EU", "10.00"), now));
+        assertEquals(1, registry.get("verification.velocity.breaches").tag("corridor", "US-EU").tag("currency", "USD").counter().count());
+        assertEquals(PaymentStatus.REJECTED, limiter.outcome());
+    }
+
+    @Test
+    @DisplayName("Should breach once a sender exceeds the amount and forget payments that left the window")
+    void testAmountLimitSlides() {
+        // Given
+        VelocityLimiter limiter = limiter("*:USD=100/1000.00", "");
+        long start = now - now % (5 * MINUTE);
+
+        // When
+        assertNull(limiter.record(payment("111", null, "600.00"), start));
+        VelocityLimiter.Breach breach = limiter.record(payment("111", null, "400.01"), start + 30 * MINUTE);
+
+        // Then
+        assertNotNull(breach);
+        assertEquals(new BigDecimal("1000.01"), breach.amount());
+        assertEquals(new BigDecimal("1000.00"), breach.maxAmount());
+        assertNull(limiter.record(payment("111", null, "400.00"), start + 65 * MINUTE));
+    }
+
+    @Test
+    @DisplayName("Should keep a separate window and limit per source currency")
+    void testWindowPerCurrency() {
+        // Given
+        VelocityLimiter limiter = limiter("*:USD=100/1000.00,*:JPY=100/150000", "");
+
+        // When & Then
+        assertNull(limiter.record(payment("111", null, "900.00", "USD"), now));
+        assertNull(limiter.record(payment("111", null, "140000", "JPY"), now));
+        assertNull(limiter.record(payment("111", null, "1000000.00", "EUR"), now));
+        VelocityLimiter.Breach breach = limiter.record(payment("111", null, "200.00", "USD"), now);
+        assertNotNull(breach);
+        assertEquals("USD", breach.currency());
+        assertEquals(2, breach.count());
+        assertEquals(new BigDecimal("1100.00"), breach.amount());
+        VelocityLimiter.Breach yen = limiter.record(payment("111", null, "20000", "JPY"), now);
+        assertNotNull(yen);
+        assertEquals(new BigDecimal("150000.00"), yen.maxAmount());
+    }
+
+    @Test
+    @DisplayName("Should not count a payment that breaches the limit towards the window")
+    void testBreachNotCounted() {
+        // Given
+        VelocityLimiter limiter = limiter("*:USD=100/1000.00", "");
+        assertNull(limiter.record(payment("111", null, "600.00"), now));
+
+        // When
+        assertNotNull(limiter.record(payment("111", null, "500.00"), now));
+
+        // Then
+        assertNull(limiter.record(payment("111", null, "400.00"), now));
+    }
+
+    @Test
+    @DisplayName("Should restore windows from the snapshot written by a previous instance")
+    void testSnapshot() throws Exception {
+        // Given
+        Path file = directory.resolve("velocity.snapshot");
+        VelocityLimiter first = limiter("*:USD=2/100000.00", file.toString());
+        first.record(payment("111", "US-EU", "10.00"));
+        first.record(payment("111", "US-EU", "10.00"));
+
+        // When
+        first.shutdown();
+        VelocityLimiter restarted = limiter("*:USD=2/100000.00", file.toString());
+
+        // Then
+        assertTrue(Files.exists(file));
+        assertNotNull(restarted.record(payment("111", "US-EU", "10.00")));
+        assertNull(restarted.record(payment("222", "US-EU", "10.00")));
+    }
+
+    @Test
+    @DisplayName("Should skip payments without limits or without a sender account and reject malformed or ambiguous limits")
+    void testDisabled() {
+        assertNull(limiter("", "").record(payment("111", "US-EU", "1000000.00"), now));
+
+        VelocityLimiter limiter = limiter("*:USD=0/0", "");
+        PaymentRequest anonymous = payment("111", "US-EU", "10.00");
+        anonymous.getSender().setFundingAccount(null);
+        assertNull(limiter.record(anonymous, now));
+        assertNotNull(limiter.record(payment("111", "US-EU", "10.00"), now));
+
+        assertThrows(IllegalArgumentException.class, () -> limiter("US-EU:USD=5", ""));
+        assertThrows(IllegalArgumentException.class, () -> limiter("*=20/50000.00", ""));
+        assertThrows(IllegalArgumentException.class, () -> limiter("*:=20/50000.00", ""));
+        assertThrows(IllegalArgumentException.class, () -> limiter("*:XXY=20/50000.00", ""));
+        assertThrows(IllegalArgumentException.class, () -> limiter("*:USD=20/50000.00,*:USD=10/100.00", ""));
+    }
+
+    private VelocityLimiter limiter(String limits, String snapshotFile) {
+        return new VelocityLimiter(registry, SECRET, limits.split(","), 60, 12, 1000, PaymentStatus.REJECTED,
+                snapshotFile);
+    }
+
+    private static PaymentRequest payment(String accountNumber, String corridor, String amount) {
+        return payment(accountNumber, corridor, amount, "USD");
+    }
+
+    private static PaymentRequest payment(String accountNumber, String corridor, String amount, String currency) {
+        return PaymentRequest.builder()
+                .sender(SenderInfo.builder()
+                        .name("John Doe")
+                        .fundingAccount(SenderFundingAccountInfo.builder()
+                                .accountNumber(accountNumber)
+                                .routingNumber("021000021")
+                                .build())
+                        .build())
+                .corridor(corridor)
+                .sourceCurrency(currency)
+                .sourceAmount(new BigDecimal(amount))
+                .build();
+    }
+}
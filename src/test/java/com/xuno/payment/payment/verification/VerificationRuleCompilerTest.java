@@ -0,0 +1,110 @@
+package com.xuno.payment.payment.verification;
+
+import com.xuno.payment.payment.model.dto.PaymentRequest;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import com.xuno.payment.payment.model.valueobject.ReceiverInfo;
+import com.xuno.payment.payment.model.valueobject.SenderInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VerificationRuleCompiler Tests")
+class VerificationRuleCompilerTest {
+
+    @Test
+    @DisplayName("Should compile numeric comparisons against literals")
+    void testNumberComparison() {
+        // When
+        VerificationRule rule = VerificationRuleCompiler.compile("  low-balance: sourceAmount < 100.00 -> LOW_BALANCE ");
+
+        // Then
+        assertEquals("low-balance", rule.getName());
+        assertEquals("low-balance: sourceAmount < 100.00 -> LOW_BALANCE", rule.getDefinition());
+        assertEquals(PaymentStatus.LOW_BALANCE, rule.getOutcome());
+        assertTrue(rule.matches(request("99.99", "John Doe", "US", "DE")));
+        assertFalse(rule.matches(request("100", "John Doe", "US", "DE")));
+        assertFalse(rule.matches(request(null, "John Doe", "US", "DE")));
+    }
+
+    @Test
+    @DisplayName("Should compare text case-insensitively and never match a missing value")
+    void testTextComparison() {
+        // Given
+        VerificationRule rule = VerificationRuleCompiler.compile(
+                "sender: sender.name == 'Test Sender' -> MISINFORMATION_SENDER");
+
+        // When & Then
+        assertTrue(rule.matches(request("500.00", "test sender", "US", "DE")));
+        assertFalse(rule.matches(request("500.00", "Test Senders", "US", "DE")));
+        assertFalse(rule.matches(request("500.00", null, "US", "DE")));
+        assertFalse(rule.matches(PaymentRequest.builder().build()));
+    }
+
+    @Test
+    @DisplayName("Should compare fields with each other and require every comparison joined by and")
+    void testConjunction() {
+        // Given
+        VerificationRule rule = VerificationRuleCompiler.compile(
+                "domestic: sourceCountry == destinationCountry and sourceCurrency != targetCurrency -> REJECTED");
+        PaymentRequest domestic = request("500.00", "John Doe", "US", "US");
+        PaymentRequest sameCurrency = request("500.00", "John Doe", "US", "US");
+        sameCurrency.setTargetCurrency("USD");
+
+        // When & Then
+        assertTrue(rule.matches(domestic));
+        assertFalse(rule.matches(sameCurrency));
+        assertFalse(rule.matches(request("500.00", "John Doe", "US", "DE")));
+    }
+
+    @Test
+    @DisplayName("Should screen a text field against the watchlist it was compiled with")
+    void testWatchlist() {
+        // Given
+        VerificationRule rule = VerificationRuleCompiler.compile(
+                "sender-watchlist: sender.name in watchlist -> MISINFORMATION_SENDER", "Listed Person"::equals);
+
+        // When & Then
+        assertTrue(rule.matches(request("500.00", "Listed Person", "US", "DE")));
+        assertFalse(rule.matches(request("500.00", "John Doe", "US", "DE")));
+        assertFalse(rule.matches(request("500.00", null, "US", "DE")));
+        assertFalse(VerificationRuleCompiler.compile("w: sender.name in watchlist -> REJECTED")
+                .matches(request("500.00", "Listed Person", "US", "DE")));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid definitions with the problem in the message")
+    void testInvalidDefinitions() {
+        assertMessage("expected 'name: condition -> OUTCOME'", "sourceAmount < 100");
+        assertMessage("unknown outcome 'BLOCKED'", "r: sourceAmount < 100 -> BLOCKED");
+        assertMessage("unknown field 'amount'", "r: amount < 100 -> REJECTED");
+        assertMessage("unknown operator '='", "r: sourceAmount = 100 -> REJECTED");
+        assertMessage("text fields only support == and !=", "r: corridor < 'US-EU' -> REJECTED");
+        assertMessage("is not a number or numeric field", "r: sourceAmount > 'big' -> REJECTED");
+        assertMessage("expected 'and'", "r: sourceAmount > 1 or sourceAmount < 0 -> REJECTED");
+        assertMessage("unterminated quoted text", "r: corridor == 'US -> REJECTED");
+        assertMessage("expected 'field op operand'", "r: -> REJECTED");
+        assertMessage("'in' needs a text field and 'watchlist'", "r: sourceAmount in watchlist -> REJECTED");
+        assertMessage("'in' needs a text field and 'watchlist'", "r: sender.name in blocklist -> REJECTED");
+    }
+
+    private static void assertMessage(String expected, String definition) {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> VerificationRuleCompiler.compile(definition));
+        assertTrue(ex.getMessage().contains(expected), ex.getMessage());
+    }
+
+    static PaymentRequest request(String amount, String senderName, String sourceCountry, String destinationCountry) {
+        return PaymentRequest.builder()
+                .sender(SenderInfo.builder().name(senderName).build())
+                .receiver(ReceiverInfo.builder().name("Jane Smith").build())
+                .sourceCurrency("USD")
+                .targetCurrency("EUR")
+                .sourceCountry(sourceCountry)
+                .destinationCountry(destinationCountry)
+                .sourceAmount(amount != null ? new BigDecimal(amount) : null)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.xuno.payment.payment.verification;
+
+import com.xuno.payment.payment.model.dto.PaymentRequest;
+import com.xuno.payment.payment.model.enums.PaymentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.xuno.payment.payment.verification.VerificationRuleCompilerTest.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VerificationRuleEngine Tests")
+class VerificationRuleEngineTest {
+
+    private SimpleMeterRegistry registry;
+    private VerificationRuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        engine = new VerificationRuleEngine(registry, new WatchlistScreener(registry, ""),
+                VerificationRuleEngine.DEFAULT_RULES.split(","));
+    }
+
+    @Test
+    @DisplayName("Should reproduce the built-in verification checks with the default rules")
+    void testDefaultRules() {
+        // Given
+        PaymentRequest domestic = request("500.00", "John Doe", "US", "US");
+
+        // When & Then
+        assertEquals(PaymentStatus.LOW_BALANCE, status(request("50.00", "Test Sender", "US", "DE")));
+        assertEquals(PaymentStatus.MISINFORMATION_SENDER, status(request("500.00", "Test Sender", "US", "DE")));
+        assertEquals(PaymentStatus.REJECTED, status(request("1000000.01", "John Doe", "US", "DE")));
+        assertEquals(PaymentStatus.REJECTED, status(domestic));
+        assertEquals(PaymentStatus.PENDING_ADMIN_REVIEW, status(request("500.00", "John Doe", "US", "DE")));
+    }
+
+    @Test
+    @DisplayName("Should keep declared precedence when cheaper rules are moved ahead")
+    void testReorderKeepsPrecedence() {
+        // Given: the sender rule matches every payment, so it ranks ahead of the low-balance rule
+        for (int i = 0; i < 1000; i++) {
+            engine.evaluate(request("500.00", "Test Sender", "US", "DE"));
+        }
+
+        // When
+        engine.reorder();
+
+        // Then
+        List<String> order = engine.activeRules().evaluationOrder().stream().map(VerificationRule::getName).toList();
+        assertTrue(order.indexOf("sender-misinformation") < order.indexOf("low-balance"), order.toString());
+        assertEquals(PaymentStatus.LOW_BALANCE, status(request("50.00", "Test Sender", "US", "DE")));
+        assertEquals(PaymentStatus.MISINFORMATION_SENDER, status(request("500.00", "Test Sender", "US", "DE")));
+    }
+
+    @Test
+    @DisplayName("Should decide a batch exactly as payment by payment")
+    void testEvaluateAll() {
+        // Given
+        List<PaymentRequest> batch = new ArrayList<>();
+        Stream.of("50.00", "500.00", "2000000.00").forEach(amount -> {
+            batch.add(request(amount, "John Doe", "US", "DE"));
+            batch.add(request(amount, "Test Sender", "US", "DE"));
+            batch.add(request(amount, "John Doe", "US", "US"));
+        });
+
+        // When
+        List<VerificationRule> matches = engine.evaluateAll(batch);
+
+        // Then
+        assertEquals(batch.size(), matches.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertSame(engine.evaluate(batch.get(i)), matches.get(i));
+        }
+        assertNull(matches.get(3));
+        assertEquals("low-balance", matches.get(1).getName());
+    }
+
+    @Test
+    @DisplayName("Should dry-run the active rules on a copy without touching their statistics")
+    void testCompileActive() {
+        // Given
+        List<PaymentRequest> batch = List.of(
+                request("50.00", "John Doe", "US", "DE"),
+                request("500.00", "Test Sender", "US", "DE"));
+
+        // When
+        List<VerificationRule> matches = engine.compileActive().evaluateAll(batch);
+
+        // Then
+        assertEquals("low-balance", matches.get(0).getName());
+        assertEquals("sender-misinformation", matches.get(1).getName());
+        assertTrue(engine.activeRules().rules().stream().allMatch(rule -> rule.evaluationCount() == 0));
+        assertEquals(0, registry.get(VerificationRuleEngine.TIMER_METRIC).tag("rule", "low-balance").functionTimer().count());
+    }
+
+    @Test
+    @DisplayName("Should record evaluations and hits per rule and export them as meters")
+    void testMetrics() {
+        // When
+        engine.evaluate(request("50.00", "John Doe", "US", "DE"));
+        engine.evaluate(request("500.00", "John Doe", "US", "DE"));
+
+        // Then
+        VerificationRule lowBalance = engine.activeRules().rules().getFirst();
+        assertEquals(2, lowBalance.evaluationCount());
+        assertEquals(1, lowBalance.hitCount());
+        assertEquals(2, registry.get(VerificationRuleEngine.TIMER_METRIC).tag("rule", "low-balance").functionTimer().count());
+        assertEquals(1, registry.get(VerificationRuleEngine.HITS_METRIC).tag("rule", "low-balance").functionCounter().count());
+        assertEquals(1, engine.describe().get(5).getEvaluations());
+    }
+
+    @Test
+    @DisplayName("Should swap rules atomically, keep unchanged rules and leave the active set on invalid input")
+    void testReplace() {
+        // Given
+        engine.evaluate(request("50.00", "John Doe", "US", "DE"));
+        VerificationRule lowBalance = engine.activeRules().rules().getFirst();
+
+        // When
+        engine.replace(List.of(lowBalance.getDefinition(), "big: sourceAmount >= 5000 -> PENDING_ADMIN_REVIEW"));
+
+        // Then
+        assertSame(lowBalance, engine.activeRules().rules().getFirst());
+        assertEquals(1, lowBalance.hitCount());
+        assertEquals(2, registry.get(VerificationRuleEngine.TIMER_METRIC).functionTimers().size());
+        assertEquals(PaymentStatus.PENDING_ADMIN_REVIEW, status(request("500.00", "Test Sender", "US", "DE")));
+
+        VerificationRuleSet active = engine.activeRules();
+        assertThrows(IllegalArgumentException.class, () -> engine.replace(List.of("broken")));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.replace(List.of("a: sourceAmount < 1 -> REJECTED", "a: sourceAmount > 9 -> REJECTED")));
+        assertSame(active, engine.activeRules());
+    }
+
+    private PaymentStatus status(PaymentRequest request) {
+        VerificationRule rule = engine.evaluate(request);
+        return rule != null ? rule.getOutcome() : PaymentStatus.PENDING_ADMIN_REVIEW;
+    }
+}
@@ -0,0 +1,79 @@
+package com.xuno.payment.payment.verification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WatchlistAutomaton Tests")
+class WatchlistAutomatonTest {
+
+    @Test
+    @DisplayName("Should fold case, accents, compatibility forms and punctuation")
+    void testNormalize() {
+        assertEquals(" dr jose o brien smith ", WatchlistAutomaton.normalize("  Dr. José  O'Brien-Smith "));
+        assertEquals(" strasse ", WatchlistAutomaton.normalize("STRAẞE"));
+        assertEquals(" abc 12 ", WatchlistAutomaton.normalize("ＡＢＣ　１２"));
+        assertEquals(" ", WatchlistAutomaton.normalize("--"));
+    }
+
+    @Test
+    @DisplayName("Should match whole words of any entry anywhere in the name")
+    void testWholeWordMatch() {
+        // Given
+        WatchlistAutomaton automaton = WatchlistAutomaton.build(List.of("Ann Lee", "ANN  LEE", "Ali", "Mohamed El-Sayed", "#"));
+
+        // When & Then
+        assertEquals(3, automaton.size());
+        assertEquals("ann lee", automaton.firstMatch("Dr. ANN LEE"));
+        assertEquals("ann lee", automaton.firstMatch("Ann-Lee Smith"));
+        assertEquals("ali", automaton.firstMatch("Muhammad Ali"));
+        assertEquals("mohamed el sayed", automaton.firstMatch("MOHAMED EL SAYED"));
+        assertNull(automaton.firstMatch("Joanne Lee"));
+        assertNull(automaton.firstMatch("Alison Smith"));
+        assertNull(automaton.firstMatch(null));
+        assertNull(WatchlistAutomaton.EMPTY.firstMatch("Ann Lee"));
+    }
+
+    @Test
+    @DisplayName("Should find the same names as checking every entry one by one")
+    void testMatchesBruteForce() {
+        // Given: short words from a small alphabet, so entries overlap and exercise the failure links
+        Random random = new Random(42);
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            entries.add(words(random, 1 + random.nextInt(3)));
+        }
+        WatchlistAutomaton automaton = WatchlistAutomaton.build(entries);
+
+        // When & Then
+        for (int i = 0; i < 5000; i++) {
+            String name = words(random, 1 + random.nextInt(5));
+            String normalized = WatchlistAutomaton.normalize(name);
+            boolean expected = entries.stream().anyMatch(entry -> normalized.contains(WatchlistAutomaton.normalize(entry)));
+            String match = automaton.firstMatch(name);
+            assertEquals(expected, match != null, name);
+            if (match != null) {
+                assertTrue(normalized.contains(" " + match + " "), name + " -> " + match);
+            }
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                name.append(' ');
+            }
+            int length = 1 + random.nextInt(3);
+            for (int j = 0; j < length; j++) {
+                name.append((char) ('a' + random.nextInt(3)));
+            }
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package com.xuno.payment.payment.verification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WatchlistScreener Tests")
+class WatchlistScreenerTest {
+
+    @TempDir
+    private Path directory;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should load the file at startup, skipping comments and blank lines")
+    void testLoad() throws Exception {
+        // Given
+        Path file = Files.write(directory.resolve("watchlist.txt"), List.of("# sanctions", "", "Ann Lee", "Ali Khan"));
+
+        // When
+        WatchlistScreener screener = new WatchlistScreener(registry, file.toString());
+
+        // Then
+        assertEquals(2, screener.size());
+        assertEquals("ann lee", screener.screen("ANN LEE"));
+        assertTrue(screener.matches("Mr Ali Khan"));
+        assertFalse(screener.matches("John Doe"));
+        assertEquals(2, registry.get("verification.watchlist.entries").gauge().value());
+        screener.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should swap in a rebuilt list when the file changes and keep it when a reload fails")
+    void testReload() throws Exception {
+        // Given
+        Path file = Files.write(directory.resolve("watchlist.txt"), List.of("Ann Lee"));
+        WatchlistScreener screener = new WatchlistScreener(registry, file.toString());
+
+        // When
+        Files.write(file, List.of("Ann Lee", "John Doe"));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+        screener.reloadIfChanged();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!screener.matches("John Doe") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Then
+        assertTrue(screener.matches("John Doe"));
+        Files.delete(file);
+        screener.reload().get(5, TimeUnit.SECONDS);
+        assertEquals(2, screener.size());
+        screener.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should screen nothing without a file and fail startup when the file is missing")
+    void testNoFile() {
+        assertFalse(new WatchlistScreener(registry, "").matches("Ann Lee"));
+        assertThrows(UncheckedIOException.class,
+                () -> new WatchlistScreener(registry, directory.resolve("missing.txt").toString()));
+    }
+}
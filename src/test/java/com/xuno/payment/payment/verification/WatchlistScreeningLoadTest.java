@@ -0,0 +1,116 @@
+package com.xuno.payment.payment.verification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds watchlists of increasing size from synthetic names and measures build time, automaton size
+ * and per-name screening latency. Screening cost should stay flat as the list grows. Excluded from
+ * the default build; run with
+ * {@code mvn test -Pload-test -Dtest=WatchlistScreeningLoadTest -Dloadtest.watchlist.sizes=1000,100000}.
+ */
+@Tag("load")
+@DisplayName("Watchlist Screening Load Tests")
+@Slf4j
+class WatchlistScreeningLoadTest {
+
+    private static final String[] SYLLABLES = {
+            "al", "an", "ar", "ba", "be", "da", "de", "el", "fa", "ha", "ib", "ja", "ka", "ke", "la", "le", "li",
+            "ma", "me", "mi", "na", "ne", "no", "ol", "ra", "re", "ri", "sa", "se", "ta", "te", "to", "va", "ya", "za"};
+
+    private static final int SCREENED_NAMES = 200_000;
+    private static final int WARMUP_NAMES = 200_000;
+
+    @Test
+    @DisplayName("Should screen names in microseconds whatever the size of the watchlist")
+    void testScreeningLatency() {
+        // Given
+        int[] sizes = Arrays.stream(System.getProperty("loadtest.watchlist.sizes", "1000,10000,100000,500000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        double maxP99Micros = Double.parseDouble(System.getProperty("loadtest.watchlist.max-p99-micros", "50"));
+
+        log.info(String.format("%10s %10s %10s %8s %9s %9s %9s %9s", "entries", "states", "build ms", "~MB",
+                "p50 us", "p99 us", "p99.9 us", "hits"));
+        for (int size : sizes) {
+            Random random = new Random(size);
+            List<String> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(name(random));
+            }
+
+            long buildStart = System.nanoTime();
+            WatchlistAutomaton automaton = WatchlistAutomaton.build(entries);
+            long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - buildStart);
+
+            // When
+            screen(automaton, entries, random, WARMUP_NAMES);
+            long[] latencies = new long[SCREENED_NAMES];
+            int hits = 0;
+            for (int i = 0; i < SCREENED_NAMES; i++) {
+                String name = i % 10 == 0 ? "Mr. " + entries.get(random.nextInt(size)).toUpperCase() : name(random);
+                long start = System.nanoTime();
+                String match = automaton.firstMatch(name);
+                latencies[i] = System.nanoTime() - start;
+                if (match != null) {
+                    hits++;
+                }
+            }
+
+            // Then
+            Arrays.sort(latencies);
+            double p50 = micros(latencies, 0.5);
+            double p99 = micros(latencies, 0.99);
+            log.info(String.format("%10d %10d %10d %8.1f %9.2f %9.2f %9.2f %9d", automaton.size(),
+                    automaton.stateCount(), buildMillis, automaton.stateCount() * 20 / 1_048_576.0, p50, p99,
+                    micros(latencies, 0.999), hits));
+            assertTrue(hits >= SCREENED_NAMES / 10, "every listed name must be found");
+            assertTrue(p99 <= maxP99Micros, "p99 " + p99 + " us over " + maxP99Micros + " us with " + size + " entries");
+        }
+    }
+
+    private static void screen(WatchlistAutomaton automaton, List<String> entries, Random random, int count) {
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            String name = i % 10 == 0 ? entries.get(random.nextInt(entries.size())) : name(random);
+            if (automaton.firstMatch(name) != null) {
+                hits++;
+            }
+        }
+        assertTrue(hits > 0);
+    }
+
+    private static double micros(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1000.0;
+    }
+
+    /**
+     * A first name, sometimes a middle name, and a last name made of random syllables.
+     */
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int words = random.nextInt(4) == 0 ? 3 : 2;
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                name.append(' ');
+            }
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                String syllable = SYLLABLES[random.nextInt(SYLLABLES.length)];
+                name.append(s == 0 ? Character.toUpperCase(syllable.charAt(0)) + syllable.substring(1) : syllable);
+            }
+        }
+        return name.toString();
+    }
+}